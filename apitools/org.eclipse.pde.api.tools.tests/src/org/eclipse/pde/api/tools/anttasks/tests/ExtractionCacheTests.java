@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.anttasks.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.ant.core.AntCorePlugin;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the cache of extracted SDK archives used by the API tools Ant tasks.
+ * The cache is part of the Ant task library, so it is loaded through the Ant
+ * class loader.
+ */
+public class ExtractionCacheTests {
+
+	private static final String CACHE_CLASS_NAME = "org.eclipse.pde.api.tools.internal.tasks.ExtractionCache"; //$NON-NLS-1$
+	private static final String CACHE_LOCATION_PROPERTY = "org.eclipse.pde.api.tools.extractionCache"; //$NON-NLS-1$
+	private static final String MAX_ENTRIES_PROPERTY = "org.eclipse.pde.api.tools.extractionCache.maxEntries"; //$NON-NLS-1$
+	private static final String MARKER_FILE = ".complete"; //$NON-NLS-1$
+	private static final String CONTENT_FILE = "eclipse/content.txt"; //$NON-NLS-1$
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private Object fCache;
+	private Method fAcquire;
+	private Method fRelease;
+
+	@After
+	public void tearDown() {
+		System.clearProperty(CACHE_LOCATION_PROPERTY);
+		System.clearProperty(MAX_ENTRIES_PROPERTY);
+	}
+
+	/**
+	 * Tests that tasks acquiring archives concurrently share the extracted
+	 * folders and that a complete folder is reused without extracting the
+	 * archive again
+	 */
+	@Test
+	public void testConcurrentReaders() throws Exception {
+		initializeCache(6);
+		File first = createArchive("first.zip", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+		File second = createArchive("second.zip", "second"); //$NON-NLS-1$ //$NON-NLS-2$
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<File> folders = new ArrayList<>();
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<File>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				File archive = i % 2 == 0 ? first : second;
+				futures.add(executor.submit(() -> {
+					start.await();
+					return acquire(archive);
+				}));
+			}
+			start.countDown();
+			for (Future<File> future : futures) {
+				folders.add(future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		Set<File> distinct = new HashSet<>(folders);
+		assertEquals("Each archive should be extracted into one folder", 2, distinct.size()); //$NON-NLS-1$
+		for (int i = 0; i < folders.size(); i++) {
+			File folder = folders.get(i);
+			assertTrue("Extraction should be complete", new File(folder, MARKER_FILE).exists()); //$NON-NLS-1$
+			assertEquals("Wrong content", i % 2 == 0 ? "first" : "second", Files.readString(new File(folder, CONTENT_FILE).toPath())); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		for (File folder : folders) {
+			release(folder);
+		}
+
+		// a folder that is extracted again loses this file
+		File added = new File(folders.get(0), "added.txt"); //$NON-NLS-1$
+		Files.writeString(added.toPath(), "added"); //$NON-NLS-1$
+		File folder = acquire(first);
+		try {
+			assertEquals("Wrong folder", folders.get(0), folder); //$NON-NLS-1$
+			assertTrue("Complete folder should be reused", added.exists()); //$NON-NLS-1$
+		} finally {
+			release(folder);
+		}
+	}
+
+	/**
+	 * Tests that a folder without the completion marker, as left behind by an
+	 * interrupted extraction, is extracted again
+	 */
+	@Test
+	public void testInterruptedExtraction() throws Exception {
+		initializeCache(6);
+		File archive = createArchive("first.zip", "first"); //$NON-NLS-1$ //$NON-NLS-2$
+		File folder = acquire(archive);
+		release(folder);
+
+		Files.delete(new File(folder, MARKER_FILE).toPath());
+		Files.writeString(new File(folder, CONTENT_FILE).toPath(), "partial"); //$NON-NLS-1$
+		File leftover = new File(folder, "leftover.txt"); //$NON-NLS-1$
+		Files.writeString(leftover.toPath(), "leftover"); //$NON-NLS-1$
+
+		assertEquals("Wrong folder", folder, acquire(archive)); //$NON-NLS-1$
+		try {
+			assertTrue("Extraction should be complete", new File(folder, MARKER_FILE).exists()); //$NON-NLS-1$
+			assertEquals("Archive should be extracted again", "first", Files.readString(new File(folder, CONTENT_FILE).toPath())); //$NON-NLS-1$ //$NON-NLS-2$
+			assertFalse("Incomplete folder should be deleted", leftover.exists()); //$NON-NLS-1$
+		} finally {
+			release(folder);
+		}
+	}
+
+	/**
+	 * Tests that folders evicted from the cache are deleted together with
+	 * their lock files, and that folders in use are kept
+	 */
+	@Test
+	public void testEviction() throws Exception {
+		initializeCache(1);
+		File first = acquire(createArchive("first.zip", "first")); //$NON-NLS-1$ //$NON-NLS-2$
+		File second = acquire(createArchive("second.zip", "second")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("Folder in use should be kept", first.exists()); //$NON-NLS-1$
+		release(first);
+		release(second);
+		// last used before the third archive
+		assertTrue("Could not set the last use", new File(first, MARKER_FILE).setLastModified(1000000L)); //$NON-NLS-1$
+		assertTrue("Could not set the last use", new File(second, MARKER_FILE).setLastModified(2000000L)); //$NON-NLS-1$
+
+		File third = acquire(createArchive("third.zip", "third")); //$NON-NLS-1$ //$NON-NLS-2$
+		release(third);
+		assertTrue("Most recently used folder should be kept", third.exists()); //$NON-NLS-1$
+		for (File folder : new File[] { first, second }) {
+			assertFalse("Least recently used folder should be deleted", folder.exists()); //$NON-NLS-1$
+			assertFalse("Lock file should be deleted", new File(folder.getPath() + ".lock").exists()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private void initializeCache(int maxEntries) throws Exception {
+		System.setProperty(CACHE_LOCATION_PROPERTY, new File(fFolder.getRoot(), "cache").getAbsolutePath()); //$NON-NLS-1$
+		System.setProperty(MAX_ENTRIES_PROPERTY, Integer.toString(maxEntries));
+		Class<?> cacheClass = Class.forName(CACHE_CLASS_NAME, true, AntCorePlugin.getPlugin().getNewClassLoader());
+		fCache = cacheClass.getMethod("getDefault").invoke(null); //$NON-NLS-1$
+		fAcquire = cacheClass.getMethod("acquire", String.class); //$NON-NLS-1$
+		fRelease = cacheClass.getMethod("release", File.class); //$NON-NLS-1$
+	}
+
+	private File acquire(File archive) throws Exception {
+		try {
+			return (File) fAcquire.invoke(fCache, archive.getAbsolutePath());
+		} catch (InvocationTargetException e) {
+			throw (Exception) e.getTargetException();
+		}
+	}
+
+	private void release(File folder) throws Exception {
+		assertTrue("Folder should belong to the cache", (Boolean) fRelease.invoke(fCache, folder)); //$NON-NLS-1$
+	}
+
+	private File createArchive(String name, String content) throws Exception {
+		File archive = fFolder.newFile(name);
+		try (OutputStream out = Files.newOutputStream(archive.toPath()); ZipOutputStream zip = new ZipOutputStream(out)) {
+			zip.putNextEntry(new ZipEntry(CONTENT_FILE));
+			zip.write(content.getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+		return archive;
+	}
+}
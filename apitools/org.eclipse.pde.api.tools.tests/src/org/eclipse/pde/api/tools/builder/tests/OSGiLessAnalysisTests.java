@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,9 +15,11 @@ package org.eclipse.pde.api.tools.builder.tests;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -26,6 +28,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.pde.api.tools.internal.builder.BaseApiAnalyzer;
 import org.eclipse.pde.api.tools.internal.builder.BuildContext;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceAnalyzer;
 import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
@@ -75,4 +78,43 @@ public class OSGiLessAnalysisTests {
 		ApiTestingEnvironment.dispose(baseline);
 		ApiTestingEnvironment.dispose(current);
 	}
+
+	/**
+	 * Tests that analyzing the references of a component with several threads
+	 * reports the same problems in the same order as analyzing them on the
+	 * calling thread
+	 */
+	@Test
+	public void testParallelReferenceAnalysis() throws CoreException {
+		IApiBaseline baseline = TestSuiteHelper.createTestingBaseline("leaks", IPath.fromOSString("test-analyzer-3")); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			IApiComponent component = baseline.getApiComponent("test.bundle.leak"); //$NON-NLS-1$
+			assertNotNull("Missing API component test.bundle.leak", component); //$NON-NLS-1$
+			List<String> sequential = analyzeReferences(component, 1);
+			assertTrue("Leaks should be reported for every type, returned values: " + sequential, sequential.size() >= 8); //$NON-NLS-1$
+			for (int i = 0; i < 5; i++) {
+				assertEquals("Concurrent analysis should report the same problems in the same order", sequential, analyzeReferences(component, 4)); //$NON-NLS-1$
+			}
+		} finally {
+			ApiTestingEnvironment.dispose(baseline);
+		}
+	}
+
+	private List<String> analyzeReferences(IApiComponent component, int threads) throws CoreException {
+		String property = "org.eclipse.pde.api.tools.referenceAnalyzerThreads"; //$NON-NLS-1$
+		String previous = System.getProperty(property);
+		ReferenceAnalyzer analyzer;
+		System.setProperty(property, Integer.toString(threads));
+		try {
+			analyzer = new ReferenceAnalyzer();
+		} finally {
+			if (previous == null) {
+				System.clearProperty(property);
+			} else {
+				System.setProperty(property, previous);
+			}
+		}
+		IApiProblem[] problems = analyzer.analyze(component, component, new NullProgressMonitor());
+		return Arrays.stream(problems).map(problem -> problem.getTypeName() + ':' + problem.getLineNumber() + ' ' + problem).toList();
+	}
 }
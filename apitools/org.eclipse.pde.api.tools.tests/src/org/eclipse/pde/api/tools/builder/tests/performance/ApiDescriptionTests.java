@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,12 +13,22 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.builder.tests.performance;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.pde.api.tools.internal.ApiDescriptionManager;
+import org.eclipse.pde.api.tools.internal.ProjectApiDescription;
+import org.eclipse.pde.api.tools.internal.ProjectApiDescriptionFile;
 import org.eclipse.pde.api.tools.internal.provisional.ApiDescriptionVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.api.tools.model.tests.TestSuiteHelper;
 import org.eclipse.test.performance.Dimension;
 
@@ -83,4 +93,99 @@ public class ApiDescriptionTests extends PerformanceTest {
 		commitMeasurements();
 		assertPerformance();
 	}
+
+	/**
+	 * Compares restoring the jdt-ui API description from the binary format
+	 * with restoring it from XML, the format used before the binary format was
+	 * added. Both restores are measured in the same build on the same
+	 * description; this scenario has no reference build to compare with.
+	 * <p>
+	 * The binary format only decodes packages when they are queried, so the
+	 * measured binary restore also visits the whole description to compare
+	 * like for like with the XML restore, which always builds the full tree.
+	 * The time and retained heap of the XML restore and of the lazy and full
+	 * binary restores are printed.
+	 * </p>
+	 */
+	public void testRestoreDescription() throws Exception {
+		tagAsSummary("Restore and visit API description from binary file (XML restore printed for comparison)", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+
+		IProject proj = getEnv().getWorkspace().getRoot().getProject("org.eclipse.jdt.ui"); //$NON-NLS-1$
+		IJavaProject project = JavaCore.create(proj);
+		proj.build(IncrementalProjectBuilder.CLEAN_BUILD, ApiPlugin.BUILDER_ID, null, null);
+		IApiBaseline baseline = ApiPlugin.getDefault().getApiBaselineManager().getWorkspaceBaseline();
+		IApiComponent component = baseline.getApiComponent(proj.getName());
+		ProjectApiDescription description = (ProjectApiDescription) component.getApiDescription();
+		ApiDescriptionVisitor visitor = new ApiDescriptionVisitor() {
+		};
+		description.accept(visitor, null);
+
+		Path dir = Files.createTempDirectory("apidescription"); //$NON-NLS-1$
+		File xml = dir.resolve("description.xml").toFile(); //$NON-NLS-1$
+		Path binary = dir.resolve("description.bin"); //$NON-NLS-1$
+		Util.writeDocumentToFile(description.getXML(), xml.toPath());
+		description.persist(binary);
+		ApiDescriptionManager manager = ApiDescriptionManager.getManager();
+
+		long xmlTime = 0;
+		long lazyTime = 0;
+		long binaryTime = 0;
+		long xmlHeap = 0;
+		long lazyHeap = 0;
+		long binaryHeap = 0;
+		int runs = 15;
+		// WARM-UP
+		for (int j = 0; j < 2; j++) {
+			manager.restoreXMLDescription(project, new ProjectApiDescription(project), xml);
+			ProjectApiDescription restored = new ProjectApiDescription(project);
+			ProjectApiDescriptionFile.restore(binary, project, restored);
+			restored.accept(visitor, null);
+		}
+
+		// TEST
+		for (int j = 0; j < runs; j++) {
+			long heap = usedHeap();
+			long start = System.nanoTime();
+			ProjectApiDescription restored = new ProjectApiDescription(project);
+			manager.restoreXMLDescription(project, restored, xml);
+			xmlTime += System.nanoTime() - start;
+			xmlHeap += usedHeap() - heap;
+			assertNotNull(restored);
+
+			heap = usedHeap();
+			start = System.nanoTime();
+			restored = new ProjectApiDescription(project);
+			ProjectApiDescriptionFile.restore(binary, project, restored);
+			lazyTime += System.nanoTime() - start;
+			lazyHeap += usedHeap() - heap;
+			assertNotNull(restored);
+
+			heap = usedHeap();
+			start = System.nanoTime();
+			startMeasuring();
+			restored = new ProjectApiDescription(project);
+			ProjectApiDescriptionFile.restore(binary, project, restored);
+			restored.accept(visitor, null);
+			stopMeasuring();
+			binaryTime += System.nanoTime() - start;
+			binaryHeap += usedHeap() - heap;
+			assertNotNull(restored);
+		}
+		System.out.println("XML restore: " + (xmlTime / runs / 1000) + " us, " + (xmlHeap / runs / 1024) + " KB retained"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("Binary restore, packages only: " + (lazyTime / runs / 1000) + " us, " + (lazyHeap / runs / 1024) + " KB retained"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("Binary restore, fully decoded: " + (binaryTime / runs / 1000) + " us, " + (binaryHeap / runs / 1024) + " KB retained"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("File sizes: XML " + xml.length() + " bytes, binary " + Files.size(binary) + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Returns the heap in use after a garbage collection
+	 */
+	private long usedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
 }
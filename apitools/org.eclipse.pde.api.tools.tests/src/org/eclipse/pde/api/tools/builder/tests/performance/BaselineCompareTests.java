@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests.performance;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.URIUtil;
+import org.eclipse.pde.api.tools.internal.comparator.ComparisonTimings;
+import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureCache;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.ApiComparator;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.model.tests.TestSuiteHelper;
+import org.eclipse.pde.core.target.ITargetDefinition;
+import org.eclipse.pde.core.target.ITargetPlatformService;
+import org.eclipse.pde.core.target.TargetBundle;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Performance tests for comparing two full baselines with
+ * {@link ApiComparator}, with and without cached type structures and in
+ * parallel
+ */
+public class BaselineCompareTests extends PerformanceTestCase {
+	static IPath CACHE_PATH = TestSuiteHelper.getUserDirectoryPath().append("type-structure-cache-perf"); //$NON-NLS-1$
+
+	private TypeStructureCache fCache;
+	private TypeStructureCache fPrevious;
+
+	public BaselineCompareTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(BaselineCompareTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fPrevious = TypeStructureCache.getDefault();
+		// unbounded, so the warm compares restore every type structure
+		fCache = new TypeStructureCache(CACHE_PATH.toFile().toPath(), Long.MAX_VALUE);
+		fCache.clear();
+		TypeStructureCache.setDefault(fCache);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		TypeStructureCache.setDefault(fPrevious);
+		fCache.clear();
+		super.tearDown();
+	}
+
+	/**
+	 * Compares the bundles of the running target with a copy in which every
+	 * class file differs, once without a type structure cache, once with an
+	 * empty one and then repeatedly with a populated one, read from disk by a
+	 * new cache each time. Only the warm compares are measured, the uncached
+	 * and cold times are reported for reference.
+	 * <p>
+	 * The class files of the copy only differ in their minor version, which
+	 * does not change their structure. As no class file is byte-identical to
+	 * its reference, the structures of both sides are built for every type
+	 * instead of taking the unchanged class file shortcut of
+	 * ClassFileComparator.
+	 * </p>
+	 */
+	public void testCompareBaselines() throws Exception {
+		tagAsSummary("Compare baselines with cached type structures", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		ITargetPlatformService service = ApiPlugin.getDefault().acquireService(ITargetPlatformService.class);
+		ITargetDefinition definition = service.getWorkspaceTargetDefinition();
+		definition.resolve(new NullProgressMonitor());
+		List<File> reference = getBundles(definition);
+		Path copy = Files.createTempDirectory("baseline-compare"); //$NON-NLS-1$
+		List<File> current = new ArrayList<>();
+		for (File bundle : reference) {
+			current.add(copyWithChangedClassFiles(bundle, copy));
+		}
+
+		try {
+			// UNCACHED
+			TypeStructureCache.setDefault(null);
+			long start = System.currentTimeMillis();
+			compare(reference, current);
+			System.out.println("Uncached baseline compare: " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+
+			// COLD
+			TypeStructureCache.setDefault(fCache);
+			start = System.currentTimeMillis();
+			compare(reference, current);
+			System.out.println("Cold baseline compare: " + (System.currentTimeMillis() - start) + "ms, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ fCache.getMissCount() + " type structures built"); //$NON-NLS-1$
+
+			// WARM
+			for (int i = 0; i < 5; i++) {
+				// a new cache reads the segments flushed when the baselines were disposed
+				fCache = new TypeStructureCache(CACHE_PATH.toFile().toPath(), Long.MAX_VALUE);
+				TypeStructureCache.setDefault(fCache);
+				start = System.currentTimeMillis();
+				startMeasuring();
+				compare(reference, current);
+				stopMeasuring();
+				System.out.println("Warm baseline compare: " + (System.currentTimeMillis() - start) + "ms, " //$NON-NLS-1$ //$NON-NLS-2$
+						+ fCache.getHitCount() + " type structures restored, " + fCache.getMissCount() + " built"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		} finally {
+			TestSuiteHelper.delete(copy.toFile());
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Compares two baselines of the running target serially and then
+	 * repeatedly with one thread per processor, checking that the parallel
+	 * comparison returns the same delta as the serial one.
+	 */
+	public void testCompareBaselinesInParallel() throws Exception {
+		tagAsSummary("Compare baselines in parallel", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		ITargetPlatformService service = ApiPlugin.getDefault().acquireService(ITargetPlatformService.class);
+		ITargetDefinition definition = service.getWorkspaceTargetDefinition();
+		definition.resolve(new NullProgressMonitor());
+		int threads = Runtime.getRuntime().availableProcessors();
+		IApiBaseline reference = createBaseline("reference", definition); //$NON-NLS-1$
+		IApiBaseline baseline = createBaseline("current", definition); //$NON-NLS-1$
+		try {
+			ComparisonTimings timings = new ComparisonTimings();
+			long start = System.currentTimeMillis();
+			IDelta serial = ApiComparator.compare(reference, baseline, VisibilityModifiers.API, true, 1, timings, new NullProgressMonitor());
+			System.out.println("Serial baseline compare: " + (System.currentTimeMillis() - start) + "ms, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ timings.getTimings().size() + " components compared"); //$NON-NLS-1$
+			for (int i = 0; i < 5; i++) {
+				timings = new ComparisonTimings();
+				start = System.currentTimeMillis();
+				startMeasuring();
+				IDelta parallel = ApiComparator.compare(reference, baseline, VisibilityModifiers.API, true, threads, timings, new NullProgressMonitor());
+				stopMeasuring();
+				System.out.println("Parallel baseline compare on " + threads + " threads: " //$NON-NLS-1$ //$NON-NLS-2$
+						+ (System.currentTimeMillis() - start) + "ms, " + timings.getTotalMillis() + "ms spent in components"); //$NON-NLS-1$ //$NON-NLS-2$
+				assertEquals("Parallel compare should return the serial delta", serial.toString(), parallel.toString()); //$NON-NLS-1$
+			}
+		} finally {
+			reference.dispose();
+			baseline.dispose();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Compares two fresh baselines, so no type structures are reused from
+	 * memory
+	 */
+	private void compare(List<File> referenceBundles, List<File> currentBundles) throws CoreException {
+		IApiBaseline reference = createBaseline("reference", referenceBundles); //$NON-NLS-1$
+		IApiBaseline baseline = createBaseline("current", currentBundles); //$NON-NLS-1$
+		try {
+			ApiComparator.compare(reference, baseline, VisibilityModifiers.API, true, new NullProgressMonitor());
+		} finally {
+			reference.dispose();
+			baseline.dispose();
+		}
+	}
+
+	private IApiBaseline createBaseline(String name, ITargetDefinition definition) throws CoreException {
+		return createBaseline(name, getBundles(definition));
+	}
+
+	private IApiBaseline createBaseline(String name, List<File> bundles) throws CoreException {
+		IApiBaseline baseline = ApiModelFactory.newApiBaseline(name);
+		List<IApiComponent> components = new ArrayList<>();
+		for (File bundle : bundles) {
+			IApiComponent component = ApiModelFactory.newApiComponent(baseline, bundle.getAbsolutePath());
+			if (component != null) {
+				components.add(component);
+			}
+		}
+		baseline.addApiComponents(components.toArray(new IApiComponent[components.size()]));
+		return baseline;
+	}
+
+	private List<File> getBundles(ITargetDefinition definition) {
+		List<File> bundles = new ArrayList<>();
+		for (TargetBundle bundle : definition.getBundles()) {
+			if (bundle.getStatus().isOK() && !bundle.isSourceBundle()) {
+				bundles.add(URIUtil.toFile(bundle.getBundleInfo().getLocation()));
+			}
+		}
+		return bundles;
+	}
+
+	/**
+	 * Copies the given bundle jar into the given folder, setting the minor
+	 * version of each class file to 1. Bundles that are folders are returned
+	 * unchanged.
+	 */
+	private File copyWithChangedClassFiles(File bundle, Path folder) throws IOException {
+		if (!bundle.isFile()) {
+			return bundle;
+		}
+		File copy = folder.resolve(bundle.getName()).toFile();
+		try (ZipFile zip = new ZipFile(bundle); ZipOutputStream out = new ZipOutputStream(new FileOutputStream(copy))) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				byte[] bytes;
+				try (InputStream in = zip.getInputStream(entry)) {
+					bytes = in.readAllBytes();
+				}
+				if (entry.getName().endsWith(".class") && bytes.length > 8) { //$NON-NLS-1$
+					bytes[4] = 0;
+					bytes[5] = 1;
+				}
+				out.putNextEntry(new ZipEntry(entry.getName()));
+				out.write(bytes);
+				out.closeEntry();
+			}
+		}
+		return copy;
+	}
+}
@@ -0,0 +1,434 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests.performance;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.URIUtil;
+import org.eclipse.osgi.service.resolver.ImportPackageSpecification;
+import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
+import org.eclipse.pde.api.tools.internal.model.AbstractApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
+import org.eclipse.pde.api.tools.internal.model.BundleComponent;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureBuilder;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureCache;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.model.tests.TestSuiteHelper;
+import org.eclipse.pde.core.target.ITargetDefinition;
+import org.eclipse.pde.core.target.ITargetPlatformService;
+import org.eclipse.pde.core.target.TargetBundle;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Performance tests for the core paths of API analysis: extracting
+ * references, building type structures, comparing class files, resolving API
+ * descriptions and resolving packages in a baseline. The bundles of the
+ * running target are used as fixture, the type level tests use the classes of
+ * {@link #FIXTURE_BUNDLE}. Class files are compared between two versions of a
+ * generated bundle, so that they actually differ.
+ * <p>
+ * Each test prints the throughput and the bytes allocated per operation. By
+ * default the measurements are asserted against the reference build of the
+ * performance framework; if the {@link #THRESHOLD_PROPERTY} system property is
+ * set, a test fails when it is slower than the reference by more than the
+ * given percentage.
+ * </p>
+ */
+public class CoreModelTests extends PerformanceTestCase {
+
+	/**
+	 * System property for the percentage a test may be slower than the
+	 * reference build
+	 */
+	static final String THRESHOLD_PROPERTY = "org.eclipse.pde.api.tools.tests.performance.threshold"; //$NON-NLS-1$
+
+	static final String FIXTURE_BUNDLE = "org.eclipse.jdt.core"; //$NON-NLS-1$
+
+	/**
+	 * Symbolic name, package and number of classes of the bundle generated
+	 * for {@link #testCompareClassFiles()}
+	 */
+	static final String COMPARISON_BUNDLE = "compare.fixture"; //$NON-NLS-1$
+	static final String COMPARISON_PACKAGE = "compare"; //$NON-NLS-1$
+	static final int COMPARISON_TYPES = 400;
+
+	private static final int WARMUP_RUNS = 2;
+	private static final int MEASURED_RUNS = 10;
+
+	/**
+	 * An operation measured in a test, run once per measured run
+	 */
+	interface Operation {
+		/**
+		 * @return the number of elements processed
+		 */
+		int run() throws Exception;
+	}
+
+	private IApiBaseline fBaseline;
+	private IApiComponent fComponent;
+	private List<IApiTypeRoot> fTypeRoots;
+	private TypeStructureCache fPreviousCache;
+
+	public CoreModelTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(CoreModelTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		// measure building the type structures, not reading them from disk
+		fPreviousCache = TypeStructureCache.getDefault();
+		TypeStructureCache.setDefault(null);
+		fBaseline = createBaseline("target"); //$NON-NLS-1$
+		fComponent = fBaseline.getApiComponent(FIXTURE_BUNDLE);
+		assertNotNull("the fixture bundle should be in the target: " + FIXTURE_BUNDLE, fComponent); //$NON-NLS-1$
+		fTypeRoots = collectTypeRoots(fComponent);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fBaseline.dispose();
+		TypeStructureCache.setDefault(fPreviousCache);
+		super.tearDown();
+	}
+
+	/**
+	 * Extracts the references of all kinds from all top level types of the
+	 * fixture bundle
+	 */
+	public void testExtractReferences() throws Exception {
+		tagAsSummary("Extract references", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		List<IApiType> types = new ArrayList<>();
+		for (IApiTypeRoot root : fTypeRoots) {
+			IApiType type = root.getStructure();
+			if (type != null && !type.isMemberType() && !type.isLocal() && !type.isAnonymous()) {
+				types.add(type);
+			}
+		}
+		measure("references extracted", () -> { //$NON-NLS-1$
+			int count = 0;
+			for (IApiType type : types) {
+				count += type.extractReferences(IReference.MASK_REF_ALL, null).size();
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Builds the type structures of all class files of the fixture bundle
+	 */
+	public void testBuildTypeStructures() throws Exception {
+		tagAsSummary("Build type structures", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		List<byte[]> contents = new ArrayList<>(fTypeRoots.size());
+		for (IApiTypeRoot root : fTypeRoots) {
+			contents.add(((AbstractApiTypeRoot) root).getContents());
+		}
+		measure("type structures built", () -> { //$NON-NLS-1$
+			int count = 0;
+			for (int i = 0; i < contents.size(); i++) {
+				if (TypeStructureBuilder.buildTypeStructure(contents.get(i), fComponent, fTypeRoots.get(i)) != null) {
+					count++;
+				}
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Compares the classes of two versions of a generated bundle. Every class
+	 * differs between the versions, so each comparison walks the members of
+	 * both types instead of stopping at the equal class file fingerprints.
+	 */
+	public void testCompareClassFiles() throws Exception {
+		tagAsSummary("Compare class files", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		Path dir = Files.createTempDirectory("compare-class-files"); //$NON-NLS-1$
+		IApiBaseline reference = null;
+		IApiBaseline baseline = null;
+		try {
+			reference = createComparisonBaseline(dir.resolve("before"), false); //$NON-NLS-1$
+			baseline = createComparisonBaseline(dir.resolve("after"), true); //$NON-NLS-1$
+			IApiComponent referenceComponent = reference.getApiComponent(COMPARISON_BUNDLE);
+			IApiComponent component = baseline.getApiComponent(COMPARISON_BUNDLE);
+			assertNotNull("missing reference component", referenceComponent); //$NON-NLS-1$
+			assertNotNull("missing component", component); //$NON-NLS-1$
+			List<IApiTypeRoot> roots = collectTypeRoots(component);
+			assertEquals("wrong number of generated types", COMPARISON_TYPES, roots.size()); //$NON-NLS-1$
+			IApiBaseline referenceBaseline = reference;
+			IApiBaseline currentBaseline = baseline;
+			for (IApiTypeRoot root : roots) {
+				IDelta delta = new ClassFileComparator(referenceComponent.findTypeRoot(root.getTypeName()), root, referenceComponent, component, referenceBaseline, currentBaseline, VisibilityModifiers.API).getDelta();
+				assertTrue("generated type should change: " + root.getTypeName(), delta != null && !delta.isEmpty()); //$NON-NLS-1$
+			}
+			measure("class files compared", () -> { //$NON-NLS-1$
+				int count = 0;
+				for (IApiTypeRoot root : roots) {
+					new ClassFileComparator(referenceComponent.findTypeRoot(root.getTypeName()), root, referenceComponent, component, referenceBaseline, currentBaseline, VisibilityModifiers.API).getDelta();
+					count++;
+				}
+				return count;
+			});
+		} finally {
+			if (reference != null) {
+				reference.dispose();
+			}
+			if (baseline != null) {
+				baseline.dispose();
+			}
+			TestSuiteHelper.delete(dir.toFile());
+		}
+	}
+
+	/**
+	 * Generates, compiles and loads one version of the bundle compared by
+	 * {@link #testCompareClassFiles()}. The classes of the second version each
+	 * get one kind of change: a removed and an added method, a changed field
+	 * type and constant, reduced visibility and a final class, or an added
+	 * interface and a new thrown exception.
+	 */
+	private static IApiBaseline createComparisonBaseline(Path root, boolean after) throws Exception {
+		Path source = root.resolve("src").resolve(COMPARISON_PACKAGE); //$NON-NLS-1$
+		Path bundle = root.resolve("bundles").resolve(COMPARISON_BUNDLE); //$NON-NLS-1$
+		Files.createDirectories(source);
+		Files.createDirectories(bundle.resolve("META-INF")); //$NON-NLS-1$
+		String[] files = new String[COMPARISON_TYPES];
+		for (int i = 0; i < COMPARISON_TYPES; i++) {
+			Path file = source.resolve("Type" + i + ".java"); //$NON-NLS-1$ //$NON-NLS-2$
+			Files.writeString(file, generateType(i, after ? i % 4 : -1));
+			files[i] = file.toString();
+		}
+		assertTrue("generated sources should compile", TestSuiteHelper.compile(files, bundle.toString(), TestSuiteHelper.getCompilerOptions())); //$NON-NLS-1$
+		String manifest = "Manifest-Version: 1.0\nBundle-ManifestVersion: 2\nBundle-SymbolicName: " + COMPARISON_BUNDLE //$NON-NLS-1$
+				+ "\nBundle-Version: 1.0.0\nExport-Package: " + COMPARISON_PACKAGE + "\n"; //$NON-NLS-1$ //$NON-NLS-2$
+		Files.writeString(bundle.resolve("META-INF").resolve("MANIFEST.MF"), manifest); //$NON-NLS-1$ //$NON-NLS-2$
+		return TestSuiteHelper.createBaseline(root.getFileName().toString(), bundle.getParent().toFile());
+	}
+
+	/**
+	 * Returns the source of a generated type, with the given kind of change or
+	 * unchanged if the kind is negative
+	 */
+	private static String generateType(int index, int change) {
+		StringBuilder buffer = new StringBuilder("package ").append(COMPARISON_PACKAGE).append(";\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("public ").append(change == 2 ? "final " : "").append("class Type").append(index); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		buffer.append(change == 3 ? " implements java.io.Serializable" : "").append(" {\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		buffer.append("\tpublic static final int CONSTANT = ").append(change == 1 ? index + 1 : index).append(";\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\tpublic ").append(change == 1 ? "long" : "int").append(" count;\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		buffer.append("\tprotected String name;\n"); //$NON-NLS-1$
+		for (int i = 0; i < 8; i++) {
+			if (change == 0 && i == 0) {
+				continue;
+			}
+			buffer.append("\tpublic Object method").append(i).append("(int value, String text) { return null; }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (change == 0) {
+			buffer.append("\tpublic void added(long value) {}\n"); //$NON-NLS-1$
+		}
+		buffer.append('\t').append(change == 2 ? "protected" : "public").append(" String describe() { return name; }\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		buffer.append("\tprotected void run()").append(change == 3 ? " throws java.io.IOException" : "").append(" {}\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		buffer.append("}\n"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+
+	/**
+	 * Resolves the API annotations of all types of the fixture bundle
+	 */
+	public void testResolveApiDescription() throws Exception {
+		tagAsSummary("Resolve API description annotations", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		IApiDescription description = fComponent.getApiDescription();
+		measure("annotations resolved", () -> { //$NON-NLS-1$
+			int count = 0;
+			for (IApiTypeRoot root : fTypeRoots) {
+				if (description.resolveAnnotations(Factory.typeDescriptor(root.getTypeName())) != null) {
+					count++;
+				}
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Resolves the imported packages of all bundles of the target in a new
+	 * baseline per run, so no resolved package is cached
+	 */
+	public void testResolvePackages() throws Exception {
+		tagAsSummary("Resolve imported packages", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		long operations = 0;
+		long time = 0;
+		long allocated = 0;
+		for (int i = 0; i < WARMUP_RUNS + MEASURED_RUNS; i++) {
+			IApiBaseline baseline = createBaseline("packages" + i); //$NON-NLS-1$
+			try {
+				boolean measured = i >= WARMUP_RUNS;
+				long bytes = getAllocatedBytes();
+				long start = System.nanoTime();
+				if (measured) {
+					startMeasuring();
+				}
+				int count = resolveImportedPackages(baseline);
+				if (measured) {
+					stopMeasuring();
+					time += System.nanoTime() - start;
+					allocated += getAllocatedBytes() - bytes;
+					operations += count;
+				}
+			} finally {
+				baseline.dispose();
+			}
+		}
+		report("packages resolved", operations, time, allocated); //$NON-NLS-1$
+		commitMeasurements();
+		assertPerformanceWithinThreshold();
+	}
+
+	private int resolveImportedPackages(IApiBaseline baseline) throws CoreException {
+		int count = 0;
+		for (IApiComponent component : baseline.getApiComponents()) {
+			if (component instanceof BundleComponent bundle && bundle.getBundleDescription() != null) {
+				for (ImportPackageSpecification spec : bundle.getBundleDescription().getImportPackages()) {
+					baseline.resolvePackage(component, spec.getName());
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Runs the given operation for the warm-up and measured runs, reports
+	 * the throughput and allocations and asserts the performance
+	 */
+	private void measure(String unit, Operation operation) throws Exception {
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			operation.run();
+		}
+		long operations = 0;
+		long time = 0;
+		long allocated = 0;
+		for (int i = 0; i < MEASURED_RUNS; i++) {
+			long bytes = getAllocatedBytes();
+			long start = System.nanoTime();
+			startMeasuring();
+			int count = operation.run();
+			stopMeasuring();
+			time += System.nanoTime() - start;
+			allocated += getAllocatedBytes() - bytes;
+			operations += count;
+		}
+		report(unit, operations, time, allocated);
+		commitMeasurements();
+		assertPerformanceWithinThreshold();
+	}
+
+	private void report(String unit, long operations, long nanos, long allocated) {
+		long millis = Math.max(1, nanos / 1000000);
+		StringBuilder buffer = new StringBuilder(getName()).append(": ").append(operations).append(' ').append(unit); //$NON-NLS-1$
+		buffer.append(" in ").append(millis).append("ms, ").append(operations * 1000 / millis).append(" per second"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		if (allocated >= 0 && operations > 0) {
+			buffer.append(", ").append(allocated / operations).append(" bytes allocated per operation"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		System.out.println(buffer);
+	}
+
+	/**
+	 * Asserts the measurements against the reference build, within the
+	 * threshold given by the {@link #THRESHOLD_PROPERTY} if set
+	 */
+	private void assertPerformanceWithinThreshold() {
+		Integer threshold = Integer.getInteger(THRESHOLD_PROPERTY);
+		if (threshold == null) {
+			assertPerformance();
+		} else {
+			assertPerformanceInRelativeBand(Dimension.ELAPSED_PROCESS, -100, threshold.intValue());
+		}
+	}
+
+	/**
+	 * Returns the bytes allocated by the current thread so far, or -1 if the
+	 * VM does not support measuring allocations
+	 */
+	private static long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		// com.sun.management.ThreadMXBean is not visible to all bundles
+		for (Class<?> type : bean.getClass().getInterfaces()) {
+			if ("com.sun.management.ThreadMXBean".equals(type.getName())) { //$NON-NLS-1$
+				try {
+					Method method = type.getMethod("getCurrentThreadAllocatedBytes"); //$NON-NLS-1$
+					return ((Long) method.invoke(bean)).longValue();
+				} catch (ReflectiveOperationException e) {
+					return -1;
+				}
+			}
+		}
+		return -1;
+	}
+
+	private static List<IApiTypeRoot> collectTypeRoots(IApiComponent component) throws CoreException {
+		List<IApiTypeRoot> roots = new ArrayList<>();
+		component.accept(new ApiTypeContainerVisitor() {
+			@Override
+			public void visit(String packageName, IApiTypeRoot typeroot) {
+				roots.add(typeroot);
+			}
+		});
+		return roots;
+	}
+
+	/**
+	 * Creates a baseline with the bundles of the running target
+	 */
+	private static IApiBaseline createBaseline(String name) throws CoreException {
+		ITargetPlatformService service = ApiPlugin.getDefault().acquireService(ITargetPlatformService.class);
+		ITargetDefinition definition = service.getWorkspaceTargetDefinition();
+		definition.resolve(new NullProgressMonitor());
+		IApiBaseline baseline = ApiModelFactory.newApiBaseline(name);
+		List<IApiComponent> components = new ArrayList<>();
+		for (TargetBundle bundle : definition.getBundles()) {
+			if (bundle.getStatus().isOK() && !bundle.isSourceBundle()) {
+				IApiComponent component = ApiModelFactory.newApiComponent(baseline, URIUtil.toFile(bundle.getBundleInfo().getLocation()).getAbsolutePath());
+				if (component != null) {
+					components.add(component);
+				}
+			}
+		}
+		baseline.addApiComponents(components.toArray(new IApiComponent[components.size()]));
+		return baseline;
+	}
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests.performance;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.pde.api.tools.internal.ApiFilterStore;
+import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.tests.util.ProjectUtils;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Performance tests for looking up problems in an {@link ApiFilterStore} with
+ * many filters on a few resources
+ */
+public class FilterStoreTests extends PerformanceTestCase {
+
+	private static final String PROJECT_NAME = "filterstoreperf"; //$NON-NLS-1$
+	private static final int FILTER_COUNT = 10000;
+	private static final int TYPE_COUNT = 5;
+
+	private IJavaProject fProject;
+	private ApiFilterStore fStore;
+
+	public FilterStoreTests(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return new TestSuite(FilterStoreTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fProject = ProjectUtils.createJavaProject(PROJECT_NAME, null);
+		IProject project = fProject.getProject();
+		project.getFolder("src").create(true, true, null); //$NON-NLS-1$
+		for (int i = 0; i < TYPE_COUNT; i++) {
+			IFile file = project.getFile(getResourcePath(i));
+			String contents = "public class C" + i + " {}"; //$NON-NLS-1$ //$NON-NLS-2$
+			file.create(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), true, null);
+		}
+		fStore = new ApiFilterStore(fProject);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fStore.dispose();
+		fProject.getProject().delete(true, true, null);
+		super.tearDown();
+	}
+
+	/**
+	 * Adds 10k filters for the same kind of problem spread over a few types
+	 * and then repeatedly checks that each of those problems is filtered while
+	 * filter usage is recorded.
+	 */
+	public void testIsFiltered() throws Exception {
+		tagAsSummary("Look up 10k API problem filters", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		IApiProblem[] problems = new IApiProblem[FILTER_COUNT];
+		for (int i = 0; i < FILTER_COUNT; i++) {
+			problems[i] = newProblem(i);
+		}
+		long start = System.currentTimeMillis();
+		fStore.addFiltersFor(problems);
+		System.out.println("Added " + FILTER_COUNT + " filters: " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		// WARM-UP
+		for (int i = 0; i < 2; i++) {
+			lookup(problems);
+		}
+		for (int i = 0; i < 10; i++) {
+			start = System.currentTimeMillis();
+			startMeasuring();
+			lookup(problems);
+			stopMeasuring();
+			System.out.println("Looked up " + FILTER_COUNT + " filtered problems: " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void lookup(IApiProblem[] problems) {
+		fStore.recordFilterUsage();
+		for (IApiProblem problem : problems) {
+			assertTrue("the problem should be filtered: " + problem, fStore.isFiltered(problem)); //$NON-NLS-1$
+		}
+		assertFalse("an unknown problem should not be filtered", fStore.isFiltered(newProblem(FILTER_COUNT))); //$NON-NLS-1$
+		IResource resource = fProject.getProject().findMember(getResourcePath(0));
+		assertEquals("all filters should be used", 0, fStore.getUnusedFilters(resource, null, null).length); //$NON-NLS-1$
+	}
+
+	/**
+	 * Creates a problem for an illegal reference to a member of a type, all
+	 * problems only differ in the referenced type and their location
+	 */
+	private IApiProblem newProblem(int index) {
+		int type = index % TYPE_COUNT;
+		return ApiProblemFactory.newApiProblem(getResourcePath(type), "C" + type, //$NON-NLS-1$
+				new String[] { "p.Referenced" + index, "m()" }, null, null, -1, -1, -1, //$NON-NLS-1$ //$NON-NLS-2$
+				IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.ILLEGAL_REFERENCE, IApiProblem.METHOD);
+	}
+
+	private static String getResourcePath(int type) {
+		return "src/C" + type + ".java"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
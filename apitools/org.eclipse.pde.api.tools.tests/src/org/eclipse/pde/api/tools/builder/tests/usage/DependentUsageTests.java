@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,7 +13,10 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.builder.tests.usage;
 
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.api.tools.internal.builder.BuildState;
 import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
@@ -461,4 +464,52 @@ public class DependentUsageTests extends UsageTest {
 			});
 		deployTest("test12", XYZ_PATH, MPPATH, "mpClassRef.java", addtag); //$NON-NLS-1$ //$NON-NLS-2$
 	}
+
+	/**
+	 * Tests that changing a type in the referenced project only checks the
+	 * types of the testing project again that the API usage scan recorded as
+	 * its dependents. The dependents are recorded in the build state of the
+	 * project they belong to, not in the one of the referenced project.
+	 *
+	 * Uses test13.java, test13other.java and classref.java
+	 */
+	public void testRecordedDependents() throws Exception {
+		boolean autoBuilding = getEnv().getWorkspace().isAutoBuilding();
+		try {
+			getEnv().setAutoBuilding(false);
+			IPath refpath = C_PATH.append("classref.java"); //$NON-NLS-1$
+			IPath usepath = XYZ_PATH.append("test13.java"); //$NON-NLS-1$
+			IPath otherpath = XYZ_PATH.append("test13other.java"); //$NON-NLS-1$
+			createWorkspaceFile(refpath, getReplacementType("test13", WITHOUTTAG, "classref.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			createWorkspaceFile(usepath, getTestSource("test13")); //$NON-NLS-1$
+			createWorkspaceFile(otherpath, getTestSource("test13").removeLastSegments(1).append("test13other.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			fullBuild();
+			expectingNoJDTProblems();
+			assertEquals("Wrong number of problems on the dependent type", 0, getEnv().getMarkersFor(usepath).length); //$NON-NLS-1$
+			IMarker[] markers = getEnv().getMarkersFor(otherpath);
+			assertEquals("Wrong number of problems on the independent type", 1, markers.length); //$NON-NLS-1$
+			long created = markers[0].getCreationTime();
+
+			IProject project = getEnv().getWorkspace().getRoot().getProject(getTestingProjectName());
+			BuildState state = BuildState.getLastBuiltState(project);
+			assertTrue("Type references should be recorded", state.hasTypeReferences()); //$NON-NLS-1$
+			assertTrue("Missing recorded dependent", state.getDependentTypes("c.classref").contains("x/y/z/test13")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			assertFalse("Independent type should not be recorded", state.getDependentTypes("c.classref").contains("x/y/z/test13other")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			IProject refproject = getEnv().getWorkspace().getRoot().getProject(REF_PROJECT_NAME);
+			assertTrue("Dependents should not be recorded by the referenced project", //$NON-NLS-1$
+					BuildState.getLastBuiltState(refproject).getDependentTypes("c.classref").isEmpty()); //$NON-NLS-1$
+
+			updateWorkspaceFile(refpath, getReplacementType("test13", WITHTAG, "classref.java")); //$NON-NLS-1$ //$NON-NLS-2$
+			incrementalBuild();
+			expectingNoJDTProblems();
+			assertEquals("Dependent type should be checked again", 1, getEnv().getMarkersFor(usepath).length); //$NON-NLS-1$
+			markers = getEnv().getMarkersFor(otherpath);
+			assertEquals("Wrong number of problems on the independent type", 1, markers.length); //$NON-NLS-1$
+			assertEquals("Independent type should not be checked again", created, markers[0].getCreationTime()); //$NON-NLS-1$
+		} finally {
+			if (autoBuilding) {
+				getEnv().setAutoBuilding(true);
+			}
+		}
+	}
 }
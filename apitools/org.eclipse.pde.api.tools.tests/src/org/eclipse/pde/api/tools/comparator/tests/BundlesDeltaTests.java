@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,7 +20,11 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.List;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.comparator.ComparisonTimings;
+import org.eclipse.pde.api.tools.internal.comparator.ComparisonTimings.ComponentTiming;
 import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.ApiComparator;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.DeltaProcessor;
@@ -578,4 +582,63 @@ public class BundlesDeltaTests extends DeltaTestSetup {
 		assertNotNull("No delta", delta); //$NON-NLS-1$
 		assertFalse("Equals to NO_DELTA", delta == ApiComparator.NO_DELTA); //$NON-NLS-1$
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Tests that a comparison with several threads returns the same delta as a
+	 * serial one and records the time spent per compared component
+	 */
+	@Test
+	public void test17() {
+		deployBundles("test2"); //$NON-NLS-1$
+		IApiBaseline beforeState = getBeforeState();
+		IApiBaseline afterState = getAfterState();
+		IDelta serial = ApiComparator.compare(beforeState, afterState, VisibilityModifiers.ALL_VISIBILITIES, false, null);
+		ComparisonTimings timings = new ComparisonTimings();
+		IDelta parallel = ApiComparator.compare(beforeState, afterState, VisibilityModifiers.ALL_VISIBILITIES, false, 4, timings, null);
+		assertNotNull("No delta", parallel); //$NON-NLS-1$
+		assertEquals("Wrong delta", serial.toString(), parallel.toString()); //$NON-NLS-1$
+		assertEquals("Wrong size", collectLeaves(serial).length, collectLeaves(parallel).length); //$NON-NLS-1$
+		List<ComponentTiming> recorded = timings.getTimings();
+		assertEquals("Wrong timings", 1, recorded.size()); //$NON-NLS-1$
+		assertEquals("Wrong id", "deltatest1", recorded.get(0).id()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong version", "1.0.0", recorded.get(0).version()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong total", recorded.get(0).elapsedMillis(), timings.getTotalMillis()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that comparing several components in parallel returns the same
+	 * delta tree as a serial comparison, with the components in the same
+	 * order
+	 */
+	@Test
+	public void test18() {
+		String[] bundles = new String[] { "deltatest1", "deltatest2", "deltatest3" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		for (String bundle : bundles) {
+			deployBundle("test18/" + bundle, BEFORE, bundle); //$NON-NLS-1$
+			deployBundle("test18/" + bundle, AFTER, bundle); //$NON-NLS-1$
+		}
+		// removed in the after state
+		deployBundle("test18/deltatest4", BEFORE, "deltatest4"); //$NON-NLS-1$ //$NON-NLS-2$
+		IApiBaseline beforeState = getBeforeState();
+		IApiBaseline afterState = getAfterState();
+		ComparisonTimings serialTimings = new ComparisonTimings();
+		IDelta serial = ApiComparator.compare(beforeState, afterState, VisibilityModifiers.ALL_VISIBILITIES, true, 1, serialTimings, null);
+		ComparisonTimings parallelTimings = new ComparisonTimings();
+		IDelta parallel = ApiComparator.compare(beforeState, afterState, VisibilityModifiers.ALL_VISIBILITIES, true, 4, parallelTimings, null);
+		assertNotNull("No delta", parallel); //$NON-NLS-1$
+		assertFalse("Equals to NO_DELTA", parallel == ApiComparator.NO_DELTA); //$NON-NLS-1$
+		assertEquals("Wrong delta", serial.toString(), parallel.toString()); //$NON-NLS-1$
+		IDelta[] serialLeaves = collectLeaves(serial);
+		IDelta[] parallelLeaves = collectLeaves(parallel);
+		assertEquals("Wrong size", serialLeaves.length, parallelLeaves.length); //$NON-NLS-1$
+		for (int i = 0; i < serialLeaves.length; i++) {
+			assertEquals("Wrong component", serialLeaves[i].getComponentVersionId(), parallelLeaves[i].getComponentVersionId()); //$NON-NLS-1$
+			assertEquals("Wrong kind", serialLeaves[i].getKind(), parallelLeaves[i].getKind()); //$NON-NLS-1$
+			assertEquals("Wrong flags", serialLeaves[i].getFlags(), parallelLeaves[i].getFlags()); //$NON-NLS-1$
+			assertEquals("Wrong key", serialLeaves[i].getKey(), parallelLeaves[i].getKey()); //$NON-NLS-1$
+		}
+		List<String> compared = parallelTimings.getTimings().stream().map(ComponentTiming::id).toList();
+		assertEquals("Wrong compared components", serialTimings.getTimings().stream().map(ComponentTiming::id).toList(), compared); //$NON-NLS-1$
+		assertEquals("Wrong number of compared components", bundles.length, compared.size()); //$NON-NLS-1$
+	}
+}
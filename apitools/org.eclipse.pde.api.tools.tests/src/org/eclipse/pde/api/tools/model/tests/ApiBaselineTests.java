@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import java.util.stream.Collectors;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.pde.api.tools.internal.BundleVersionRange;
 import org.eclipse.pde.api.tools.internal.RequiredComponentDescription;
+import org.eclipse.pde.api.tools.internal.model.ApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.Factory;
 import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
 import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
@@ -91,6 +92,23 @@ public class ApiBaselineTests {
 		assertEquals("Wrong provider for package", fBaseline.getApiComponent(COMPONENT_A), components[0]); //$NON-NLS-1$
 	}
 
+	/**
+	 * Resolves a package again after clearing it, so it is looked up in the
+	 * index of visible packages again
+	 */
+	@Test
+	public void testResolvePackageAfterClear() throws CoreException {
+		assertNotNull("the testing baseline should exist", fBaseline); //$NON-NLS-1$
+		IApiComponent source = fBaseline.getApiComponent(COMPONENT_B);
+		IApiComponent[] components = fBaseline.resolvePackage(source, COMPONENT_A);
+		assertEquals("Wrong size", 1, components.length); //$NON-NLS-1$
+		((ApiBaseline) fBaseline).clearPackage(COMPONENT_A);
+		IApiComponent[] resolved = fBaseline.resolvePackage(source, COMPONENT_A);
+		assertEquals("Wrong size after clear", 1, resolved.length); //$NON-NLS-1$
+		assertEquals("Wrong provider for package after clear", components[0], resolved[0]); //$NON-NLS-1$
+		assertEquals("Unknown package should not be resolved", 0, fBaseline.resolvePackage(source, "does.not.exist").length); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 	/**
 	 * Resolves a package within a single component
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2024 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -232,6 +232,40 @@ public class ApiFilterStoreTests extends AbstractApiTest {
 		assertFalse("src/x/y/z/C4.java should not have a filter", store.isFiltered(problem)); //$NON-NLS-1$
 	}
 
+	/**
+	 * Tests that a filter with a simple name as message argument filters a
+	 * problem with the qualified name and that its use is recorded
+	 */
+	@Test
+	public void testFilterQualifiedArgument() throws CoreException {
+		IApiComponent component = getProjectApiComponent(TESTING_PLUGIN_PROJECT_NAME);
+		assertNotNull("the testing project api component must exist", component); //$NON-NLS-1$
+		IProject project = getTestingJavaProject(TESTING_PLUGIN_PROJECT_NAME).getProject();
+		IResource resource = project.findMember(IPath.fromOSString("src/x/y/z/C4.java")); //$NON-NLS-1$
+		assertNotNull("the resource src/x/y/z/C4.java must exist", resource); //$NON-NLS-1$
+		String path = resource.getProjectRelativePath().toPortableString();
+		IApiProblem filtered = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "Referenced" }, //$NON-NLS-1$ //$NON-NLS-2$
+				null, null, -1, -1, -1, IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD,
+				IApiProblem.ILLEGAL_REFERENCE, IApiProblem.METHOD);
+		ApiFilterStore store = (ApiFilterStore) component.getFilterStore();
+		store.addFiltersFor(new IApiProblem[] { filtered });
+		store.recordFilterUsage();
+		assertEquals("the new filter should be unused", 1, store.getUnusedFilters(resource, "x.y.z.C4", null).length); //$NON-NLS-1$ //$NON-NLS-2$
+
+		IApiProblem other = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "a.b.Other" }, //$NON-NLS-1$ //$NON-NLS-2$
+				null, null, -1, -1, -1, IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD,
+				IApiProblem.ILLEGAL_REFERENCE, IApiProblem.METHOD);
+		assertFalse("a problem with another argument should not be filtered", store.isFiltered(other)); //$NON-NLS-1$
+		IApiProblem qualified = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "a.b.Referenced" }, //$NON-NLS-1$ //$NON-NLS-2$
+				null, null, -1, -1, -1, IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD,
+				IApiProblem.ILLEGAL_REFERENCE, IApiProblem.METHOD);
+		assertTrue("a problem with the qualified argument should be filtered", store.isFiltered(qualified)); //$NON-NLS-1$
+		assertEquals("the new filter should be used", 0, store.getUnusedFilters(resource, "x.y.z.C4", null).length); //$NON-NLS-1$ //$NON-NLS-2$
+		store.removeFilters(new IApiProblemFilter[] {
+				ApiProblemFactory.newProblemFilter(component.getSymbolicName(), filtered, null) });
+		assertFalse("the problem should not be filtered after removing the filter", store.isFiltered(qualified)); //$NON-NLS-1$
+	}
+
 	/**
 	 * Tests that a filter store will not be annotated from a bundle
 	 */
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.model.tests;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -160,4 +161,44 @@ public class ApiModelCacheTests {
 		assertTrue("The type 'a.b.c.testee1' should have been removed from the cache", ApiModelCache.getCache().removeElementInfo(element)); //$NON-NLS-1$
 		assertTrue("The cache should be empty", ApiModelCache.getCache().isEmpty()); //$NON-NLS-1$
 	}
+
+	/**
+	 * Tests that lookups update the hit and miss counters
+	 */
+	@Test
+	public void testHitMissCounters() throws Exception {
+		ApiModelCache cache = ApiModelCache.getCache();
+		cacheType("a.b.c.counted"); //$NON-NLS-1$
+		long hits = cache.getHitCount();
+		long misses = cache.getMissCount();
+		assertNotNull("The element 'a.b.c.counted' should exist in the cache", //$NON-NLS-1$
+				cache.getElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.counted", IApiElement.TYPE)); //$NON-NLS-1$
+		assertNull("The element 'a.b.c.missing' should not exist in the cache", //$NON-NLS-1$
+				cache.getElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.missing", IApiElement.TYPE)); //$NON-NLS-1$
+		assertEquals("There should be one more hit", hits + 1, cache.getHitCount()); //$NON-NLS-1$
+		assertEquals("There should be one more miss", misses + 1, cache.getMissCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the cache evicts types once the maximum weight is exceeded
+	 */
+	@Test
+	public void testEvictionByWeight() throws Exception {
+		ApiModelCache cache = ApiModelCache.getCache();
+		long max = cache.getMaxWeight();
+		try {
+			cacheType("a.b.c.evict0"); //$NON-NLS-1$
+			long weight = cache.getWeight();
+			assertTrue("The cached type should have a weight", weight > 0); //$NON-NLS-1$
+			long evictions = cache.getEvictionCount();
+			cache.setMaxWeight(weight * 10);
+			for (int i = 1; i < 20; i++) {
+				cacheType("a.b.c.evict" + i); //$NON-NLS-1$
+			}
+			assertTrue("The cache should not exceed its maximum weight", cache.getWeight() <= weight * 10); //$NON-NLS-1$
+			assertTrue("Types should have been evicted", cache.getEvictionCount() > evictions); //$NON-NLS-1$
+		} finally {
+			cache.setMaxWeight(max);
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,22 +13,44 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.model.tests;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.api.tools.internal.model.AbstractApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.model.ArchiveApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.model.ArchiveFingerprints;
+import org.eclipse.pde.api.tools.internal.model.ArchiveHandlePool;
+import org.eclipse.pde.api.tools.internal.model.ArchiveIndex;
 import org.eclipse.pde.api.tools.internal.model.DirectoryApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
@@ -227,4 +249,194 @@ public class ApiTypeContainerTests {
 		assertEquals("Visited wrong number of packages", expectedPkgOrder.size(), visit.size()); //$NON-NLS-1$
 		assertEquals("Visit order incorrect", expectedPkgOrder, visit);		 //$NON-NLS-1$
 	}
+
+	/**
+	 * Tests that the index of an archive is shared and lists its class files.
+	 */
+	@Test
+	public void testArchiveIndex() throws IOException {
+		IPath path = TestSuiteHelper.getPluginDirectoryPath().append("test-jars").append("sample.jar"); //$NON-NLS-1$ //$NON-NLS-2$
+		ArchiveIndex index = ArchiveIndex.getIndex(path.toFile().toPath());
+		assertSame("Index should be shared", index, ArchiveIndex.getIndex(path.toFile().toPath())); //$NON-NLS-1$
+		ArchiveIndex.clearLoadedIndexes();
+		ArchiveIndex reloaded = ArchiveIndex.getIndex(path.toFile().toPath());
+		assertArrayEquals("Wrong class entries", index.getClassEntries(), reloaded.getClassEntries()); //$NON-NLS-1$
+		assertTrue("Missing class entry", Set.of(index.getClassEntries()).contains("a/b/c/ClassC.class")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that persisted indexes are named after a digest of the archive path
+	 * and are deleted once their archive no longer exists.
+	 */
+	@Test
+	public void testArchiveIndexPruned() throws Exception {
+		Path sample = TestSuiteHelper.getPluginDirectoryPath().append("test-jars").append("sample.jar").toFile().toPath(); //$NON-NLS-1$ //$NON-NLS-2$
+		Path archive = Files.createTempFile("pruned", ".jar"); //$NON-NLS-1$ //$NON-NLS-2$
+		Files.copy(sample, archive, StandardCopyOption.REPLACE_EXISTING);
+		ArchiveIndex.getIndex(sample);
+		ArchiveIndex.getIndex(archive);
+		assertTrue("Index should be persisted", Files.exists(getIndexFile(archive))); //$NON-NLS-1$
+
+		Files.delete(archive);
+		ArchiveIndex.clearLoadedIndexes();
+		ArchiveIndex.pruneIndexes();
+		assertFalse("Index of deleted archive should be pruned", Files.exists(getIndexFile(archive))); //$NON-NLS-1$
+		assertTrue("Index of existing archive should be kept", Files.exists(getIndexFile(sample))); //$NON-NLS-1$
+	}
+
+	private static Path getIndexFile(Path archive) throws NoSuchAlgorithmException {
+		byte[] digest = MessageDigest.getInstance("SHA-256").digest(archive.toString().getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		return ApiPlugin.getDefault().getStateLocation().append(".archive_indexes").toFile().toPath() //$NON-NLS-1$
+				.resolve(HexFormat.of().formatHex(digest) + ".idx"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests reading class file contents on demand from an archive returns the
+	 * same contents as reading them eagerly.
+	 */
+	@Test
+	public void testArchiveReadOnDemand() throws CoreException {
+		AbstractApiTypeRoot eager = (AbstractApiTypeRoot) buildArchiveContainer().findTypeRoot("a.b.c.ClassC"); //$NON-NLS-1$
+		assertNotNull("Missing type root", eager); //$NON-NLS-1$
+		byte[] expected = eager.getContents();
+		boolean readOnDemand = ArchiveApiTypeContainer.isReadOnDemand();
+		ArchiveApiTypeContainer.setReadOnDemand(true);
+		try {
+			AbstractApiTypeRoot root = (AbstractApiTypeRoot) buildArchiveContainer().findTypeRoot("a.b.c.ClassC"); //$NON-NLS-1$
+			assertArrayEquals("Wrong contents", expected, root.getContents()); //$NON-NLS-1$
+			assertArrayEquals("Wrong contents", expected, root.getContents()); //$NON-NLS-1$
+			assertTrue("Archive should be pooled", ArchiveHandlePool.getDefault().getOpenCount() > 0); //$NON-NLS-1$
+		} finally {
+			ArchiveApiTypeContainer.setReadOnDemand(readOnDemand);
+		}
+	}
+
+	/**
+	 * Tests that the fingerprints of class files in an archive are shared by
+	 * all type roots and identify their contents.
+	 */
+	@Test
+	public void testArchiveFingerprints() throws CoreException, IOException {
+		IPath path = TestSuiteHelper.getPluginDirectoryPath().append("test-jars").append("sample.jar"); //$NON-NLS-1$ //$NON-NLS-2$
+		ArchiveFingerprints.clearLoadedFingerprints();
+		IApiTypeContainer container = buildArchiveContainer();
+		AbstractApiTypeRoot root = (AbstractApiTypeRoot) container.findTypeRoot("a.b.c.ClassC"); //$NON-NLS-1$
+		assertNotNull("Missing type root", root); //$NON-NLS-1$
+		byte[] fingerprint = root.getFingerprint();
+		assertEquals("Wrong fingerprint length", 32, fingerprint.length); //$NON-NLS-1$
+		assertTrue("Fingerprint should be recorded", ArchiveFingerprints.getFingerprints(path.toFile().toPath()).size() > 0); //$NON-NLS-1$
+
+		AbstractApiTypeRoot same = (AbstractApiTypeRoot) buildArchiveContainer().findTypeRoot("a.b.c.ClassC"); //$NON-NLS-1$
+		assertArrayEquals("Wrong fingerprint", fingerprint, same.getFingerprint()); //$NON-NLS-1$
+		AbstractApiTypeRoot other = (AbstractApiTypeRoot) container.findTypeRoot("a.b.c.ClassD"); //$NON-NLS-1$
+		assertNotNull("Missing type root", other); //$NON-NLS-1$
+		assertFalse("Different class files should have different fingerprints", Arrays.equals(fingerprint, other.getFingerprint())); //$NON-NLS-1$
+
+		// persisted when the container is closed
+		container.close();
+		ArchiveFingerprints.clearLoadedFingerprints();
+		assertTrue("Fingerprints should be restored", ArchiveFingerprints.getFingerprints(path.toFile().toPath()).size() >= 2); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a recorded fingerprint is not reused for an archive entry
+	 * whose contents changed, even if the archive keeps its size and
+	 * modification time.
+	 */
+	@Test
+	public void testArchiveFingerprintsFollowEntryChanges() throws Exception {
+		Path archive = Files.createTempFile("fingerprints", ".jar"); //$NON-NLS-1$ //$NON-NLS-2$
+		boolean readOnDemand = ArchiveApiTypeContainer.isReadOnDemand();
+		ArchiveApiTypeContainer.setReadOnDemand(true);
+		try {
+			byte[] before = "class file contents before".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+			byte[] after = "class file contents after!".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+			writeStoredArchive(archive, "a/A.class", before); //$NON-NLS-1$
+			FileTime lastModified = Files.getLastModifiedTime(archive);
+			long size = Files.size(archive);
+			ArchiveFingerprints.clearLoadedFingerprints();
+			ArchiveApiTypeContainer container = new ArchiveApiTypeContainer(null, archive.toString());
+			AbstractApiTypeRoot root = (AbstractApiTypeRoot) container.findTypeRoot("a.A"); //$NON-NLS-1$
+			assertNotNull("Missing type root", root); //$NON-NLS-1$
+			byte[] expected = MessageDigest.getInstance("SHA-256").digest(before); //$NON-NLS-1$
+			assertArrayEquals("Wrong fingerprint", expected, root.getFingerprint()); //$NON-NLS-1$
+			container.close();
+			ArchiveHandlePool.getDefault().close();
+
+			// same size and modification time, different entry contents
+			writeStoredArchive(archive, "a/A.class", after); //$NON-NLS-1$
+			Files.setLastModifiedTime(archive, lastModified);
+			assertEquals("Archive size should not change", size, Files.size(archive)); //$NON-NLS-1$
+			expected = MessageDigest.getInstance("SHA-256").digest(after); //$NON-NLS-1$
+			for (boolean reload : new boolean[] { false, true }) {
+				if (reload) {
+					// the persisted table must not be trusted either
+					ArchiveFingerprints.clearLoadedFingerprints();
+				}
+				container = new ArchiveApiTypeContainer(null, archive.toString());
+				root = (AbstractApiTypeRoot) container.findTypeRoot("a.A"); //$NON-NLS-1$
+				assertArrayEquals("Stale fingerprint", expected, root.getFingerprint()); //$NON-NLS-1$
+				container.close();
+			}
+		} finally {
+			ArchiveApiTypeContainer.setReadOnDemand(readOnDemand);
+			ArchiveHandlePool.getDefault().close();
+			Files.deleteIfExists(archive);
+		}
+	}
+
+	/**
+	 * Tests that a pooled archive handle is not reused once the archive is
+	 * replaced, and that closing a container releases the handle of its
+	 * archive.
+	 */
+	@Test
+	public void testArchiveHandlePoolFollowsArchiveChanges() throws Exception {
+		Path archive = Files.createTempFile("pooled", ".jar"); //$NON-NLS-1$ //$NON-NLS-2$
+		ArchiveHandlePool pool = ArchiveHandlePool.getDefault();
+		boolean readOnDemand = ArchiveApiTypeContainer.isReadOnDemand();
+		ArchiveApiTypeContainer.setReadOnDemand(true);
+		try {
+			byte[] before = "class file contents before".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+			byte[] after = "class file contents after the archive was replaced".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+			writeStoredArchive(archive, "a/A.class", before); //$NON-NLS-1$
+			assertArrayEquals("Wrong contents", before, pool.read(archive.toString(), "a/A.class")); //$NON-NLS-1$ //$NON-NLS-2$
+
+			// replaced while the pool keeps the old archive open
+			writeStoredArchive(archive, "a/A.class", after); //$NON-NLS-1$
+			assertArrayEquals("Stale contents", after, pool.read(archive.toString(), "a/A.class")); //$NON-NLS-1$ //$NON-NLS-2$
+
+			ArchiveApiTypeContainer container = new ArchiveApiTypeContainer(null, archive.toString());
+			AbstractApiTypeRoot root = (AbstractApiTypeRoot) container.findTypeRoot("a.A"); //$NON-NLS-1$
+			assertNotNull("Missing type root", root); //$NON-NLS-1$
+			assertArrayEquals("Wrong contents", after, root.getContents()); //$NON-NLS-1$
+			int open = pool.getOpenCount();
+			container.close();
+			assertEquals("Archive should be released on close", open - 1, pool.getOpenCount()); //$NON-NLS-1$
+		} finally {
+			ArchiveApiTypeContainer.setReadOnDemand(readOnDemand);
+			pool.close();
+			Files.deleteIfExists(archive);
+		}
+	}
+
+	/**
+	 * Writes an archive with a single uncompressed entry, so the size of the
+	 * archive only depends on the length of the contents
+	 */
+	private static void writeStoredArchive(Path archive, String name, byte[] contents) throws IOException {
+		CRC32 crc = new CRC32();
+		crc.update(contents);
+		ZipEntry entry = new ZipEntry(name);
+		entry.setMethod(ZipEntry.STORED);
+		entry.setSize(contents.length);
+		entry.setCompressedSize(contents.length);
+		entry.setCrc(crc.getValue());
+		entry.setTime(0);
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(archive))) {
+			out.putNextEntry(entry);
+			out.write(contents);
+			out.closeEntry();
+		}
+	}
 }
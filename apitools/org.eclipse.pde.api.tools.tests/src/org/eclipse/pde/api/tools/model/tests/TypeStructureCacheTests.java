@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.pde.api.tools.internal.model.ArchiveApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureBuilder;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureCache;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiField;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that type structures restored from the {@link TypeStructureCache} are
+ * the same as the ones built from class files
+ */
+public class TypeStructureCacheTests {
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private TypeStructureCache fCache;
+	private TypeStructureCache fPrevious;
+
+	@Before
+	public void setUp() throws Exception {
+		fPrevious = TypeStructureCache.getDefault();
+		fCache = new TypeStructureCache(fFolder.getRoot().toPath());
+		TypeStructureCache.setDefault(fCache);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		TypeStructureCache.setDefault(fPrevious);
+	}
+
+	/**
+	 * Tests a class with constants, generic signatures and exceptions
+	 */
+	@Test
+	public void testClass() throws Exception {
+		doTestRestore(String.class);
+	}
+
+	/**
+	 * Tests a member type
+	 */
+	@Test
+	public void testMemberType() throws Exception {
+		doTestRestore(Map.Entry.class);
+	}
+
+	/**
+	 * Tests an enum
+	 */
+	@Test
+	public void testEnum() throws Exception {
+		doTestRestore(Thread.State.class);
+	}
+
+	/**
+	 * Tests a class with signature polymorphic methods
+	 */
+	@Test
+	public void testPolymorphicMethods() throws Exception {
+		doTestRestore(MethodHandle.class);
+	}
+
+	/**
+	 * Tests an annotation with default values
+	 */
+	@Test
+	public void testAnnotationDefaults() throws Exception {
+		doTestRestore(Test.class);
+	}
+
+	/**
+	 * Tests that recorded type structures are only persisted when the cache is
+	 * flushed, and restored by a new cache on the same location
+	 */
+	@Test
+	public void testFlush() throws Exception {
+		byte[] bytes = getBytes(String.class);
+		TypeStructureBuilder.buildTypeStructure(bytes, null, null);
+		Path root = fFolder.getRoot().toPath();
+		assertEquals("Nothing should be written before a flush", 0, getSize(root)); //$NON-NLS-1$
+		fCache.flush();
+		assertTrue("Segment should be written by a flush", getSize(root) > 0); //$NON-NLS-1$
+
+		fCache = new TypeStructureCache(root);
+		TypeStructureCache.setDefault(fCache);
+		TypeStructureBuilder.buildTypeStructure(bytes, null, null);
+		assertEquals("Type should be restored from the flushed segment", 1, fCache.getHitCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the type structures of an archive are stored in one segment,
+	 * and that segments are evicted once a flush leaves the cache larger than
+	 * its maximum size, least recently used first
+	 */
+	@Test
+	public void testEviction() throws Exception {
+		Path string = createArchive(String.class);
+		Path entry = createArchive(Map.Entry.class, Map.class);
+		Path root = fFolder.getRoot().toPath();
+		buildTypeStructures(string, String.class);
+		buildTypeStructures(entry, Map.Entry.class, Map.class);
+		fCache.flush();
+		assertEquals("Expected one segment per archive", 2, getFiles(root).size()); //$NON-NLS-1$
+		for (Path path : getFiles(root)) {
+			Files.setLastModifiedTime(path, FileTime.fromMillis(1000000L));
+		}
+		long size = getSize(root);
+
+		// room for the two segments, but not for a third
+		fCache = new TypeStructureCache(root, size + 1);
+		TypeStructureCache.setDefault(fCache);
+		buildTypeStructures(string, String.class);
+		assertEquals("Type should be restored from the cache", 1, fCache.getHitCount()); //$NON-NLS-1$
+		buildTypeStructures(createArchive(Thread.State.class), Thread.State.class);
+		fCache.flush();
+		assertTrue("Cache should not exceed its maximum size", getSize(root) <= size + 1); //$NON-NLS-1$
+
+		fCache = new TypeStructureCache(root, size + 1);
+		TypeStructureCache.setDefault(fCache);
+		buildTypeStructures(entry, Map.Entry.class);
+		assertEquals("Least recently used segment should be evicted", 0, fCache.getHitCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Writes the class files of the given classes into a new archive
+	 */
+	private Path createArchive(Class<?>... classes) throws IOException {
+		Path archive = fFolder.newFile().toPath();
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(archive))) {
+			for (Class<?> clazz : classes) {
+				out.putNextEntry(new ZipEntry(clazz.getName().replace('.', '/') + ".class")); //$NON-NLS-1$
+				out.write(getBytes(clazz));
+				out.closeEntry();
+			}
+		}
+		return archive;
+	}
+
+	/**
+	 * Builds the type structures of the given classes from the given archive
+	 */
+	private void buildTypeStructures(Path archive, Class<?>... classes) throws Exception {
+		ArchiveApiTypeContainer container = new ArchiveApiTypeContainer(null, archive.toString());
+		try {
+			for (Class<?> clazz : classes) {
+				IApiTypeRoot root = container.findTypeRoot(clazz.getName());
+				assertNotNull("Missing type root for " + clazz.getName(), root); //$NON-NLS-1$
+				assertNotNull("Missing type for " + clazz.getName(), root.getStructure()); //$NON-NLS-1$
+			}
+		} finally {
+			container.close();
+		}
+	}
+
+	private List<Path> getFiles(Path root) throws IOException {
+		try (Stream<Path> walk = Files.walk(root)) {
+			return walk.filter(Files::isRegularFile).filter(path -> path.toString().endsWith(".tsc")).toList(); //$NON-NLS-1$
+		}
+	}
+
+	private long getSize(Path root) throws IOException {
+		long size = 0;
+		for (Path path : getFiles(root)) {
+			size += Files.size(path);
+		}
+		return size;
+	}
+
+	private void doTestRestore(Class<?> clazz) throws IOException {
+		byte[] bytes = getBytes(clazz);
+		IApiType built = TypeStructureBuilder.buildTypeStructure(bytes, null, null);
+		assertEquals("Type should not be cached yet", 0, fCache.getHitCount()); //$NON-NLS-1$
+		IApiType restored = TypeStructureBuilder.buildTypeStructure(bytes, null, null);
+		assertEquals("Type should be restored from the cache", 1, fCache.getHitCount()); //$NON-NLS-1$
+		assertNotNull("Missing type", built); //$NON-NLS-1$
+		assertNotNull("Missing restored type", restored); //$NON-NLS-1$
+		assertEquals("Wrong name", built.getName(), restored.getName()); //$NON-NLS-1$
+		assertEquals("Wrong simple name", built.getSimpleName(), restored.getSimpleName()); //$NON-NLS-1$
+		assertEquals("Wrong modifiers", built.getModifiers(), restored.getModifiers()); //$NON-NLS-1$
+		assertEquals("Wrong generic signature", built.getGenericSignature(), restored.getGenericSignature()); //$NON-NLS-1$
+		assertEquals("Wrong superclass", built.getSuperclassName(), restored.getSuperclassName()); //$NON-NLS-1$
+		assertArrayEquals("Wrong super interfaces", built.getSuperInterfaceNames(), restored.getSuperInterfaceNames()); //$NON-NLS-1$
+		assertEquals("Wrong member type state", built.isMemberType(), restored.isMemberType()); //$NON-NLS-1$
+		IApiField[] fields = built.getFields();
+		assertEquals("Wrong number of fields", fields.length, restored.getFields().length); //$NON-NLS-1$
+		for (IApiField field : fields) {
+			IApiField other = restored.getField(field.getName());
+			assertNotNull("Missing field " + field.getName(), other); //$NON-NLS-1$
+			assertEquals("Wrong field signature", field.getSignature(), other.getSignature()); //$NON-NLS-1$
+			assertEquals("Wrong field generic signature", field.getGenericSignature(), other.getGenericSignature()); //$NON-NLS-1$
+			assertEquals("Wrong field modifiers", field.getModifiers(), other.getModifiers()); //$NON-NLS-1$
+			assertEquals("Wrong constant value", field.getConstantValue(), other.getConstantValue()); //$NON-NLS-1$
+		}
+		IApiMethod[] methods = built.getMethods();
+		assertEquals("Wrong number of methods", methods.length, restored.getMethods().length); //$NON-NLS-1$
+		for (IApiMethod method : methods) {
+			IApiMethod other = restored.getMethod(method.getName(), method.getSignature());
+			assertNotNull("Missing method " + method.getName(), other); //$NON-NLS-1$
+			assertEquals("Wrong method generic signature", method.getGenericSignature(), other.getGenericSignature()); //$NON-NLS-1$
+			assertEquals("Wrong method modifiers", method.getModifiers(), other.getModifiers()); //$NON-NLS-1$
+			assertArrayEquals("Wrong exceptions", method.getExceptionNames(), other.getExceptionNames()); //$NON-NLS-1$
+			assertEquals("Wrong default value", method.getDefaultValue(), other.getDefaultValue()); //$NON-NLS-1$
+		}
+	}
+
+	private byte[] getBytes(Class<?> clazz) throws IOException {
+		String name = clazz.getName();
+		try (InputStream in = clazz.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) { //$NON-NLS-1$
+			assertNotNull("Missing class file for " + name, in); //$NON-NLS-1$
+			return in.readAllBytes();
+		}
+	}
+}
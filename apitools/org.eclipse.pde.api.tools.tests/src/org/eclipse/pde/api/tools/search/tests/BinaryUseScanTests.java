@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.search.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMemberDescriptor;
+import org.eclipse.pde.api.tools.internal.search.BinaryReferenceDescriptorWriter;
+import org.eclipse.pde.api.tools.internal.search.BinaryUseScanReader;
+import org.eclipse.pde.api.tools.internal.search.IReferenceDescriptor;
+import org.eclipse.pde.api.tools.internal.search.UseScanManager;
+import org.eclipse.pde.api.tools.internal.search.UseScanParser;
+import org.eclipse.pde.api.tools.internal.search.UseScanVisitor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests writing and reading binary API use scans
+ */
+public class BinaryUseScanTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	static final IComponentDescriptor PRODUCER = Factory.componentDescriptor("a.producer", "1.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+	static final IComponentDescriptor CONSUMER1 = Factory.componentDescriptor("b.consumer", "1.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+	static final IComponentDescriptor CONSUMER2 = Factory.componentDescriptor("c.consumer", "2.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+	static final IComponentDescriptor OTHER = Factory.componentDescriptor("d.other", "1.0.0"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Collects the visited references as strings
+	 */
+	static class CollectingVisitor extends UseScanVisitor {
+		List<String> visited = new ArrayList<>();
+		IComponentDescriptor target;
+		IComponentDescriptor referencing;
+		IMemberDescriptor member;
+
+		@Override
+		public boolean visitComponent(IComponentDescriptor component) {
+			target = component;
+			return true;
+		}
+
+		@Override
+		public boolean visitReferencingComponent(IComponentDescriptor component) {
+			referencing = component;
+			return true;
+		}
+
+		@Override
+		public boolean visitMember(IMemberDescriptor referencedMember) {
+			member = referencedMember;
+			return true;
+		}
+
+		@Override
+		public void visitReference(IReferenceDescriptor reference) {
+			visited.add(target.getId() + '|' + referencing.getId() + '|' + member + '|' + reference.getMember() + '|' + reference.getLineNumber() + '|' + reference.getReferenceKind() + '|' + reference.getVisibility());
+		}
+	}
+
+	/**
+	 * Tests that references written to a binary scan are read back in the
+	 * same order as components are visited in an XML scan
+	 */
+	@Test
+	public void testReadAll() throws Exception {
+		File location = writeScan();
+		assertTrue("the location should contain a binary scan", BinaryUseScanReader.isBinaryScan(location)); //$NON-NLS-1$
+		assertTrue("the location should be a valid scan", UseScanManager.isValidDirectory(location)); //$NON-NLS-1$
+		List<String> visited = parse(location, null, null);
+		assertEquals("wrong number of references", 5, visited.size()); //$NON-NLS-1$
+		assertTrue(visited.get(0), visited.get(0).startsWith("a.producer|b.consumer|")); //$NON-NLS-1$
+		assertTrue(visited.get(3), visited.get(3).startsWith("a.producer|c.consumer|")); //$NON-NLS-1$
+		assertTrue(visited.get(4), visited.get(4).startsWith("d.other|b.consumer|")); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that queries for a component and types only visit matching
+	 * references
+	 */
+	@Test
+	public void testReadComponentAndTypes() throws Exception {
+		File location = writeScan();
+		List<String> visited = parse(location, "a.producer", new String[] { "a.producer.Api" }); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong number of references", 3, visited.size()); //$NON-NLS-1$
+		for (String reference : visited) {
+			assertTrue(reference, reference.startsWith("a.producer|")); //$NON-NLS-1$
+			assertTrue(reference, reference.contains("a.producer.Api")); //$NON-NLS-1$
+		}
+		assertEquals("wrong number of references", 0, parse(location, "d.other", new String[] { "a.producer.Api" }).size()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	/**
+	 * Tests that a scan with a missing index is still read completely
+	 */
+	@Test
+	public void testMissingIndex() throws Exception {
+		File location = writeScan();
+		List<String> expected = parse(location, null, null);
+		// copy the data file only, so the scan is not served from memory
+		File copy = folder.newFolder("copy"); //$NON-NLS-1$
+		Files.copy(location.toPath().resolve(BinaryUseScanReader.DATA_FILE), copy.toPath().resolve(BinaryUseScanReader.DATA_FILE));
+		assertArrayEquals("the scan should be read completely", expected.toArray(), parse(copy, null, null).toArray()); //$NON-NLS-1$
+		assertTrue("the index should be rebuilt", Files.isRegularFile(copy.toPath().resolve(BinaryUseScanReader.INDEX_FILE))); //$NON-NLS-1$
+	}
+
+	private List<String> parse(File location, String componentId, String[] types) throws Exception {
+		CollectingVisitor visitor = new CollectingVisitor();
+		new UseScanParser().parse(location.getAbsolutePath(), new NullProgressMonitor(), visitor, componentId, types);
+		return visitor.visited;
+	}
+
+	private File writeScan() throws Exception {
+		File location = folder.newFolder("scan"); //$NON-NLS-1$
+		BinaryReferenceDescriptorWriter writer = new BinaryReferenceDescriptorWriter(location.getAbsolutePath());
+		IMemberDescriptor origin = Factory.methodDescriptor("b.consumer.Client", "run", "()V"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		IMemberDescriptor api = Factory.typeDescriptor("a.producer.Api"); //$NON-NLS-1$
+		IMemberDescriptor apiMethod = Factory.methodDescriptor("a.producer.Api", "call", "(Ljava/lang/String;)V"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		IMemberDescriptor internalField = Factory.fieldDescriptor("a.producer.internal.Impl", "state"); //$NON-NLS-1$ //$NON-NLS-2$
+		IMemberDescriptor other = Factory.typeDescriptor("d.other.Other"); //$NON-NLS-1$
+		writer.writeReferences(new IReferenceDescriptor[] {
+				reference(CONSUMER1, origin, 10, PRODUCER, api, IReference.REF_PARAMETER, VisibilityModifiers.API),
+				reference(CONSUMER1, origin, 11, PRODUCER, apiMethod, IReference.REF_VIRTUALMETHOD, VisibilityModifiers.API),
+				reference(CONSUMER1, origin, 12, PRODUCER, internalField, IReference.REF_GETFIELD, VisibilityModifiers.PRIVATE),
+				reference(CONSUMER1, origin, 13, OTHER, other, IReference.REF_PARAMETER, VisibilityModifiers.API) });
+		IMemberDescriptor origin2 = Factory.typeDescriptor("c.consumer.Client"); //$NON-NLS-1$
+		writer.writeReferences(new IReferenceDescriptor[] {
+				reference(CONSUMER2, origin2, 5, PRODUCER, api, IReference.REF_EXTENDS, VisibilityModifiers.API),
+				// duplicates are removed
+				reference(CONSUMER2, origin2, 5, PRODUCER, api, IReference.REF_EXTENDS, VisibilityModifiers.API) });
+		writer.writeIndex();
+		return location;
+	}
+
+	private IReferenceDescriptor reference(IComponentDescriptor from, IMemberDescriptor origin, int line, IComponentDescriptor to, IMemberDescriptor target, int kind, int visibility) {
+		return Factory.referenceDescriptor(from, origin, line, to, target, kind, 0, visibility, null);
+	}
+}
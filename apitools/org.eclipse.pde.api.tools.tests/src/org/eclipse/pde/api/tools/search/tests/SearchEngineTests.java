@@ -74,6 +74,22 @@ public class SearchEngineTests extends SearchTest {
 		engine.search(getTestBaseline(), TEST_REQUESTOR, TEST_REPORTER, null);
 	}
 
+	/**
+	 * Tests that a parallel search reports the same matches as a serial search
+	 */
+	@Test
+	public void testSearchParallel() throws CoreException {
+		ApiSearchEngine engine = new ApiSearchEngine();
+		this.scope = getTestScope(DEFAULT_SCOPE_PROJECTS);
+		TEST_REQUESTOR.setScopeBaseline(this.scope);
+		TEST_REQUESTOR.setSearchMask(IApiSearchRequestor.INCLUDE_API | IApiSearchRequestor.INCLUDE_INTERNAL);
+		TEST_REPORTER.setExpectedReferences(new String[] { P2_NAME, P3_NAME },
+				new int[][] { { IReference.REF_FIELDDECL, IReference.REF_FIELDDECL },
+						{ IReference.REF_FIELDDECL, IReference.REF_FIELDDECL, IReference.REF_FIELDDECL } });
+		TEST_REPORTER.setExpectedNotSearched(null);
+		engine.search(getTestBaseline(), TEST_REQUESTOR, TEST_REPORTER, 4, null);
+	}
+
 	/**
 	 * Tests that an entry in the exclude file is honored
 	 */
@@ -109,6 +109,12 @@ public class TestRequestor implements IApiSearchRequestor {
 		return false;
 	}
 
+	@Override
+	public IApiSearchRequestor newWorkerRequestor() {
+		// the requestor holds no per-component state once the scope is computed
+		return this;
+	}
+
 	@Override
 	public int getReferenceKinds() {
 		return IReference.MASK_REF_ALL & ~IReference.REF_CONSTANTPOOL;
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Measurement;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Metric;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Phase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests recording API analysis metrics
+ */
+public class AnalysisMetricsTests {
+
+	AnalysisMetrics metrics = AnalysisMetrics.getDefault();
+
+	@Before
+	public void setUp() {
+		metrics.reset();
+		metrics.setEnabled(true);
+	}
+
+	@After
+	public void tearDown() {
+		metrics.setEnabled(false);
+		metrics.reset();
+	}
+
+	/**
+	 * Tests that measurements are summed up per phase, project and component
+	 */
+	@Test
+	public void testRecord() {
+		for (int i = 0; i < 3; i++) {
+			try (Measurement measurement = metrics.start(Phase.STRUCTURE_BUILD, "p1", "c1")) { //$NON-NLS-1$ //$NON-NLS-2$
+				measurement.addItems(2);
+			}
+		}
+		try (Measurement measurement = metrics.start(Phase.MARKER_UPDATE, "p1", null)) { //$NON-NLS-1$
+			measurement.addItems(5);
+		}
+		try (Measurement measurement = metrics.start(Phase.STRUCTURE_BUILD, "p2", "c2")) { //$NON-NLS-1$ //$NON-NLS-2$
+			measurement.addItems(1);
+		}
+		List<Metric> recorded = metrics.getMetrics();
+		assertEquals("wrong number of metrics", 3, recorded.size()); //$NON-NLS-1$
+		Metric first = recorded.get(0);
+		assertEquals("metrics without component should be sorted first", Phase.MARKER_UPDATE, first.phase()); //$NON-NLS-1$
+		Metric second = recorded.get(1);
+		assertEquals("wrong component", "c1", second.component()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong invocations", 3, second.invocations()); //$NON-NLS-1$
+		assertEquals("wrong items", 6, second.items()); //$NON-NLS-1$
+		assertTrue("elapsed time should not be negative", second.elapsedNanos() >= 0); //$NON-NLS-1$
+		Metric total = metrics.getTotal(Phase.STRUCTURE_BUILD);
+		assertEquals("wrong total invocations", 4, total.invocations()); //$NON-NLS-1$
+		assertEquals("wrong total items", 7, total.items()); //$NON-NLS-1$
+		assertEquals("nothing should be recorded", 0, metrics.getTotal(Phase.BASELINE_LOAD).invocations()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that recorded metrics are printed and removed on reset
+	 */
+	@Test
+	public void testPrintAndReset() {
+		try (Measurement measurement = metrics.start(Phase.REFERENCE_EXTRACTION, "p1", "c1")) { //$NON-NLS-1$ //$NON-NLS-2$
+			measurement.addItems(42);
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		metrics.print(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+		String output = bytes.toString(StandardCharsets.UTF_8);
+		assertTrue(output, output.contains(Phase.REFERENCE_EXTRACTION.getLabel()));
+		assertTrue(output, output.contains("p1 c1")); //$NON-NLS-1$
+		metrics.reset();
+		assertTrue("metrics should be removed", metrics.getMetrics().isEmpty()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that nothing is recorded while metrics are disabled, and that no
+	 * measurement is allocated
+	 */
+	@Test
+	public void testDisabled() {
+		metrics.setEnabled(false);
+		Measurement first = metrics.start(Phase.STRUCTURE_BUILD, "p1", "c1"); //$NON-NLS-1$ //$NON-NLS-2$
+		try (Measurement measurement = first) {
+			measurement.addItems(3);
+		}
+		assertSame("disabled measurements should be shared", first, metrics.start(Phase.MARKER_UPDATE, null)); //$NON-NLS-1$
+		assertTrue("nothing should be recorded", metrics.getMetrics().isEmpty()); //$NON-NLS-1$
+		metrics.setEnabled(true);
+		try (Measurement measurement = metrics.start(Phase.STRUCTURE_BUILD, "p1", "c1")) { //$NON-NLS-1$ //$NON-NLS-2$
+			measurement.addItems(1);
+		}
+		assertEquals("wrong items", 1, metrics.getTotal(Phase.STRUCTURE_BUILD).items()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that Flight Recorder events are emitted while a recording enables
+	 * them, even if metrics are not recorded in memory
+	 */
+	@Test
+	public void testFlightRecorderEventWhileDisabled() throws Exception {
+		metrics.setEnabled(false);
+		Path file = Files.createTempFile("analysis", ".jfr"); //$NON-NLS-1$ //$NON-NLS-2$
+		try (Recording recording = new Recording()) {
+			recording.enable("org.eclipse.pde.api.tools.AnalysisPhase").withoutThreshold(); //$NON-NLS-1$
+			recording.start();
+			try (Measurement measurement = metrics.start(Phase.STRUCTURE_BUILD, "p1", "c1")) { //$NON-NLS-1$ //$NON-NLS-2$
+				measurement.addItems(4);
+			}
+			recording.stop();
+			recording.dump(file);
+			List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+			assertEquals("wrong number of events", 1, events.size()); //$NON-NLS-1$
+			RecordedEvent event = events.get(0);
+			assertEquals("wrong phase", Phase.STRUCTURE_BUILD.getLabel(), event.getString("phase")); //$NON-NLS-1$ //$NON-NLS-2$
+			assertEquals("wrong component", "c1", event.getString("component")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			assertEquals("wrong items", 4, event.getLong("items")); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			Files.deleteIfExists(file);
+		}
+		assertTrue("nothing should be recorded", metrics.getMetrics().isEmpty()); //$NON-NLS-1$
+		assertSame("disabled measurements should be shared without a recording", //$NON-NLS-1$
+				metrics.start(Phase.STRUCTURE_BUILD, "p1", "c1"), metrics.start(Phase.MARKER_UPDATE, null)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2024 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,6 +48,7 @@ import org.eclipse.pde.api.tools.internal.model.BundleComponent;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 import org.eclipse.pde.core.target.ITargetDefinition;
 import org.eclipse.pde.core.target.ITargetLocation;
 import org.eclipse.pde.core.target.ITargetPlatformService;
@@ -66,6 +67,7 @@ public class ApiAnalysisApplication implements IApplication {
 		private static final String BASELINE_ARG = "baseline"; //$NON-NLS-1$
 		private static final String BASELINE_DEFAULT_VALUE = "default"; //$NON-NLS-1$
 		private static final String DEPENDENCY_LIST_ARG = "dependencyList"; //$NON-NLS-1$
+		private static final String METRICS_ARG = "metrics"; //$NON-NLS-1$
 
 		private Request() {
 		}
@@ -77,6 +79,8 @@ public class ApiAnalysisApplication implements IApplication {
 				if (param.charAt(0) == '-') {
 					if (FAIL_ON_ERROR_ARG.equals(currentKey)) {
 						res.failOnError = true;
+					} else if (METRICS_ARG.equals(currentKey)) {
+						res.metrics = true;
 					}
 					currentKey = param.substring(1);
 				} else if (PROJECT_ARG.equals(currentKey)) {
@@ -87,10 +91,14 @@ public class ApiAnalysisApplication implements IApplication {
 					res.failOnError = Boolean.parseBoolean(param);
 				} else if (DEPENDENCY_LIST_ARG.equals(currentKey)) {
 					res.tpFile = new File(param);
+				} else if (METRICS_ARG.equals(currentKey)) {
+					res.metrics = Boolean.parseBoolean(param);
 				}
 			}
 			if (FAIL_ON_ERROR_ARG.equals(currentKey)) {
 				res.failOnError = true;
+			} else if (METRICS_ARG.equals(currentKey)) {
+				res.metrics = true;
 			}
 			return res;
 		}
@@ -99,6 +107,7 @@ public class ApiAnalysisApplication implements IApplication {
 		public File baselinePath;
 		public boolean failOnError;
 		public File tpFile;
+		public boolean metrics;
 	}
 
 	private ICoreRunnable restoreOriginalProjectState = null;
@@ -115,6 +124,10 @@ public class ApiAnalysisApplication implements IApplication {
 
 			Request args = Request
 					.readFromArgs((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
+			if (args.metrics) {
+				AnalysisMetrics.getDefault().reset();
+				AnalysisMetrics.getDefault().setEnabled(true);
+			}
 			IProject project = importProject(args.project);
 			if (project == null) {
 				System.err.println("Project not loaded."); //$NON-NLS-1$
@@ -173,6 +186,9 @@ public class ApiAnalysisApplication implements IApplication {
 			for (IMarker marker : warningMarkers) {
 				printMarker(marker, "API WARNING"); //$NON-NLS-1$
 			}
+			if (args.metrics) {
+				AnalysisMetrics.getDefault().print(System.out);
+			}
 			// fail
 			if (args.failOnError && errorMarkers.length > 0) {
 				return IStatus.ERROR;
@@ -185,6 +201,9 @@ public class ApiAnalysisApplication implements IApplication {
 			e.printStackTrace();
 			return IStatus.ERROR;
 		} finally {
+			AnalysisMetrics metrics = AnalysisMetrics.getDefault();
+			metrics.setEnabled(ApiPlugin.DEBUG_METRICS);
+			metrics.reset();
 			if (restoreOriginalProjectState != null) {
 				restoreOriginalProjectState.run(new NullProgressMonitor());
 			}
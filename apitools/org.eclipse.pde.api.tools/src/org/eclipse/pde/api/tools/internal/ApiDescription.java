@@ -228,6 +228,29 @@ public class ApiDescription implements IApiDescription {
 			}
 		}
 
+		/**
+		 * Persists this node with the given binary writer. Mirrors
+		 * {@link #persistXML(Document, Element)}.
+		 *
+		 * @param writer the writer collecting the nodes
+		 */
+		void persistBinary(ProjectApiDescriptionFile.Writer writer) {
+			if (RestrictionModifiers.isUnrestricted(this.restrictions)) {
+				return;
+			}
+			switch (element.getElementType()) {
+				case IElementDescriptor.METHOD -> {
+					IMethodDescriptor md = (IMethodDescriptor) element;
+					writer.endNode(writer.beginNode(ProjectApiDescriptionFile.KIND_METHOD, md.getName(), md.getSignature(), this.visibility, this.restrictions, -1L));
+				}
+				case IElementDescriptor.FIELD -> {
+					IFieldDescriptor fd = (IFieldDescriptor) element;
+					writer.endNode(writer.beginNode(ProjectApiDescriptionFile.KIND_FIELD, fd.getName(), null, this.visibility, this.restrictions, -1L));
+				}
+				default -> { /**/ }
+			}
+		}
+
 		/**
 		 * Adds visibility and restrictions to the XML element.
 		 *
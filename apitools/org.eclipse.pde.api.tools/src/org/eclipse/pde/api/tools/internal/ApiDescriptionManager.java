@@ -51,7 +51,6 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
 import org.eclipse.pde.api.tools.internal.provisional.scanner.ScannerMessages;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.internal.core.natures.PluginProject;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -158,6 +157,10 @@ public final class ApiDescriptionManager implements ISaveParticipant {
 			if (file.exists()) {
 				file.delete();
 			}
+			file = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName()).append(IApiCoreConstants.API_DESCRIPTION_BINARY_NAME).toFile();
+			if (file.exists()) {
+				file.delete();
+			}
 			file = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName()).toFile();
 			if (file.exists() && file.isDirectory()) {
 				file.delete();
@@ -231,9 +234,10 @@ public final class ApiDescriptionManager implements ISaveParticipant {
 			ProjectApiDescription desc = (ProjectApiDescription) entry.getValue();
 			if (desc.isModified()) {
 				Path dir = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName()).toPath();
-				Document xml = desc.getXML();
 				try {
-					Util.writeDocumentToFile(xml, dir.resolve(IApiCoreConstants.API_DESCRIPTION_XML_NAME));
+					desc.persist(dir.resolve(IApiCoreConstants.API_DESCRIPTION_BINARY_NAME));
+					// descriptions restored from XML have now been migrated
+					Files.deleteIfExists(dir.resolve(IApiCoreConstants.API_DESCRIPTION_XML_NAME));
 					desc.setModified(false);
 				} catch (IOException e) {
 					abort(MessageFormat.format(ScannerMessages.ApiDescriptionManager_0, project.getElementName()), e);
@@ -244,12 +248,43 @@ public final class ApiDescriptionManager implements ISaveParticipant {
 
 	/**
 	 * Restores the API description from its saved file, if any and returns true
-	 * if successful.
+	 * if successful. The binary file is preferred, the XML file written by
+	 * older versions is used as a fallback and the description is marked as
+	 * modified so it is migrated to the binary format on the next save.
 	 *
 	 * @return whether the restore succeeded
 	 */
 	private boolean restoreDescription(IJavaProject project, ProjectApiDescription description) throws CoreException {
-		File file = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName()).append(IApiCoreConstants.API_DESCRIPTION_XML_NAME).toFile();
+		IPath dir = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName());
+		File file = dir.append(IApiCoreConstants.API_DESCRIPTION_BINARY_NAME).toFile();
+		if (file.exists()) {
+			try {
+				if (ProjectApiDescriptionFile.restore(file.toPath(), project, description)) {
+					return true;
+				}
+			} catch (IOException | CoreException | RuntimeException e) {
+				ApiPlugin.log(MessageFormat.format(ScannerMessages.ApiDescriptionManager_1, project.getElementName()), e);
+			}
+		}
+		if (restoreXMLDescription(project, description, dir.append(IApiCoreConstants.API_DESCRIPTION_XML_NAME).toFile())) {
+			description.setModified(true);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Restores the API description from the given XML file, if it exists and
+	 * returns true if successful.
+	 *
+	 * @param project the project the description belongs to
+	 * @param description the description to restore
+	 * @param file the XML file to restore from
+	 * @return whether the restore succeeded
+	 * @throws CoreException if the file cannot be read or references elements
+	 *             that no longer exist
+	 */
+	public boolean restoreXMLDescription(IJavaProject project, ProjectApiDescription description, File file) throws CoreException {
 		if (file.exists()) {
 			try {
 				String xml = Files.readString(file.toPath());
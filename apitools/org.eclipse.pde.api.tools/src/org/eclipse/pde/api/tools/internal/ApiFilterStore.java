@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
@@ -76,9 +77,11 @@ import org.w3c.dom.Element;
 public class ApiFilterStore extends FilterStore implements IResourceChangeListener {
 
 	/**
-	 * Map used to collect unused {@link IApiProblemFilter}s
+	 * Map used to collect unused {@link IApiProblemFilter}s. Filters are
+	 * removed from it by {@link #isFiltered(IApiProblem)} without holding the
+	 * lock of the store, so the map and its sets are concurrent.
 	 */
-	private Map<IResource, Set<IApiProblemFilter>> fUnusedFilters = null;
+	private volatile Map<IResource, Set<IApiProblemFilter>> fUnusedFilters = null;
 
 	/**
 	 * The backing {@link IJavaProject}
@@ -89,6 +92,69 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	boolean fTriggeredChange = false;
 	Map<IResource, Map<String, Set<IApiProblemFilter>>> fFilterMap;
 
+	/**
+	 * Immutable index of the filters in {@link #fFilterMap} used to answer
+	 * {@link #isFiltered(IApiProblem)} without locking the store. It is
+	 * discarded whenever the filters change and rebuilt on the next lookup.
+	 */
+	private volatile FilterIndex fIndex;
+
+	/**
+	 * Filters keyed by resource, problem id, type name and the simple name of
+	 * the first message argument. Only the filters stored under the same keys
+	 * as a problem can match it (see {@link #problemsMatch}), so a lookup only
+	 * has to check those instead of all filters of the resource.
+	 */
+	private static final class FilterIndex {
+
+		record Key(int id, String typeName, String argument) {
+			static Key of(IApiProblem problem) {
+				String typeName = problem.getTypeName();
+				String argument = ""; //$NON-NLS-1$
+				String[] arguments = problem.getMessageArguments();
+				if (arguments != null && arguments.length > 0 && arguments[0] != null) {
+					// qualified and simple names are considered equal
+					argument = arguments[0].substring(arguments[0].lastIndexOf('.') + 1);
+				}
+				return new Key(problem.getId(), typeName == null ? GLOBAL : typeName, argument);
+			}
+		}
+
+		private final Map<IResource, Map<Key, IApiProblemFilter[]>> fFilters = new HashMap<>();
+
+		FilterIndex(Map<IResource, Map<String, Set<IApiProblemFilter>>> filterMap) {
+			for (Entry<IResource, Map<String, Set<IApiProblemFilter>>> entry : filterMap.entrySet()) {
+				Map<Key, List<IApiProblemFilter>> keys = new HashMap<>();
+				for (Set<IApiProblemFilter> filters : entry.getValue().values()) {
+					for (IApiProblemFilter filter : filters) {
+						keys.computeIfAbsent(Key.of(filter.getUnderlyingProblem()), k -> new ArrayList<>()).add(filter);
+					}
+				}
+				Map<Key, IApiProblemFilter[]> resourceFilters = new HashMap<>();
+				for (Entry<Key, List<IApiProblemFilter>> key : keys.entrySet()) {
+					resourceFilters.put(key.getKey(), key.getValue().toArray(IApiProblemFilter[]::new));
+				}
+				fFilters.put(entry.getKey(), resourceFilters);
+			}
+		}
+
+		/**
+		 * @return the filters that may match the given problem on the given
+		 *         resource, or <code>null</code>
+		 */
+		IApiProblemFilter[] getCandidates(IResource resource, IApiProblem problem) {
+			Map<Key, IApiProblemFilter[]> resourceFilters = fFilters.get(resource);
+			if (resourceFilters == null) {
+				return null;
+			}
+			return resourceFilters.get(Key.of(problem));
+		}
+
+		boolean hasFilters(IResource resource) {
+			return fFilters.containsKey(resource);
+		}
+	}
+
 	/**
 	 * Constructor
 	 *
@@ -208,6 +274,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			fNeedsSaving |= pfilters.add(filter);
 		}
+		fIndex = null;
 		persistApiFilters();
 	}
 
@@ -241,8 +308,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	}
 
 	@Override
-	public synchronized boolean isFiltered(IApiProblem problem) {
-		initializeApiFilters();
+	public boolean isFiltered(IApiProblem problem) {
 		String resourcePath = problem.getResourcePath();
 		if (resourcePath == null) {
 			return false;
@@ -254,20 +320,23 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			return false;
 		}
-		IApiProblemFilter[] filters = this.getFilters(resource);
-		if (filters == null) {
+		FilterIndex index = getIndex();
+		if (!index.hasFilters(resource)) {
 			if (ApiPlugin.DEBUG_FILTER_STORE) {
 				System.out.println("no filters defined for [" + resourcePath + "] return not filtered"); //$NON-NLS-1$ //$NON-NLS-2$
 			}
 			return false;
 		}
-		for (IApiProblemFilter filter : filters) {
-			if (problemsMatch(filter.getUnderlyingProblem(), problem)) {
-				if (ApiPlugin.DEBUG_FILTER_STORE) {
-					System.out.println("recording filter used: [" + filter.toString() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
+		IApiProblemFilter[] filters = index.getCandidates(resource, problem);
+		if (filters != null) {
+			for (IApiProblemFilter filter : filters) {
+				if (problemsMatch(filter.getUnderlyingProblem(), problem)) {
+					if (ApiPlugin.DEBUG_FILTER_STORE) {
+						System.out.println("recording filter used: [" + filter.toString() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+					recordFilterUsed(resource, filter);
+					return true;
 				}
-				recordFilterUsed(resource, filter);
-				return true;
 			}
 		}
 		if (ApiPlugin.DEBUG_FILTER_STORE) {
@@ -276,6 +345,25 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 		return false;
 	}
 
+	/**
+	 * Returns the current index of the filters, building it if the filters
+	 * changed since it was last built. Only building the index needs the lock
+	 * of the store.
+	 */
+	private FilterIndex getIndex() {
+		FilterIndex index = fIndex;
+		if (index != null) {
+			return index;
+		}
+		synchronized (this) {
+			if (fIndex == null) {
+				initializeApiFilters();
+				fIndex = new FilterIndex(fFilterMap);
+			}
+			return fIndex;
+		}
+	}
+
 	@Override
 	public void dispose() {
 		// if the store is about to be disposed and has pending changes save
@@ -283,9 +371,10 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 		// https://bugs.eclipse.org/bugs/show_bug.cgi?id=299319
 		persistApiFilters();
 		clearFilters();
-		if (fUnusedFilters != null) {
-			fUnusedFilters.clear();
+		Map<IResource, Set<IApiProblemFilter>> unusedFilters = fUnusedFilters;
+		if (unusedFilters != null) {
 			fUnusedFilters = null;
+			unusedFilters.clear();
 		}
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
 	}
@@ -346,6 +435,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 				success &= false;
 			}
 		}
+		fIndex = null;
 		persistApiFilters();
 		return success;
 	}
@@ -522,6 +612,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			fNeedsSaving |= filters.add(filter);
 		}
+		fIndex = null;
 	}
 
 	/**
@@ -554,32 +645,33 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	 */
 	public synchronized void recordFilterUsage() {
 		initializeApiFilters();
-		fUnusedFilters = new LinkedHashMap<>();
+		Map<IResource, Set<IApiProblemFilter>> unusedFilters = new ConcurrentHashMap<>();
 		Map<String, Set<IApiProblemFilter>> types = null;
 		Set<IApiProblemFilter> values = null;
 		for (Entry<IResource, Map<String, Set<IApiProblemFilter>>> filterEntry : fFilterMap.entrySet()) {
 			IResource resource = filterEntry.getKey();
 			types = filterEntry.getValue();
-			values = new LinkedHashSet<>();
-			fUnusedFilters.put(resource, values);
+			values = ConcurrentHashMap.newKeySet();
 			for (Entry<String, Set<IApiProblemFilter>> entry : types.entrySet()) {
 				values.addAll(entry.getValue());
 			}
+			if (!values.isEmpty()) {
+				unusedFilters.put(resource, values);
+			}
 		}
+		fUnusedFilters = unusedFilters;
 	}
 
 	/**
 	 * records that the following filter has been used
 	 */
 	private void recordFilterUsed(IResource resource, IApiProblemFilter filter) {
-		if (fUnusedFilters != null) {
-			Set<IApiProblemFilter> unused = fUnusedFilters.get(resource);
-			if (unused != null) {
+		Map<IResource, Set<IApiProblemFilter>> unusedFilters = fUnusedFilters;
+		if (unusedFilters != null) {
+			unusedFilters.computeIfPresent(resource, (r, unused) -> {
 				unused.remove(filter);
-				if (unused.isEmpty()) {
-					fUnusedFilters.remove(resource);
-				}
-			}
+				return unused.isEmpty() ? null : unused;
+			});
 		}
 	}
 
@@ -595,12 +687,13 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	 *         <code>null</code>
 	 */
 	public IApiProblemFilter[] getUnusedFilters(IResource resource, String typeName, int[] categories) {
-		if (fUnusedFilters != null) {
+		Map<IResource, Set<IApiProblemFilter>> unusedFilters = fUnusedFilters;
+		if (unusedFilters != null) {
 			Set<IApiProblemFilter> unused = new HashSet<>();
 			Set<IApiProblemFilter> set = null;
 			if (resource != null) {
 				// add any unused filters for the resource
-				set = fUnusedFilters.get(resource);
+				set = unusedFilters.get(resource);
 				if (set != null) {
 					collectFilterFor(set, typeName, unused, categories);
 				}
@@ -610,17 +703,17 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 					// deleted types are only ever passed in with the manifest
 					// associated with them
 					IResource res = null;
-					for (Entry<IResource, Set<IApiProblemFilter>> entry : fUnusedFilters.entrySet()) {
+					for (Entry<IResource, Set<IApiProblemFilter>> entry : unusedFilters.entrySet()) {
 						res = entry.getKey();
 						if (res == null || !res.exists() || !res.getProject().equals(resource.getProject())) {
 							continue;
 						}
-						set = fUnusedFilters.get(res);
+						set = unusedFilters.get(res);
 						collectFilterFor(set, typeName, unused, categories);
 					}
 				}
 			} else {
-				for (Entry<IResource, Set<IApiProblemFilter>> entry : fUnusedFilters.entrySet()) {
+				for (Entry<IResource, Set<IApiProblemFilter>> entry : unusedFilters.entrySet()) {
 					set = entry.getValue();
 					if (set != null) {
 						unused.addAll(set);
@@ -706,9 +799,14 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 				if (ApiPlugin.DEBUG_FILTER_STORE) {
 					System.out.println("processed REMOVED delta"); //$NON-NLS-1$
 				}
-				if (fFilterMap != null) {
-					fFilterMap.clear();
-					needsbuild = fProject.getProject().isAccessible();
+				// under the lock of the store, so an index being built from
+				// the previous filters is not published after the clear
+				synchronized (this) {
+					if (fFilterMap != null) {
+						fFilterMap.clear();
+						fIndex = null;
+						needsbuild = fProject.getProject().isAccessible();
+					}
 				}
 			} else if (leafdelta.getKind() == IResourceDelta.ADDED || (leafdelta.getFlags() & IResourceDelta.CONTENT) != 0 || (leafdelta.getFlags() & IResourceDelta.REPLACED) != 0) {
 				if (ApiPlugin.DEBUG_FILTER_STORE) {
@@ -722,8 +820,10 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 					IFile file = (IFile) resource;
 					if (file.isAccessible()) {
 						try {
-							clearFilters();
-							initializeApiFilters();
+							synchronized (this) {
+								clearFilters();
+								initializeApiFilters();
+							}
 						} finally {
 							needsbuild = fProject.getProject().isAccessible();
 						}
@@ -740,6 +840,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	 * Clears out the filter map
 	 */
 	private synchronized void clearFilters() {
+		fIndex = null;
 		if (fFilterMap != null) {
 			fFilterMap.clear();
 			fFilterMap = null;
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -99,6 +101,13 @@ public class ProjectApiDescription extends ApiDescription {
 
 		IPackageFragment[] fFragments;
 
+		/**
+		 * The binary file the children of this node still have to be decoded
+		 * from, or <code>null</code> if the children have been restored
+		 */
+		private volatile ProjectApiDescriptionFile fPendingFile;
+		private int fPendingStart, fPendingEnd;
+
 		/**
 		 * Constructs a new node.
 		 */
@@ -107,8 +116,45 @@ public class ProjectApiDescription extends ApiDescription {
 			fFragments = fragments;
 		}
 
+		/**
+		 * Sets the range of binary node records the children of this node will
+		 * be decoded from when the package is first queried
+		 */
+		void setPendingChildren(ProjectApiDescriptionFile file, int start, int end) {
+			fPendingStart = start;
+			fPendingEnd = end;
+			fPendingFile = file;
+		}
+
+		/**
+		 * Decodes the children of this node from the binary file it was
+		 * restored from, if not done yet
+		 */
+		void restorePendingChildren() {
+			if (fPendingFile == null) {
+				return;
+			}
+			synchronized (this) {
+				ProjectApiDescriptionFile file = fPendingFile;
+				if (file == null) {
+					return;
+				}
+				try {
+					file.restoreChildren(ProjectApiDescription.this, this, fPendingStart, fPendingEnd);
+				} catch (CoreException | RuntimeException e) {
+					// types are re-created and re-scanned on demand
+					ApiPlugin.log("Failed to restore API description of package " + element, e); //$NON-NLS-1$
+					children.clear();
+					modified();
+				} finally {
+					fPendingFile = null;
+				}
+			}
+		}
+
 		@Override
 		protected ManifestNode refresh() {
+			restorePendingChildren();
 			refreshPackages();
 			for (IPackageFragment fFragment : fFragments) {
 				if (!fFragment.exists()) {
@@ -134,6 +180,19 @@ public class ProjectApiDescription extends ApiDescription {
 			}
 		}
 
+		@Override
+		void persistBinary(ProjectApiDescriptionFile.Writer writer) {
+			if (hasApiVisibility(this)) {
+				String[] handles = new String[fFragments.length];
+				for (int i = 0; i < fFragments.length; i++) {
+					handles[i] = fFragments[i].getHandleIdentifier();
+				}
+				writer.beginPackage(((IPackageDescriptor) element).getName(), handles, this.visibility, this.restrictions);
+				persistChildren(writer, children);
+				writer.endPackage();
+			}
+		}
+
 		@Override
 		public String toString() {
 			StringBuilder buffer = new StringBuilder();
@@ -312,6 +371,15 @@ public class ProjectApiDescription extends ApiDescription {
 			}
 		}
 
+		@Override
+		void persistBinary(ProjectApiDescriptionFile.Writer writer) {
+			if (hasApiVisibility(this)) {
+				int index = writer.beginNode(ProjectApiDescriptionFile.KIND_TYPE, fType.getHandleIdentifier(), null, this.visibility, this.restrictions, fTimeStamp);
+				persistChildren(writer, children);
+				writer.endNode(index);
+			}
+		}
+
 		@Override
 		public String toString() {
 			StringBuilder buffer = new StringBuilder();
@@ -338,6 +406,7 @@ public class ProjectApiDescription extends ApiDescription {
 	public synchronized void accept(ApiDescriptionVisitor visitor, IProgressMonitor monitor) {
 		boolean completeVisit = true;
 		if (fInSynch) {
+			restorePendingNodes();
 			super.accept(visitor, monitor);
 		} else {
 			try {
@@ -640,6 +709,7 @@ public class ProjectApiDescription extends ApiDescription {
 	 * Returns this API description as XML.
 	 */
 	public synchronized Document getXML() throws CoreException {
+		restorePendingNodes();
 		Document document = Util.newDocument();
 		Element component = document.createElement(IApiXmlConstants.ELEMENT_COMPONENT);
 		component.setAttribute(IApiXmlConstants.ATTR_ID, getJavaProject().getElementName());
@@ -664,6 +734,44 @@ public class ProjectApiDescription extends ApiDescription {
 		}
 	}
 
+	/**
+	 * Writes this API description to the given file using the binary format
+	 * of {@link ProjectApiDescriptionFile}.
+	 *
+	 * @param file the file to write to
+	 * @throws IOException if the file cannot be written
+	 */
+	public synchronized void persist(Path file) throws IOException {
+		restorePendingNodes();
+		ProjectApiDescriptionFile.Writer writer = new ProjectApiDescriptionFile.Writer();
+		persistChildren(writer, fPackageMap);
+		writer.write(file, IApiXmlConstants.API_DESCRIPTION_CURRENT_VERSION, fPackageTimeStamp);
+	}
+
+	/**
+	 * Persists the elements in the given map with the given binary writer.
+	 *
+	 * @param writer the writer collecting the nodes
+	 * @param elementMap elements to persist
+	 */
+	void persistChildren(ProjectApiDescriptionFile.Writer writer, Map<IElementDescriptor, ManifestNode> elementMap) {
+		for (ManifestNode node : elementMap.values()) {
+			node.persistBinary(writer);
+		}
+	}
+
+	/**
+	 * Decodes the children of all package nodes that were restored from a
+	 * binary file and have not been queried yet.
+	 */
+	void restorePendingNodes() {
+		for (ManifestNode node : fPackageMap.values()) {
+			if (node instanceof PackageNode pkg) {
+				pkg.restorePendingChildren();
+			}
+		}
+	}
+
 	/**
 	 * Cleans this API description so it will be re-populated with fresh data.
 	 */
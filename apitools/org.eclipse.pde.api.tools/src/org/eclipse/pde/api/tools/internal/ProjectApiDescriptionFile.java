@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.pde.api.tools.internal.ApiDescription.ManifestNode;
+import org.eclipse.pde.api.tools.internal.ProjectApiDescription.PackageNode;
+import org.eclipse.pde.api.tools.internal.ProjectApiDescription.TypeNode;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.scanner.ScannerMessages;
+
+/**
+ * Binary file format used to persist {@link ProjectApiDescription}s.
+ * <p>
+ * A file consists of a fixed size header, a table of string offsets, a table
+ * of fixed-width package records, a table of package fragment handles, a table
+ * of fixed-width node records and finally the string data. The type and member
+ * nodes of a package are stored in pre-order as one contiguous range of the
+ * node table, each record knowing where its subtree ends.
+ * </p>
+ * <p>
+ * Files are read into a heap buffer when restored. They are not mapped, since
+ * a live mapping keeps the file locked on Windows until it is garbage
+ * collected, which makes replacing or deleting the file fail. Package nodes are
+ * created right away, the nodes below a package are only decoded the first
+ * time the package is queried.
+ * </p>
+ *
+ * @since 1.3.500
+ */
+public final class ProjectApiDescriptionFile {
+
+	/**
+	 * Magic number at the start of each file, "APID"
+	 */
+	private static final int MAGIC = 0x41504944;
+
+	/**
+	 * Version of the binary layout, increment when the layout changes
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	private static final int HEADER_SIZE = 36;
+	private static final int PACKAGE_RECORD_SIZE = 28;
+	private static final int NODE_RECORD_SIZE = 29;
+
+	static final byte KIND_TYPE = 1;
+	static final byte KIND_FIELD = 2;
+	static final byte KIND_METHOD = 3;
+
+	/**
+	 * Collects the nodes of an API description and writes them out in the
+	 * binary format
+	 */
+	static final class Writer {
+
+		private static final class NodeRecord {
+			byte kind;
+			int name, signature, visibility, restrictions, end;
+			long timeStamp;
+		}
+
+		private final Map<String, Integer> fStringIndex = new HashMap<>();
+		private final List<String> fStrings = new ArrayList<>();
+		private final List<int[]> fPackages = new ArrayList<>();
+		private final List<Integer> fFragments = new ArrayList<>();
+		private final List<NodeRecord> fNodes = new ArrayList<>();
+
+		private int string(String value) {
+			if (value == null) {
+				return -1;
+			}
+			return fStringIndex.computeIfAbsent(value, s -> {
+				fStrings.add(s);
+				return fStrings.size() - 1;
+			});
+		}
+
+		/**
+		 * Starts a package, the nodes added until {@link #endPackage()} is
+		 * called are the children of the package
+		 */
+		void beginPackage(String name, String[] fragmentHandles, int visibility, int restrictions) {
+			int[] record = new int[] { string(name), visibility, restrictions, fFragments.size(),
+					fragmentHandles.length, fNodes.size(), fNodes.size() };
+			for (String handle : fragmentHandles) {
+				fFragments.add(string(handle));
+			}
+			fPackages.add(record);
+		}
+
+		void endPackage() {
+			fPackages.get(fPackages.size() - 1)[6] = fNodes.size();
+		}
+
+		/**
+		 * Adds a node, the nodes added until {@link #endNode(int)} is called
+		 * are the children of this node
+		 *
+		 * @return the index of the node to pass to {@link #endNode(int)}
+		 */
+		int beginNode(byte kind, String name, String signature, int visibility, int restrictions, long timeStamp) {
+			NodeRecord record = new NodeRecord();
+			record.kind = kind;
+			record.name = string(name);
+			record.signature = string(signature);
+			record.visibility = visibility;
+			record.restrictions = restrictions;
+			record.timeStamp = timeStamp;
+			fNodes.add(record);
+			return fNodes.size() - 1;
+		}
+
+		void endNode(int index) {
+			fNodes.get(index).end = fNodes.size();
+		}
+
+		/**
+		 * Writes the collected nodes to the given file. The file is written to
+		 * a temporary file first and then moved in place.
+		 */
+		void write(Path file, String version, long packageTimeStamp) throws IOException {
+			int versionIndex = string(version);
+			byte[][] data = new byte[fStrings.size()][];
+			for (int i = 0; i < data.length; i++) {
+				data[i] = fStrings.get(i).getBytes(StandardCharsets.UTF_8);
+			}
+			int stringData = HEADER_SIZE + 4 * data.length + PACKAGE_RECORD_SIZE * fPackages.size()
+					+ 4 * fFragments.size() + NODE_RECORD_SIZE * fNodes.size();
+			Files.createDirectories(file.getParent());
+			Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+			try {
+				try (OutputStream stream = Files.newOutputStream(tmp);
+						DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+					out.writeInt(MAGIC);
+					out.writeInt(FORMAT_VERSION);
+					out.writeLong(packageTimeStamp);
+					out.writeInt(versionIndex);
+					out.writeInt(data.length);
+					out.writeInt(fPackages.size());
+					out.writeInt(fFragments.size());
+					out.writeInt(fNodes.size());
+					int offset = stringData;
+					for (byte[] bytes : data) {
+						out.writeInt(offset);
+						offset += 4 + bytes.length;
+					}
+					for (int[] record : fPackages) {
+						for (int value : record) {
+							out.writeInt(value);
+						}
+					}
+					for (Integer fragment : fFragments) {
+						out.writeInt(fragment.intValue());
+					}
+					for (NodeRecord record : fNodes) {
+						out.writeByte(record.kind);
+						out.writeInt(record.name);
+						out.writeInt(record.signature);
+						out.writeInt(record.visibility);
+						out.writeInt(record.restrictions);
+						out.writeLong(record.timeStamp);
+						out.writeInt(record.end);
+					}
+					for (byte[] bytes : data) {
+						out.writeInt(bytes.length);
+						out.write(bytes);
+					}
+				}
+				Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+		}
+	}
+
+	private final ByteBuffer fBuffer;
+	private final String[] fStrings;
+	private final int fPackagesStart;
+	private final int fFragmentsStart;
+	private final int fNodesStart;
+	private final int fNodeCount;
+
+	private ProjectApiDescriptionFile(ByteBuffer buffer, int stringCount, int packageCount, int fragmentCount, int nodeCount) {
+		fBuffer = buffer;
+		fStrings = new String[stringCount];
+		fPackagesStart = HEADER_SIZE + 4 * stringCount;
+		fFragmentsStart = fPackagesStart + PACKAGE_RECORD_SIZE * packageCount;
+		fNodesStart = fFragmentsStart + 4 * fragmentCount;
+		fNodeCount = nodeCount;
+	}
+
+	/**
+	 * Restores the given API description from the given binary file. Only the
+	 * package nodes are created, the nodes below each package are decoded
+	 * when the package is first queried.
+	 *
+	 * @param file the file to restore from
+	 * @param project the project the description belongs to
+	 * @param description the description to restore
+	 * @return <code>false</code> if the file was written with a different
+	 *         format or API description version and cannot be used,
+	 *         <code>true</code> if the description was restored
+	 * @throws IOException if the file cannot be read
+	 * @throws CoreException if the file references elements that no longer
+	 *             exist
+	 */
+	public static boolean restore(Path file, IJavaProject project, ProjectApiDescription description) throws IOException, CoreException {
+		byte[] bytes = Files.readAllBytes(file);
+		if (bytes.length < HEADER_SIZE) {
+			return false;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+			return false;
+		}
+		long timestamp = buffer.getLong(8);
+		int version = buffer.getInt(16);
+		ProjectApiDescriptionFile data = new ProjectApiDescriptionFile(buffer, buffer.getInt(20), buffer.getInt(24),
+				buffer.getInt(28), buffer.getInt(32));
+		String embedded = data.string(version);
+		description.setEmbeddedVersion(embedded);
+		if (!IApiXmlConstants.API_DESCRIPTION_CURRENT_VERSION.equals(embedded)) {
+			return false;
+		}
+		Map<IElementDescriptor, ManifestNode> packages = new LinkedHashMap<>();
+		int count = buffer.getInt(24);
+		for (int i = 0; i < count; i++) {
+			int record = data.fPackagesStart + i * PACKAGE_RECORD_SIZE;
+			String name = data.string(buffer.getInt(record));
+			int firstFragment = buffer.getInt(record + 12);
+			IPackageFragment[] fragments = new IPackageFragment[buffer.getInt(record + 16)];
+			for (int j = 0; j < fragments.length; j++) {
+				String handle = data.string(buffer.getInt(data.fFragmentsStart + 4 * (firstFragment + j)));
+				IJavaElement je = JavaCore.create(handle);
+				if (je == null || je.getElementType() != IJavaElement.PACKAGE_FRAGMENT) {
+					abort(ScannerMessages.ApiDescriptionManager_2 + handle);
+				}
+				fragments[j] = (IPackageFragment) je;
+			}
+			if (fragments.length == 0) {
+				abort(ScannerMessages.ApiDescriptionManager_2 + name);
+			}
+			IElementDescriptor element = Factory.packageDescriptor(name);
+			PackageNode node = description.newPackageNode(fragments, null, element, buffer.getInt(record + 4),
+					buffer.getInt(record + 8));
+			int start = buffer.getInt(record + 20);
+			int end = buffer.getInt(record + 24);
+			if (start < 0 || end > data.fNodeCount || start > end) {
+				abort(ScannerMessages.ApiDescriptionManager_4);
+			}
+			if (start < end) {
+				node.setPendingChildren(data, start, end);
+			}
+			packages.put(element, node);
+		}
+		description.fPackageTimeStamp = timestamp;
+		description.fManifestFile = project.getProject().getFile(JarFile.MANIFEST_NAME);
+		description.fPackageMap.putAll(packages);
+		return true;
+	}
+
+	/**
+	 * Decodes the nodes in the given range of the node table as children of
+	 * the given package node
+	 */
+	void restoreChildren(ProjectApiDescription description, PackageNode node, int start, int end) throws CoreException {
+		int index = start;
+		while (index < end) {
+			index = restoreNode(description, node, index);
+		}
+	}
+
+	/**
+	 * Decodes the node at the given index and its subtree
+	 *
+	 * @return the index of the first node after the subtree
+	 */
+	private int restoreNode(ProjectApiDescription description, ManifestNode parent, int index) throws CoreException {
+		int record = fNodesStart + index * NODE_RECORD_SIZE;
+		byte kind = fBuffer.get(record);
+		String name = string(fBuffer.getInt(record + 1));
+		int vis = fBuffer.getInt(record + 9);
+		int res = fBuffer.getInt(record + 13);
+		int end = fBuffer.getInt(record + 25);
+		if (end <= index || end > fNodeCount) {
+			abort(ScannerMessages.ApiDescriptionManager_4);
+		}
+		ManifestNode node = null;
+		IElementDescriptor element = null;
+		switch (kind) {
+			case KIND_TYPE -> {
+				IJavaElement je = JavaCore.create(name);
+				if (je == null || je.getElementType() != IJavaElement.TYPE) {
+					abort(ScannerMessages.ApiDescriptionManager_3 + name);
+				}
+				IType type = (IType) je;
+				element = Factory.typeDescriptor(type.getFullyQualifiedName('$'));
+				TypeNode tn = description.newTypeNode(type, parent, element, vis, res);
+				tn.fTimeStamp = fBuffer.getLong(record + 17);
+				node = tn;
+			}
+			case KIND_FIELD -> {
+				if (parent.element instanceof IReferenceTypeDescriptor type) {
+					element = type.getField(name);
+					node = description.newNode(parent, element, vis, res);
+				}
+			}
+			case KIND_METHOD -> {
+				if (parent.element instanceof IReferenceTypeDescriptor type) {
+					element = type.getMethod(name, string(fBuffer.getInt(record + 5)));
+					node = description.newNode(parent, element, vis, res);
+				}
+			}
+			default -> { /**/ }
+		}
+		if (node == null) {
+			abort(ScannerMessages.ApiDescriptionManager_4);
+		}
+		parent.children.put(element, node);
+		int child = index + 1;
+		while (child < end) {
+			child = restoreNode(description, node, child);
+		}
+		return end;
+	}
+
+	/**
+	 * Returns the string with the given index from the string table, decoding
+	 * it on first access
+	 */
+	private String string(int index) {
+		if (index < 0) {
+			return null;
+		}
+		String value = fStrings[index];
+		if (value == null) {
+			int offset = fBuffer.getInt(HEADER_SIZE + 4 * index);
+			byte[] bytes = new byte[fBuffer.getInt(offset)];
+			fBuffer.get(offset + 4, bytes);
+			value = new String(bytes, StandardCharsets.UTF_8);
+			fStrings[index] = value;
+		}
+		return value;
+	}
+
+	private static void abort(String message) throws CoreException {
+		throw new CoreException(Status.error(message));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2024 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -73,6 +73,9 @@ import org.eclipse.pde.api.tools.internal.provisional.builder.IApiAnalyzer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Measurement;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Phase;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.core.build.IBuild;
 import org.eclipse.pde.core.build.IBuildEntry;
@@ -361,7 +364,11 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		if (ApiPlugin.DEBUG_BUILDER) {
 			System.out.println("\nApiAnalysisBuilder: Starting build of " + this.currentproject.getName() + " @ " + new Date(System.currentTimeMillis())); //$NON-NLS-1$ //$NON-NLS-2$
 		}
-		IApiBaseline wbaseline = ApiPlugin.getDefault().getApiBaselineManager().getWorkspaceBaseline();
+		IApiBaseline wbaseline;
+		try (Measurement measurement = AnalysisMetrics.getDefault().start(Phase.BASELINE_LOAD, this.currentproject.getName(), null)) {
+			wbaseline = ApiPlugin.getDefault().getApiBaselineManager().getWorkspaceBaseline();
+			measurement.addItems(1);
+		}
 		if (wbaseline == null) {
 			if (ApiPlugin.DEBUG_BUILDER) {
 				System.err.println("ApiAnalysisBuilder: Could not retrieve a workspace baseline"); //$NON-NLS-1$
@@ -389,7 +396,11 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 			throws CoreException {
 		SubMonitor localMonitor = SubMonitor.convert(monitor, BuilderMessages.api_analysis_builder, 8);
 
-		IApiBaseline baseline = ApiPlugin.getDefault().getApiBaselineManager().getDefaultApiBaseline();
+		IApiBaseline baseline;
+		try (Measurement measurement = AnalysisMetrics.getDefault().start(Phase.BASELINE_LOAD, this.currentproject.getName(), null)) {
+			baseline = ApiPlugin.getDefault().getApiBaselineManager().getDefaultApiBaseline();
+			measurement.addItems(1);
+		}
 		try {
 			SubMonitor switchMonitor = localMonitor.split(4);
 			if (fullBuild) {
@@ -528,6 +539,11 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		if (ApiPlugin.DEBUG_BUILDER) {
 			System.out.println("ApiAnalysisBuilder: Finished build of " + this.currentproject.getName() + " @ " + new Date(System.currentTimeMillis())); //$NON-NLS-1$ //$NON-NLS-2$
 		}
+		if (ApiPlugin.DEBUG_METRICS) {
+			AnalysisMetrics metrics = AnalysisMetrics.getDefault();
+			metrics.print(System.out);
+			metrics.reset();
+		}
 	}
 
 	public class ApiAnalysisJob extends Job {
@@ -983,6 +999,13 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * framework, no work is done.
 	 */
 	protected void createMarkersInternally(IApiProblem[] problems) {
+		try (Measurement measurement = AnalysisMetrics.getDefault().start(Phase.MARKER_UPDATE, this.currentproject.getName(), null)) {
+			measurement.addItems(problems.length);
+			createMarkers0(problems);
+		}
+	}
+
+	private void createMarkers0(IApiProblem[] problems) {
 		try {
 			IResource manifest = Util.getManifestFile(this.currentproject);
 			if (manifest != null) {
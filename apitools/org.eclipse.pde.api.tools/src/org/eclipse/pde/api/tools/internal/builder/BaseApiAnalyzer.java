@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2023 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -110,6 +110,9 @@ import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemFilter
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemTypes;
 import org.eclipse.pde.api.tools.internal.search.IReferenceDescriptor;
 import org.eclipse.pde.api.tools.internal.search.UseScanManager;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Measurement;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Phase;
 import org.eclipse.pde.api.tools.internal.util.Signatures;
 import org.eclipse.pde.api.tools.internal.util.SinceTagVersion;
 import org.eclipse.pde.api.tools.internal.util.Util;
@@ -285,7 +288,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 			}
 
 			// usage checks
-			checkApiUsage(bcontext, component, localMonitor.split(1));
+			checkApiUsage(state, bcontext, component, localMonitor.split(1));
 			// tag validation
 			checkTagValidation(bcontext, localMonitor.split(1));
 			if (checkfilters) {
@@ -612,11 +615,14 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	 */
 	private void checkCompatibility(String[] changedtypes, IApiComponent reference, IApiComponent component, SubMonitor localMonitor) throws CoreException {
 		localMonitor.setWorkRemaining(changedtypes.length);
-		for (String changedtype : changedtypes) {
-			if (changedtype == null) {
-				continue;
+		try (Measurement measurement = AnalysisMetrics.getDefault().start(Phase.COMPATIBILITY_COMPARE, component)) {
+			for (String changedtype : changedtypes) {
+				if (changedtype == null) {
+					continue;
+				}
+				checkCompatibility(changedtype, reference, component, localMonitor.split(1));
+				measurement.addItems(1);
 			}
-			checkCompatibility(changedtype, reference, component, localMonitor.split(1));
 		}
 	}
 
@@ -1220,15 +1226,20 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	 * Checks for illegal API usage in the specified component, creating problem
 	 * markers as required.
 	 *
+	 * @param state the build state to record type references in or
+	 *            <code>null</code>
 	 * @param context the current build context
 	 * @param component component being built
 	 * @param monitor progress monitor
 	 */
-	private void checkApiUsage(final IBuildContext context, final IApiComponent component, IProgressMonitor monitor) {
+	private void checkApiUsage(final BuildState state, final IBuildContext context, final IApiComponent component, IProgressMonitor monitor) {
 		if (ignoreApiUsageScan()) {
 			if (ApiPlugin.DEBUG_API_ANALYZER) {
 				System.out.println("Ignoring API usage scan"); //$NON-NLS-1$
 			}
+			if (state != null) {
+				state.clearTypeReferences();
+			}
 			return;
 		}
 		IApiTypeContainer scope = null;
@@ -1243,10 +1254,29 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		}
 		SubMonitor localMonitor = SubMonitor.convert(monitor, MessageFormat.format(BuilderMessages.checking_api_usage, component.getSymbolicName()), 2);
 		ReferenceAnalyzer analyzer = new ReferenceAnalyzer();
+		if (state != null && !context.hasTypes()) {
+			// the references of all types are recorded again
+			state.clearTypeReferences();
+		}
+		analyzer.setBuildState(state);
 		try {
 			long start = System.currentTimeMillis();
 			IApiProblem[] illegal = analyzer.analyze(component, scope, localMonitor.split(2));
 			long end = System.currentTimeMillis();
+			if (state != null) {
+				int kinds = analyzer.getRecordedReferenceKinds();
+				if (!analyzer.hasRecordedTypeReferences()) {
+					state.clearTypeReferences();
+				} else if (!context.hasTypes()) {
+					state.setTypeReferenceKinds(kinds);
+				} else if ((state.getTypeReferenceKinds() & kinds) != kinds) {
+					// problem detectors were enabled since the last full build,
+					// the other types miss the references they need
+					state.clearTypeReferences();
+				} else {
+					state.setTypeReferenceKinds(kinds);
+				}
+			}
 			if (ApiPlugin.DEBUG_API_ANALYZER) {
 				System.out.println("API usage scan: " + (end - start) + " ms\t" + illegal.length + " problems"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 			}
@@ -1254,6 +1284,9 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				addProblem(element);
 			}
 		} catch (CoreException ce) {
+			if (state != null) {
+				state.clearTypeReferences();
+			}
 			if (ApiPlugin.DEBUG_API_ANALYZER) {
 				ApiPlugin.log(ce);
 			}
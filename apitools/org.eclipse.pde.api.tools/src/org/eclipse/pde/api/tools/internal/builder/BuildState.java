@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,6 +45,7 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.api.tools.internal.comparator.Delta;
 import org.eclipse.pde.api.tools.internal.model.ProjectComponent;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.util.Util;
@@ -59,7 +60,7 @@ import org.eclipse.pde.core.build.IBuildModel;
 public class BuildState {
 	private static final IDelta[] EMPTY_DELTAS = new IDelta[0];
 	private static final String[] NO_REEXPORTED_COMPONENTS = new String[0];
-	private static final int VERSION = 33;
+	private static final int VERSION = 35;
 
 	private final Map<String, Set<IDelta>> compatibleChanges;
 	private final Map<String, Set<IDelta>> breakingChanges;
@@ -78,6 +79,26 @@ public class BuildState {
 	private String[] reexportedComponents;
 	private Set<String> apiToolingDependentProjects;
 	private long buildpathCRC = -1L;
+	/**
+	 * Map of the top level types of the project to the top level types they
+	 * reference, all '/' separated
+	 *
+	 * @since 1.3.500
+	 */
+	private final Map<String, Set<String>> typeReferences = new HashMap<>();
+	/**
+	 * Reverse index of {@link #typeReferences}, computed on demand
+	 *
+	 * @since 1.3.500
+	 */
+	private Map<String, Set<String>> typeDependents = null;
+	/**
+	 * The reference kinds recorded for all types of the project, or 0 if the
+	 * references of some types are missing
+	 *
+	 * @since 1.3.500
+	 */
+	private int typeReferenceKinds = 0;
 
 	/**
 	 * Constructor
@@ -155,6 +176,7 @@ public class BuildState {
 					}
 					state.setBuildPropertiesState(map);
 				}
+				readTypeReferences(state, in);
 			}
 			return state;
 		}
@@ -210,6 +232,56 @@ public class BuildState {
 			out.writeUTF(entry.getKey());
 			out.writeUTF(entry.getValue());
 		}
+		writeTypeReferences(state, out);
+	}
+
+	/**
+	 * Reads the recorded type references. Type names are stored once in a
+	 * table and referred to by index.
+	 */
+	private static void readTypeReferences(BuildState state, DataInputStream in) throws IOException {
+		state.typeReferenceKinds = in.readInt();
+		int count = in.readInt();
+		String[] names = new String[count];
+		for (int i = 0; i < count; i++) {
+			names[i] = in.readUTF();
+		}
+		count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			String typeName = names[in.readInt()];
+			int length = in.readInt();
+			Set<String> referenced = new HashSet<>(length);
+			for (int j = 0; j < length; j++) {
+				referenced.add(names[in.readInt()]);
+			}
+			state.typeReferences.put(typeName, referenced);
+		}
+	}
+
+	/**
+	 * Writes the recorded type references
+	 */
+	private static void writeTypeReferences(BuildState state, DataOutputStream out) throws IOException {
+		out.writeInt(state.typeReferenceKinds);
+		Map<String, Integer> names = new LinkedHashMap<>();
+		for (Entry<String, Set<String>> entry : state.typeReferences.entrySet()) {
+			names.putIfAbsent(entry.getKey(), Integer.valueOf(names.size()));
+			for (String referenced : entry.getValue()) {
+				names.putIfAbsent(referenced, Integer.valueOf(names.size()));
+			}
+		}
+		out.writeInt(names.size());
+		for (String name : names.keySet()) {
+			out.writeUTF(name);
+		}
+		out.writeInt(state.typeReferences.size());
+		for (Entry<String, Set<String>> entry : state.typeReferences.entrySet()) {
+			out.writeInt(names.get(entry.getKey()).intValue());
+			out.writeInt(entry.getValue().size());
+			for (String referenced : entry.getValue()) {
+				out.writeInt(names.get(referenced).intValue());
+			}
+		}
 	}
 
 	/**
@@ -408,6 +480,137 @@ public class BuildState {
 		return this.apiToolingDependentProjects == null ? Collections.EMPTY_SET : this.apiToolingDependentProjects;
 	}
 
+	/**
+	 * Records the types referenced by the given type, replacing the types it
+	 * referenced before. Type names may be '.' or '/' separated, nested types
+	 * are recorded as their top level type.
+	 *
+	 * @param typeName the name of a top level type of the project
+	 * @param referencedTypes the names of the types it references
+	 * @since 1.3.500
+	 */
+	public void setTypeReferences(String typeName, Collection<String> referencedTypes) {
+		String type = getTopLevelTypeName(typeName);
+		Set<String> referenced = new HashSet<>();
+		for (String referencedType : referencedTypes) {
+			String name = getTopLevelTypeName(referencedType);
+			if (!name.equals(type)) {
+				referenced.add(name);
+			}
+		}
+		Set<String> previous = this.typeReferences.put(type, referenced);
+		if (this.typeDependents != null) {
+			removeDependent(type, previous);
+			for (String name : referenced) {
+				this.typeDependents.computeIfAbsent(name, n -> new HashSet<>()).add(type);
+			}
+		}
+	}
+
+	/**
+	 * Removes the recorded references of the given type
+	 *
+	 * @param typeName the name of a top level type of the project
+	 * @since 1.3.500
+	 */
+	public void removeTypeReferences(String typeName) {
+		String type = getTopLevelTypeName(typeName);
+		Set<String> previous = this.typeReferences.remove(type);
+		if (this.typeDependents != null) {
+			removeDependent(type, previous);
+		}
+	}
+
+	private void removeDependent(String type, Set<String> referenced) {
+		if (referenced == null) {
+			return;
+		}
+		for (String name : referenced) {
+			Set<String> dependents = this.typeDependents.get(name);
+			if (dependents != null) {
+				dependents.remove(type);
+				if (dependents.isEmpty()) {
+					this.typeDependents.remove(name);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all recorded type references and marks them as incomplete
+	 *
+	 * @since 1.3.500
+	 */
+	public void clearTypeReferences() {
+		this.typeReferences.clear();
+		this.typeDependents = null;
+		this.typeReferenceKinds = 0;
+	}
+
+	/**
+	 * Sets the kinds of references recorded for all types of the project
+	 *
+	 * @param kinds mask of {@link IReference} kinds or 0 if the references of
+	 *            some types are missing
+	 * @since 1.3.500
+	 */
+	public void setTypeReferenceKinds(int kinds) {
+		this.typeReferenceKinds = kinds;
+	}
+
+	/**
+	 * Returns the kinds of references recorded for all types of the project
+	 *
+	 * @return mask of {@link IReference} kinds or 0 if the references of some
+	 *         types are missing
+	 * @since 1.3.500
+	 */
+	public int getTypeReferenceKinds() {
+		return this.typeReferenceKinds;
+	}
+
+	/**
+	 * Returns if the references of all types of the project have been
+	 * recorded, so {@link #getDependentTypes(String)} returns all dependents.
+	 *
+	 * @return <code>true</code> if the type references are complete
+	 * @since 1.3.500
+	 */
+	public boolean hasTypeReferences() {
+		return this.typeReferenceKinds != 0;
+	}
+
+	/**
+	 * Returns the '/' separated names of the top level types of the project
+	 * that reference the given type or any of its nested types
+	 *
+	 * @param typeName a '.' or '/' separated type name
+	 * @return the dependent types or an empty set, never <code>null</code>
+	 * @since 1.3.500
+	 */
+	public Set<String> getDependentTypes(String typeName) {
+		if (this.typeDependents == null) {
+			Map<String, Set<String>> dependents = new HashMap<>();
+			for (Entry<String, Set<String>> entry : this.typeReferences.entrySet()) {
+				for (String name : entry.getValue()) {
+					dependents.computeIfAbsent(name, n -> new HashSet<>()).add(entry.getKey());
+				}
+			}
+			this.typeDependents = dependents;
+		}
+		Set<String> dependents = this.typeDependents.get(getTopLevelTypeName(typeName));
+		return dependents == null ? Collections.emptySet() : Collections.unmodifiableSet(dependents);
+	}
+
+	/**
+	 * Returns the '/' separated name of the top level type of the given type
+	 */
+	static String getTopLevelTypeName(String typeName) {
+		String name = typeName.replace('.', '/');
+		int index = name.indexOf('$');
+		return index > -1 ? name.substring(0, index) : name;
+	}
+
 	/**
 	 * Allows the last built state of the manifest to be saved. This method will
 	 * perform compaction of the manifest, removing headers that we not need to
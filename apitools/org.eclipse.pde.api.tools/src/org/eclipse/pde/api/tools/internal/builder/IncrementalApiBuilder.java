@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2017 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -234,7 +234,7 @@ public class IncrementalApiBuilder {
 			for (IResourceDelta delta : deltas) {
 				delta.accept(visitor);
 			}
-			buildContext(project, state, visitor.changes, depprojects);
+			buildContext(project, state, buildstate, visitor.changes, depprojects);
 			build(project, baseline, wbaseline, state, buildstate, localmonitor.split(1));
 		} catch (OperationCanceledException oce) {
 			// do nothing, but don't forward it
@@ -373,9 +373,10 @@ public class IncrementalApiBuilder {
 	 *
 	 * @param project the current project being built
 	 * @param state the current JDT build state
+	 * @param buildstate the current API tools build state
 	 * @param list of changes
 	 */
-	void buildContext(final IProject project, State state, List<Change> changes, HashSet<IProject> depprojects) {
+	void buildContext(final IProject project, State state, BuildState buildstate, List<Change> changes, HashSet<IProject> depprojects) {
 		StringSet structural = null;
 		StringSet description = null;
 		for (Change change : changes) {
@@ -431,19 +432,19 @@ public class IncrementalApiBuilder {
 		if (changes.size() == 1 && structural != null && description != null) {
 			String[] types = structural.values;
 			if (types.length > 0) {
-				addDependents(project, state, types, STRUCTURAL | DESCRIPTION);
+				addDependents(project, state, buildstate, types, STRUCTURAL | DESCRIPTION);
 			}
 		} else {
 			if (structural != null) {
 				String[] types = structural.values;
 				if (types.length > 0) {
-					addDependents(project, state, types, STRUCTURAL);
+					addDependents(project, state, buildstate, types, STRUCTURAL);
 				}
 			}
 			if (description != null) {
 				String[] types = description.values;
 				if (types.length > 0) {
-					addDependents(project, state, types, DESCRIPTION);
+					addDependents(project, state, buildstate, types, DESCRIPTION);
 				}
 			}
 		}
@@ -456,10 +457,15 @@ public class IncrementalApiBuilder {
 	 *
 	 * @param project the current project being built
 	 * @param state the current JDT build state
+	 * @param buildstate the current API tools build state
 	 * @param types dot and $ qualified names of base types that changed
 	 * @param kind mask of STRUCTURAL or DESCRIPTION
 	 */
-	private void addDependents(final IProject project, State state, String[] types, int kind) {
+	private void addDependents(final IProject project, State state, BuildState buildstate, String[] types, int kind) {
+		if (buildstate.hasTypeReferences()) {
+			addRecordedDependents(project, state, buildstate, types, kind);
+			return;
+		}
 		StringSet packages = new StringSet(16);
 		StringSet typenames = new StringSet(16);
 		for (String type : types) {
@@ -496,6 +502,39 @@ public class IncrementalApiBuilder {
 		}
 	}
 
+	/**
+	 * Adds the dependent files of the given types recorded in the API tools
+	 * build state by the last API usage scans, instead of searching the
+	 * references of all types in the JDT build state.
+	 *
+	 * @param project the current project being built
+	 * @param state the current JDT build state
+	 * @param buildstate the current API tools build state
+	 * @param types dot and $ qualified names of base types that changed
+	 * @param kind mask of STRUCTURAL or DESCRIPTION
+	 */
+	private void addRecordedDependents(final IProject project, State state, BuildState buildstate, String[] types, int kind) {
+		Set<String> typeLocators = new HashSet<>();
+		for (String type : types) {
+			if (type == null) {
+				continue;
+			}
+			for (String dependent : buildstate.getDependentTypes(type)) {
+				String typeLocator = state.typeLocators.get(dependent);
+				if (typeLocator != null) {
+					typeLocators.add(typeLocator);
+				}
+			}
+		}
+		for (String typeLocator : typeLocators) {
+			IFile file = project.getFile(typeLocator);
+			if (ApiPlugin.DEBUG_BUILDER) {
+				System.out.println("ApiAnalysisBuilder:   adding recorded affected source file " + file.getName()); //$NON-NLS-1$
+			}
+			addDependentTypeToContext(file, kind);
+		}
+	}
+
 	/**
 	 * Adds a type to search for dependents of in considered projects for an
 	 * incremental build
@@ -529,6 +568,9 @@ public class IncrementalApiBuilder {
 		String[] types = this.context.getRemovedTypes();
 		for (String type : types) {
 			state.cleanup(type);
+			if (type.indexOf('$') < 0) {
+				state.removeTypeReferences(type);
+			}
 		}
 		subMonitor.split(1);
 		IResource resource = project.findMember(ApiAnalysisBuilder.MANIFEST_PATH);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,13 +14,25 @@
 package org.eclipse.pde.api.tools.internal.builder;
 
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.pde.api.tools.internal.provisional.ApiDescriptionVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
@@ -36,6 +48,9 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Measurement;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Phase;
 
 /**
  * The reference analyzer
@@ -84,40 +99,9 @@ public class ReferenceAnalyzer {
 		public void visit(String packageName, IApiTypeRoot classFile) {
 			if (!fMonitor.isCanceled()) {
 				try {
-					IApiType type = classFile.getStructure();
-					if (type == null) {
-						// do nothing for bad class files
-						return;
-					}
-					// don't process inner/anonymous/local types, this is done
-					// in the extractor
-					if (type.isMemberType() || type.isLocal() || type.isAnonymous()) {
-						return;
-					}
-					List<IReference> references = type.extractReferences(fAllReferenceKinds, null);
-					// keep potential matches
-					for (IReference ref : references) {
-						if (fMonitor.isCanceled()) {
-							break;
-						}
-						// compute index of interested problem detectors
-						int index = getLog2(ref.getReferenceKind());
-						IApiProblemDetector[] detectors = fIndexedDetectors[index];
-						boolean added = false;
-						if (detectors != null) {
-							for (IApiProblemDetector detector : detectors) {
-								if (fMonitor.isCanceled()) {
-									break;
-								}
-								if (detector.considerReference(ref, fMonitor)) {
-									if (!added) {
-										fReferences.add(ref);
-										added = true;
-									}
-								}
-							}
-						}
-					}
+					List<IReference> references = extractReferences(classFile);
+					recordTypeReferences(classFile, references);
+					considerReferences(references, fMonitor);
 				} catch (CoreException e) {
 					fStatus.add(e.getStatus());
 					AbstractProblemDetector.checkIfDisposed(classFile.getApiComponent(), fMonitor);
@@ -126,6 +110,135 @@ public class ReferenceAnalyzer {
 		}
 	}
 
+	/**
+	 * Visits each class file, extracting references on a pool of workers. The
+	 * extracted references of each type are buffered and handed to the
+	 * problem detectors on the visiting thread in visit order, so detectors
+	 * see the same references in the same order as with a {@link Visitor}.
+	 */
+	class ParallelVisitor extends ApiTypeContainerVisitor {
+
+		/**
+		 * A type whose references are being extracted, or the end of a package
+		 * if there is no type
+		 */
+		private record Pending(IApiTypeRoot classFile, Future<List<IReference>> references) {
+		}
+
+		private final IProgressMonitor fMonitor;
+		private final ExecutorService fExecutor;
+		private final Deque<Pending> fPending = new ArrayDeque<>();
+		private final int fMaxPending;
+
+		ParallelVisitor(IProgressMonitor monitor, ExecutorService executor, int threads) {
+			fMonitor = monitor;
+			fExecutor = executor;
+			// bounds the extracted references held in memory
+			fMaxPending = threads * 16;
+		}
+
+		@Override
+		public boolean visitPackage(String packageName) {
+			fMonitor.subTask(MessageFormat.format(BuilderMessages.ReferenceAnalyzer_checking_api_used_by, packageName));
+			return true;
+		}
+
+		@Override
+		public void endVisitPackage(String packageName) {
+			fPending.add(new Pending(null, null));
+			drain(false);
+		}
+
+		@Override
+		public void visit(String packageName, IApiTypeRoot classFile) {
+			if (!fMonitor.isCanceled()) {
+				fPending.add(new Pending(classFile, fExecutor.submit(() -> extractReferences(classFile))));
+				drain(false);
+			}
+		}
+
+		/**
+		 * Hands the extracted references of completed types to the problem
+		 * detectors in visit order. Waits for the oldest pending type while
+		 * too many types are pending or, if <code>all</code> is set, until no
+		 * type is pending.
+		 */
+		void drain(boolean all) {
+			while (!fPending.isEmpty()) {
+				Pending pending = fPending.peek();
+				if (pending.classFile() == null) {
+					fPending.poll();
+					fMonitor.worked(1);
+					continue;
+				}
+				if (!all && !pending.references().isDone() && fPending.size() < fMaxPending) {
+					return;
+				}
+				fPending.poll();
+				try {
+					List<IReference> references = waitFor(pending.references());
+					if (!fMonitor.isCanceled()) {
+						recordTypeReferences(pending.classFile(), references);
+						considerReferences(references, fMonitor);
+					}
+				} catch (CoreException e) {
+					fStatus.add(e.getStatus());
+					AbstractProblemDetector.checkIfDisposed(pending.classFile().getApiComponent(), fMonitor);
+				}
+			}
+		}
+
+		/**
+		 * Waits for the given extraction to complete, polling the monitor for
+		 * cancellation while waiting
+		 *
+		 * @return the extracted references, empty if the monitor was canceled
+		 * @throws CoreException if the extraction failed
+		 */
+		private List<IReference> waitFor(Future<List<IReference>> future) throws CoreException {
+			while (true) {
+				if (fMonitor.isCanceled()) {
+					future.cancel(false);
+					return Collections.emptyList();
+				}
+				try {
+					return future.get(100, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException te) {
+					// check for cancellation and keep waiting
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				} catch (ExecutionException ee) {
+					Throwable cause = ee.getCause();
+					if (cause instanceof CoreException ce) {
+						throw ce;
+					}
+					if (cause instanceof RuntimeException re) {
+						throw re;
+					}
+					if (cause instanceof Error e) {
+						throw e;
+					}
+					throw new CoreException(Status.error(cause.getMessage(), cause));
+				}
+			}
+		}
+	}
+
+	/**
+	 * System property that can be used to set the number of threads used to
+	 * extract and resolve references. Concurrent analysis is opt-in, by
+	 * default references are extracted and resolved on the calling thread.
+	 */
+	static final String THREADS_PROPERTY = "org.eclipse.pde.api.tools.referenceAnalyzerThreads"; //$NON-NLS-1$
+
+	static final int DEFAULT_THREADS = 1;
+
+	/**
+	 * The number of threads used to extract and resolve references
+	 */
+	int fThreads = Integer.getInteger(THREADS_PROPERTY, DEFAULT_THREADS).intValue();
+
 	/**
 	 * Scan status
 	 */
@@ -141,6 +254,17 @@ public class ReferenceAnalyzer {
 	 */
 	List<IReference> fReferences = new LinkedList<>();
 
+	/**
+	 * The build state to record the types referenced by each analyzed type in
+	 * or <code>null</code>
+	 */
+	BuildState fBuildState = null;
+
+	/**
+	 * If the references of all types in the analyzed scope have been recorded
+	 */
+	boolean fTypeReferencesRecorded = false;
+
 	/**
 	 * Problem detectors indexed by the log base 2 of each reference kind they
 	 * are interested in. Provides a fast way to hand references off to
@@ -193,6 +317,110 @@ public class ReferenceAnalyzer {
 		return (int) Math.round(pow);
 	}
 
+	/**
+	 * Extracts the references of the given class file. May be called from any
+	 * thread.
+	 *
+	 * @return the references of interest to any problem detector, empty for
+	 *         bad class files and nested types as their references are
+	 *         extracted with their top level type
+	 */
+	List<IReference> extractReferences(IApiTypeRoot classFile) throws CoreException {
+		IApiType type = classFile.getStructure();
+		if (type == null) {
+			// do nothing for bad class files
+			return Collections.emptyList();
+		}
+		// don't process inner/anonymous/local types, this is done
+		// in the extractor
+		if (type.isMemberType() || type.isLocal() || type.isAnonymous()) {
+			return Collections.emptyList();
+		}
+		return type.extractReferences(fBuildState != null ? getRecordedReferenceKinds() : fAllReferenceKinds, null);
+	}
+
+	/**
+	 * Records the types referenced by the given top level type in the build
+	 * state, if any. Must be called from one thread at a time.
+	 */
+	void recordTypeReferences(IApiTypeRoot classFile, List<IReference> references) {
+		if (fBuildState == null || classFile.getTypeName().indexOf('$') > -1) {
+			return;
+		}
+		Set<String> referenced = new HashSet<>();
+		for (IReference ref : references) {
+			String typeName = ref.getReferencedTypeName();
+			if (typeName != null) {
+				referenced.add(typeName);
+			}
+		}
+		fBuildState.setTypeReferences(classFile.getTypeName(), referenced);
+	}
+
+	/**
+	 * Returns the kinds of references recorded in the build state: the kinds
+	 * the problem detectors are interested in, and the super types as types
+	 * inherit the API of their super types.
+	 *
+	 * @return mask of {@link IReference} kinds
+	 */
+	int getRecordedReferenceKinds() {
+		return fAllReferenceKinds | IReference.REF_EXTENDS | IReference.REF_IMPLEMENTS;
+	}
+
+	/**
+	 * Sets the build state to record the types referenced by each analyzed
+	 * type in. References of the {@link #getRecordedReferenceKinds()} are
+	 * extracted while a build state is set, references no problem detector is
+	 * interested in are only recorded.
+	 *
+	 * @param state the build state or <code>null</code>
+	 */
+	void setBuildState(BuildState state) {
+		fBuildState = state;
+	}
+
+	/**
+	 * Returns if the references of all types in the last analyzed scope have
+	 * been recorded in the build state
+	 *
+	 * @return <code>true</code> if the type references have been recorded
+	 */
+	boolean hasRecordedTypeReferences() {
+		return fTypeReferencesRecorded;
+	}
+
+	/**
+	 * Keeps the references any interested problem detector considers. Must be
+	 * called from one thread at a time as problem detectors are not thread
+	 * safe.
+	 */
+	void considerReferences(List<IReference> references, IProgressMonitor monitor) {
+		// keep potential matches
+		for (IReference ref : references) {
+			if (monitor.isCanceled()) {
+				break;
+			}
+			// compute index of interested problem detectors
+			int index = getLog2(ref.getReferenceKind());
+			IApiProblemDetector[] detectors = fIndexedDetectors[index];
+			boolean added = false;
+			if (detectors != null) {
+				for (IApiProblemDetector detector : detectors) {
+					if (monitor.isCanceled()) {
+						break;
+					}
+					if (detector.considerReference(ref, monitor)) {
+						if (!added) {
+							fReferences.add(ref);
+							added = true;
+						}
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * Scans the given scope extracting all reference information.
 	 *
@@ -204,12 +432,28 @@ public class ReferenceAnalyzer {
 		fStatus = new MultiStatus(ApiPlugin.PLUGIN_ID, 0, BuilderMessages.ReferenceAnalyzer_api_analysis_error, null);
 		String[] packageNames = scope.getPackageNames();
 		SubMonitor localMonitor = SubMonitor.convert(monitor, packageNames.length);
-		ApiTypeContainerVisitor visitor = new Visitor(localMonitor);
 		long start = System.currentTimeMillis();
-		try {
-			scope.accept(visitor);
-		} catch (CoreException e) {
-			fStatus.add(e.getStatus());
+		if (fThreads > 1) {
+			ExecutorService executor = Executors.newFixedThreadPool(fThreads, runnable -> {
+				Thread thread = new Thread(runnable, "API Reference Extractor"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			ParallelVisitor visitor = new ParallelVisitor(localMonitor, executor, fThreads);
+			try {
+				scope.accept(visitor);
+				visitor.drain(true);
+			} catch (CoreException e) {
+				fStatus.add(e.getStatus());
+			} finally {
+				executor.shutdownNow();
+			}
+		} else {
+			try {
+				scope.accept(new Visitor(localMonitor));
+			} catch (CoreException e) {
+				fStatus.add(e.getStatus());
+			}
 		}
 		long end = System.currentTimeMillis();
 		if (!fStatus.isOK()) {
@@ -240,21 +484,29 @@ public class ReferenceAnalyzer {
 			// analyze
 			// 1. extract references
 			localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
-			extractReferences(scope, localMonitor.split(1));
-			// 2. resolve problematic references
-			localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
-			if (fReferences.size() != 0) {
-				ReferenceResolver.resolveReferences(fReferences);
+			AnalysisMetrics metrics = AnalysisMetrics.getDefault();
+			try (Measurement measurement = metrics.start(Phase.REFERENCE_EXTRACTION, component)) {
+				extractReferences(scope, localMonitor.split(1));
+				measurement.addItems(fReferences.size());
 			}
-			// 3. create problems
+			fTypeReferencesRecorded = fBuildState != null && !localMonitor.isCanceled();
 			List<IApiProblem> allProblems = new LinkedList<>();
-			localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
-			SubMonitor loopMonitor = localMonitor.split(1).setWorkRemaining(detectors.length);
-			for (IApiProblemDetector detector : detectors) {
-				if (monitor.isCanceled()) {
-					break;
+			try (Measurement measurement = metrics.start(Phase.PROBLEM_CREATION, component)) {
+				// 2. resolve problematic references
+				localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
+				if (fReferences.size() != 0) {
+					ReferenceResolver.resolveReferences(fReferences, fThreads);
+				}
+				// 3. create problems
+				localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
+				SubMonitor loopMonitor = localMonitor.split(1).setWorkRemaining(detectors.length);
+				for (IApiProblemDetector detector : detectors) {
+					if (monitor.isCanceled()) {
+						break;
+					}
+					allProblems.addAll(detector.createProblems(loopMonitor.split(1)));
 				}
-				allProblems.addAll(detector.createProblems(loopMonitor.split(1)));
+				measurement.addItems(allProblems.size());
 			}
 			IApiProblem[] array = allProblems.toArray(new IApiProblem[allProblems.size()]);
 			return array;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2013 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,8 +17,14 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiMember;
@@ -44,6 +50,21 @@ public final class ReferenceResolver {
 	 * @throws CoreException if something goes wrong
 	 */
 	public static void resolveReferences(List<IReference> references) throws CoreException {
+		resolveReferences(references, 1);
+	}
+
+	/**
+	 * Resolves retained references, resolving up to <code>threads</code> sets
+	 * of references with the same target at the same time. Method overrides
+	 * are always resolved on the calling thread.
+	 *
+	 * @param references list of {@link IReference} to resolve
+	 * @param threads the maximum number of threads to use, values less than 2
+	 *            resolve all references on the calling thread
+	 * @throws CoreException if something goes wrong
+	 * @since 1.3.500
+	 */
+	public static void resolveReferences(List<IReference> references, int threads) throws CoreException {
 		// sort references by target type for 'shared' resolution
 		int refcount = references.size();
 		Map<String, List<IReference>> sigtoref = new LinkedHashMap<>(refcount);
@@ -72,7 +93,11 @@ public final class ReferenceResolver {
 		}
 		// resolve references
 		start = System.currentTimeMillis();
-		resolveReferenceSets(sigtoref);
+		if (threads > 1 && sigtoref.size() > 1) {
+			resolveReferenceSetsParallel(sigtoref, threads);
+		} else {
+			resolveReferenceSets(sigtoref.values());
+		}
 		end = System.currentTimeMillis();
 		if (ApiPlugin.DEBUG_REFERENCE_RESOLVER) {
 			System.out.println("Reference resolver: resolved unique references in " + (end - start) + "ms"); //$NON-NLS-1$//$NON-NLS-2$
@@ -91,12 +116,12 @@ public final class ReferenceResolver {
 	/**
 	 * Resolves the collect sets of references.
 	 *
-	 * @param map the mapping of keys to sets of {@link IReference}s
+	 * @param sets the sets of {@link IReference}s with the same target
 	 * @throws CoreException if something bad happens
 	 */
-	private static void resolveReferenceSets(Map<String, List<IReference>> map) throws CoreException {
+	private static void resolveReferenceSets(Iterable<List<IReference>> sets) throws CoreException {
 		IReference ref = null;
-		for (List<IReference> refs : map.values()) {
+		for (List<IReference> refs : sets) {
 			ref = refs.get(0);
 			((Reference) ref).resolve();
 			IApiMember resolved = ref.getResolvedReference();
@@ -108,6 +133,61 @@ public final class ReferenceResolver {
 		}
 	}
 
+	/**
+	 * Resolves the collected sets of references in chunks on a pool of at most
+	 * <code>threads</code> workers. Each set is resolved by exactly one worker,
+	 * so the resolution of a reference does not depend on the number of
+	 * threads. If several chunks fail, the failure of the first chunk is
+	 * thrown.
+	 *
+	 * @param map the mapping of keys to sets of {@link IReference}s
+	 * @param threads the maximum number of workers
+	 * @throws CoreException if something bad happens
+	 */
+	private static void resolveReferenceSetsParallel(Map<String, List<IReference>> map, int threads) throws CoreException {
+		List<List<IReference>> sets = new ArrayList<>(map.values());
+		int workers = Math.min(threads, sets.size());
+		// a few chunks per worker balance sets that are expensive to resolve
+		int chunkSize = Math.max(1, (sets.size() + workers * 4 - 1) / (workers * 4));
+		ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+			Thread thread = new Thread(runnable, "API Reference Resolver"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			for (int i = 0; i < sets.size(); i += chunkSize) {
+				List<List<IReference>> chunk = sets.subList(i, Math.min(i + chunkSize, sets.size()));
+				futures.add(executor.submit(() -> {
+					resolveReferenceSets(chunk);
+					return null;
+				}));
+			}
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new OperationCanceledException();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof CoreException ce) {
+						throw ce;
+					}
+					if (cause instanceof RuntimeException re) {
+						throw re;
+					}
+					if (cause instanceof Error err) {
+						throw err;
+					}
+					throw new CoreException(Status.error(cause.getMessage(), cause));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	/**
 	 * Creates a unique string key for a given reference. The key is of the form
 	 * "component X references type/member"
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2019 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,7 @@ package org.eclipse.pde.api.tools.internal.comparator;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -27,6 +28,8 @@ import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.Signature;
+import org.eclipse.pde.api.tools.internal.model.AbstractApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.model.ApiType;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
 import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
@@ -34,6 +37,7 @@ import org.eclipse.pde.api.tools.internal.provisional.RestrictionModifiers;
 import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.ApiComparator;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMemberDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
@@ -107,6 +111,12 @@ public class ClassFileComparator {
 
 	private IApiType type2 = null;
 
+	/**
+	 * Whether the types are known to be unchanged, in which case the structure
+	 * of the second type is not built
+	 */
+	private final boolean unchanged;
+
 	private final int visibilityModifiers;
 	private int currentDescriptorRestrictions;
 	private int initialDescriptorRestrictions;
@@ -129,10 +139,13 @@ public class ClassFileComparator {
 		this.component = component;
 		this.component2 = component2;
 		this.type1 = classFile.getStructure();
-		this.type2 = classFile2.getStructure();
 		this.apiBaseline1 = apiState;
 		this.apiBaseline2 = apiState2;
 		this.visibilityModifiers = visibilityModifiers;
+		this.unchanged = isUnchanged(classFile2);
+		if (!this.unchanged) {
+			this.type2 = classFile2.getStructure();
+		}
 	}
 
 	/**
@@ -152,10 +165,122 @@ public class ClassFileComparator {
 		this.component = component;
 		this.component2 = component2;
 		this.type1 = type;
-		this.type2 = classFile2.getStructure();
 		this.apiBaseline1 = apiState;
 		this.apiBaseline2 = apiState2;
 		this.visibilityModifiers = visibilityModifiers;
+		this.unchanged = isUnchanged(classFile2);
+		if (!this.unchanged) {
+			this.type2 = classFile2.getStructure();
+		}
+	}
+
+	/**
+	 * Returns whether the compared types are known to have no delta without
+	 * comparing their structures. This is the case if the class files of the
+	 * types, of their member types and of all their super types are identical
+	 * and the API descriptions agree on the types and their members.
+	 */
+	private boolean isUnchanged(IApiTypeRoot classFile2) {
+		if (this.component.hasApiDescription() != this.component2.hasApiDescription()) {
+			return false;
+		}
+		try {
+			IApiComponent typeComponent2 = classFile2.getApiComponent();
+			Set<String> visited = new HashSet<>();
+			return typeComponent2 != null && isUnchanged(this.type1, classFile2, visited) && isHierarchyUnchanged(this.type1, typeComponent2, visited);
+		} catch (CoreException e) {
+			// let the full comparison report the problem
+			return false;
+		}
+	}
+
+	/**
+	 * Checks that the given type and its member types have identical class
+	 * files and API descriptions on both sides. The hierarchies of member
+	 * types are checked as well, as the full comparison reports their
+	 * hierarchy changes; the hierarchy of the given type is left to the
+	 * caller.
+	 */
+	private boolean isUnchanged(IApiType type, IApiTypeRoot classFile2, Set<String> visited) throws CoreException {
+		if (!isSameClassFile(type.getTypeRoot(), classFile2)) {
+			return false;
+		}
+		IApiDescription apiDescription = this.component.getApiDescription();
+		IApiDescription apiDescription2 = this.component2.getApiDescription();
+		if (!isSameAnnotations(apiDescription, apiDescription2, type.getHandle())) {
+			return false;
+		}
+		for (IApiField field : type.getFields()) {
+			if (!isSameAnnotations(apiDescription, apiDescription2, field.getHandle())) {
+				return false;
+			}
+		}
+		for (IApiMethod method : type.getMethods()) {
+			if (!isSameAnnotations(apiDescription, apiDescription2, method.getHandle())) {
+				return false;
+			}
+		}
+		for (IApiType memberType : type.getMemberTypes()) {
+			IApiTypeRoot memberType2 = this.component2.findTypeRoot(memberType.getName());
+			if (memberType2 == null || !isUnchanged(memberType, memberType2, visited)) {
+				return false;
+			}
+			IApiComponent memberComponent2 = memberType2.getApiComponent();
+			if (memberComponent2 == null || !isHierarchyUnchanged(memberType, memberComponent2, visited)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks that the super types of the given type resolve to identical class
+	 * files on both sides. The names of the super types are taken from the
+	 * given type, which is only valid as long as its class file is identical
+	 * to the one of its counterpart.
+	 */
+	private boolean isHierarchyUnchanged(IApiType type, IApiComponent typeComponent2, Set<String> visited) throws CoreException {
+		String superclassName = type.getSuperclassName();
+		if (superclassName != null && !Util.isJavaLangObject(superclassName) && visited.add(superclassName)) {
+			if (!isSuperTypeUnchanged(type.getSuperclass(), typeComponent2, visited)) {
+				return false;
+			}
+		}
+		for (IApiType superInterface : type.getSuperInterfaces()) {
+			if (visited.add(superInterface.getName()) && !isSuperTypeUnchanged(superInterface, typeComponent2, visited)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isSuperTypeUnchanged(IApiType superType, IApiComponent typeComponent2, Set<String> visited) throws CoreException {
+		IApiTypeRoot superType2 = ApiType.resolveTypeRoot(typeComponent2, superType.getName());
+		if (superType2 == null || !isSameClassFile(superType.getTypeRoot(), superType2)) {
+			return false;
+		}
+		IApiComponent superComponent = superType.getApiComponent();
+		IApiComponent superComponent2 = superType2.getApiComponent();
+		if (!isSameAnnotations(superComponent.getApiDescription(), superComponent2.getApiDescription(), superType.getHandle())) {
+			return false;
+		}
+		return isHierarchyUnchanged(superType, superComponent2, visited);
+	}
+
+	private static boolean isSameClassFile(IApiTypeRoot classFile, IApiTypeRoot classFile2) throws CoreException {
+		if (classFile instanceof AbstractApiTypeRoot root && classFile2 instanceof AbstractApiTypeRoot root2) {
+			return Arrays.equals(root.getFingerprint(), root2.getFingerprint());
+		}
+		return false;
+	}
+
+	private static boolean isSameAnnotations(IApiDescription apiDescription, IApiDescription apiDescription2, IElementDescriptor element) {
+		IApiAnnotations annotations = apiDescription.resolveAnnotations(element);
+		IApiAnnotations annotations2 = apiDescription2.resolveAnnotations(element);
+		if (annotations == null || annotations2 == null) {
+			return annotations == annotations2;
+		}
+		return annotations.getVisibility() == annotations2.getVisibility() && annotations.getRestrictions() == annotations2.getRestrictions();
 	}
 
 	private void addDelta(IDelta delta) {
@@ -981,6 +1106,9 @@ public class ClassFileComparator {
 	 * @return the changes in the type descriptor or <code>null</code>
 	 */
 	public IDelta getDelta() {
+		if (this.unchanged) {
+			return ApiComparator.NO_DELTA;
+		}
 		try {
 			this.delta = createDelta();
 			// check visibility
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.comparator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.pde.api.tools.internal.provisional.comparator.ApiComparator;
+
+/**
+ * Collects the time spent comparing each pair of API components when two
+ * baselines are compared with
+ * {@link ApiComparator#compare(org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline, org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline, int, boolean, int, ComparisonTimings, org.eclipse.core.runtime.IProgressMonitor)}.
+ * Timings are recorded in the order of the components of the reference
+ * baseline.
+ *
+ * @since 1.3.500
+ */
+public final class ComparisonTimings {
+
+	/**
+	 * The time spent comparing one API component with its counterpart
+	 *
+	 * @param id the symbolic name of the component
+	 * @param version the version of the component in the reference baseline
+	 * @param elapsedMillis the time spent comparing the component in
+	 *            milliseconds
+	 */
+	public record ComponentTiming(String id, String version, long elapsedMillis) {
+	}
+
+	private final List<ComponentTiming> fTimings = new ArrayList<>();
+
+	/**
+	 * Records the time spent comparing the given component
+	 *
+	 * @param id the symbolic name of the component
+	 * @param version the version of the component in the reference baseline
+	 * @param elapsedMillis the time spent in milliseconds
+	 */
+	public synchronized void add(String id, String version, long elapsedMillis) {
+		fTimings.add(new ComponentTiming(id, version, elapsedMillis));
+	}
+
+	/**
+	 * @return an unmodifiable copy of the recorded timings
+	 */
+	public synchronized List<ComponentTiming> getTimings() {
+		return Collections.unmodifiableList(new ArrayList<>(fTimings));
+	}
+
+	/**
+	 * @return the sum of the recorded timings in milliseconds. When the
+	 *         components were compared in parallel this is more than the
+	 *         elapsed time of the whole comparison.
+	 */
+	public synchronized long getTotalMillis() {
+		long total = 0;
+		for (ComponentTiming timing : fTimings) {
+			total += timing.elapsedMillis();
+		}
+		return total;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.model;
 
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Collections;
 import java.util.Set;
 
@@ -30,7 +32,13 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
  */
 public abstract class AbstractApiTypeRoot extends ApiElement implements IApiTypeRoot {
 
-	private IApiType fType;
+	/*
+	 * Lazily computed and read without locking, volatile so that a structure
+	 * or fingerprint computed by one reference analysis thread is seen fully
+	 * initialized by the others
+	 */
+	private volatile IApiType fType;
+	private volatile byte[] fFingerprint;
 
 	/**
 	 * Constructor
@@ -44,11 +52,43 @@ public abstract class AbstractApiTypeRoot extends ApiElement implements IApiType
 
 	public abstract byte[] getContents() throws CoreException;
 
+	/**
+	 * Returns the fingerprint of the contents of this type root. Type roots
+	 * with equal fingerprints have identical class files.
+	 *
+	 * @return the SHA-256 digest of the class file contents
+	 * @throws CoreException if the contents could not be read
+	 */
+	public byte[] getFingerprint() throws CoreException {
+		byte[] fingerprint = fFingerprint;
+		if (fingerprint == null) {
+			fingerprint = computeFingerprint(getContents());
+			fFingerprint = fingerprint;
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Computes the fingerprint of the given class file contents.
+	 *
+	 * @param contents class file contents
+	 * @return the SHA-256 digest of the contents
+	 */
+	static byte[] computeFingerprint(byte[] contents) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(contents); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
 	@Override
 	public IApiType getStructure() throws CoreException {
 		// if exists return
-		if (fType != null) {
-			return fType;
+		IApiType existing = fType;
+		if (existing != null) {
+			return existing;
 		}
 
 		ApiModelCache cache = ApiModelCache.getCache();
@@ -76,7 +116,7 @@ public abstract class AbstractApiTypeRoot extends ApiElement implements IApiType
 		}
 
 		fType = type;
-		return fType;
+		return type;
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2024 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
@@ -136,6 +137,18 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	 */
 	private final Map<String, Map<IApiComponent, IApiComponent[]>> fComponentsProvidingPackageCache;
 
+	/**
+	 * Index of the packages visible to bundles of the resolved state.
+	 * <p>
+	 * Map of
+	 * <code>BundleDescription -> Map(PackageName -> exporter symbolic names)</code>
+	 * </p>
+	 * The packages visible to a bundle are indexed the first time a package is
+	 * resolved for it. The index is cleared when the state is resolved again
+	 * and whenever the package cache is cleared.
+	 */
+	private final Map<BundleDescription, Map<String, String[]>> fVisiblePackagesIndex;
+
 	/**
 	 * Maps component id's to components.
 	 * <p>
@@ -180,6 +193,7 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	public ApiBaseline(String name) {
 		super(null, IApiElement.BASELINE, name);
 		fComponentsProvidingPackageCache = new ConcurrentHashMap<>(8);
+		fVisiblePackagesIndex = new ConcurrentHashMap<>();
 		fSystemLibraryComponentList = new CopyOnWriteArrayList<>();
 		fComponentsById = new ConcurrentHashMap<>();
 		fAllComponentsById = new ConcurrentHashMap<>();
@@ -313,6 +327,7 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	 */
 	private void clearComponentsCache() {
 		fComponentsProvidingPackageCache.clear();
+		fVisiblePackagesIndex.clear();
 	}
 
 	/**
@@ -374,6 +389,7 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 		}
 		resolveSystemLibrary(ees);
 		getState().resolve();
+		fVisiblePackagesIndex.clear();
 	}
 
 	/**
@@ -582,17 +598,10 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 		if (component instanceof BundleComponent) {
 			BundleDescription bundle = ((BundleComponent) component).getBundleDescription();
 			if (bundle != null) {
-				StateHelper helper = getState().getStateHelper();
-				ExportPackageDescription[] visiblePackages = helper.getVisiblePackages(bundle);
-				for (ExportPackageDescription pkg : visiblePackages) {
-					String pkgName = pkg.getName();
-					if (pkgName.equals(".")) { //$NON-NLS-1$
-						// translate . to default package
-						pkgName = Util.DEFAULT_PACKAGE_NAME;
-					}
-					if (packageName.equals(pkgName)) {
-						BundleDescription bundleDescription = pkg.getExporter();
-						IApiComponent exporter = getApiComponent(bundleDescription.getSymbolicName());
+				String[] exporters = getVisiblePackages(bundle).get(packageName);
+				if (exporters != null) {
+					for (String exporterName : exporters) {
+						IApiComponent exporter = getApiComponent(exporterName);
 						if (exporter != null) {
 							componentsList.add(exporter);
 						}
@@ -619,6 +628,30 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 		}
 	}
 
+	/**
+	 * Returns the packages visible to the given bundle mapped to the symbolic
+	 * names of their exporters, indexing them if needed
+	 */
+	private Map<String, String[]> getVisiblePackages(BundleDescription bundle) {
+		return fVisiblePackagesIndex.computeIfAbsent(bundle, b -> {
+			StateHelper helper = getState().getStateHelper();
+			Map<String, List<String>> exporters = new HashMap<>();
+			for (ExportPackageDescription pkg : helper.getVisiblePackages(b)) {
+				String pkgName = pkg.getName();
+				if (pkgName.equals(".")) { //$NON-NLS-1$
+					// translate . to default package
+					pkgName = Util.DEFAULT_PACKAGE_NAME;
+				}
+				exporters.computeIfAbsent(pkgName, n -> new ArrayList<>(1)).add(pkg.getExporter().getSymbolicName());
+			}
+			Map<String, String[]> index = new HashMap<>(exporters.size());
+			for (Entry<String, List<String>> entry : exporters.entrySet()) {
+				index.put(entry.getKey(), entry.getValue().toArray(String[]::new));
+			}
+			return index;
+		});
+	}
+
 	/**
 	 * Returns whether the specified package is supplied by the system library.
 	 *
@@ -827,6 +860,12 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 			iApiComponent.dispose();
 		}
 		fSystemLibraryComponentList.clear();
+		ArchiveIndex.pruneIndexes();
+		ArchiveFingerprints.pruneFingerprints();
+		TypeStructureCache typeStructures = TypeStructureCache.getDefault();
+		if (typeStructures != null) {
+			typeStructures.flush();
+		}
 	}
 
 	/**
@@ -873,6 +912,7 @@ public class ApiBaseline extends ApiElement implements IApiBaseline, IVMInstallC
 	 */
 	public void clearPackage(String packageName) {
 		fComponentsProvidingPackageCache.remove(packageName);
+		fVisiblePackagesIndex.clear();
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2019 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,16 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.model;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.jdt.internal.core.util.LRUCache;
-import org.eclipse.pde.api.tools.internal.SynchronizedOverflowingLRUCache;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
@@ -25,41 +30,77 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
 
 /**
  * Manages the caches of {@link IApiElement}s
+ * <p>
+ * The cache is backed by concurrent maps, lookups and inserts never block each
+ * other. The size of the cache is bounded by the estimated heap retained by the
+ * cached types (see {@link ApiType#getCacheWeight()}) rather than by a number
+ * of entries. Once the limit is exceeded the least recently used types are
+ * evicted until the cache is back below {@link #LOW_WATER_MARK} of the limit.
+ * The limit defaults to a sixteenth of the maximum heap and can be set with
+ * the <code>org.eclipse.pde.api.tools.modelCacheMaxWeight</code> system
+ * property (in bytes) or {@link #setMaxWeight(long)}.
+ * </p>
  *
  * @since 1.0.2
  */
 public final class ApiModelCache {
 
 	/**
-	 * Cache used for {@link IApiElement}s
+	 * A cached element with its estimated weight and the time it was last
+	 * accessed
 	 */
-	static class Cache<K, V> extends SynchronizedOverflowingLRUCache<K, V> {
+	static final class Entry {
+		final IApiElement element;
+		final int weight;
+		volatile long lastAccess;
 
-		/**
-		 * Constructor
-		 */
-		public Cache(int size, int overflow) {
-			super(size, overflow);
+		Entry(IApiElement element) {
+			this.element = element;
+			this.weight = element instanceof ApiType type ? type.getCacheWeight() : 256;
+			this.lastAccess = System.nanoTime();
 		}
 
-		@Override
-		protected boolean close(LRUCacheEntry<K, V> entry) {
-			return true;
-		}
-
-		@Override
-		protected LRUCache<K, V> newInstance(int size, int newOverflow) {
-			return new Cache<>(size, newOverflow);
+		IApiElement touch() {
+			lastAccess = System.nanoTime();
+			return element;
 		}
+	}
 
+	/**
+	 * A cache entry collected for eviction
+	 */
+	private record Candidate(Map<String, Entry> map, String key, Entry entry) {
 	}
 
-	static final int DEFAULT_CACHE_SIZE = 1000;
-	static final int DEFAULT_OVERFLOW = (int) (DEFAULT_CACHE_SIZE * 0.1f);
+	/**
+	 * System property that can be used to set the maximum weight of the cache
+	 * in bytes
+	 */
+	static final String MAX_WEIGHT_PROPERTY = "org.eclipse.pde.api.tools.modelCacheMaxWeight"; //$NON-NLS-1$
+	static final long DEFAULT_MAX_WEIGHT = Runtime.getRuntime().maxMemory() / 16;
+	/**
+	 * The fraction of the maximum weight the cache is trimmed to when the
+	 * maximum weight is exceeded
+	 */
+	static final float LOW_WATER_MARK = 0.9f;
 	static ApiModelCache fInstance = null;
 
-	Cache<String, Cache<String, Cache<String, IApiElement>>> fRootCache;
-	Cache<String, Cache<String, ApiType>> fMemberTypeCache;
+	/**
+	 * Root types: baseline id to component id to type name
+	 */
+	final Map<String, Map<String, Map<String, Entry>>> fRootCache = new ConcurrentHashMap<>();
+	/**
+	 * Member types: <code>[baselineid].[componentid].[roottypename]</code> to
+	 * type name
+	 */
+	final Map<String, Map<String, Entry>> fMemberTypeCache = new ConcurrentHashMap<>();
+
+	private final AtomicLong fWeight = new AtomicLong();
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+	private final LongAdder fEvictions = new LongAdder();
+	private final ReentrantLock fEvictionLock = new ReentrantLock();
+	private volatile long fMaxWeight = Long.getLong(MAX_WEIGHT_PROPERTY, DEFAULT_MAX_WEIGHT).longValue();
 
 	/**
 	 * Constructor - no instantiation
@@ -103,9 +144,6 @@ public final class ApiModelCache {
 	public void cacheElementInfo(IApiElement element) throws CoreException {
 		switch (element.getType()) {
 			case IApiElement.TYPE: {
-				if (fRootCache == null) {
-					fRootCache = new Cache<>(DEFAULT_CACHE_SIZE / 150, DEFAULT_OVERFLOW / 150);
-				}
 				IApiComponent comp = element.getApiComponent();
 				if (comp != null) {
 					IApiBaseline baseline = comp.getBaseline();
@@ -113,45 +151,21 @@ public final class ApiModelCache {
 					if (id == null) {
 						return;
 					}
-					Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baseline.getName());
-					if (compcache == null) {
-						compcache = new Cache<>(DEFAULT_CACHE_SIZE / 2, DEFAULT_OVERFLOW / 2);
-						fRootCache.put(baseline.getName(), compcache);
-					}
-					Cache<String, IApiElement> typecache = compcache.get(id);
-					if (typecache == null) {
-						typecache = new Cache<>(DEFAULT_CACHE_SIZE * 2, DEFAULT_OVERFLOW);
-						compcache.put(comp.getSymbolicName(), typecache);
-					}
 					ApiType type = (ApiType) element;
-					if (type.isMemberType() || isMemberType(type.getName()) /*
-																			 * cache
-																			 * even
-																			 * a
-																			 * root
-																			 * type
-																			 * with
-																			 * a
-																			 * '$'
-																			 * in
-																			 * its
-																			 * name
-																			 * here
-																			 * as
-																			 * well
-																			 */) {
-						if (this.fMemberTypeCache == null) {
-							this.fMemberTypeCache = new Cache<>(DEFAULT_CACHE_SIZE, DEFAULT_OVERFLOW);
-						}
+					Map<String, Entry> map;
+					// cache even a root type with a '$' in its name here as well
+					if (type.isMemberType() || isMemberType(type.getName())) {
 						String key = getCacheKey(baseline.getName(), id, getRootName(type.getName()));
-						Cache<String, ApiType> mcache = this.fMemberTypeCache.get(key);
-						if (mcache == null) {
-							mcache = new Cache<>(DEFAULT_CACHE_SIZE, DEFAULT_OVERFLOW);
-							this.fMemberTypeCache.put(key, mcache);
-						}
-						mcache.put(type.getName(), type);
+						map = fMemberTypeCache.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
 					} else {
-						typecache.put(element.getName(), element);
+						map = fRootCache.computeIfAbsent(baseline.getName(), k -> new ConcurrentHashMap<>())
+								.computeIfAbsent(id, k -> new ConcurrentHashMap<>());
+					}
+					Entry entry = new Entry(element);
+					Entry old = map.put(element.getName(), entry);
+					long weight = fWeight.addAndGet(old == null ? entry.weight : entry.weight - old.weight);
+					if (weight > fMaxWeight) {
+						evict();
 					}
 				}
 				break;
@@ -205,65 +219,67 @@ public final class ApiModelCache {
 		}
 		switch (type) {
 			case IApiElement.TYPE: {
+				if (identifier == null) {
+					break;
+				}
+				Map<String, Entry> map;
 				if (isMemberType(identifier)) {
-					if (this.fMemberTypeCache != null) {
-						Cache<String, ApiType> mcache = this.fMemberTypeCache
-								.get(getCacheKey(baselineid, componentid, getRootName(identifier)));
-						if (mcache != null) {
-							return mcache.get(identifier);
-						}
-					}
+					map = fMemberTypeCache.get(getCacheKey(baselineid, componentid, getRootName(identifier)));
 				} else {
-					if (this.fRootCache != null) {
-						Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baselineid);
-						if (compcache != null) {
-							Cache<String, IApiElement> typecache = compcache.get(componentid);
-							if (typecache != null && identifier != null) {
-								IApiElement ele = typecache.get(identifier);
-								if (ele != null) {
-									return ele;
-								}
-
-							}
-						}
-					}
+					map = getTypeCache(baselineid, componentid);
+				}
+				Entry entry = map != null ? map.get(identifier) : null;
+				if (entry != null) {
+					fHits.increment();
+					return entry.touch();
 				}
 				break;
 			}
 			default:
 				break;
 			}
-		if (componentid.startsWith("JavaSE-") && this.fRootCache != null) { //$NON-NLS-1$
+		if (componentid.startsWith("JavaSE-")) { //$NON-NLS-1$
 			// for system component, retrieve element from any baseline instead
 			// of recreating the structure and caching the equivalent element info
 			IApiElement element = getElementInfoFromAnyBaseline(baselineid, componentid, identifier);
 			if (element != null) {
+				fHits.increment();
 				return element;
 			}
 		}
+		if (type == IApiElement.TYPE) {
+			fMisses.increment();
+		}
 		return null;
 	}
 
 	private IApiElement getElementInfoFromAnyBaseline(String baselineid, String componentid, String updatedIdentifier) {
-		List<String> elements = fRootCache.keysSnapshot();
-		for (String otherBaselines : elements) {
-				if (otherBaselines.equals(baselineid)) {
-					continue;
-				}
-				Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(otherBaselines);
-				if (compcache != null) {
-					Cache<String, IApiElement> typecache = compcache.get(componentid);
-					if (typecache != null && updatedIdentifier != null) {
-						IApiElement ele = typecache.get(updatedIdentifier);
-						if (ele != null) {
-							return ele;
-						}
-					}
+		if (updatedIdentifier == null) {
+			return null;
+		}
+		for (Map.Entry<String, Map<String, Map<String, Entry>>> baseline : fRootCache.entrySet()) {
+			if (baseline.getKey().equals(baselineid)) {
+				continue;
+			}
+			Map<String, Entry> typecache = baseline.getValue().get(componentid);
+			if (typecache != null) {
+				Entry entry = typecache.get(updatedIdentifier);
+				if (entry != null) {
+					return entry.touch();
 				}
 			}
+		}
 		return null;
 	}
 
+	/**
+	 * Returns the cache of root types for the given component or
+	 * <code>null</code>
+	 */
+	private Map<String, Entry> getTypeCache(String baselineid, String componentid) {
+		Map<String, Map<String, Entry>> compcache = fRootCache.get(baselineid);
+		return compcache != null ? compcache.get(componentid) : null;
+	}
 
 	/**
 	 * Removes the {@link IApiElement} from the given component (given its id)
@@ -282,60 +298,47 @@ public final class ApiModelCache {
 		switch (type) {
 			case IApiElement.TYPE: {
 				if (componentid != null && identifier != null) {
-					boolean removed = true;
 					// clean member type cache
-					if (this.fMemberTypeCache != null) {
-						if (isMemberType(identifier)) {
-							Cache<String, ApiType> mcache = this.fMemberTypeCache.get(getCacheKey(baselineid, componentid, getRootName(identifier)));
-							if (mcache != null) {
-								return mcache.remove(identifier) != null;
-							}
-						} else {
-							this.fMemberTypeCache.remove(getCacheKey(baselineid, componentid, getRootName(identifier)));
+					String key = getCacheKey(baselineid, componentid, getRootName(identifier));
+					if (isMemberType(identifier)) {
+						Map<String, Entry> mcache = fMemberTypeCache.get(key);
+						if (mcache != null) {
+							boolean removed = release(mcache.remove(identifier));
+							fMemberTypeCache.computeIfPresent(key, (k, m) -> m.isEmpty() ? null : m);
+							return removed;
 						}
+					} else {
+						releaseAll(fMemberTypeCache.remove(key));
 					}
-					if (fRootCache != null) {
-						Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baselineid);
-						if (compcache != null) {
-							Cache<String, IApiElement> typecache = compcache.get(componentid);
-							if (typecache != null) {
-								removed &= typecache.remove(identifier) != null;
-								if (typecache.isEmpty()) {
-									removed &= compcache.remove(componentid) != null;
-								}
-								if (compcache.isEmpty()) {
-									removed &= fRootCache.remove(baselineid) != null;
-								}
-								return removed;
-							}
-
+					Map<String, Map<String, Entry>> compcache = fRootCache.get(baselineid);
+					if (compcache != null) {
+						Map<String, Entry> typecache = compcache.get(componentid);
+						if (typecache != null) {
+							boolean removed = release(typecache.remove(identifier));
+							compcache.computeIfPresent(componentid, (k, m) -> m.isEmpty() ? null : m);
+							fRootCache.computeIfPresent(baselineid, (k, m) -> m.isEmpty() ? null : m);
+							return removed;
 						}
-					} else {
-						return false;
 					}
 				}
 				break;
 			}
 			case IApiElement.COMPONENT: {
 				flushMemberCache();
-				if (fRootCache != null && componentid != null) {
-					Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baselineid);
+				if (componentid != null) {
+					Map<String, Map<String, Entry>> compcache = fRootCache.get(baselineid);
 					if (compcache != null) {
-						boolean removed = compcache.remove(componentid) != null;
-						if (compcache.isEmpty()) {
-							removed &= fRootCache.remove(baselineid) != null;
-						}
-						return removed;
+						Map<String, Entry> typecache = compcache.remove(componentid);
+						releaseAll(typecache);
+						fRootCache.computeIfPresent(baselineid, (k, m) -> m.isEmpty() ? null : m);
+						return typecache != null;
 					}
 				}
 				break;
 			}
 			case IApiElement.BASELINE: {
 				flushMemberCache();
-				if (fRootCache != null) {
-					return fRootCache.remove(baselineid) != null;
-				}
-				break;
+				return removeBaseline(baselineid);
 			}
 			default:
 				break;
@@ -356,26 +359,20 @@ public final class ApiModelCache {
 		switch (element.getType()) {
 			case IApiElement.COMPONENT:
 			case IApiElement.TYPE: {
-				if (fRootCache != null) {
-					IApiComponent comp = element.getApiComponent();
-					if (comp != null) {
-						try {
-							IApiBaseline baseline = comp.getBaseline();
-							return removeElementInfo(baseline.getName(), comp.getSymbolicName(), element.getName(), element.getType());
-						} catch (CoreException ce) {
-							ApiPlugin.log("Failed to remove element info for " + comp.getName(), ce); //$NON-NLS-1$
-						}
+				IApiComponent comp = element.getApiComponent();
+				if (comp != null) {
+					try {
+						IApiBaseline baseline = comp.getBaseline();
+						return removeElementInfo(baseline.getName(), comp.getSymbolicName(), element.getName(), element.getType());
+					} catch (CoreException ce) {
+						ApiPlugin.log("Failed to remove element info for " + comp.getName(), ce); //$NON-NLS-1$
 					}
 				}
 				break;
 			}
 			case IApiElement.BASELINE: {
 				flushMemberCache();
-				if (fRootCache != null) {
-					IApiBaseline baseline = (IApiBaseline) element;
-					return fRootCache.remove(baseline.getName()) != null;
-				}
-				break;
+				return removeBaseline(((IApiBaseline) element).getName());
 			}
 			default:
 				break;
@@ -383,12 +380,31 @@ public final class ApiModelCache {
 		return false;
 	}
 
+	/**
+	 * Removes all root types cached for the given baseline
+	 *
+	 * @return true if anything was cached for the baseline
+	 */
+	private boolean removeBaseline(String baselineid) {
+		Map<String, Map<String, Entry>> compcache = fRootCache.remove(baselineid);
+		if (compcache != null) {
+			for (Map<String, Entry> typecache : compcache.values()) {
+				releaseAll(typecache);
+			}
+			return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Clears out all cached information.
 	 */
 	public void flushCaches() {
-		if (fRootCache != null) {
-			fRootCache.flush();
+		if (ApiPlugin.DEBUG_MODEL_CACHE) {
+			System.out.println("Flushing API model cache: " + getStatistics()); //$NON-NLS-1$
+		}
+		for (String baselineid : fRootCache.keySet()) {
+			removeBaseline(baselineid);
 		}
 		flushMemberCache();
 	}
@@ -397,8 +413,8 @@ public final class ApiModelCache {
 	 * Flushes the cache of member types
 	 */
 	private void flushMemberCache() {
-		if (this.fMemberTypeCache != null) {
-			this.fMemberTypeCache.flush();
+		for (String key : fMemberTypeCache.keySet()) {
+			releaseAll(fMemberTypeCache.remove(key));
 		}
 	}
 
@@ -408,13 +424,170 @@ public final class ApiModelCache {
 	 * @return true if the cache has no entries, false otherwise
 	 */
 	public boolean isEmpty() {
-		boolean empty = true;
-		if (fRootCache != null) {
-			empty &= fRootCache.isEmpty();
+		return fRootCache.isEmpty() && fMemberTypeCache.isEmpty();
+	}
+
+	/**
+	 * Sets the maximum estimated weight of all cached types in bytes. The
+	 * cache is trimmed right away if it is larger.
+	 *
+	 * @param maxWeight the new maximum weight in bytes
+	 */
+	public void setMaxWeight(long maxWeight) {
+		fMaxWeight = maxWeight;
+		if (fWeight.get() > maxWeight) {
+			evict();
+		}
+	}
+
+	/**
+	 * @return the maximum estimated weight of all cached types in bytes
+	 */
+	public long getMaxWeight() {
+		return fMaxWeight;
+	}
+
+	/**
+	 * @return the current estimated weight of all cached types in bytes
+	 */
+	public long getWeight() {
+		return fWeight.get();
+	}
+
+	/**
+	 * @return the number of type lookups that were answered from the cache
+	 */
+	public long getHitCount() {
+		return fHits.sum();
+	}
+
+	/**
+	 * @return the number of type lookups that were not found in the cache
+	 */
+	public long getMissCount() {
+		return fMisses.sum();
+	}
+
+	/**
+	 * @return the number of types evicted to stay below the maximum weight
+	 */
+	public long getEvictionCount() {
+		return fEvictions.sum();
+	}
+
+	/**
+	 * @return a human readable summary of the cache counters
+	 */
+	public String getStatistics() {
+		long hits = getHitCount();
+		long lookups = hits + getMissCount();
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("hits: ").append(hits); //$NON-NLS-1$
+		buffer.append(", misses: ").append(getMissCount()); //$NON-NLS-1$
+		buffer.append(", hit ratio: ").append(lookups == 0 ? 0 : Math.round(100.0 * hits / lookups)).append('%'); //$NON-NLS-1$
+		buffer.append(", evictions: ").append(getEvictionCount()); //$NON-NLS-1$
+		buffer.append(", weight: ").append(getWeight() / 1024).append(" KB of ").append(fMaxWeight / 1024).append(" KB"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		return buffer.toString();
+	}
+
+	/**
+	 * Evicts the least recently used types until the cache is below the low
+	 * water mark. Only one thread evicts at a time, other threads do not wait
+	 * for the eviction to finish.
+	 */
+	private void evict() {
+		if (!fEvictionLock.tryLock()) {
+			return;
+		}
+		try {
+			List<Candidate> candidates = new ArrayList<>();
+			long weight = 0;
+			for (Map<String, Map<String, Entry>> compcache : fRootCache.values()) {
+				for (Map<String, Entry> typecache : compcache.values()) {
+					weight += collect(typecache, candidates);
+				}
+			}
+			for (Map<String, Entry> mcache : fMemberTypeCache.values()) {
+				weight += collect(mcache, candidates);
+			}
+			// resynchronize with the actual content, maps removed while being
+			// filled by other threads can make the running total drift
+			fWeight.set(weight);
+			long target = (long) (fMaxWeight * LOW_WATER_MARK);
+			if (weight <= target) {
+				return;
+			}
+			candidates.sort(Comparator.comparingLong(c -> c.entry().lastAccess));
+			int evicted = 0;
+			for (Candidate candidate : candidates) {
+				if (fWeight.get() <= target) {
+					break;
+				}
+				if (candidate.map().remove(candidate.key(), candidate.entry())) {
+					fWeight.addAndGet(-candidate.entry().weight);
+					evicted++;
+				}
+			}
+			fEvictions.add(evicted);
+			removeEmptyMaps();
+			if (ApiPlugin.DEBUG_MODEL_CACHE) {
+				System.out.println("Evicted " + evicted + " types from API model cache: " + getStatistics()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		} finally {
+			fEvictionLock.unlock();
 		}
-		if (this.fMemberTypeCache != null) {
-			empty &= this.fMemberTypeCache.isEmpty();
+	}
+
+	/**
+	 * Adds all entries of the given map to the candidates
+	 *
+	 * @return the total weight of the entries
+	 */
+	private long collect(Map<String, Entry> map, List<Candidate> candidates) {
+		long weight = 0;
+		for (Map.Entry<String, Entry> entry : map.entrySet()) {
+			candidates.add(new Candidate(map, entry.getKey(), entry.getValue()));
+			weight += entry.getValue().weight;
+		}
+		return weight;
+	}
+
+	/**
+	 * Removes the component and member type maps that have become empty
+	 */
+	private void removeEmptyMaps() {
+		for (String key : fMemberTypeCache.keySet()) {
+			fMemberTypeCache.computeIfPresent(key, (k, m) -> m.isEmpty() ? null : m);
+		}
+		for (String baselineid : fRootCache.keySet()) {
+			fRootCache.computeIfPresent(baselineid, (b, compcache) -> {
+				compcache.values().removeIf(Map::isEmpty);
+				return compcache.isEmpty() ? null : compcache;
+			});
+		}
+	}
+
+	/**
+	 * Subtracts the weight of the given removed entry
+	 *
+	 * @return true if an entry was removed
+	 */
+	private boolean release(Entry entry) {
+		if (entry != null) {
+			fWeight.addAndGet(-entry.weight);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Subtracts the weight of all entries of the given removed map
+	 */
+	private void releaseAll(Map<String, Entry> map) {
+		if (map != null) {
+			for (Entry entry : map.values()) {
+				fWeight.addAndGet(-entry.weight);
+			}
 		}
-		return empty;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -178,6 +178,26 @@ public class ApiType extends ApiMember implements IApiType {
 		return EMPTY_FIELDS;
 	}
 
+	/**
+	 * Returns a rough estimate of the heap retained by this type structure in
+	 * bytes. Used to bound the size of the {@link ApiModelCache}.
+	 *
+	 * @return the estimated size of this type in bytes
+	 */
+	int getCacheWeight() {
+		int weight = 256 + 2 * getName().length();
+		if (fFields != null) {
+			weight += 160 * fFields.size();
+		}
+		if (fMethods != null) {
+			weight += 256 * fMethods.size();
+		}
+		if (fMemberTypes != null) {
+			weight += 96 * fMemberTypes.size();
+		}
+		return weight;
+	}
+
 	@Override
 	public String getPackageName() {
 		return getName().substring(0, getName().lastIndexOf('.'));
@@ -282,17 +302,7 @@ public class ApiType extends ApiMember implements IApiType {
 		if (getApiComponent() == null) {
 			requiresApiComponent();
 		}
-		String packageName = Signatures.getPackageName(qName);
-		IApiComponent[] components = getApiComponent().getBaseline().resolvePackage(getApiComponent(), packageName);
-		if (components == null || components.length == 0) {
-			throw new CoreException(createUnresolvedSuperClassStatus(qName));
-		}
-		// If system package, then reorganize library component to consider the
-		// java EE of the component as the preferred library
-		if (qName.startsWith("java.") && components.length > 1) { //$NON-NLS-1$
-			reOrganizeComponents(components);
-		}
-		IApiTypeRoot result = Util.getClassFile(components, qName);
+		IApiTypeRoot result = resolveTypeRoot(getApiComponent(), qName);
 		if (result == null) {
 			throw new CoreException(createUnresolvedSuperClassStatus(qName));
 		}
@@ -303,16 +313,38 @@ public class ApiType extends ApiMember implements IApiType {
 		return structure;
 	}
 
+	/**
+	 * Resolves the type root of the given fully qualified type name the same
+	 * way super types of types in the given component are resolved, without
+	 * building its structure.
+	 *
+	 * @param component the component the name is resolved from
+	 * @param qName qualified name
+	 * @return type root or <code>null</code> if the type cannot be resolved
+	 * @throws CoreException if unable to resolve
+	 */
+	public static IApiTypeRoot resolveTypeRoot(IApiComponent component, String qName) throws CoreException {
+		String packageName = Signatures.getPackageName(qName);
+		IApiComponent[] components = component.getBaseline().resolvePackage(component, packageName);
+		if (components == null || components.length == 0) {
+			return null;
+		}
+		// If system package, then reorganize library component to consider the
+		// java EE of the component as the preferred library
+		if (qName.startsWith("java.") && components.length > 1) { //$NON-NLS-1$
+			reOrganizeComponents(component, components);
+		}
+		return Util.getClassFile(components, qName);
+	}
+
 	private IStatus createUnresolvedSuperClassStatus(String qName) {
 		return Status.error(MessageFormat.format(Messages.ApiType_1, qName, getName()), null);
 	}
 
-	private void reOrganizeComponents(IApiComponent[] components) throws CoreException {
-		IApiElement parent = getParentComponent(this);
-		if (parent == null) {
+	private static void reOrganizeComponents(IApiComponent parent, IApiComponent[] components) throws CoreException {
+		if (!(parent instanceof Component component)) {
 			return;
 		}
-		Component component = (Component) parent;
 		String[] executionEnvironments = component.getExecutionEnvironments();
 		String javaEE = getJavaEE(executionEnvironments);
 		if (javaEE != null) {
@@ -331,18 +363,7 @@ public class ApiType extends ApiMember implements IApiType {
 		}
 	}
 
-	private IApiElement getParentComponent(IApiElement apiElement) {
-		IApiElement parent = apiElement.getParent();
-		if (parent == null) {
-			return null;
-		}
-		if (parent instanceof Component) {
-			return parent;
-		}
-		return getParentComponent(parent);
-	}
-
-	private String getJavaEE(String[] executionEnvironments) {
+	private static String getJavaEE(String[] executionEnvironments) {
 		for (String ee : executionEnvironments) {
 			if (ee.startsWith("JavaSE-") || ee.startsWith("J2SE-")) { //$NON-NLS-1$ //$NON-NLS-2$
 				return ee;
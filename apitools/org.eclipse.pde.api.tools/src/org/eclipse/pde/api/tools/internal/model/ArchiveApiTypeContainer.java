@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -86,6 +86,14 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 				return fContents;
 			}
 			ArchiveApiTypeContainer archive = (ArchiveApiTypeContainer) getParent();
+			if (fgReadOnDemand && !archive.isJrt()) {
+				// do not retain the contents, the archive is kept open by the pool instead
+				try {
+					return ArchiveHandlePool.getDefault().read(archive.fLocation, getName());
+				} catch (IOException e) {
+					abort("Failed to open class file: " + getTypeName() + " in archive: " + archive.fLocation, e); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
 			try {
 				Path location = archive.getLocation();
 				Path classLocation = location.resolve(getName());
@@ -96,12 +104,34 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 			return fContents;
 		}
 
+		@Override
+		public byte[] getFingerprint() throws CoreException {
+			ArchiveApiTypeContainer archive = (ArchiveApiTypeContainer) getParent();
+			if (!archive.isJrt()) {
+				try {
+					return archive.getFingerprints().getFingerprint(getName(), this::getContents);
+				} catch (IOException e) {
+					// not a regular archive, fingerprint the contents
+				}
+			}
+			return super.getFingerprint();
+		}
+
 		@Override
 		public String toString() {
 			return getTypeName();
 		}
 	}
 
+	/**
+	 * System property that can be used to read class file contents on demand
+	 * through the shared {@link ArchiveHandlePool} instead of retaining them in
+	 * each type root
+	 */
+	static final String READ_ON_DEMAND_PROPERTY = "org.eclipse.pde.api.tools.archiveReadOnDemand"; //$NON-NLS-1$
+
+	static volatile boolean fgReadOnDemand = Boolean.getBoolean(READ_ON_DEMAND_PROPERTY);
+
 	/**
 	 * Location of the archive in the local file system.
 	 */
@@ -118,6 +148,12 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	 */
 	private String[] fPackageNames;
 
+	/**
+	 * Fingerprints of the class files in this archive, or <code>null</code> if
+	 * not yet initialized
+	 */
+	private ArchiveFingerprints fFingerprints;
+
 	/**
 	 * Constructs an {@link IApiTypeContainer} container for the given jar or zip
 	 * file at the specified location.
@@ -130,6 +166,36 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 		this.fLocation = path;
 	}
 
+	/**
+	 * Sets whether class file contents of archives are read on demand through
+	 * the shared {@link ArchiveHandlePool} rather than retained by their type
+	 * roots.
+	 *
+	 * @param readOnDemand whether to read contents on demand
+	 */
+	public static void setReadOnDemand(boolean readOnDemand) {
+		fgReadOnDemand = readOnDemand;
+		if (!readOnDemand) {
+			ArchiveHandlePool.getDefault().close();
+		}
+	}
+
+	/**
+	 * @return whether class file contents of archives are read on demand
+	 */
+	public static boolean isReadOnDemand() {
+		return fgReadOnDemand;
+	}
+
+	/**
+	 * @return whether this container is the JRT file system of a JRE rather
+	 *         than an archive
+	 */
+	@SuppressWarnings("restriction")
+	private boolean isJrt() {
+		return fLocation.endsWith(org.eclipse.jdt.internal.compiler.util.JRTUtil.JRT_FS_JAR);
+	}
+
 	/**
 	 * Converts the location to a path in the applicable file system.
 	 *
@@ -138,7 +204,7 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	@SuppressWarnings("restriction")
 	private Path getLocation() throws IOException {
 		Path path = Path.of(fLocation);
-		if (fLocation.endsWith(org.eclipse.jdt.internal.compiler.util.JRTUtil.JRT_FS_JAR)) {
+		if (isJrt()) {
 			Path jreRoot = path.getParent().getParent();
 			FileSystem jrtFileSystem = org.eclipse.jdt.internal.compiler.util.JRTUtil.getJrtFileSystem(jreRoot);
 			return jrtFileSystem.getPath("modules"); //$NON-NLS-1$
@@ -185,7 +251,24 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	 */
 	@Override
 	public synchronized void close() throws CoreException {
-		//
+		ArchiveFingerprints.save(fLocation);
+		// the archive may change until it is opened again
+		fFingerprints = null;
+		ArchiveHandlePool.getDefault().close(fLocation);
+	}
+
+	/**
+	 * Returns the fingerprints of the class files in this archive. The central
+	 * directory of the archive is read once until the container is closed.
+	 *
+	 * @return the fingerprints of this archive
+	 * @throws IOException if the archive could not be read
+	 */
+	synchronized ArchiveFingerprints getFingerprints() throws IOException {
+		if (fFingerprints == null) {
+			fFingerprints = ArchiveFingerprints.getFingerprints(Path.of(fLocation));
+		}
+		return fFingerprints;
 	}
 
 	/**
@@ -225,6 +308,17 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	private synchronized void init() throws CoreException {
 		if (fPackages == null) {
 			fPackages = new TreeMap<>();
+			if (!isJrt()) {
+				try {
+					for (String name : ArchiveIndex.getIndex(Path.of(fLocation)).getClassEntries()) {
+						addClassFile(name, name);
+					}
+					return;
+				} catch (IOException e) {
+					// not readable as a zip file, let the file system provider try
+					fPackages.clear();
+				}
+			}
 			try {
 				Path location = getLocation();
 				boolean isJrt = "jrt".equals(location.toUri().getScheme()); //$NON-NLS-1$
@@ -234,11 +328,7 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 						if (name.endsWith(Util.DOT_CLASS_SUFFIX)) {
 							// In the JRT file system, the first segment will be the module name,
 							// which we must strip.
-							String className = name.substring(isJrt ? name.indexOf('/') + 1 : 0,
-									name.length() - Util.DOT_CLASS_SUFFIX.length()).replace('/', '.');
-							String pkg = Signatures.getPackageName(className);
-							Map<String, String> fileNames = fPackages.computeIfAbsent(pkg, p -> new TreeMap<>());
-							fileNames.put(className, name);
+							addClassFile(isJrt ? name.substring(name.indexOf('/') + 1) : name, name);
 						}
 					});
 				}
@@ -248,6 +338,19 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 		}
 	}
 
+	/**
+	 * Adds a class file to the cache of packages and types.
+	 *
+	 * @param path path of the class file relative to its package root
+	 * @param name name of the class file in the archive
+	 */
+	private void addClassFile(String path, String name) {
+		String className = path.substring(0, path.length() - Util.DOT_CLASS_SUFFIX.length()).replace('/', '.');
+		String pkg = Signatures.getPackageName(className);
+		Map<String, String> fileNames = fPackages.computeIfAbsent(pkg, p -> new TreeMap<>());
+		fileNames.put(className, name);
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj instanceof ArchiveApiTypeContainer) {
@@ -0,0 +1,382 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * Fingerprints of the class file entries of an archive, see
+ * {@link AbstractApiTypeRoot#getFingerprint()}.
+ * <p>
+ * Fingerprints are computed the first time they are asked for and recorded in
+ * a table shared between all {@link ArchiveApiTypeContainer}s for the same
+ * archive. When running in the framework the table is persisted in the plug-in
+ * state location once the container is closed, so later comparisons against
+ * the same archive do not have to read its class files again.
+ * </p>
+ * <p>
+ * Each recorded fingerprint is keyed on the CRC and size of its entry in the
+ * central directory of the archive. A recorded fingerprint is only used while
+ * the entry read from the current central directory has the same CRC and size,
+ * so an archive that was rebuilt or restored with the same size and
+ * modification time does not reuse fingerprints of the previous contents. The
+ * central directory is read once per {@link ArchiveFingerprints} instance, see
+ * {@link #getFingerprints(Path)}.
+ * </p>
+ *
+ * @since 1.3.500
+ */
+public final class ArchiveFingerprints {
+
+	/**
+	 * Supplies the contents of a class file if its fingerprint is not known
+	 */
+	@FunctionalInterface
+	interface ContentsSupplier {
+		byte[] getContents() throws CoreException;
+	}
+
+	/**
+	 * Name of the folder in the plug-in state location persisted tables are
+	 * stored in
+	 */
+	static final String FINGERPRINT_FOLDER = ".archive_fingerprints"; //$NON-NLS-1$
+
+	static final int MAGIC = 0x41504650;
+	static final int FORMAT_VERSION = 2;
+
+	private static final String TABLE_EXTENSION = ".fp"; //$NON-NLS-1$
+
+	/**
+	 * Tables already loaded in this session, keyed by archive path
+	 */
+	private static final Map<String, SoftReference<Table>> fgTables = new ConcurrentHashMap<>();
+
+	/**
+	 * Whether a table was persisted since the persisted tables were last
+	 * pruned, <code>true</code> initially so they are pruned once per session
+	 */
+	private static volatile boolean fgPruneNeeded = true;
+
+	/**
+	 * CRC and size of an entry in the central directory of an archive
+	 */
+	private record EntryInfo(long crc, long size) {
+	}
+
+	/**
+	 * A fingerprint and the CRC and size of the entry it was computed from
+	 */
+	private record Fingerprint(long crc, long size, byte[] digest) {
+	}
+
+	/**
+	 * The recorded fingerprints of an archive
+	 */
+	private static final class Table {
+
+		final String fPath;
+		final Map<String, Fingerprint> fEntries;
+		volatile boolean fChanged = false;
+
+		Table(String path, Map<String, Fingerprint> entries) {
+			fPath = path;
+			fEntries = entries;
+		}
+
+		/**
+		 * Persists this table, replacing any existing table file atomically.
+		 */
+		synchronized void write(Path tableFile) throws IOException {
+			fChanged = false;
+			Files.createDirectories(tableFile.getParent());
+			Path tmp = Files.createTempFile(tableFile.getParent(), tableFile.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+			try {
+				Map<String, Fingerprint> entries = Map.copyOf(fEntries);
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+					out.writeInt(MAGIC);
+					out.writeInt(FORMAT_VERSION);
+					out.writeUTF(fPath);
+					out.writeInt(entries.size());
+					for (Map.Entry<String, Fingerprint> entry : entries.entrySet()) {
+						Fingerprint fingerprint = entry.getValue();
+						out.writeUTF(entry.getKey());
+						out.writeLong(fingerprint.crc());
+						out.writeLong(fingerprint.size());
+						out.writeByte(fingerprint.digest().length);
+						out.write(fingerprint.digest());
+					}
+				}
+				Files.move(tmp, tableFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				fgPruneNeeded = true;
+			} catch (IOException e) {
+				fChanged = true;
+				throw e;
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+		}
+	}
+
+	private final Table fTable;
+	private final Map<String, EntryInfo> fDirectory;
+
+	private ArchiveFingerprints(Table table, Map<String, EntryInfo> directory) {
+		fTable = table;
+		fDirectory = directory;
+	}
+
+	/**
+	 * Returns the fingerprints of the archive at the given location. The class
+	 * file entries of the central directory of the archive are read once, the
+	 * recorded fingerprints are reused from a loaded or persisted table for
+	 * entries whose CRC and size did not change.
+	 *
+	 * @param archive location of the archive in the local file system
+	 * @return the fingerprints of the archive, never <code>null</code>
+	 * @throws IOException if the archive could not be read
+	 */
+	public static ArchiveFingerprints getFingerprints(Path archive) throws IOException {
+		Map<String, EntryInfo> directory = new HashMap<>();
+		try (ZipFile zip = new ZipFile(archive.toFile())) {
+			Enumeration<? extends ZipEntry> e = zip.entries();
+			while (e.hasMoreElements()) {
+				ZipEntry entry = e.nextElement();
+				String name = entry.getName();
+				if (!entry.isDirectory() && name.endsWith(Util.DOT_CLASS_SUFFIX) && entry.getCrc() != -1 && entry.getSize() != -1) {
+					directory.put(name, new EntryInfo(entry.getCrc(), entry.getSize()));
+				}
+			}
+		}
+		return new ArchiveFingerprints(getTable(archive.toString()), directory);
+	}
+
+	/**
+	 * Returns the loaded or persisted table of the given archive or a new
+	 * empty one.
+	 */
+	private static Table getTable(String path) {
+		SoftReference<Table> ref = fgTables.get(path);
+		Table table = ref != null ? ref.get() : null;
+		if (table != null) {
+			return table;
+		}
+		Path tableFile = getTableFile(path);
+		if (tableFile != null) {
+			table = read(tableFile);
+		}
+		if (table == null || !table.fPath.equals(path)) {
+			table = new Table(path, new ConcurrentHashMap<>());
+		}
+		// a concurrent load of the same table only loses the other's new entries
+		fgTables.put(path, new SoftReference<>(table));
+		return table;
+	}
+
+	/**
+	 * Persists the table of the archive at the given location if it has been
+	 * loaded in this session and new fingerprints were added to it.
+	 *
+	 * @param archive location of the archive in the local file system
+	 */
+	public static void save(String archive) {
+		SoftReference<Table> ref = fgTables.get(archive);
+		Table table = ref != null ? ref.get() : null;
+		if (table == null || !table.fChanged) {
+			return;
+		}
+		Path tableFile = getTableFile(archive);
+		if (tableFile != null) {
+			try {
+				table.write(tableFile);
+			} catch (IOException e) {
+				ApiPlugin.log("Failed to persist class file fingerprints for: " + archive, e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	/**
+	 * Discards all tables loaded in this session. Persisted tables are left
+	 * untouched.
+	 */
+	public static void clearLoadedFingerprints() {
+		fgTables.clear();
+	}
+
+	/**
+	 * Returns the fingerprint of the given class file entry. A recorded
+	 * fingerprint is returned if it was computed for an entry with the CRC and
+	 * size the entry has in the central directory read by this instance,
+	 * otherwise the fingerprint is computed from the supplied contents.
+	 *
+	 * @param entryName the name of the class file entry in the archive
+	 * @param contents supplies the contents of the entry
+	 * @return the fingerprint of the entry
+	 * @throws CoreException if the contents could not be read
+	 */
+	byte[] getFingerprint(String entryName, ContentsSupplier contents) throws CoreException {
+		EntryInfo info = fDirectory.get(entryName);
+		if (info == null) {
+			// not in the central directory that was read, nothing to key on
+			return AbstractApiTypeRoot.computeFingerprint(contents.getContents());
+		}
+		Fingerprint fingerprint = fTable.fEntries.get(entryName);
+		if (fingerprint == null || fingerprint.crc() != info.crc() || fingerprint.size() != info.size()) {
+			fingerprint = new Fingerprint(info.crc(), info.size(), AbstractApiTypeRoot.computeFingerprint(contents.getContents()));
+			fTable.fEntries.put(entryName, fingerprint);
+			fTable.fChanged = true;
+		}
+		return fingerprint.digest();
+	}
+
+	/**
+	 * @return the number of class file entries with a recorded fingerprint
+	 */
+	public int size() {
+		return fTable.fEntries.size();
+	}
+
+	/**
+	 * Returns the file the table of the given archive is persisted in or
+	 * <code>null</code> if tables are not persisted.
+	 */
+	private static Path getTableFile(String path) {
+		Path folder = getTableFolder();
+		if (folder == null) {
+			return null;
+		}
+		// the archive path is also stored in the table and compared on load
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(path.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			return folder.resolve(HexFormat.of().formatHex(digest) + TABLE_EXTENSION);
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the folder tables are persisted in or <code>null</code> if tables
+	 * are not persisted.
+	 */
+	private static Path getTableFolder() {
+		if (!ApiPlugin.isRunningInFramework()) {
+			return null;
+		}
+		return ApiPlugin.getDefault().getStateLocation().append(FINGERPRINT_FOLDER).toFile().toPath();
+	}
+
+	/**
+	 * Deletes the persisted tables of archives that no longer exist, tables
+	 * that cannot be read and any temporary files left behind by an
+	 * interrupted write. Does nothing if no table was persisted since the last
+	 * prune in this session.
+	 */
+	public static void pruneFingerprints() {
+		Path folder = getTableFolder();
+		if (folder == null || !fgPruneNeeded) {
+			return;
+		}
+		fgPruneNeeded = false;
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+			stream.forEach(files::add);
+		} catch (NoSuchFileException e) {
+			return;
+		} catch (IOException e) {
+			ApiPlugin.log("Failed to prune class file fingerprints in: " + folder, e); //$NON-NLS-1$
+			return;
+		}
+		for (Path file : files) {
+			if (file.getFileName().toString().endsWith(TABLE_EXTENSION) && !isStale(read(file))) {
+				continue;
+			}
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				// in use by another write, pruned next time
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the given persisted table is unreadable or its archive
+	 * no longer exists.
+	 */
+	private static boolean isStale(Table table) {
+		if (table == null) {
+			return true;
+		}
+		try {
+			return !Files.isRegularFile(Path.of(table.fPath));
+		} catch (InvalidPathException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * Reads a persisted table, returns <code>null</code> if there is none or it
+	 * cannot be read.
+	 */
+	private static Table read(Path tableFile) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(tableFile)))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+				return null;
+			}
+			String path = in.readUTF();
+			int count = in.readInt();
+			Map<String, Fingerprint> entries = new ConcurrentHashMap<>(count * 4 / 3 + 1);
+			for (int i = 0; i < count; i++) {
+				String name = in.readUTF();
+				long crc = in.readLong();
+				long size = in.readLong();
+				byte[] digest = new byte[in.readUnsignedByte()];
+				in.readFully(digest);
+				entries.put(name, new Fingerprint(crc, size, digest));
+			}
+			return new Table(path, entries);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			ApiPlugin.log("Failed to read class file fingerprints: " + tableFile, e); //$NON-NLS-1$
+			return null;
+		}
+	}
+}
@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+
+/**
+ * A bounded pool of open archive handles used to read class file contents on
+ * demand. The least recently used handle is closed when the pool is full; a
+ * handle that is still being read from is only closed once the read completes.
+ * A handle is only reused while its archive keeps the size and modification
+ * time it had when it was opened, so a replaced archive is opened again.
+ *
+ * @since 1.3.500
+ */
+public final class ArchiveHandlePool {
+
+	/**
+	 * System property that can be used to set the maximum number of archives
+	 * kept open by the pool
+	 */
+	static final String POOL_SIZE_PROPERTY = "org.eclipse.pde.api.tools.archivePoolSize"; //$NON-NLS-1$
+	static final int DEFAULT_POOL_SIZE = 32;
+
+	private static final ArchiveHandlePool fgDefault = new ArchiveHandlePool(Integer.getInteger(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE).intValue());
+
+	/**
+	 * An open archive, the size and modification time of the archive it was
+	 * opened from and the number of reads currently using it
+	 */
+	private static final class Handle {
+		final ZipFile fZip;
+		final long fLength;
+		final long fLastModified;
+		int fUsers = 0;
+		boolean fEvicted = false;
+
+		Handle(ZipFile zip, long length, long lastModified) {
+			fZip = zip;
+			fLength = length;
+			fLastModified = lastModified;
+		}
+
+		boolean matches(long length, long lastModified) {
+			return fLength == length && fLastModified == lastModified;
+		}
+	}
+
+	private final Map<String, Handle> fHandles = new LinkedHashMap<>(16, 0.75f, true);
+	private int fMaxSize;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize the maximum number of open archives
+	 */
+	ArchiveHandlePool(int maxSize) {
+		fMaxSize = Math.max(1, maxSize);
+	}
+
+	/**
+	 * Returns the shared pool
+	 *
+	 * @return the shared pool
+	 */
+	public static ArchiveHandlePool getDefault() {
+		return fgDefault;
+	}
+
+	/**
+	 * Reads the contents of the given entry of an archive.
+	 *
+	 * @param archive location of the archive in the local file system
+	 * @param entryName name of the entry to read
+	 * @return the contents of the entry
+	 * @throws IOException if the archive or entry could not be read
+	 */
+	public byte[] read(String archive, String entryName) throws IOException {
+		Handle handle = acquire(archive);
+		try {
+			ZipEntry entry = handle.fZip.getEntry(entryName);
+			if (entry == null) {
+				throw new NoSuchFileException(archive, entryName, null);
+			}
+			try (InputStream in = handle.fZip.getInputStream(entry)) {
+				return in.readAllBytes();
+			}
+		} finally {
+			release(handle);
+		}
+	}
+
+	/**
+	 * Sets the maximum number of archives kept open, closing the least
+	 * recently used ones if there are more open.
+	 *
+	 * @param maxSize the new maximum, at least 1
+	 */
+	public void setMaxSize(int maxSize) {
+		List<Handle> closing;
+		synchronized (this) {
+			fMaxSize = Math.max(1, maxSize);
+			closing = trim();
+		}
+		closeAll(closing);
+	}
+
+	/**
+	 * @return the maximum number of archives kept open
+	 */
+	public synchronized int getMaxSize() {
+		return fMaxSize;
+	}
+
+	/**
+	 * @return the number of archives currently open
+	 */
+	public synchronized int getOpenCount() {
+		return fHandles.size();
+	}
+
+	/**
+	 * Closes all archives that are not in use. Archives in use are closed
+	 * when their reads complete.
+	 */
+	public void close() {
+		List<Handle> closing = new ArrayList<>();
+		synchronized (this) {
+			for (Handle handle : fHandles.values()) {
+				handle.fEvicted = true;
+				if (handle.fUsers == 0) {
+					closing.add(handle);
+				}
+			}
+			fHandles.clear();
+		}
+		closeAll(closing);
+	}
+
+	/**
+	 * Closes the handle of the given archive once it is no longer read from,
+	 * so the archive is not kept open after its container is closed.
+	 *
+	 * @param archive location of the archive in the local file system
+	 */
+	public void close(String archive) {
+		Handle handle;
+		synchronized (this) {
+			handle = fHandles.remove(archive);
+			if (handle == null) {
+				return;
+			}
+			handle.fEvicted = true;
+			if (handle.fUsers > 0) {
+				return;
+			}
+		}
+		closeAll(List.of(handle));
+	}
+
+	private Handle acquire(String archive) throws IOException {
+		File file = new File(archive);
+		long length = file.length();
+		long lastModified = file.lastModified();
+		List<Handle> closing = new ArrayList<>();
+		synchronized (this) {
+			Handle handle = fHandles.get(archive);
+			if (handle != null) {
+				if (handle.matches(length, lastModified)) {
+					handle.fUsers++;
+					return handle;
+				}
+				// the archive was replaced since it was opened
+				fHandles.remove(archive);
+				handle.fEvicted = true;
+				if (handle.fUsers == 0) {
+					closing.add(handle);
+				}
+			}
+		}
+		closeAll(closing);
+		closing.clear();
+		// open outside of the lock, another thread may race us to it
+		ZipFile zip = new ZipFile(file);
+		Handle handle;
+		synchronized (this) {
+			handle = fHandles.get(archive);
+			if (handle == null || !handle.matches(length, lastModified)) {
+				if (handle != null) {
+					handle.fEvicted = true;
+					if (handle.fUsers == 0) {
+						closing.add(handle);
+					}
+				}
+				handle = new Handle(zip, length, lastModified);
+				fHandles.put(archive, handle);
+				zip = null;
+			}
+			handle.fUsers++;
+			closing.addAll(trim());
+		}
+		if (zip != null) {
+			zip.close();
+		}
+		closeAll(closing);
+		return handle;
+	}
+
+	private void release(Handle handle) {
+		boolean close;
+		synchronized (this) {
+			handle.fUsers--;
+			close = handle.fEvicted && handle.fUsers == 0;
+		}
+		if (close) {
+			closeAll(List.of(handle));
+		}
+	}
+
+	/**
+	 * Evicts the least recently used handles until the pool fits its maximum
+	 * size. Must be called holding the pool lock.
+	 *
+	 * @return the evicted handles that can be closed right away
+	 */
+	private List<Handle> trim() {
+		List<Handle> closing = new ArrayList<>();
+		Iterator<Handle> iterator = fHandles.values().iterator();
+		while (fHandles.size() > fMaxSize && iterator.hasNext()) {
+			Handle handle = iterator.next();
+			iterator.remove();
+			handle.fEvicted = true;
+			if (handle.fUsers == 0) {
+				closing.add(handle);
+			}
+		}
+		return closing;
+	}
+
+	private static void closeAll(List<Handle> handles) {
+		for (Handle handle : handles) {
+			try {
+				handle.fZip.close();
+			} catch (IOException e) {
+				ApiPlugin.log(e);
+			}
+		}
+	}
+}
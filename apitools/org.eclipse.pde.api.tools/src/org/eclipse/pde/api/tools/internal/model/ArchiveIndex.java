@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * Index of the class file entries of an archive, read from the zip central
+ * directory.
+ * <p>
+ * Indexes are shared between all {@link ArchiveApiTypeContainer}s for the
+ * same archive and, when running in the framework, persisted in the plug-in
+ * state location so they do not have to be rebuilt the next time the archive
+ * is opened. An index is only reused while the size and last modification time
+ * of the archive are unchanged.
+ * </p>
+ * <p>
+ * Persisted indexes are named after the SHA-256 digest of the archive path and
+ * store the full path, which is compared when the index is loaded. Indexes of
+ * archives that were deleted or changed are removed by
+ * {@link #pruneIndexes()} when a baseline is disposed.
+ * </p>
+ *
+ * @since 1.3.500
+ */
+public final class ArchiveIndex {
+
+	/**
+	 * Name of the folder in the plug-in state location persisted indexes are
+	 * stored in
+	 */
+	static final String INDEX_FOLDER = ".archive_indexes"; //$NON-NLS-1$
+
+	static final int MAGIC = 0x41504958;
+	static final int FORMAT_VERSION = 1;
+
+	private static final String INDEX_EXTENSION = ".idx"; //$NON-NLS-1$
+
+	/**
+	 * Indexes already loaded in this session, keyed by archive path
+	 */
+	private static final Map<String, SoftReference<ArchiveIndex>> fgIndexes = new ConcurrentHashMap<>();
+
+	/**
+	 * Whether an index was persisted since the persisted indexes were last
+	 * pruned, <code>true</code> initially so they are pruned once per session
+	 */
+	private static volatile boolean fgPruneNeeded = true;
+
+	private final String fPath;
+	private final long fSize;
+	private final long fLastModified;
+	private final String[] fClassEntries;
+
+	private ArchiveIndex(String path, long size, long lastModified, String[] classEntries) {
+		fPath = path;
+		fSize = size;
+		fLastModified = lastModified;
+		fClassEntries = classEntries;
+	}
+
+	/**
+	 * Returns the index for the archive at the given location, reusing a
+	 * loaded or persisted index if the archive has not changed since it was
+	 * built.
+	 *
+	 * @param archive location of the archive in the local file system
+	 * @return the index of the archive, never <code>null</code>
+	 * @throws IOException if the archive could not be read
+	 */
+	public static ArchiveIndex getIndex(Path archive) throws IOException {
+		String path = archive.toString();
+		long size = Files.size(archive);
+		long lastModified = Files.getLastModifiedTime(archive).toMillis();
+		SoftReference<ArchiveIndex> ref = fgIndexes.get(path);
+		ArchiveIndex index = ref != null ? ref.get() : null;
+		if (index != null && index.matches(path, size, lastModified)) {
+			return index;
+		}
+		Path indexFile = getIndexFile(path);
+		if (indexFile != null) {
+			index = read(indexFile);
+		}
+		if (index == null || !index.matches(path, size, lastModified)) {
+			index = build(archive, path, size, lastModified);
+			if (indexFile != null) {
+				try {
+					index.write(indexFile);
+				} catch (IOException e) {
+					ApiPlugin.log("Failed to persist archive index for: " + path, e); //$NON-NLS-1$
+				}
+			}
+		}
+		fgIndexes.put(path, new SoftReference<>(index));
+		return index;
+	}
+
+	/**
+	 * Discards all indexes loaded in this session. Persisted indexes are left
+	 * untouched.
+	 */
+	public static void clearLoadedIndexes() {
+		fgIndexes.clear();
+	}
+
+	/**
+	 * Returns the names of the class file entries in the archive, sorted
+	 * alphabetically.
+	 *
+	 * @return the class file entry names
+	 */
+	public String[] getClassEntries() {
+		return fClassEntries;
+	}
+
+	private boolean matches(String path, long size, long lastModified) {
+		return fSize == size && fLastModified == lastModified && fPath.equals(path);
+	}
+
+	/**
+	 * Builds a new index by reading the central directory of the archive.
+	 */
+	private static ArchiveIndex build(Path archive, String path, long size, long lastModified) throws IOException {
+		List<String> entries = new ArrayList<>();
+		try (ZipFile zip = new ZipFile(archive.toFile())) {
+			Enumeration<? extends ZipEntry> e = zip.entries();
+			while (e.hasMoreElements()) {
+				ZipEntry entry = e.nextElement();
+				String name = entry.getName();
+				if (!entry.isDirectory() && name.endsWith(Util.DOT_CLASS_SUFFIX)) {
+					entries.add(name);
+				}
+			}
+		}
+		String[] classEntries = entries.toArray(String[]::new);
+		Arrays.sort(classEntries);
+		return new ArchiveIndex(path, size, lastModified, classEntries);
+	}
+
+	/**
+	 * Returns the file the index of the given archive is persisted in or
+	 * <code>null</code> if indexes are not persisted.
+	 */
+	private static Path getIndexFile(String path) {
+		Path folder = getIndexFolder();
+		if (folder == null) {
+			return null;
+		}
+		// the archive path is also stored in the index and compared on load
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(path.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			return folder.resolve(HexFormat.of().formatHex(digest) + INDEX_EXTENSION);
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the folder indexes are persisted in or <code>null</code> if
+	 * indexes are not persisted.
+	 */
+	private static Path getIndexFolder() {
+		if (!ApiPlugin.isRunningInFramework()) {
+			return null;
+		}
+		return ApiPlugin.getDefault().getStateLocation().append(INDEX_FOLDER).toFile().toPath();
+	}
+
+	/**
+	 * Deletes the persisted indexes of archives that no longer exist or
+	 * changed since they were indexed, and any temporary files left behind by
+	 * an interrupted write. Does nothing if no index was persisted since the
+	 * last prune in this session.
+	 */
+	public static void pruneIndexes() {
+		Path folder = getIndexFolder();
+		if (folder == null || !fgPruneNeeded) {
+			return;
+		}
+		fgPruneNeeded = false;
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder)) {
+			stream.forEach(files::add);
+		} catch (NoSuchFileException e) {
+			return;
+		} catch (IOException e) {
+			ApiPlugin.log("Failed to prune archive indexes in: " + folder, e); //$NON-NLS-1$
+			return;
+		}
+		for (Path file : files) {
+			if (file.getFileName().toString().endsWith(INDEX_EXTENSION) && !isStale(read(file))) {
+				continue;
+			}
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				// in use by another write, pruned next time
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the given persisted index is unreadable or its archive
+	 * was deleted or changed since it was indexed.
+	 */
+	private static boolean isStale(ArchiveIndex index) {
+		if (index == null) {
+			return true;
+		}
+		try {
+			Path archive = Path.of(index.fPath);
+			return !index.matches(index.fPath, Files.size(archive), Files.getLastModifiedTime(archive).toMillis());
+		} catch (IOException | InvalidPathException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * Reads a persisted index, returns <code>null</code> if there is none or it
+	 * cannot be read.
+	 */
+	private static ArchiveIndex read(Path indexFile) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+				return null;
+			}
+			String path = in.readUTF();
+			long size = in.readLong();
+			long lastModified = in.readLong();
+			int count = in.readInt();
+			String[] classEntries = new String[count];
+			for (int i = 0; i < count; i++) {
+				classEntries[i] = in.readUTF();
+			}
+			return new ArchiveIndex(path, size, lastModified, classEntries);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			ApiPlugin.log("Failed to read archive index: " + indexFile, e); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+	/**
+	 * Persists this index, replacing any existing index file atomically.
+	 */
+	private void write(Path indexFile) throws IOException {
+		Files.createDirectories(indexFile.getParent());
+		Path tmp = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(fPath);
+				out.writeLong(fSize);
+				out.writeLong(fLastModified);
+				out.writeInt(fClassEntries.length);
+				for (String entry : fClassEntries) {
+					out.writeUTF(entry);
+				}
+			}
+			Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			fgPruneNeeded = true;
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,9 @@ import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Measurement;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Phase;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
@@ -255,10 +258,37 @@ public class TypeStructureBuilder extends ClassVisitor {
 	 * @param file associated class file
 	 */
 	public static IApiType buildTypeStructure(byte[] bytes, IApiComponent component, IApiTypeRoot file) {
+		try (Measurement measurement = AnalysisMetrics.getDefault().start(Phase.STRUCTURE_BUILD, component)) {
+			measurement.addItems(1);
+			return buildTypeStructure0(bytes, component, file);
+		}
+	}
+
+	private static IApiType buildTypeStructure0(byte[] bytes, IApiComponent component, IApiTypeRoot file) {
+		TypeStructureCache cache = TypeStructureCache.getDefault();
+		TypeStructureCache.Key key = null;
+		if (cache != null) {
+			key = cache.getKey(bytes, component, file);
+			byte[] events = cache.get(key);
+			if (events != null) {
+				TypeStructureBuilder visitor = new TypeStructureBuilder(null, component, file);
+				try {
+					TypeStructureCache.replay(events, visitor);
+					return visitor.fType;
+				} catch (IOException | RuntimeException e) {
+					// corrupt entry, drop it and parse the class file instead
+					if (ApiPlugin.DEBUG_MODEL_CACHE) {
+						ApiPlugin.log("Failed to restore type structure: " + key.name(), e); //$NON-NLS-1$
+					}
+					cache.remove(key);
+				}
+			}
+		}
 		TypeStructureBuilder visitor = new TypeStructureBuilder(new ClassNode(), component, file);
+		TypeStructureCache.Recorder recorder = key != null ? new TypeStructureCache.Recorder(visitor) : null;
 		try {
 			ClassReader classReader = new ClassReader(bytes);
-			classReader.accept(visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
+			classReader.accept(recorder != null ? recorder : visitor, ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES);
 		} catch (ArrayIndexOutOfBoundsException e) {
 			logAndReturn(file, e);
 			return null;
@@ -266,6 +296,12 @@ public class TypeStructureBuilder extends ClassVisitor {
 			// thrown from ASM 5.0 for bad bytecodes
 			return logAndReturn(file, iae);
 		}
+		if (recorder != null && visitor.fType != null) {
+			byte[] events = recorder.toByteArray();
+			if (events != null) {
+				cache.put(key, events);
+			}
+		}
 		return visitor.fType;
 	}
 
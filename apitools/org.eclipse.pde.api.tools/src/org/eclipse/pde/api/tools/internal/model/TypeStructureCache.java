@@ -0,0 +1,827 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.model.ArchiveApiTypeContainer.ArchiveApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Util;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+
+/**
+ * On-disk cache of the class file events a {@link TypeStructureBuilder}
+ * consumes, keyed by the fingerprint of the class file contents.
+ * <p>
+ * Replaying the recorded events into a new {@link TypeStructureBuilder}
+ * yields the same type structure as parsing the class file again, without
+ * running ASM over the bytes. Entries are stored in one segment file per
+ * archive, or per API component for class files that are not in an archive.
+ * A segment is read once per session when the first of its types is built and
+ * kept in memory; new entries are written back by {@link #flush()}. The
+ * fingerprints of class files in archives are recorded per archive as well,
+ * see {@link ArchiveFingerprints}, so restoring a type structure neither
+ * reads nor hashes the class file again.
+ * </p>
+ * <p>
+ * The cache is disabled unless the
+ * <code>org.eclipse.pde.api.tools.typeStructureCache</code> system property is
+ * set. Set to <code>true</code>, the cache is stored in the state location of
+ * the API tools plug-in, so each workspace has its own cache. Any other value
+ * is used as the folder to store the cache in. The cache is bounded by the
+ * <code>org.eclipse.pde.api.tools.typeStructureCache.maxSize</code> system
+ * property, in megabytes (256 by default): once a flush leaves it larger than
+ * that, the least recently used segments are deleted. The segments used in a
+ * session are only marked as used when the cache is flushed.
+ * </p>
+ *
+ * @since 1.3.500
+ */
+public final class TypeStructureCache {
+
+	/**
+	 * System property that can be used to set the location of the cache
+	 */
+	static final String LOCATION_PROPERTY = "org.eclipse.pde.api.tools.typeStructureCache"; //$NON-NLS-1$
+
+	/**
+	 * System property that can be used to set the maximum size of the cache,
+	 * in megabytes
+	 */
+	static final String MAX_SIZE_PROPERTY = "org.eclipse.pde.api.tools.typeStructureCache.maxSize"; //$NON-NLS-1$
+
+	static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+	/**
+	 * Version of the segment format, segments are stored in a folder per
+	 * version
+	 */
+	static final int FORMAT_VERSION = 2;
+	static final int MAGIC = 0x41505453;
+	static final int SEGMENT_MAGIC = 0x41505447;
+
+	static final String SEGMENT_EXTENSION = ".tsc"; //$NON-NLS-1$
+
+	static final byte END = 0;
+	static final byte VISIT = 1;
+	static final byte INNER_CLASS = 2;
+	static final byte OUTER_CLASS = 3;
+	static final byte FIELD = 4;
+	static final byte METHOD = 5;
+	static final byte POLYMORPHIC = 6;
+	static final byte ANNOTATION_DEFAULT = 7;
+	static final byte VALUE = 8;
+	static final byte ENUM = 9;
+	static final byte ANNOTATION = 10;
+	static final byte ARRAY = 11;
+	static final byte VISIT_END = 12;
+
+	static final String POLYMORPHIC_SIGNATURE = "Ljava/lang/invoke/MethodHandle$PolymorphicSignature;"; //$NON-NLS-1$
+
+	private static volatile TypeStructureCache fgDefault;
+	private static volatile boolean fgInitialized = false;
+
+	/**
+	 * Identifies the entry of a class file: the segment it is stored in, its
+	 * name in the segment and the fingerprint of its contents
+	 */
+	record Key(String origin, String name, byte[] fingerprint) {
+	}
+
+	/**
+	 * Recorded events and the fingerprint of the class file they were
+	 * recorded from
+	 */
+	private record Entry(byte[] fingerprint, byte[] events) {
+	}
+
+	/**
+	 * The entries recorded for an archive or API component
+	 */
+	private static final class Segment {
+
+		final String fOrigin;
+		final Map<String, Entry> fEntries;
+		volatile boolean fChanged = false;
+
+		Segment(String origin, Map<String, Entry> entries) {
+			fOrigin = origin;
+			fEntries = entries;
+		}
+	}
+
+	private final Path fRoot;
+	private final long fMaxSize;
+	private volatile boolean fWritable = true;
+
+	/**
+	 * Segments loaded in this session, keyed by origin
+	 */
+	private final Map<String, SoftReference<Segment>> fSegments = new ConcurrentHashMap<>();
+
+	/**
+	 * Segment files used in this session and when they were last loaded,
+	 * written to the modification time of the files by {@link #flush()}
+	 */
+	private final Map<Path, Long> fUsed = new ConcurrentHashMap<>();
+
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+
+	/**
+	 * Constructor
+	 *
+	 * @param location the folder to store the cache in
+	 */
+	public TypeStructureCache(Path location) {
+		this(location, Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE / (1024 * 1024)).longValue() * 1024 * 1024);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param location the folder to store the cache in
+	 * @param maxSize the size in bytes above which least recently used
+	 *            segments are deleted
+	 */
+	public TypeStructureCache(Path location, long maxSize) {
+		fRoot = location.resolve("v" + FORMAT_VERSION); //$NON-NLS-1$
+		fMaxSize = maxSize;
+	}
+
+	/**
+	 * Returns the shared cache or <code>null</code> if caching type structures
+	 * is disabled.
+	 *
+	 * @return the shared cache or <code>null</code>
+	 */
+	public static TypeStructureCache getDefault() {
+		if (!fgInitialized) {
+			synchronized (TypeStructureCache.class) {
+				if (!fgInitialized) {
+					String location = System.getProperty(LOCATION_PROPERTY);
+					if (Boolean.TRUE.toString().equals(location)) {
+						location = ApiPlugin.isRunningInFramework() ? ApiPlugin.getDefault().getStateLocation().append("type-structures").toOSString() : null; //$NON-NLS-1$
+					}
+					if (location != null && !location.isEmpty()) {
+						fgDefault = new TypeStructureCache(Path.of(location));
+					}
+					fgInitialized = true;
+				}
+			}
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Replaces the shared cache.
+	 *
+	 * @param cache the new shared cache or <code>null</code> to disable caching
+	 */
+	public static void setDefault(TypeStructureCache cache) {
+		synchronized (TypeStructureCache.class) {
+			fgDefault = cache;
+			fgInitialized = true;
+		}
+	}
+
+	/**
+	 * Returns the key of the given class file. Class files in an archive are
+	 * stored in the segment of the archive, others in the segment of their
+	 * API component.
+	 *
+	 * @param bytes class file contents
+	 * @param component originating API component or <code>null</code>
+	 * @param file associated class file or <code>null</code>
+	 * @return the key of the class file
+	 */
+	Key getKey(byte[] bytes, IApiComponent component, IApiTypeRoot file) {
+		byte[] fingerprint = null;
+		if (file instanceof AbstractApiTypeRoot root) {
+			try {
+				fingerprint = root.getFingerprint();
+			} catch (CoreException e) {
+				// fingerprint the contents we have
+			}
+		}
+		if (fingerprint == null) {
+			fingerprint = AbstractApiTypeRoot.computeFingerprint(bytes);
+		}
+		String origin;
+		if (file instanceof ArchiveApiTypeRoot) {
+			origin = ((ArchiveApiTypeContainer) file.getParent()).fLocation;
+		} else if (component != null && component.getLocation() != null) {
+			origin = component.getLocation();
+		} else {
+			origin = ""; //$NON-NLS-1$
+		}
+		String name = file != null ? file.getTypeName() : HexFormat.of().formatHex(fingerprint);
+		return new Key(origin, name, fingerprint);
+	}
+
+	/**
+	 * Returns the recorded events for the given key or <code>null</code> if
+	 * there are none.
+	 */
+	byte[] get(Key key) {
+		Entry entry = getSegment(key.origin()).fEntries.get(key.name());
+		if (entry != null && Arrays.equals(entry.fingerprint(), key.fingerprint())) {
+			fHits.increment();
+			return entry.events();
+		}
+		fMisses.increment();
+		return null;
+	}
+
+	/**
+	 * Records the events for the given key. The entry is written to disk
+	 * with its segment by the next {@link #flush()}.
+	 */
+	void put(Key key, byte[] events) {
+		if (!fWritable) {
+			return;
+		}
+		Segment segment = getSegment(key.origin());
+		segment.fEntries.put(key.name(), new Entry(key.fingerprint(), events));
+		segment.fChanged = true;
+	}
+
+	/**
+	 * Removes the entry for the given key, for example if it could not be
+	 * replayed.
+	 */
+	void remove(Key key) {
+		Segment segment = getSegment(key.origin());
+		if (segment.fEntries.remove(key.name()) != null) {
+			segment.fChanged = true;
+		}
+	}
+
+	/**
+	 * Returns the loaded or persisted segment of the given origin or a new
+	 * empty one.
+	 */
+	private Segment getSegment(String origin) {
+		SoftReference<Segment> ref = fSegments.get(origin);
+		Segment segment = ref != null ? ref.get() : null;
+		if (segment != null) {
+			return segment;
+		}
+		Path file = getSegmentFile(origin);
+		segment = read(file);
+		if (segment == null || !segment.fOrigin.equals(origin)) {
+			segment = new Segment(origin, new ConcurrentHashMap<>());
+		}
+		fUsed.put(file, Long.valueOf(System.currentTimeMillis()));
+		// a concurrent load of the same segment only loses the other's new entries
+		fSegments.put(origin, new SoftReference<>(segment));
+		return segment;
+	}
+
+	/**
+	 * Writes the segments that changed in this session, marks the segments
+	 * used in this session as used and then deletes the least recently used
+	 * segments until the cache is down to three quarters of its maximum size,
+	 * if it is larger than its maximum size. Segments of other processes
+	 * sharing the location are evicted as well.
+	 */
+	public synchronized void flush() {
+		if (!fWritable) {
+			return;
+		}
+		try {
+			for (SoftReference<Segment> ref : fSegments.values()) {
+				Segment segment = ref.get();
+				if (segment != null && segment.fChanged) {
+					write(segment);
+				}
+			}
+			for (Map.Entry<Path, Long> used : fUsed.entrySet()) {
+				try {
+					Files.setLastModifiedTime(used.getKey(), FileTime.fromMillis(used.getValue().longValue()));
+				} catch (NoSuchFileException e) {
+					// nothing recorded for it, or evicted concurrently
+				}
+			}
+			fUsed.clear();
+			evict();
+		} catch (IOException e) {
+			// e.g. a read-only location, stop trying for this session
+			fWritable = false;
+			ApiPlugin.log("Failed to store type structures, disabling type structure cache writes", e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Persists the given segment, replacing any existing segment file
+	 * atomically, so concurrent readers in this or other processes never see
+	 * partial segments.
+	 */
+	private void write(Segment segment) throws IOException {
+		segment.fChanged = false;
+		Path file = getSegmentFile(segment.fOrigin);
+		Files.createDirectories(fRoot);
+		Path tmp = Files.createTempFile(fRoot, file.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+		try {
+			Map<String, Entry> entries = Map.copyOf(segment.fEntries);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(SEGMENT_MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeUTF(segment.fOrigin);
+				out.writeInt(entries.size());
+				for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+					out.writeUTF(entry.getKey());
+					byte[] fingerprint = entry.getValue().fingerprint();
+					out.writeByte(fingerprint.length);
+					out.write(fingerprint);
+					byte[] events = entry.getValue().events();
+					out.writeInt(events.length);
+					out.write(events);
+				}
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			segment.fChanged = true;
+			throw e;
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	/**
+	 * Reads a persisted segment, returns <code>null</code> if there is none or
+	 * it cannot be read.
+	 */
+	private static Segment read(Path file) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != SEGMENT_MAGIC || in.readInt() != FORMAT_VERSION) {
+				return null;
+			}
+			String origin = in.readUTF();
+			int count = in.readInt();
+			Map<String, Entry> entries = new ConcurrentHashMap<>(count * 4 / 3 + 1);
+			for (int i = 0; i < count; i++) {
+				String name = in.readUTF();
+				byte[] fingerprint = new byte[in.readUnsignedByte()];
+				in.readFully(fingerprint);
+				byte[] events = new byte[in.readInt()];
+				in.readFully(events);
+				entries.put(name, new Entry(fingerprint, events));
+			}
+			return new Segment(origin, entries);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			if (ApiPlugin.DEBUG_MODEL_CACHE) {
+				ApiPlugin.log("Failed to read type structures: " + file, e); //$NON-NLS-1$
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Deletes the least recently used segments until the cache is down to
+	 * three quarters of its maximum size, if it is larger than its maximum
+	 * size. Temporary files left behind by an interrupted write are deleted
+	 * as well.
+	 */
+	private void evict() throws IOException {
+		record SegmentFile(Path path, long size, long lastModified) {
+		}
+		List<SegmentFile> files = new ArrayList<>();
+		long size = 0;
+		long stale = System.currentTimeMillis() - 24 * 60 * 60 * 1000;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(fRoot)) {
+			for (Path path : stream) {
+				try {
+					BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+					if (!attributes.isRegularFile()) {
+						continue;
+					}
+					if (!path.getFileName().toString().endsWith(SEGMENT_EXTENSION)) {
+						if (attributes.lastModifiedTime().toMillis() < stale) {
+							Files.deleteIfExists(path);
+						}
+						continue;
+					}
+					files.add(new SegmentFile(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+					size += attributes.size();
+				} catch (NoSuchFileException e) {
+					// deleted concurrently
+				}
+			}
+		} catch (NoSuchFileException e) {
+			return;
+		}
+		if (size <= fMaxSize) {
+			return;
+		}
+		files.sort(Comparator.comparingLong(SegmentFile::lastModified));
+		long target = fMaxSize / 4 * 3;
+		for (SegmentFile file : files) {
+			if (size <= target) {
+				break;
+			}
+			if (Files.deleteIfExists(file.path())) {
+				size -= file.size();
+			}
+		}
+		// evicted segments may still be loaded, they are written again if they change
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 *
+	 * @throws IOException if the entries could not be deleted
+	 */
+	public synchronized void clear() throws IOException {
+		fSegments.clear();
+		fUsed.clear();
+		if (!Files.exists(fRoot)) {
+			return;
+		}
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(fRoot)) {
+			for (Path path : stream) {
+				Files.deleteIfExists(path);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of type structures restored from the cache
+	 */
+	public long getHitCount() {
+		return fHits.sum();
+	}
+
+	/**
+	 * @return the number of type structures not found in the cache
+	 */
+	public long getMissCount() {
+		return fMisses.sum();
+	}
+
+	private Path getSegmentFile(String origin) {
+		// the origin is also stored in the segment and compared on load
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(origin.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			return fRoot.resolve(HexFormat.of().formatHex(digest) + SEGMENT_EXTENSION);
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Replays recorded events into the given visitor.
+	 *
+	 * @param events the recorded events
+	 * @param visitor the visitor to replay the events into
+	 * @throws IOException if the events are malformed
+	 */
+	static void replay(byte[] events, ClassVisitor visitor) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(events));
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a type structure"); //$NON-NLS-1$
+		}
+		MethodVisitor method = null;
+		Deque<AnnotationVisitor> annotations = new ArrayDeque<>();
+		byte kind;
+		while ((kind = in.readByte()) != END) {
+			switch (kind) {
+				case VISIT:
+					visitor.visit(in.readInt(), in.readInt(), readString(in), readString(in), readString(in), readStrings(in));
+					break;
+				case INNER_CLASS:
+					visitor.visitInnerClass(readString(in), readString(in), readString(in), in.readInt());
+					break;
+				case OUTER_CLASS:
+					visitor.visitOuterClass(readString(in), readString(in), readString(in));
+					break;
+				case FIELD:
+					visitor.visitField(in.readInt(), readString(in), readString(in), readString(in), readValue(in));
+					break;
+				case METHOD:
+					method = visitor.visitMethod(in.readInt(), readString(in), readString(in), readString(in), readStrings(in));
+					break;
+				case POLYMORPHIC:
+					method.visitAnnotation(POLYMORPHIC_SIGNATURE, true);
+					break;
+				case ANNOTATION_DEFAULT:
+					annotations.push(method.visitAnnotationDefault());
+					break;
+				case VALUE:
+					annotations.peek().visit(null, readString(in));
+					break;
+				case ENUM:
+					annotations.peek().visitEnum(null, readString(in), readString(in));
+					break;
+				case ANNOTATION:
+					annotations.push(annotations.peek().visitAnnotation(null, readString(in)));
+					break;
+				case ARRAY:
+					annotations.push(annotations.peek().visitArray(null));
+					break;
+				case VISIT_END:
+					annotations.pop().visitEnd();
+					break;
+				default:
+					throw new IOException("Unknown type structure event: " + kind); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static String[] readStrings(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		String[] strings = new String[length];
+		for (int i = 0; i < length; i++) {
+			strings[i] = in.readUTF();
+		}
+		return strings;
+	}
+
+	private static Object readValue(DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		return switch (type) {
+			case 'N' -> null;
+			case 'I' -> Integer.valueOf(in.readInt());
+			case 'J' -> Long.valueOf(in.readLong());
+			case 'F' -> Float.valueOf(in.readFloat());
+			case 'D' -> Double.valueOf(in.readDouble());
+			case 'S' -> in.readUTF();
+			default -> throw new IOException("Unknown constant type: " + type); //$NON-NLS-1$
+		};
+	}
+
+	/**
+	 * {@link ClassVisitor} that records the events a {@link TypeStructureBuilder}
+	 * consumes before passing them on to it.
+	 */
+	static final class Recorder extends ClassVisitor {
+
+		private final ByteArrayOutputStream fBytes = new ByteArrayOutputStream(512);
+		private final DataOutputStream fOut = new DataOutputStream(fBytes);
+
+		/**
+		 * Whether an event could not be recorded, e.g. a constant exceeding the
+		 * maximum encodable string length
+		 */
+		private boolean fFailed = false;
+
+		Recorder(ClassVisitor delegate) {
+			super(Util.LATEST_OPCODES_ASM, delegate);
+			writeInt(MAGIC);
+		}
+
+		/**
+		 * @return the recorded events or <code>null</code> if the events
+		 *         could not be recorded
+		 */
+		byte[] toByteArray() {
+			write(END);
+			return fFailed ? null : fBytes.toByteArray();
+		}
+
+		@Override
+		public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+			write(VISIT);
+			writeInt(version);
+			writeInt(access);
+			writeString(name);
+			writeString(signature);
+			writeString(superName);
+			writeStrings(interfaces);
+			super.visit(version, access, name, signature, superName, interfaces);
+		}
+
+		@Override
+		public void visitInnerClass(String name, String outerName, String innerName, int access) {
+			write(INNER_CLASS);
+			writeString(name);
+			writeString(outerName);
+			writeString(innerName);
+			writeInt(access);
+			super.visitInnerClass(name, outerName, innerName, access);
+		}
+
+		@Override
+		public void visitOuterClass(String owner, String name, String descriptor) {
+			write(OUTER_CLASS);
+			writeString(owner);
+			writeString(name);
+			writeString(descriptor);
+			super.visitOuterClass(owner, name, descriptor);
+		}
+
+		@Override
+		public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+			write(FIELD);
+			writeInt(access);
+			writeString(name);
+			writeString(descriptor);
+			writeString(signature);
+			writeValue(value);
+			return super.visitField(access, name, descriptor, signature, value);
+		}
+
+		@Override
+		public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+			write(METHOD);
+			writeInt(access);
+			writeString(name);
+			writeString(descriptor);
+			writeString(signature);
+			writeStrings(exceptions);
+			return new MethodVisitor(Util.LATEST_OPCODES_ASM, super.visitMethod(access, name, descriptor, signature, exceptions)) {
+				@Override
+				public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+					if (visible && POLYMORPHIC_SIGNATURE.equals(desc)) {
+						write(POLYMORPHIC);
+					}
+					return super.visitAnnotation(desc, visible);
+				}
+
+				@Override
+				public AnnotationVisitor visitAnnotationDefault() {
+					AnnotationVisitor visitor = super.visitAnnotationDefault();
+					if (visitor == null) {
+						return null;
+					}
+					write(ANNOTATION_DEFAULT);
+					return new AnnotationRecorder(visitor);
+				}
+			};
+		}
+
+		/**
+		 * Records the events of an annotation default value
+		 */
+		final class AnnotationRecorder extends AnnotationVisitor {
+
+			AnnotationRecorder(AnnotationVisitor delegate) {
+				super(Util.LATEST_OPCODES_ASM, delegate);
+			}
+
+			@Override
+			public void visit(String name, Object value) {
+				// type structures only retain the string form of default values
+				write(VALUE);
+				writeString(value == null ? null : value.toString());
+				super.visit(name, value);
+			}
+
+			@Override
+			public void visitEnum(String name, String descriptor, String value) {
+				write(ENUM);
+				writeString(descriptor);
+				writeString(value);
+				super.visitEnum(name, descriptor, value);
+			}
+
+			@Override
+			public AnnotationVisitor visitAnnotation(String name, String descriptor) {
+				AnnotationVisitor visitor = super.visitAnnotation(name, descriptor);
+				if (visitor == null) {
+					return null;
+				}
+				write(ANNOTATION);
+				writeString(descriptor);
+				return new AnnotationRecorder(visitor);
+			}
+
+			@Override
+			public AnnotationVisitor visitArray(String name) {
+				AnnotationVisitor visitor = super.visitArray(name);
+				if (visitor == null) {
+					return null;
+				}
+				write(ARRAY);
+				return new AnnotationRecorder(visitor);
+			}
+
+			@Override
+			public void visitEnd() {
+				write(VISIT_END);
+				super.visitEnd();
+			}
+		}
+
+		private void write(byte kind) {
+			try {
+				fOut.writeByte(kind);
+			} catch (IOException e) {
+				fFailed = true;
+			}
+		}
+
+		private void writeInt(int value) {
+			try {
+				fOut.writeInt(value);
+			} catch (IOException e) {
+				fFailed = true;
+			}
+		}
+
+		private void writeString(String value) {
+			try {
+				fOut.writeBoolean(value != null);
+				if (value != null) {
+					fOut.writeUTF(value);
+				}
+			} catch (IOException e) {
+				fFailed = true;
+			}
+		}
+
+		private void writeStrings(String[] values) {
+			try {
+				if (values == null) {
+					fOut.writeInt(-1);
+					return;
+				}
+				fOut.writeInt(values.length);
+				for (String value : values) {
+					fOut.writeUTF(value);
+				}
+			} catch (IOException e) {
+				fFailed = true;
+			}
+		}
+
+		private void writeValue(Object value) {
+			try {
+				if (value instanceof Integer i) {
+					fOut.writeByte('I');
+					fOut.writeInt(i.intValue());
+				} else if (value instanceof Long l) {
+					fOut.writeByte('J');
+					fOut.writeLong(l.longValue());
+				} else if (value instanceof Float f) {
+					fOut.writeByte('F');
+					fOut.writeFloat(f.floatValue());
+				} else if (value instanceof Double d) {
+					fOut.writeByte('D');
+					fOut.writeDouble(d.doubleValue());
+				} else if (value != null) {
+					fOut.writeByte('S');
+					fOut.writeUTF(value.toString());
+				} else {
+					fOut.writeByte('N');
+				}
+			} catch (IOException e) {
+				fFailed = true;
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,7 +46,10 @@ import org.eclipse.pde.api.tools.internal.ApiDescriptionManager;
 import org.eclipse.pde.api.tools.internal.JavadocTagManager;
 import org.eclipse.pde.api.tools.internal.SessionManager;
 import org.eclipse.pde.api.tools.internal.WorkspaceDeltaProcessor;
+import org.eclipse.pde.api.tools.internal.model.ArchiveHandlePool;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureCache;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemTypes;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 import org.eclipse.pde.api.tools.internal.util.FileManager;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.core.target.NameVersionDescriptor;
@@ -198,6 +201,8 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 	private static final String WORKSPACE_DELTA_PROCESSOR = PLUGIN_ID + "/debug/workspacedeltaprocessor"; //$NON-NLS-1$
 	private static final String API_ANALYZER_DEBUG = PLUGIN_ID + "/debug/apianalyzer"; //$NON-NLS-1$
 	private static final String USE_REPORT_CONVERTER_DEBUG = PLUGIN_ID + "/debug/usereportconverter"; //$NON-NLS-1$
+	private static final String MODEL_CACHE_DEBUG = PLUGIN_ID + "/debug/modelcache"; //$NON-NLS-1$
+	private static final String METRICS_DEBUG = PLUGIN_ID + "/debug/metrics"; //$NON-NLS-1$
 
 	/**
 	 * Constant used for controlling tracing in the report converter
@@ -267,6 +272,15 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 	 * Constant used for controlling tracing in the API tool builder
 	 */
 	public static boolean DEBUG_BUILDER = false;
+	/**
+	 * Constant used for controlling tracing of the API model cache statistics
+	 */
+	public static boolean DEBUG_MODEL_CACHE = false;
+	/**
+	 * Constant used for controlling recording and printing the API analysis
+	 * metrics after each build
+	 */
+	public static boolean DEBUG_METRICS = false;
 
 	public static String[] AllCompatibilityKeys = new String[] {
 			IApiProblemTypes.API_COMPONENT_REMOVED_TYPE,
@@ -692,6 +706,11 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 			ApiBaselineManager.getManager().stop();
 			ResourcesPlugin.getWorkspace().removeSaveParticipant(PLUGIN_ID);
 			FileManager.getManager().deleteFiles();
+			ArchiveHandlePool.getDefault().close();
+			TypeStructureCache typeStructures = TypeStructureCache.getDefault();
+			if (typeStructures != null) {
+				typeStructures.flush();
+			}
 			fBundleContext = null;
 			if (deltaProcessor != null) {
 				JavaCore.removeElementChangedListener(deltaProcessor);
@@ -849,5 +868,8 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 		DEBUG_WORKSPACE_DELTA_PROCESSOR = DEBUG && options.getBooleanOption(WORKSPACE_DELTA_PROCESSOR, false);
 		DEBUG_API_ANALYZER = DEBUG && options.getBooleanOption(API_ANALYZER_DEBUG, false);
 		DEBUG_USE_REPORT_CONVERTER = DEBUG && options.getBooleanOption(USE_REPORT_CONVERTER_DEBUG, false);
+		DEBUG_MODEL_CACHE = DEBUG && options.getBooleanOption(MODEL_CACHE_DEBUG, false);
+		DEBUG_METRICS = DEBUG && options.getBooleanOption(METRICS_DEBUG, false);
+		AnalysisMetrics.getDefault().setEnabled(DEBUG_METRICS);
 	}
 }
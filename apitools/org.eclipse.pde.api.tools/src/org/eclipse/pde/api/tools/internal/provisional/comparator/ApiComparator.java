@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,16 +13,27 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.provisional.comparator;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.pde.api.tools.internal.builder.AbstractProblemDetector;
 import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
+import org.eclipse.pde.api.tools.internal.comparator.ComparisonTimings;
 import org.eclipse.pde.api.tools.internal.comparator.Delta;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
@@ -37,6 +48,9 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiScope;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Measurement;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Phase;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.osgi.framework.Version;
 
@@ -52,6 +66,14 @@ public class ApiComparator {
 	 */
 	public static final IDelta NO_DELTA = new Delta();
 
+	/**
+	 * System property that can be used to set the number of threads used to
+	 * compare the components of two baselines
+	 *
+	 * @since 1.3.500
+	 */
+	public static final String PARALLELISM_PROPERTY = "org.eclipse.pde.api.tools.comparatorParallelism"; //$NON-NLS-1$
+
 	/**
 	 * Returns a delta for a API component version change
 	 */
@@ -84,6 +106,10 @@ public class ApiComparator {
 	/**
 	 * Returns a delta that corresponds to the difference between the given
 	 * baseline and the reference.
+	 * <p>
+	 * The component pairs are compared on as many threads as set by the
+	 * {@value #PARALLELISM_PROPERTY} system property, one by default.
+	 * </p>
 	 *
 	 * @param referenceBaseline the given API baseline which is used as the
 	 *            reference
@@ -99,6 +125,38 @@ public class ApiComparator {
 	 * @throws IllegalArgumentException if one of the two baselines is null
 	 */
 	public static IDelta compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final IProgressMonitor monitor) {
+		return compare(referenceBaseline, baseline, visibilityModifiers, force, Integer.getInteger(PARALLELISM_PROPERTY, 1).intValue(), null, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the difference between the given
+	 * baseline and the reference, comparing up to <code>threads</code> pairs
+	 * of API components at the same time.
+	 * <p>
+	 * The deltas of the component pairs are merged in the order of the
+	 * components of the reference baseline, so the returned delta is the same
+	 * as the one of a serial comparison.
+	 * </p>
+	 *
+	 * @param referenceBaseline the given API baseline which is used as the
+	 *            reference
+	 * @param baseline the given API baseline to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param force a flag to force the comparison of nested API components with
+	 *            the same versions
+	 * @param threads the maximum number of component pairs to compare at the
+	 *            same time, values less than 2 cause a serial comparison
+	 * @param timings collects the time spent comparing each component pair, or
+	 *            <code>null</code>
+	 * @param monitor
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed
+	 * @throws IllegalArgumentException if one of the two baselines is null
+	 * @since 1.3.500
+	 */
+	public static IDelta compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final int threads, final ComparisonTimings timings, final IProgressMonitor monitor) {
 		SubMonitor localmonitor = SubMonitor.convert(monitor, 2);
 		if (referenceBaseline == null || baseline == null) {
 			throw new IllegalArgumentException("None of the baselines must be null"); //$NON-NLS-1$
@@ -107,43 +165,37 @@ public class ApiComparator {
 		IApiComponent[] apiComponents2 = baseline.getApiComponents();
 		Set<String> apiComponentsIds = new HashSet<>();
 		final Delta globalDelta = new Delta();
-		SubMonitor apiLoopMonitor = localmonitor.split(1).setWorkRemaining(apiComponents.length);
-		for (IApiComponent apiComponentMainLoop : apiComponents) {
-			apiLoopMonitor.split(1);
-			IApiComponent apiComponent = apiComponentMainLoop;
+		List<ComponentComparison> comparisons = new ArrayList<>(apiComponents.length);
+		int compared = 0;
+		for (IApiComponent apiComponent : apiComponents) {
 			if (!apiComponent.isSystemComponent()) {
 				String id = apiComponent.getSymbolicName();
 				IApiComponent apiComponentBaseline = baseline.getApiComponent(id);
-				IDelta delta = null;
 				if (apiComponentBaseline == null) {
-					// report removal of an API component
-					delta = new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT,
-							null, id, id);
+					comparisons.add(new ComponentComparison(id, apiComponent, null, true, null));
 				} else {
 					apiComponentsIds.add(id);
-					String versionString = apiComponent.getVersion();
-					String versionString2 = apiComponentBaseline.getVersion();
 					IDelta bundleVersionChangesDelta = checkBundleVersionChanges(apiComponentBaseline, id,
-							versionString, versionString2);
-					if (bundleVersionChangesDelta != null) {
-						globalDelta.add(bundleVersionChangesDelta);
-					}
-					if (!versionString.equals(versionString2) || force) {
-						long time = System.currentTimeMillis();
-						try {
-							delta = compare(apiComponent, apiComponentBaseline, referenceBaseline, baseline,
-									visibilityModifiers, localmonitor.split(1));
-						} finally {
-							if (ApiPlugin.DEBUG_API_COMPARATOR) {
-								System.out.println("Time spent for " + id + " " + versionString + " : " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-										+ (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$
-							}
-						}
+							apiComponent.getVersion(), apiComponentBaseline.getVersion());
+					boolean compare = !apiComponent.getVersion().equals(apiComponentBaseline.getVersion()) || force;
+					comparisons.add(new ComponentComparison(id, apiComponent, compare ? apiComponentBaseline : null, false, bundleVersionChangesDelta));
+					if (compare) {
+						compared++;
 					}
 				}
-				if (delta != null && delta != NO_DELTA) {
-					globalDelta.add(delta);
+			}
+		}
+		SubMonitor apiLoopMonitor = localmonitor.split(1).setWorkRemaining(comparisons.size());
+		if (threads > 1 && compared > 1) {
+			compareParallel(comparisons, referenceBaseline, baseline, visibilityModifiers, Math.min(threads, compared), timings, globalDelta, apiLoopMonitor);
+		} else {
+			for (ComponentComparison comparison : comparisons) {
+				SubMonitor componentMonitor = apiLoopMonitor.split(1);
+				TimedDelta result = null;
+				if (comparison.baselineComponent() != null) {
+					result = compareTimed(comparison, referenceBaseline, baseline, visibilityModifiers, componentMonitor);
 				}
+				merge(comparison, result, timings, globalDelta);
 			}
 		}
 		SubMonitor elementLoopMonitor = localmonitor.split(1).setWorkRemaining(apiComponents2.length);
@@ -162,6 +214,127 @@ public class ApiComparator {
 		return globalDelta.isEmpty() ? NO_DELTA : globalDelta;
 	}
 
+	/**
+	 * A component of the reference baseline and, if the pair has to be
+	 * compared, its counterpart in the other baseline
+	 */
+	private record ComponentComparison(String id, IApiComponent referenceComponent, IApiComponent baselineComponent, boolean removed, IDelta versionDelta) {
+	}
+
+	/**
+	 * The delta of a component pair and the time it took to compute it
+	 */
+	private record TimedDelta(IDelta delta, long elapsed) {
+	}
+
+	private static TimedDelta compareTimed(ComponentComparison comparison, IApiBaseline referenceBaseline, IApiBaseline baseline, int visibilityModifiers, IProgressMonitor monitor) {
+		long time = System.currentTimeMillis();
+		IDelta delta = compare(comparison.referenceComponent(), comparison.baselineComponent(), referenceBaseline, baseline, visibilityModifiers, monitor);
+		return new TimedDelta(delta, System.currentTimeMillis() - time);
+	}
+
+	/**
+	 * Adds the deltas of the given component to the global delta and records
+	 * the time spent comparing it
+	 *
+	 * @param result the result of comparing the component pair or
+	 *            <code>null</code> if the pair was not compared
+	 */
+	private static void merge(ComponentComparison comparison, TimedDelta result, ComparisonTimings timings, Delta globalDelta) {
+		IDelta delta = null;
+		if (comparison.versionDelta() != null) {
+			globalDelta.add(comparison.versionDelta());
+		}
+		if (result != null) {
+			String version = comparison.referenceComponent().getVersion();
+			if (ApiPlugin.DEBUG_API_COMPARATOR) {
+				System.out.println("Time spent for " + comparison.id() + " " + version + " : " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						+ result.elapsed() + "ms"); //$NON-NLS-1$
+			}
+			if (timings != null) {
+				timings.add(comparison.id(), version, result.elapsed());
+			}
+			delta = result.delta();
+		} else if (comparison.removed()) {
+			// report removal of an API component
+			delta = new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT, null,
+					comparison.id(), comparison.id());
+		}
+		if (delta != null && delta != NO_DELTA) {
+			globalDelta.add(delta);
+		}
+	}
+
+	/**
+	 * Compares the component pairs on a pool of at most <code>threads</code>
+	 * workers. The results are merged into the global delta in the order of
+	 * the given comparisons as soon as all preceding ones have been merged.
+	 */
+	private static void compareParallel(List<ComponentComparison> comparisons, IApiBaseline referenceBaseline, IApiBaseline baseline, int visibilityModifiers, int threads, ComparisonTimings timings, Delta globalDelta, SubMonitor localmonitor) {
+		// workers only poll for cancellation, progress is reported from this
+		// thread as results are merged
+		IProgressMonitor workermonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return localmonitor.isCanceled();
+			}
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "API Comparator Worker"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<TimedDelta>> futures = new ArrayList<>(comparisons.size());
+			for (ComponentComparison comparison : comparisons) {
+				if (comparison.baselineComponent() == null) {
+					futures.add(null);
+				} else {
+					futures.add(executor.submit(() -> compareTimed(comparison, referenceBaseline, baseline, visibilityModifiers, workermonitor)));
+				}
+			}
+			for (int i = 0; i < comparisons.size(); i++) {
+				localmonitor.split(1);
+				Future<TimedDelta> future = futures.get(i);
+				merge(comparisons.get(i), future == null ? null : waitFor(future, localmonitor), timings, globalDelta);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Waits for the given comparison to complete, polling the monitor for
+	 * cancellation while waiting
+	 *
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	private static TimedDelta waitFor(Future<TimedDelta> future, IProgressMonitor monitor) {
+		while (true) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				return future.get(100, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException te) {
+				// check for cancellation and keep waiting
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException ee) {
+				Throwable cause = ee.getCause();
+				if (cause instanceof RuntimeException re) {
+					throw re;
+				}
+				if (cause instanceof Error e) {
+					throw e;
+				}
+				// compare does not throw checked exceptions
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+
 	/**
 	 * Returns a delta that corresponds to the difference between the given
 	 * component and the reference baseline.
@@ -281,7 +454,10 @@ public class ApiComparator {
 						currentEE,
 						Util.getComponentVersionsId(referenceComponent) }));
 			}
-			return internalCompare(referenceComponent, component2, referenceBaseline, baseline, visibilityModifiers, globalDelta, localmonitor.split(1));
+			try (Measurement measurement = AnalysisMetrics.getDefault().start(Phase.COMPATIBILITY_COMPARE, component2)) {
+				measurement.addItems(1);
+				return internalCompare(referenceComponent, component2, referenceBaseline, baseline, visibilityModifiers, globalDelta, localmonitor.split(1));
+			}
 		} catch (CoreException e) {
 			// null means an error case
 			return null;
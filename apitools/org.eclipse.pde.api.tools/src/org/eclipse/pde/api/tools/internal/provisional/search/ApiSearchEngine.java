@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,11 +18,18 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.pde.api.tools.internal.AntFilterStore;
@@ -39,6 +46,9 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.search.SearchMessages;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Measurement;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics.Phase;
 
 /**
  * Engine used to search for API use
@@ -118,6 +128,66 @@ public final class ApiSearchEngine {
 		}
 	}
 
+	/**
+	 * Reporter handed to a worker of a parallel search. It records the results
+	 * reported for one scope element so they can be replayed to the real
+	 * reporter, in scope order, on the thread that called the engine. This way
+	 * the real {@link IApiSearchReporter} never has to be thread-safe and the
+	 * output is the same as for a serial search.
+	 * <p>
+	 * The results of the element next in scope order are replayed while it is
+	 * still being searched, so they are only held until the calling thread
+	 * picks them up.
+	 * </p>
+	 */
+	static final class BufferingReporter implements IApiSearchReporter {
+		private List<IApiElement> elements = new ArrayList<>();
+		private List<IReference[]> results = new ArrayList<>();
+		volatile long time = 0;
+
+		@Override
+		public synchronized void reportResults(IApiElement element, IReference[] references) {
+			elements.add(element);
+			results.add(references);
+		}
+
+		@Override
+		public void reportNotSearched(IApiElement[] elements) {
+			// the engine never reports skipped elements
+		}
+
+		@Override
+		public void reportMetadata(IMetadata data) {
+			// the engine never reports metadata
+		}
+
+		@Override
+		public void reportCounts() {
+			// the engine never reports counts
+		}
+
+		/**
+		 * Replays the results recorded since the last replay to the given
+		 * reporter, in the order they were recorded
+		 */
+		void replay(IApiSearchReporter reporter) {
+			List<IApiElement> replayedElements;
+			List<IReference[]> replayedResults;
+			synchronized (this) {
+				if (elements.isEmpty()) {
+					return;
+				}
+				replayedElements = elements;
+				replayedResults = results;
+				elements = new ArrayList<>();
+				results = new ArrayList<>();
+			}
+			for (int i = 0; i < replayedElements.size(); i++) {
+				reporter.reportResults(replayedElements.get(i), replayedResults.get(i));
+			}
+		}
+	}
+
 	/**
 	 * Simple string used for reporting what is being searched
 	 */
@@ -132,9 +202,12 @@ public final class ApiSearchEngine {
 	List<IReference> getResolvedReferences(IApiSearchRequestor requestor, IApiType type, IProgressMonitor monitor) throws CoreException {
 		String name = type.getSimpleName() == null ? SearchMessages.ApiSearchEngine_anonymous_type : type.getSimpleName();
 		SubMonitor localmonitor = SubMonitor.convert(monitor, MessageFormat.format(SearchMessages.ApiSearchEngine_extracting_refs_from, name), 2);
-		List<IReference> refs = type.extractReferences(requestor.getReferenceKinds(), localmonitor.split(1));
-		ReferenceResolver.resolveReferences(refs);
-		return refs;
+		try (Measurement measurement = AnalysisMetrics.getDefault().start(Phase.REFERENCE_EXTRACTION, type.getApiComponent())) {
+			List<IReference> refs = type.extractReferences(requestor.getReferenceKinds(), localmonitor.split(1));
+			ReferenceResolver.resolveReferences(refs);
+			measurement.addItems(refs.size());
+			return refs;
+		}
 	}
 
 	/**
@@ -235,6 +308,33 @@ public final class ApiSearchEngine {
 	 * @throws CoreException if the search fails
 	 */
 	public void search(IApiBaseline baseline, IApiSearchRequestor requestor, IApiSearchReporter reporter, IProgressMonitor monitor) throws CoreException {
+		search(baseline, requestor, reporter, 1, monitor);
+	}
+
+	/**
+	 * Searches for all of the use of API or internal code from the given
+	 * {@link IApiComponent} within the given {@link IApiBaseline}, searching up
+	 * to <code>threads</code> elements of the scope at the same time.
+	 * <p>
+	 * A parallel search is only done if the requestor can supply a worker
+	 * requestor for each element of the scope (see
+	 * {@link IApiSearchRequestor#newWorkerRequestor()}), otherwise the scope is
+	 * searched one element at a time. The given reporter is always called from
+	 * the calling thread and receives the results in the same order as a
+	 * serial search would report them.
+	 * </p>
+	 *
+	 * @param baseline the baseline to search within
+	 * @param requestor the requestor to use for the search
+	 * @param reporter the reporter to use when reporting any search results to
+	 *            the user
+	 * @param threads the maximum number of scope elements to search at the
+	 *            same time, values less than 2 cause a serial search
+	 * @param monitor the monitor to report progress to
+	 * @throws CoreException if the search fails
+	 * @since 1.3.500
+	 */
+	public void search(IApiBaseline baseline, IApiSearchRequestor requestor, IApiSearchReporter reporter, int threads, IProgressMonitor monitor) throws CoreException {
 		if (baseline == null || reporter == null || requestor == null) {
 			return;
 		}
@@ -247,6 +347,47 @@ public final class ApiSearchEngine {
 		IApiElement[] scopeelements = scope.getApiElements();
 		SubMonitor localmonitor = SubMonitor.convert(monitor, MessageFormat.format(SearchMessages.ApiSearchEngine_searching_projects, fRequestorContext), scopeelements.length * 2 + 1);
 		long start = System.currentTimeMillis();
+		MultiStatus mstatus = null;
+		IApiSearchRequestor[] workers = null;
+		if (threads > 1 && scopeelements.length > 1) {
+			workers = createWorkerRequestors(requestor, scopeelements.length);
+		}
+		if (workers != null) {
+			mstatus = searchParallel(scopeelements, workers, reporter, Math.min(threads, scopeelements.length), localmonitor);
+		} else {
+			mstatus = searchSerial(scopeelements, requestor, reporter, localmonitor);
+		}
+		if (ApiPlugin.DEBUG_SEARCH_ENGINE) {
+			System.out.println("Total Search Time: " + ((System.currentTimeMillis() - start) / 1000) + " seconds"); //$NON-NLS-1$//$NON-NLS-2$
+		}
+		if (mstatus != null) {
+			throw new CoreException(mstatus);
+		}
+	}
+
+	/**
+	 * Returns one worker requestor per scope element, or <code>null</code> if
+	 * the given requestor does not support parallel searches
+	 *
+	 * @return the worker requestors or <code>null</code>
+	 */
+	private IApiSearchRequestor[] createWorkerRequestors(IApiSearchRequestor requestor, int count) {
+		IApiSearchRequestor[] workers = new IApiSearchRequestor[count];
+		for (int i = 0; i < count; i++) {
+			workers[i] = requestor.newWorkerRequestor();
+			if (workers[i] == null) {
+				return null;
+			}
+		}
+		return workers;
+	}
+
+	/**
+	 * Searches the given scope elements one after the other
+	 *
+	 * @return the status of any failed searches or <code>null</code>
+	 */
+	private MultiStatus searchSerial(IApiElement[] scopeelements, IApiSearchRequestor requestor, IApiSearchReporter reporter, SubMonitor localmonitor) {
 		long loopstart = 0;
 		String taskname = null;
 		MultiStatus mstatus = null;
@@ -263,7 +404,7 @@ public final class ApiSearchEngine {
 				localmonitor.setTaskName(taskname);
 				if (localmonitor.isCanceled()) {
 					reporter.reportResults(scopeelements[i], NO_REFERENCES);
-					return;
+					return mstatus;
 				}
 				localmonitor.worked(1);
 				if (ApiPlugin.DEBUG_SEARCH_ENGINE) {
@@ -277,11 +418,139 @@ public final class ApiSearchEngine {
 				mstatus.add(Status.error(ce.getMessage(), ce));
 			}
 		}
-		if (ApiPlugin.DEBUG_SEARCH_ENGINE) {
-			System.out.println("Total Search Time: " + ((System.currentTimeMillis() - start) / 1000) + " seconds"); //$NON-NLS-1$//$NON-NLS-2$
+		return mstatus;
+	}
+
+	/**
+	 * Searches the given scope elements on a pool of at most
+	 * <code>threads</code> workers. Each element is searched with its own
+	 * worker requestor and {@link BufferingReporter}; the buffered results are
+	 * handed to the real reporter in scope order as soon as all preceding
+	 * elements have been reported. To bound the results held in memory when
+	 * elements finish out of order, an element is only submitted once the
+	 * element <code>2 * threads</code> positions before it has been reported.
+	 *
+	 * @return the status of any failed searches or <code>null</code>
+	 */
+	private MultiStatus searchParallel(IApiElement[] scopeelements, IApiSearchRequestor[] workers, IApiSearchReporter reporter, int threads, SubMonitor localmonitor) {
+		// workers only poll for cancellation, progress is reported from this
+		// thread as results are replayed
+		IProgressMonitor workermonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return localmonitor.isCanceled();
+			}
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "API Use Search Worker"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		int window = threads * 2;
+		BufferingReporter[] buffers = new BufferingReporter[scopeelements.length];
+		List<Future<?>> futures = new ArrayList<>(scopeelements.length);
+		MultiStatus mstatus = null;
+		try {
+			for (int i = 0; i < scopeelements.length; i++) {
+				IApiElement element = scopeelements[i];
+				IApiSearchRequestor worker = workers[i];
+				BufferingReporter buffer = new BufferingReporter();
+				buffers[i] = buffer;
+				if (i >= window) {
+					// submitted once the element window positions before is reported
+					futures.add(null);
+					continue;
+				}
+				futures.add(executor.submit(() -> search(element, worker, buffer, workermonitor)));
+			}
+			for (int i = 0; i < scopeelements.length; i++) {
+				String name = scopeelements[i].getApiComponent().getSymbolicName();
+				localmonitor.setTaskName(MessageFormat.format(SearchMessages.ApiSearchEngine_searching_project, name, fRequestorContext));
+				try {
+					if (!waitFor(futures.get(i), buffers[i], reporter, localmonitor)) {
+						reporter.reportResults(scopeelements[i], NO_REFERENCES);
+						return mstatus;
+					}
+					if (ApiPlugin.DEBUG_SEARCH_ENGINE) {
+						System.out.println("Searched " + name + " in " + buffers[i].time + " ms, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+								+ Math.round((((float) (i + 1)) / scopeelements.length) * 100) + "% done"); //$NON-NLS-1$
+					}
+				} catch (CoreException ce) {
+					if (mstatus == null) {
+						mstatus = new MultiStatus(ApiPlugin.PLUGIN_ID, IStatus.ERROR, null, null);
+					}
+					mstatus.add(Status.error(ce.getMessage(), ce));
+				} finally {
+					buffers[i] = null;
+					int next = i + window;
+					if (next < scopeelements.length) {
+						IApiElement element = scopeelements[next];
+						IApiSearchRequestor worker = workers[next];
+						BufferingReporter buffer = buffers[next];
+						futures.set(next, executor.submit(() -> search(element, worker, buffer, workermonitor)));
+					}
+				}
+				localmonitor.worked(2);
+			}
+		} finally {
+			executor.shutdownNow();
 		}
-		if (mstatus != null) {
-			throw new CoreException(mstatus);
+		return mstatus;
+	}
+
+	/**
+	 * Searches one scope element on a worker thread, recording the results in
+	 * the given buffer
+	 *
+	 * @return <code>null</code>
+	 * @throws CoreException if the search fails
+	 */
+	private Void search(IApiElement element, IApiSearchRequestor worker, BufferingReporter buffer, IProgressMonitor monitor) throws CoreException {
+		if (!monitor.isCanceled()) {
+			long loopstart = System.currentTimeMillis();
+			searchReferences(worker, element, buffer, monitor);
+			buffer.time = System.currentTimeMillis() - loopstart;
+		}
+		return null;
+	}
+
+	/**
+	 * Waits for the given search to complete, replaying the results it records
+	 * to the reporter and polling the monitor for cancellation while waiting
+	 *
+	 * @return <code>true</code> if the search completed and all of its results
+	 *         were replayed, <code>false</code> if the search was canceled
+	 * @throws CoreException if the search of the element failed
+	 */
+	private boolean waitFor(Future<?> future, BufferingReporter buffer, IApiSearchReporter reporter, IProgressMonitor monitor) throws CoreException {
+		while (true) {
+			buffer.replay(reporter);
+			if (monitor.isCanceled()) {
+				return false;
+			}
+			try {
+				future.get(100, TimeUnit.MILLISECONDS);
+				buffer.replay(reporter);
+				return true;
+			} catch (TimeoutException te) {
+				// replay, check for cancellation and keep waiting
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				return false;
+			} catch (ExecutionException ee) {
+				buffer.replay(reporter);
+				Throwable cause = ee.getCause();
+				if (cause instanceof CoreException ce) {
+					throw ce;
+				}
+				if (cause instanceof RuntimeException re) {
+					throw re;
+				}
+				if (cause instanceof Error e) {
+					throw e;
+				}
+				throw new CoreException(Status.error(cause.getMessage(), cause));
+			}
 		}
 	}
 
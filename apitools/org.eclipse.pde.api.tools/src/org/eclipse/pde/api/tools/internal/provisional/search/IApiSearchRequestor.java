@@ -132,4 +132,21 @@ public interface IApiSearchRequestor {
 	 *         otherwise
 	 */
 	public boolean includesIllegalUse();
+
+	/**
+	 * Returns a new requestor with the same settings as this one, used by the
+	 * {@link ApiSearchEngine} to search one element of the scope on a worker
+	 * thread. The returned requestor is only ever called from one thread at a
+	 * time, but several worker requestors may be in use concurrently.
+	 * <p>
+	 * Requestors that cannot be used for a parallel search return
+	 * <code>null</code>, which is the default.
+	 * </p>
+	 *
+	 * @return a new requestor for a worker thread or <code>null</code>
+	 * @since 1.3.500
+	 */
+	public default IApiSearchRequestor newWorkerRequestor() {
+		return null;
+	}
 }
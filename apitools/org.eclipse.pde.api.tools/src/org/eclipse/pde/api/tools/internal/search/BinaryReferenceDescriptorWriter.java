@@ -0,0 +1,275 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.search;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMemberDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
+
+/**
+ * Writes reference descriptions to a compact binary use scan, see
+ * {@link BinaryUseScanReader} for the format.
+ * <p>
+ * Each call to {@link #writeReferences(IReferenceDescriptor[])} appends one
+ * block per referenced component, referencing component and referenced root
+ * type to the data file. The index of the blocks is written by
+ * {@link #writeIndex()}. A scan without an up to date index is still readable,
+ * the reader rebuilds the index from the block headers.
+ * </p>
+ *
+ * @since 1.3.500
+ */
+public class BinaryReferenceDescriptorWriter {
+
+	private final Path fDataFile;
+	private final Path fIndexFile;
+	private List<BinaryUseScanReader.Block> fBlocks = null;
+	private long fLength = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param location the absolute path in the local file system to the folder
+	 *            to write the scan to
+	 */
+	public BinaryReferenceDescriptorWriter(String location) {
+		fDataFile = Path.of(location, BinaryUseScanReader.DATA_FILE);
+		fIndexFile = Path.of(location, BinaryUseScanReader.INDEX_FILE);
+	}
+
+	/**
+	 * Appends the given references to the scan.
+	 */
+	public synchronized void writeReferences(IReferenceDescriptor[] references) {
+		try {
+			initialize();
+			Map<String, Map<String, Map<String, Map<String, Set<IReferenceDescriptor>>>>> collated = collateResults(references);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(fDataFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+				if (fLength == 0) {
+					out.writeInt(BinaryUseScanReader.MAGIC);
+					out.writeInt(BinaryUseScanReader.FORMAT_VERSION);
+					fLength = out.size();
+				}
+				for (var referee : collated.entrySet()) {
+					for (var origin : referee.getValue().entrySet()) {
+						for (var type : origin.getValue().entrySet()) {
+							writeBlock(out, referee.getKey(), origin.getKey(), type.getKey(), type.getValue());
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			ApiPlugin.log("Failed to write use scan references to " + fDataFile, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Writes the index of all blocks written so far. The index is replaced
+	 * atomically.
+	 */
+	public synchronized void writeIndex() {
+		try {
+			initialize();
+			if (fBlocks.isEmpty()) {
+				return;
+			}
+			BinaryUseScanReader.writeIndex(fIndexFile, fLength, fBlocks);
+		} catch (IOException e) {
+			ApiPlugin.log("Failed to write use scan index " + fIndexFile, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Continues an existing scan in the report location, if any
+	 */
+	private void initialize() throws IOException {
+		if (fBlocks != null) {
+			return;
+		}
+		fBlocks = new ArrayList<>();
+		if (Files.isRegularFile(fDataFile)) {
+			fBlocks.addAll(BinaryUseScanReader.scanBlocks(fDataFile));
+			fLength = Files.size(fDataFile);
+		} else {
+			File parent = fDataFile.getParent().toFile();
+			if (!parent.exists()) {
+				parent.mkdirs();
+			}
+		}
+	}
+
+	/**
+	 * Collates the results by referenced component, referencing component,
+	 * referenced root type and referenced member. Duplicate references are
+	 * removed. Everything is sorted by name so blocks are visited in the same
+	 * order as the directories of an XML scan.
+	 */
+	private Map<String, Map<String, Map<String, Map<String, Set<IReferenceDescriptor>>>>> collateResults(IReferenceDescriptor[] references) {
+		Map<String, Map<String, Map<String, Map<String, Set<IReferenceDescriptor>>>>> collated = new TreeMap<>();
+		for (IReferenceDescriptor reference : references) {
+			IMemberDescriptor member = reference.getReferencedMember();
+			if (member == null) {
+				continue;
+			}
+			collated.computeIfAbsent(getId(reference.getReferencedComponent()), i -> new TreeMap<>())
+					.computeIfAbsent(getId(reference.getComponent()), i -> new TreeMap<>())
+					.computeIfAbsent(getRootTypeName(member), t -> new TreeMap<>())
+					.computeIfAbsent(getMemberKey(member), m -> new LinkedHashSet<>()).add(reference);
+		}
+		return collated;
+	}
+
+	/**
+	 * Writes one block of references and records it in the index
+	 */
+	private void writeBlock(DataOutputStream out, String referee, String origin, String type, Map<String, Set<IReferenceDescriptor>> members) throws IOException {
+		Map<String, Integer> strings = new LinkedHashMap<>();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		DataOutputStream bodyOut = new DataOutputStream(body);
+		for (Set<IReferenceDescriptor> refs : members.values()) {
+			writeMember(bodyOut, strings, refs.iterator().next().getReferencedMember());
+			BinaryUseScanReader.writeVarInt(bodyOut, refs.size());
+			for (IReferenceDescriptor ref : refs) {
+				int visibility = (ref.getReferenceFlags() & IReference.F_ILLEGAL) > 0 ? VisibilityModifiers.ILLEGAL_API : ref.getVisibility();
+				BinaryUseScanReader.writeVarInt(bodyOut, visibility);
+				BinaryUseScanReader.writeVarInt(bodyOut, ref.getReferenceKind());
+				BinaryUseScanReader.writeVarInt(bodyOut, ref.getReferenceFlags());
+				writeMember(bodyOut, strings, ref.getMember());
+				BinaryUseScanReader.writeVarInt(bodyOut, ref.getLineNumber());
+				String[] messages = ref.getProblemMessages();
+				if (messages == null) {
+					BinaryUseScanReader.writeVarInt(bodyOut, 0);
+				} else {
+					BinaryUseScanReader.writeVarInt(bodyOut, messages.length + 1);
+					for (String message : messages) {
+						writeString(bodyOut, strings, message);
+					}
+				}
+			}
+		}
+		bodyOut.flush();
+
+		ByteArrayOutputStream block = new ByteArrayOutputStream(body.size() + 64 * strings.size());
+		DataOutputStream blockOut = new DataOutputStream(block);
+		blockOut.writeUTF(referee);
+		blockOut.writeUTF(origin);
+		blockOut.writeUTF(type);
+		BinaryUseScanReader.writeVarInt(blockOut, members.size());
+		for (String member : members.keySet()) {
+			blockOut.writeUTF(member);
+		}
+		BinaryUseScanReader.writeVarInt(blockOut, strings.size());
+		for (String string : strings.keySet()) {
+			blockOut.writeUTF(string);
+		}
+		body.writeTo(blockOut);
+		blockOut.flush();
+
+		long offset = fLength;
+		out.writeInt(block.size());
+		block.writeTo(out);
+		fLength += 4 + block.size();
+		fBlocks.add(new BinaryUseScanReader.Block(referee, origin, type, members.keySet().toArray(String[]::new), offset, block.size()));
+	}
+
+	/**
+	 * Writes the element type, type name, member name and signature of the
+	 * given member
+	 */
+	private void writeMember(DataOutputStream out, Map<String, Integer> strings, IMemberDescriptor member) throws IOException {
+		BinaryUseScanReader.writeVarInt(out, member.getElementType());
+		switch (member.getElementType()) {
+			case IElementDescriptor.TYPE -> {
+				writeString(out, strings, ((IReferenceTypeDescriptor) member).getQualifiedName());
+				writeString(out, strings, null);
+				writeString(out, strings, null);
+			}
+			case IElementDescriptor.METHOD -> {
+				writeString(out, strings, member.getEnclosingType().getQualifiedName());
+				writeString(out, strings, member.getName());
+				writeString(out, strings, ((IMethodDescriptor) member).getSignature());
+			}
+			default -> {
+				writeString(out, strings, member.getEnclosingType().getQualifiedName());
+				writeString(out, strings, member.getName());
+				writeString(out, strings, null);
+			}
+		}
+	}
+
+	/**
+	 * Writes the index of the given string in the string table of the block,
+	 * adding it to the table if needed. <code>null</code> is written as 0.
+	 */
+	private void writeString(DataOutputStream out, Map<String, Integer> strings, String value) throws IOException {
+		if (value == null) {
+			BinaryUseScanReader.writeVarInt(out, 0);
+			return;
+		}
+		Integer index = strings.computeIfAbsent(value, v -> Integer.valueOf(strings.size()));
+		BinaryUseScanReader.writeVarInt(out, index.intValue() + 1);
+	}
+
+	/**
+	 * Returns the qualified name of the top level type declaring the given
+	 * member. Blocks are indexed by this name.
+	 */
+	static String getRootTypeName(IMemberDescriptor member) {
+		String name;
+		if (member instanceof IReferenceTypeDescriptor type) {
+			name = type.getQualifiedName();
+		} else {
+			name = member.getEnclosingType().getQualifiedName();
+		}
+		int index = name.indexOf('$');
+		return index > -1 ? name.substring(0, index) : name;
+	}
+
+	/**
+	 * Returns the key of the given member in the index
+	 */
+	static String getMemberKey(IMemberDescriptor member) {
+		return switch (member.getElementType())
+			{
+			case IElementDescriptor.TYPE -> ((IReferenceTypeDescriptor) member).getQualifiedName();
+			case IElementDescriptor.METHOD -> member.getEnclosingType().getQualifiedName() + '#' + member.getName() + ((IMethodDescriptor) member).getSignature();
+			default -> member.getEnclosingType().getQualifiedName() + '#' + member.getName();
+			};
+	}
+
+	private String getId(IComponentDescriptor component) {
+		return component.getId() + " (" + component.getVersion() + ')'; //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.search;
+
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
+
+/**
+ * Search reporter that outputs the references to a compact binary use scan
+ * with an index, see {@link BinaryUseScanReader}. Metadata, counts and
+ * components that were not searched are reported as XML, like
+ * {@link XmlSearchReporter} does.
+ *
+ * @since 1.3.500
+ */
+public class BinarySearchReporter extends XmlSearchReporter {
+
+	private final BinaryReferenceDescriptorWriter fWriter;
+
+	/**
+	 * Constructor
+	 *
+	 * @param location the absolute path in the local file system to the folder
+	 *            to write the reports to
+	 * @param debug if debugging infos should be written out to the console
+	 */
+	public BinarySearchReporter(String location, boolean debug) {
+		super(location, debug);
+		fWriter = new BinaryReferenceDescriptorWriter(location);
+	}
+
+	@Override
+	public void reportResults(IApiElement element, IReference[] references) {
+		if (references.length == 0) {
+			return;
+		}
+		fWriter.writeReferences(collectDescriptors(references));
+	}
+
+	@Override
+	public void reportCounts() {
+		super.reportCounts();
+		fWriter.writeIndex();
+	}
+}
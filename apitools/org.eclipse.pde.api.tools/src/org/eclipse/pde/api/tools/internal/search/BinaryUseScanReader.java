@@ -0,0 +1,425 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMemberDescriptor;
+
+/**
+ * Reads a binary use scan written by {@link BinaryReferenceDescriptorWriter}.
+ * <p>
+ * The data file starts with a magic number and the format version followed by
+ * blocks of references. Each block holds the references from one component to
+ * the members of one top level type of another component:
+ * </p>
+ *
+ * <pre>
+ * block     := length:int header strings members
+ * header    := referee:utf origin:utf type:utf count:varint member-key:utf*
+ * strings   := count:varint string:utf*
+ * members   := (member references:varint reference*)*
+ * reference := visibility:varint kind:varint flags:varint member line:varint messages
+ * member    := element-type:varint type-name:str member-name:str signature:str
+ * </pre>
+ *
+ * <p>
+ * Strings inside a block are written once to the string table and then
+ * referenced by their index plus one, <code>0</code> meaning
+ * <code>null</code>. The index file lists the header and offset of every block,
+ * so a query for a component, type or member only reads the matching blocks.
+ * When the index is missing or does not match the data file, it is rebuilt from
+ * the block headers.
+ * </p>
+ *
+ * @since 1.3.500
+ */
+public final class BinaryUseScanReader {
+
+	/**
+	 * Name of the data file of a binary use scan
+	 */
+	public static final String DATA_FILE = "references.usescan"; //$NON-NLS-1$
+
+	/**
+	 * Name of the index file of a binary use scan
+	 */
+	public static final String INDEX_FILE = "references.usescan.index"; //$NON-NLS-1$
+
+	static final int MAGIC = 0x41505553;
+	static final int INDEX_MAGIC = 0x41505549;
+	static final int FORMAT_VERSION = 1;
+
+	/**
+	 * Index entry of a block of references
+	 *
+	 * @param referee the referenced component as <code>id (version)</code>
+	 * @param origin the referencing component as <code>id (version)</code>
+	 * @param type the qualified name of the referenced top level type
+	 * @param members the keys of the referenced members in the block
+	 * @param offset the offset of the block in the data file
+	 * @param length the length of the block without its length field
+	 */
+	record Block(String referee, String origin, String type, String[] members, long offset, int length) {
+	}
+
+	private static final Comparator<Block> BLOCK_ORDER = Comparator.comparing(Block::referee)
+			.thenComparing(Block::origin).thenComparing(Block::type).thenComparingLong(Block::offset);
+
+	/**
+	 * Readers already opened in this session, keyed by data file
+	 */
+	private static final Map<Path, SoftReference<BinaryUseScanReader>> fgReaders = new ConcurrentHashMap<>();
+
+	private final Path fDataFile;
+	private final long fLength;
+	private final long fLastModified;
+	private final List<Block> fBlocks;
+
+	private BinaryUseScanReader(Path dataFile, long length, long lastModified, List<Block> blocks) {
+		fDataFile = dataFile;
+		fLength = length;
+		fLastModified = lastModified;
+		fBlocks = blocks;
+		fBlocks.sort(BLOCK_ORDER);
+	}
+
+	/**
+	 * Returns if the given location contains a binary use scan
+	 *
+	 * @param location the use scan location
+	 * @return <code>true</code> if the location contains a binary use scan
+	 */
+	public static boolean isBinaryScan(File location) {
+		return new File(location, DATA_FILE).isFile();
+	}
+
+	/**
+	 * Returns a reader for the binary use scan at the given location. Readers
+	 * and their index are shared while the data file does not change.
+	 *
+	 * @param location the use scan location
+	 * @return the reader for the scan
+	 * @throws IOException if the scan cannot be read
+	 */
+	public static BinaryUseScanReader getReader(File location) throws IOException {
+		Path dataFile = location.toPath().resolve(DATA_FILE);
+		long length = Files.size(dataFile);
+		long lastModified = Files.getLastModifiedTime(dataFile).toMillis();
+		SoftReference<BinaryUseScanReader> ref = fgReaders.get(dataFile);
+		BinaryUseScanReader reader = ref != null ? ref.get() : null;
+		if (reader != null && reader.fLength == length && reader.fLastModified == lastModified) {
+			return reader;
+		}
+		Path indexFile = location.toPath().resolve(INDEX_FILE);
+		List<Block> blocks = readIndex(indexFile, length);
+		if (blocks == null) {
+			blocks = scanBlocks(dataFile);
+			try {
+				writeIndex(indexFile, length, blocks);
+			} catch (IOException e) {
+				// the scan may be read only, the index is rebuilt next time
+				ApiPlugin.log("Failed to write use scan index " + indexFile, e); //$NON-NLS-1$
+			}
+		}
+		reader = new BinaryUseScanReader(dataFile, length, lastModified, blocks);
+		fgReaders.put(dataFile, new SoftReference<>(reader));
+		return reader;
+	}
+
+	/**
+	 * Returns the blocks holding references to the given component, types and
+	 * member in the order they are visited
+	 *
+	 * @param componentId the symbolic name of the referenced component or
+	 *            <code>null</code> for all components
+	 * @param types the qualified names of the referenced top level types or
+	 *            <code>null</code> for all types
+	 * @param member the key of the referenced member or <code>null</code> for
+	 *            all members
+	 * @return the matching blocks, never <code>null</code>
+	 */
+	List<Block> findBlocks(String componentId, String[] types, String member) {
+		String prefix = componentId != null ? componentId + " (" : null; //$NON-NLS-1$
+		Set<String> typeNames = types != null ? new HashSet<>(Arrays.asList(types)) : null;
+		List<Block> blocks = new ArrayList<>();
+		for (Block block : fBlocks) {
+			if (prefix != null && !block.referee().startsWith(prefix)) {
+				continue;
+			}
+			if (typeNames != null && !typeNames.contains(block.type())) {
+				continue;
+			}
+			if (member != null && !Arrays.asList(block.members()).contains(member)) {
+				continue;
+			}
+			blocks.add(block);
+		}
+		return blocks;
+	}
+
+	/**
+	 * Streams the references to the given component and types to the given
+	 * parser. Only one block is held in memory at a time and blocks the visitor
+	 * of the parser is not interested in are not read.
+	 *
+	 * @param parser the parser to visit
+	 * @param componentId the symbolic name of the referenced component or
+	 *            <code>null</code> for all components
+	 * @param types the qualified names of the referenced top level types or
+	 *            <code>null</code> for all types
+	 * @param monitor progress monitor
+	 * @throws IOException if the scan cannot be read
+	 */
+	void read(UseScanParser parser, String componentId, String[] types, IProgressMonitor monitor) throws IOException {
+		List<Block> blocks = findBlocks(componentId, types, null);
+		SubMonitor localmonitor = SubMonitor.convert(monitor, blocks.size());
+		Map<String, IComponentDescriptor> components = new HashMap<>();
+		try (FileChannel channel = FileChannel.open(fDataFile, StandardOpenOption.READ)) {
+			for (Block block : blocks) {
+				localmonitor.split(1);
+				parser.enterTargetComponent(components.computeIfAbsent(block.referee(), r -> getComponent(parser, r)));
+				parser.enterReferencingComponent(components.computeIfAbsent(block.origin(), o -> getComponent(parser, o)));
+				if (parser.isVisitingMembers()) {
+					readBlock(parser, channel, block);
+				}
+			}
+		}
+	}
+
+	private static IComponentDescriptor getComponent(UseScanParser parser, String id) {
+		String[] idv = parser.getIdVersion(id);
+		return Factory.componentDescriptor(idv[0], idv[1]);
+	}
+
+	/**
+	 * Decodes one block and visits its references
+	 */
+	private void readBlock(UseScanParser parser, FileChannel channel, Block block) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(block.length());
+		long position = block.offset() + 4;
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException(fDataFile.toString());
+			}
+		}
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array()));
+		in.readUTF();
+		in.readUTF();
+		in.readUTF();
+		int members = readVarInt(in);
+		for (int i = 0; i < members; i++) {
+			in.readUTF();
+		}
+		String[] strings = new String[readVarInt(in)];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = in.readUTF();
+		}
+		for (int i = 0; i < members; i++) {
+			IMemberDescriptor target = readMember(in, strings);
+			parser.enterTargetMember(target);
+			int count = readVarInt(in);
+			for (int j = 0; j < count; j++) {
+				int visibility = readVarInt(in);
+				int kind = readVarInt(in);
+				int flags = readVarInt(in);
+				IMemberDescriptor origin = readMember(in, strings);
+				int line = readVarInt(in);
+				String[] messages = null;
+				int messageCount = readVarInt(in);
+				if (messageCount > 0) {
+					messages = new String[messageCount - 1];
+					for (int k = 0; k < messages.length; k++) {
+						messages[k] = readString(in, strings);
+					}
+				}
+				parser.enterVisibility(visibility);
+				parser.enterReferenceKind(kind);
+				parser.setReference(Factory.referenceDescriptor(parser.getReferencingComponent(), origin, line, parser.getTargetComponent(), target, kind, flags, visibility, messages));
+			}
+		}
+	}
+
+	private static IMemberDescriptor readMember(DataInput in, String[] strings) throws IOException {
+		int elementType = readVarInt(in);
+		String typeName = readString(in, strings);
+		String name = readString(in, strings);
+		String signature = readString(in, strings);
+		return switch (elementType)
+			{
+			case IElementDescriptor.METHOD -> Factory.methodDescriptor(typeName, name, signature);
+			case IElementDescriptor.FIELD -> Factory.fieldDescriptor(typeName, name);
+			default -> Factory.typeDescriptor(typeName);
+			};
+	}
+
+	private static String readString(DataInput in, String[] strings) throws IOException {
+		int index = readVarInt(in);
+		return index == 0 ? null : strings[index - 1];
+	}
+
+	/**
+	 * Rebuilds the index of a data file from its block headers
+	 */
+	static List<Block> scanBlocks(Path dataFile) throws IOException {
+		List<Block> blocks = new ArrayList<>();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(dataFile)))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+				throw new IOException("Unsupported use scan format: " + dataFile); //$NON-NLS-1$
+			}
+			long offset = 8;
+			while (true) {
+				int length;
+				try {
+					length = in.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				byte[] block = new byte[length];
+				in.readFully(block);
+				DataInputStream header = new DataInputStream(new ByteArrayInputStream(block));
+				String referee = header.readUTF();
+				String origin = header.readUTF();
+				String type = header.readUTF();
+				String[] members = new String[readVarInt(header)];
+				for (int i = 0; i < members.length; i++) {
+					members[i] = header.readUTF();
+				}
+				blocks.add(new Block(referee, origin, type, members, offset, length));
+				offset += 4 + length;
+			}
+		}
+		return blocks;
+	}
+
+	/**
+	 * Reads the index, returns <code>null</code> if there is none or it does
+	 * not match a data file of the given length
+	 */
+	private static List<Block> readIndex(Path indexFile, long length) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+			if (in.readInt() != INDEX_MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != length) {
+				return null;
+			}
+			int count = readVarInt(in);
+			List<Block> blocks = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				String referee = in.readUTF();
+				String origin = in.readUTF();
+				String type = in.readUTF();
+				String[] members = new String[readVarInt(in)];
+				for (int j = 0; j < members.length; j++) {
+					members[j] = in.readUTF();
+				}
+				blocks.add(new Block(referee, origin, type, members, in.readLong(), in.readInt()));
+			}
+			return blocks;
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			ApiPlugin.log("Failed to read use scan index " + indexFile, e); //$NON-NLS-1$
+			return null;
+		}
+	}
+
+	/**
+	 * Writes the index for a data file of the given length, replacing any
+	 * existing index atomically
+	 */
+	static void writeIndex(Path indexFile, long length, List<Block> blocks) throws IOException {
+		Path tmp = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(INDEX_MAGIC);
+				out.writeInt(FORMAT_VERSION);
+				out.writeLong(length);
+				writeVarInt(out, blocks.size());
+				for (Block block : blocks) {
+					out.writeUTF(block.referee());
+					out.writeUTF(block.origin());
+					out.writeUTF(block.type());
+					writeVarInt(out, block.members().length);
+					for (String member : block.members()) {
+						out.writeUTF(member);
+					}
+					out.writeLong(block.offset());
+					out.writeInt(block.length());
+				}
+			}
+			Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	/**
+	 * Writes an unsigned variable length integer, 7 bits per byte
+	 */
+	static void writeVarInt(DataOutput out, int value) throws IOException {
+		int v = value;
+		while ((v & ~0x7F) != 0) {
+			out.writeByte((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		out.writeByte(v);
+	}
+
+	/**
+	 * Reads an unsigned variable length integer written by
+	 * {@link #writeVarInt(DataOutput, int)}
+	 */
+	static int readVarInt(DataInput in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length integer"); //$NON-NLS-1$
+	}
+}
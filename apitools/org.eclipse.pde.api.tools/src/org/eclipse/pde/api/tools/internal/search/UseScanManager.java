@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2013 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,7 +21,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
-import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import org.eclipse.core.runtime.IPath;
@@ -211,7 +210,7 @@ public class UseScanManager {
 							}
 							throw new Exception(message);
 						}
-						parser.parse(locations[i], iterationMonitor, visitor);
+						parser.parse(locations[i], iterationMonitor, visitor, apiComponent.getSymbolicName(), types);
 					} catch (Exception e) {
 						ApiPlugin.log(e); // log the exception and continue with
 											// next location
@@ -255,12 +254,16 @@ public class UseScanManager {
 	 * <li>the previous child directory has its own child directory that matches
 	 * the name pattern <code>^.* (.*)$</code></li>
 	 * </ul>
+	 * or if the folder contains a binary use scan.
 	 *
 	 * @return <code>true</code> is the sub folders match the patterns,
 	 *         <code>false</code> otherwise
 	 */
 	public static boolean isValidDirectory(File file) {
 		if (file.exists() && file.isDirectory()) {
+			if (BinaryUseScanReader.isBinaryScan(file)) {
+				return true;
+			}
 			try {
 				file.listFiles(USESCAN_FILTER);
 			} catch (RuntimeException rte) {
@@ -289,6 +292,7 @@ public class UseScanManager {
 	 * <li>the previous child directory has its own child directory that matches
 	 * the name pattern <code>{@link #NAME_REGEX}</code></li>
 	 * </ul>
+	 * or if the archive contains a binary use scan.
 	 *
 	 * @return <code>true</code> is the sub folders match the patterns,
 	 *         <code>false</code> otherwise
@@ -314,7 +318,10 @@ public class UseScanManager {
 	}
 
 	private static boolean containsUseScans(ZipFile zfile) {
-		return zfile.stream().filter(ZipEntry::isDirectory).anyMatch(o -> {
+		return zfile.stream().anyMatch(o -> {
+			if (!o.isDirectory()) {
+				return BinaryUseScanReader.DATA_FILE.equals(IPath.fromOSString(o.getName()).lastSegment());
+			}
 			IPath path = IPath.fromOSString(o.getName());
 			if (path.segmentCount() > 2) {
 				return NAME_REGEX.matcher(path.segment(0)).matches() || NAME_REGEX.matcher(path.segment(1)).matches();
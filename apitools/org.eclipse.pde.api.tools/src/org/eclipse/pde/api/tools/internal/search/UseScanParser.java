@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,7 +39,8 @@ import org.xml.sax.SAXException;
 import org.xml.sax.helpers.DefaultHandler;
 
 /**
- * Parses a use scan (XML) to visit a {@link UseScanVisitor}
+ * Parses a use scan (XML or binary, see {@link BinaryUseScanReader}) to visit a
+ * {@link UseScanVisitor}
  */
 public class UseScanParser {
 
@@ -222,6 +223,25 @@ public class UseScanParser {
 	 * @param monitor progress monitor
 	 */
 	public void parse(String xmlLocation, IProgressMonitor monitor, UseScanVisitor usv) throws Exception {
+		parse(xmlLocation, monitor, usv, null, null);
+	}
+
+	/**
+	 * Resolves references to the given component and types from an API use
+	 * scan rooted at the specified location in the file system. The component
+	 * and types are only used to skip irrelevant parts of binary use scans, the
+	 * visitor still has to filter the references of XML use scans.
+	 *
+	 * @param xmlLocation root of API use scan (XML directory).
+	 * @param monitor progress monitor
+	 * @param usv the visitor
+	 * @param componentId the symbolic name of the referenced component or
+	 *            <code>null</code> for all components
+	 * @param types the qualified names of the referenced top level types or
+	 *            <code>null</code> for all types
+	 * @since 1.3.500
+	 */
+	public void parse(String xmlLocation, IProgressMonitor monitor, UseScanVisitor usv, String componentId, String[] types) throws Exception {
 		if (xmlLocation == null) {
 			throw new Exception(SearchMessages.missing_xml_files_location);
 		}
@@ -230,6 +250,10 @@ public class UseScanParser {
 		if (!reportsRoot.exists() || !reportsRoot.isDirectory()) {
 			throw new Exception(NLS.bind(SearchMessages.invalid_directory_name, xmlLocation));
 		}
+		if (BinaryUseScanReader.isBinaryScan(reportsRoot)) {
+			parseBinary(reportsRoot, monitor, componentId, types);
+			return;
+		}
 		SubMonitor localmonitor = SubMonitor.convert(monitor, SearchMessages.UseScanParser_parsing, 8);
 		localmonitor.subTask(SearchMessages.UseReportConverter_collecting_dir_info);
 		File[] referees = getDirectories(reportsRoot);
@@ -296,6 +320,32 @@ public class UseScanParser {
 		}
 	}
 
+	/**
+	 * Streams the references of a binary use scan to the visitor
+	 */
+	private void parseBinary(File reportsRoot, IProgressMonitor monitor, String componentId, String[] types) throws IOException {
+		SubMonitor localmonitor = SubMonitor.convert(monitor, SearchMessages.UseScanParser_parsing, 10);
+		visitor.visitScan();
+		try {
+			BinaryUseScanReader reader = BinaryUseScanReader.getReader(reportsRoot);
+			localmonitor.split(1);
+			reader.read(this, componentId, types, localmonitor.split(9));
+			endMember();
+			endReferencingComponent();
+			endComponent();
+		} finally {
+			visitor.endVisitScan();
+		}
+	}
+
+	/**
+	 * @return whether the visitor wants to visit the members referenced by the
+	 *         current referencing component
+	 */
+	boolean isVisitingMembers() {
+		return visitReferencingComponent && visitMembers;
+	}
+
 	/**
 	 * @return the referencingComponent or <code>null</code>
 	 */
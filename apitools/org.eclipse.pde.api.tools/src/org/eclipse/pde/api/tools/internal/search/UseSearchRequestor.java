@@ -139,6 +139,25 @@ public class UseSearchRequestor implements IApiSearchRequestor {
 		prepareScope(scope);
 	}
 
+	/**
+	 * Constructor used to create a worker requestor
+	 *
+	 * @see #newWorkerRequestor()
+	 */
+	private UseSearchRequestor(UseSearchRequestor requestor) {
+		fSearchMask = requestor.fSearchMask;
+		fComponentIds = requestor.fComponentIds;
+		fScope = requestor.fScope;
+		jarPatterns = requestor.jarPatterns;
+		antFilterRoot = requestor.antFilterRoot;
+		fAnalyzer = new ReferenceAnalyzer();
+	}
+
+	@Override
+	public IApiSearchRequestor newWorkerRequestor() {
+		return new UseSearchRequestor(this);
+	}
+
 	@Override
 	public boolean acceptComponent(IApiComponent component) {
 		try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2017 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -79,10 +79,22 @@ public class XmlSearchReporter implements IApiSearchReporter {
 			// references
 			return;
 		}
+		XmlReferenceDescriptorWriter writer = new XmlReferenceDescriptorWriter(fLocation);
+		writer.writeReferences(collectDescriptors(references));
+	}
+
+	/**
+	 * Returns the descriptors of the given references and updates the
+	 * reference counts
+	 *
+	 * @param references the references to report
+	 * @return the descriptors of the references
+	 * @since 1.3.500
+	 */
+	IReferenceDescriptor[] collectDescriptors(IReference[] references) {
 		// Use a hashset for counting to remove any duplicate references that
 		// the writer would remove
 		HashSet<IReferenceDescriptor> writtenReferences = new HashSet<>();
-		XmlReferenceDescriptorWriter writer = new XmlReferenceDescriptorWriter(fLocation);
 		List<IReferenceDescriptor> descriptors = new ArrayList<>(references.length + 1);
 		for (IReference referenceInterface : references) {
 			Reference reference = (Reference) referenceInterface;
@@ -110,7 +122,7 @@ public class XmlSearchReporter implements IApiSearchReporter {
 			}
 		}
 
-		writer.writeReferences(descriptors.toArray(new IReferenceDescriptor[descriptors.size()]));
+		return descriptors.toArray(new IReferenceDescriptor[descriptors.size()]);
 	}
 
 	/**
@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.util;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.pde.api.tools.internal.model.ProjectComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+
+/**
+ * Records the time spent and the number of elements processed in each phase of
+ * API analysis, per project and per API component.
+ * <p>
+ * Phases are measured with {@link #start(Phase, String, String)} and the
+ * returned {@link Measurement} in a try-with-resources block. Measurements are
+ * emitted as JDK Flight Recorder events named
+ * <code>org.eclipse.pde.api.tools.AnalysisPhase</code> whenever a recording
+ * enables that event. They are only summed up in memory, see
+ * {@link #getMetrics()}, if metrics are enabled, either by the
+ * <code>org.eclipse.pde.api.tools/debug/metrics</code> debug option or by the
+ * <code>-metrics</code> argument of the API analysis application. Metrics are
+ * summed up until {@link #reset()} is called, which callers do at the end of
+ * each run. While metrics are disabled and no recording enables the event,
+ * {@link #start(Phase, String, String)} returns a shared measurement that does
+ * nothing, so measuring costs no allocation.
+ * </p>
+ * <p>
+ * Phases may be nested, for example type structures are built while API
+ * components are compared, so the times of different phases must not be added
+ * up.
+ * </p>
+ *
+ * @since 1.3.500
+ */
+public final class AnalysisMetrics {
+
+	/**
+	 * The measured phases of API analysis
+	 */
+	public enum Phase {
+		/**
+		 * Loading the API baselines to analyze with, items are baselines
+		 */
+		BASELINE_LOAD("Baseline load"), //$NON-NLS-1$
+		/**
+		 * Building type structures from class files, items are types
+		 */
+		STRUCTURE_BUILD("Structure build"), //$NON-NLS-1$
+		/**
+		 * Comparing API components with the baseline, items are types for
+		 * incremental builds and components otherwise
+		 */
+		COMPATIBILITY_COMPARE("Compatibility compare"), //$NON-NLS-1$
+		/**
+		 * Extracting the references of types, items are references
+		 */
+		REFERENCE_EXTRACTION("Reference extraction"), //$NON-NLS-1$
+		/**
+		 * Resolving references and creating API use problems, items are
+		 * problems
+		 */
+		PROBLEM_CREATION("Problem creation"), //$NON-NLS-1$
+		/**
+		 * Creating problem markers, items are problems
+		 */
+		MARKER_UPDATE("Marker update"); //$NON-NLS-1$
+
+		private final String fLabel;
+
+		Phase(String label) {
+			fLabel = label;
+		}
+
+		/**
+		 * @return the human readable name of the phase
+		 */
+		public String getLabel() {
+			return fLabel;
+		}
+	}
+
+	/**
+	 * The sum of all measurements of a phase for a project and component
+	 *
+	 * @param phase the phase
+	 * @param project the name of the project or <code>null</code>
+	 * @param component the symbolic name of the API component or
+	 *            <code>null</code>
+	 * @param invocations the number of measurements
+	 * @param items the number of elements processed
+	 * @param elapsedNanos the time spent in nanoseconds
+	 */
+	public record Metric(Phase phase, String project, String component, long invocations, long items, long elapsedNanos) {
+
+		/**
+		 * @return the time spent in milliseconds
+		 */
+		public long elapsedMillis() {
+			return elapsedNanos / 1000000;
+		}
+	}
+
+	/**
+	 * One measurement of a phase, recorded when closed
+	 */
+	public final class Measurement implements AutoCloseable {
+		private final Key fKey;
+		private final boolean fRecord;
+		private final long fStart;
+		private final Object fEvent;
+		private long fItems = 0;
+
+		Measurement(Key key, boolean record) {
+			fKey = key;
+			fRecord = record;
+			fEvent = key != null && JFR_AVAILABLE ? AnalysisPhaseEvent.begin() : null;
+			fStart = record ? System.nanoTime() : 0;
+		}
+
+		/**
+		 * Adds to the number of elements processed in this measurement
+		 *
+		 * @param count the number of elements
+		 */
+		public void addItems(long count) {
+			if (fKey != null) {
+				fItems += count;
+			}
+		}
+
+		@Override
+		public void close() {
+			if (fKey == null) {
+				// metrics are disabled
+				return;
+			}
+			if (fRecord) {
+				record(fKey, fItems, System.nanoTime() - fStart);
+			}
+			if (fEvent != null) {
+				AnalysisPhaseEvent.commit(fEvent, fKey.phase().getLabel(), fKey.project(), fKey.component(), fItems);
+			}
+		}
+	}
+
+	private record Key(Phase phase, String project, String component) {
+	}
+
+	private static final class Accumulator {
+		final LongAdder invocations = new LongAdder();
+		final LongAdder items = new LongAdder();
+		final LongAdder nanos = new LongAdder();
+	}
+
+	private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+	private static final AnalysisMetrics DEFAULT = new AnalysisMetrics();
+
+	private final Map<Key, Accumulator> fMetrics = new ConcurrentHashMap<>();
+
+	/**
+	 * The measurement returned while metrics are disabled, records nothing
+	 */
+	private final Measurement fDisabled = new Measurement(null, false);
+
+	private volatile boolean fEnabled = false;
+
+	/**
+	 * @return the metrics shared by all API analysis in this VM
+	 */
+	public static AnalysisMetrics getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Enables or disables recording metrics. Metrics recorded so far are kept.
+	 *
+	 * @param enabled whether to record metrics
+	 */
+	public void setEnabled(boolean enabled) {
+		fEnabled = enabled;
+	}
+
+	/**
+	 * @return whether metrics are recorded
+	 */
+	public boolean isEnabled() {
+		return fEnabled;
+	}
+
+	/**
+	 * @return whether a running Flight Recorder recording enables the event
+	 *         of analysis phases
+	 */
+	private static boolean isEventEnabled() {
+		return JFR_AVAILABLE && AnalysisPhaseEvent.isTypeEnabled();
+	}
+
+	/**
+	 * Starts measuring the given phase
+	 *
+	 * @param phase the phase
+	 * @param project the name of the project or <code>null</code>
+	 * @param component the symbolic name of the API component or
+	 *            <code>null</code>
+	 * @return the measurement to close when the phase ends
+	 */
+	public Measurement start(Phase phase, String project, String component) {
+		boolean enabled = fEnabled;
+		if (!enabled && !isEventEnabled()) {
+			return fDisabled;
+		}
+		return new Measurement(new Key(phase, project, component), enabled);
+	}
+
+	/**
+	 * Starts measuring the given phase for the given API component. The
+	 * project is derived from the component if it is a project component.
+	 *
+	 * @param phase the phase
+	 * @param component the API component or <code>null</code>
+	 * @return the measurement to close when the phase ends
+	 */
+	public Measurement start(Phase phase, IApiComponent component) {
+		if (!fEnabled && !isEventEnabled()) {
+			return fDisabled;
+		}
+		if (component == null) {
+			return start(phase, null, null);
+		}
+		String project = null;
+		if (component instanceof ProjectComponent projectComponent) {
+			project = projectComponent.getJavaProject().getElementName();
+		}
+		return start(phase, project, component.getSymbolicName());
+	}
+
+	void record(Key key, long items, long nanos) {
+		Accumulator accumulator = fMetrics.computeIfAbsent(key, k -> new Accumulator());
+		accumulator.invocations.increment();
+		accumulator.items.add(items);
+		accumulator.nanos.add(nanos);
+	}
+
+	/**
+	 * Returns the recorded metrics sorted by project, component and phase
+	 *
+	 * @return a snapshot of the recorded metrics, never <code>null</code>
+	 */
+	public List<Metric> getMetrics() {
+		List<Metric> metrics = new ArrayList<>(fMetrics.size());
+		fMetrics.forEach((key, value) -> metrics.add(new Metric(key.phase(), key.project(), key.component(), value.invocations.sum(), value.items.sum(), value.nanos.sum())));
+		Comparator<String> names = Comparator.nullsFirst(Comparator.naturalOrder());
+		metrics.sort(Comparator.comparing(Metric::project, names).thenComparing(Metric::component, names).thenComparing(Metric::phase));
+		return metrics;
+	}
+
+	/**
+	 * Returns the recorded metrics of the given phase summed up over all
+	 * projects and components
+	 *
+	 * @param phase the phase
+	 * @return the total of the phase
+	 */
+	public Metric getTotal(Phase phase) {
+		long invocations = 0;
+		long items = 0;
+		long nanos = 0;
+		for (Metric metric : getMetrics()) {
+			if (metric.phase() == phase) {
+				invocations += metric.invocations();
+				items += metric.items();
+				nanos += metric.elapsedNanos();
+			}
+		}
+		return new Metric(phase, null, null, invocations, items, nanos);
+	}
+
+	/**
+	 * Removes all recorded metrics
+	 */
+	public void reset() {
+		fMetrics.clear();
+	}
+
+	/**
+	 * Prints the totals of each phase followed by the recorded metrics per
+	 * project and component
+	 *
+	 * @param out the stream to print to
+	 */
+	public void print(PrintStream out) {
+		out.println("API analysis metrics:"); //$NON-NLS-1$
+		for (Phase phase : Phase.values()) {
+			Metric total = getTotal(phase);
+			if (total.invocations() > 0) {
+				out.println(String.format("  %-22s %8d ms %10d items", phase.getLabel(), total.elapsedMillis(), total.items())); //$NON-NLS-1$
+			}
+		}
+		for (Metric metric : getMetrics()) {
+			out.println(String.format("  %-22s %8d ms %10d items  %s %s", metric.phase().getLabel(), metric.elapsedMillis(), metric.items(), //$NON-NLS-1$
+					Objects.toString(metric.project(), "-"), Objects.toString(metric.component(), "-"))); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private static boolean isJfrAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, AnalysisMetrics.class.getClassLoader()); //$NON-NLS-1$
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+}
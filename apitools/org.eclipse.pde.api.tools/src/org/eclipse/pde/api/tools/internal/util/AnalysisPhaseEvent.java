@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one measurement of an API analysis phase, see
+ * {@link AnalysisMetrics}. Only loaded if the <code>jdk.jfr</code> module is
+ * available.
+ *
+ * @since 1.3.500
+ */
+@Name("org.eclipse.pde.api.tools.AnalysisPhase")
+@Label("API Analysis Phase")
+@Category({ "Eclipse", "API Tools" })
+@Description("Time spent in a phase of API analysis")
+final class AnalysisPhaseEvent extends Event {
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Project")
+	String project;
+
+	@Label("Component")
+	String component;
+
+	@Label("Items")
+	long items;
+
+	private static final EventType TYPE = EventType.getEventType(AnalysisPhaseEvent.class);
+
+	/**
+	 * @return whether a running recording enables this event, without
+	 *         allocating an event
+	 */
+	static boolean isTypeEnabled() {
+		return TYPE.isEnabled();
+	}
+
+	/**
+	 * @return a started event or <code>null</code> if the event is not
+	 *         recorded
+	 */
+	static Object begin() {
+		AnalysisPhaseEvent event = new AnalysisPhaseEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends and commits the given event returned by {@link #begin()}
+	 */
+	static void commit(Object started, String phase, String project, String component, long items) {
+		AnalysisPhaseEvent event = (AnalysisPhaseEvent) started;
+		event.end();
+		if (event.shouldCommit()) {
+			event.phase = phase;
+			event.project = project;
+			event.component = component;
+			event.items = items;
+			event.commit();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2013 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,7 @@ import org.eclipse.pde.api.tools.internal.provisional.search.ApiSearchEngine;
 import org.eclipse.pde.api.tools.internal.provisional.search.IApiSearchReporter;
 import org.eclipse.pde.api.tools.internal.provisional.search.IApiSearchRequestor;
 import org.eclipse.pde.api.tools.internal.search.ApiDescriptionModifier;
+import org.eclipse.pde.api.tools.internal.search.BinarySearchReporter;
 import org.eclipse.pde.api.tools.internal.search.SkippedComponent;
 import org.eclipse.pde.api.tools.internal.search.UseMetadata;
 import org.eclipse.pde.api.tools.internal.search.UseSearchRequestor;
@@ -118,6 +119,16 @@ public final class ApiUseTask extends CommonUtilsTask {
 	 */
 	private String filters = null;
 
+	/**
+	 * The number of components to search at the same time
+	 */
+	private int threads = 1;
+
+	/**
+	 * If the references should be written as a binary use scan
+	 */
+	private boolean binary = false;
+
 	/**
 	 * Set the location of the current product you want to search.
 	 *
@@ -298,7 +309,7 @@ public final class ApiUseTask extends CommonUtilsTask {
 		cleanReportLocation();
 		UseMetadata data = new UseMetadata(getSearchFlags(), this.scopepattern, this.referencepattern, this.currentBaselineLocation, this.reportLocation, this.apiPatterns, this.internalPatterns, this.archivePatterns, DateFormat.getDateTimeInstance().format(Calendar.getInstance().getTime()), getDescription());
 		IApiBaseline baseline = getBaseline(CURRENT_BASELINE_NAME, this.currentBaselineLocation);
-		IApiSearchReporter reporter = new XmlSearchReporter(this.reportLocation, this.debug);
+		IApiSearchReporter reporter = this.binary ? new BinarySearchReporter(this.reportLocation, this.debug) : new XmlSearchReporter(this.reportLocation, this.debug);
 
 		try {
 			Set<String> ids = new HashSet<>();
@@ -322,7 +333,7 @@ public final class ApiUseTask extends CommonUtilsTask {
 			}
 
 			ApiPlugin.DEBUG_SEARCH_ENGINE = this.debug;
-			engine.search(baseline, requestor, reporter, null);
+			engine.search(baseline, requestor, reporter, this.threads, null);
 		} catch (CoreException ce) {
 			throw new BuildException(Messages.ApiUseTask_search_engine_problem, ce);
 		} finally {
@@ -626,4 +637,39 @@ public final class ApiUseTask extends CommonUtilsTask {
 	public void setFilters(String filters) {
 		this.filters = filters;
 	}
+
+	/**
+	 * Set the number of components to search at the same time.
+	 *
+	 * <p>
+	 * The default value is <code>1</code>, which searches one component after
+	 * the other. The generated reports are the same regardless of the value.
+	 * </p>
+	 *
+	 * @param threads the number of components to search at the same time
+	 */
+	public void setThreads(String threads) {
+		try {
+			this.threads = Math.max(1, Integer.parseInt(threads));
+		} catch (NumberFormatException nfe) {
+			throw new BuildException(NLS.bind(Messages.ApiUseTask_invalid_thread_count, threads));
+		}
+	}
+
+	/**
+	 * Sets if the references should be written as a compact binary use scan
+	 * with an index instead of XML files. Report conversion and the API use
+	 * scan preferences read both formats.
+	 * <p>
+	 * The possible values are: <code>true</code>, <code>false</code>
+	 * </p>
+	 * <p>
+	 * Default is <code>false</code>.
+	 * </p>
+	 *
+	 * @param binary the given value
+	 */
+	public void setBinary(String binary) {
+		this.binary = Boolean.toString(true).equals(binary);
+	}
 }
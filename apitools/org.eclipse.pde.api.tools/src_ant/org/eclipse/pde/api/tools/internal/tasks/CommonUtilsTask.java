@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -93,17 +93,22 @@ public abstract class CommonUtilsTask extends Task {
 	}
 
 	/**
-	 * Deletes an {@link IApiBaseline} from the given folder
+	 * Deletes an {@link IApiBaseline} from the given folder. Folders from the
+	 * {@link ExtractionCache} are given back to the cache instead.
 	 */
 	protected void deleteBaseline(String referenceLocation, File folder) {
 		if (Util.isArchive(referenceLocation)) {
-			Util.delete(folder.getParentFile());
+			ExtractionCache cache = ExtractionCache.getDefault();
+			if (cache == null || !cache.release(folder.getParentFile())) {
+				Util.delete(folder.getParentFile());
+			}
 		}
 	}
 
 	/**
 	 * Extract extracts the SDK from the given location to the given directory
-	 * name
+	 * name. If the {@link ExtractionCache} is enabled, the SDK is extracted
+	 * into the cache once per archive content instead.
 	 *
 	 * @return the {@link File} handle to the extracted SDK
 	 */
@@ -114,6 +119,10 @@ public abstract class CommonUtilsTask extends Task {
 			throw new BuildException(NLS.bind(Messages.fileDoesnotExist, location));
 		}
 		if (Util.isArchive(location)) {
+			ExtractionCache cache = ExtractionCache.getDefault();
+			if (cache != null) {
+				return new File(cache.acquire(location), ECLIPSE_FOLDER_NAME);
+			}
 			File tempDir = new File(System.getProperty("java.io.tmpdir")); //$NON-NLS-1$
 			File installDir = new File(tempDir, installDirName);
 			if (installDir.exists()) {
@@ -122,28 +131,36 @@ public abstract class CommonUtilsTask extends Task {
 					throw new BuildException(NLS.bind(Messages.couldNotDelete, installDir.getAbsolutePath()));
 				}
 			}
-			if (!installDir.mkdirs()) {
-				throw new BuildException(NLS.bind(Messages.couldNotCreate, installDir.getAbsolutePath()));
-			}
-			try {
-				if (Util.isZipJarFile(location)) {
-					Util.unzip(location, installDir.getAbsolutePath());
-				} else if (Util.isTGZFile(location)) {
-					Util.guntar(location, installDir.getAbsolutePath());
-				}
-			} catch (IOException e) {
-				throw new BuildException(NLS.bind(Messages.couldNotUnzip, location, installDir.getAbsolutePath()));
-			} catch (TarException e) {
-				throw new BuildException(NLS.bind(Messages.couldNotUntar, location, installDir.getAbsolutePath()));
-			} catch (CoreException e) {
-				throw new BuildException(e.getMessage());
-			}
+			extract(location, installDir);
 			return new File(installDir, ECLIPSE_FOLDER_NAME);
 		} else {
 			return locationFile;
 		}
 	}
 
+	/**
+	 * Extracts the archive at the given location into the given directory,
+	 * which is created
+	 */
+	static void extract(String location, File installDir) {
+		if (!installDir.mkdirs()) {
+			throw new BuildException(NLS.bind(Messages.couldNotCreate, installDir.getAbsolutePath()));
+		}
+		try {
+			if (Util.isZipJarFile(location)) {
+				Util.unzip(location, installDir.getAbsolutePath());
+			} else if (Util.isTGZFile(location)) {
+				Util.guntar(location, installDir.getAbsolutePath());
+			}
+		} catch (IOException e) {
+			throw new BuildException(NLS.bind(Messages.couldNotUnzip, location, installDir.getAbsolutePath()));
+		} catch (TarException e) {
+			throw new BuildException(NLS.bind(Messages.couldNotUntar, location, installDir.getAbsolutePath()));
+		} catch (CoreException e) {
+			throw new BuildException(e.getMessage());
+		}
+	}
+
 	/**
 	 * Initializes the include/exclude list from the given file location, and
 	 * returns a {@link Set} of project names that should be include/excluded.
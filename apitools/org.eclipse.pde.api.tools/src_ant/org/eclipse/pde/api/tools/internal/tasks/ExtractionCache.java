@@ -0,0 +1,367 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.tools.ant.BuildException;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * A cache of extracted SDK archives shared between Ant task runs and between
+ * concurrent builds on the same machine.
+ * <p>
+ * Archives are keyed by the SHA-256 hash of their content and extracted into a
+ * folder named after the hash below the cache root. A file lock next to each
+ * folder guards it: it is held shared while a task uses the extracted folder
+ * and exclusively while the archive is extracted or the folder is deleted. A
+ * marker file is written once the extraction completed; its modification time
+ * records the last use. A folder without a marker, for example left behind by
+ * an interrupted extraction, is extracted again. When more than the maximum
+ * number of archives are extracted, the least recently used folders that are
+ * not in use are deleted together with their lock files.
+ * </p>
+ * <p>
+ * The cache is only used if the {@link #CACHE_LOCATION_PROPERTY} system
+ * property is set.
+ * </p>
+ *
+ * @since 1.3.500
+ */
+public final class ExtractionCache {
+
+	/**
+	 * System property for the location of the cache root folder. If it is not
+	 * set, archives are extracted into the temporary folder on every run.
+	 */
+	public static final String CACHE_LOCATION_PROPERTY = "org.eclipse.pde.api.tools.extractionCache"; //$NON-NLS-1$
+
+	/**
+	 * System property for the maximum number of extracted archives to keep,
+	 * defaults to {@value #DEFAULT_MAX_ENTRIES}
+	 */
+	public static final String MAX_ENTRIES_PROPERTY = "org.eclipse.pde.api.tools.extractionCache.maxEntries"; //$NON-NLS-1$
+
+	static final int DEFAULT_MAX_ENTRIES = 6;
+
+	static final String MARKER_FILE = ".complete"; //$NON-NLS-1$
+	static final String LOCK_SUFFIX = ".lock"; //$NON-NLS-1$
+
+	/**
+	 * A folder in use by this process. Extractions and deletions of the folder
+	 * are done while holding the monitor of its entry, so different archives
+	 * are extracted concurrently.
+	 */
+	private static final class Entry {
+		/**
+		 * The number of tasks using or acquiring the folder, guarded by
+		 * {@link ExtractionCache#IN_USE}
+		 */
+		int references = 1;
+		/**
+		 * The shared lock on the folder once it is extracted, guarded by the
+		 * entry
+		 */
+		FileChannel channel;
+		FileLock lock;
+	}
+
+	/**
+	 * The entries in use by this process by folder. File locks are held by the
+	 * process, so tasks in the same VM share one lock per folder.
+	 */
+	private static final Map<Path, Entry> IN_USE = new HashMap<>();
+
+	private final Path fRoot;
+	private final int fMaxEntries;
+
+	/**
+	 * Constructor
+	 *
+	 * @param root the cache root folder
+	 * @param maxEntries the maximum number of extracted archives to keep
+	 */
+	ExtractionCache(Path root, int maxEntries) {
+		fRoot = root.toAbsolutePath().normalize();
+		fMaxEntries = Math.max(1, maxEntries);
+	}
+
+	/**
+	 * Returns the cache configured by the system properties or
+	 * <code>null</code> if caching is disabled
+	 *
+	 * @return the configured cache or <code>null</code>
+	 */
+	public static ExtractionCache getDefault() {
+		String location = System.getProperty(CACHE_LOCATION_PROPERTY);
+		if (location == null || location.isBlank()) {
+			return null;
+		}
+		return new ExtractionCache(Path.of(location), Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES).intValue());
+	}
+
+	/**
+	 * Returns the folder the given archive is extracted to, extracting it if
+	 * needed. The folder must be given back using {@link #release(File)} when
+	 * it is no longer used.
+	 *
+	 * @param location the path to the archive
+	 * @return the folder containing the extracted archive
+	 * @throws BuildException if the archive could not be extracted
+	 */
+	public File acquire(String location) {
+		try {
+			Files.createDirectories(fRoot);
+			Path folder = fRoot.resolve(hash(Path.of(location)));
+			Entry entry;
+			synchronized (IN_USE) {
+				entry = IN_USE.get(folder);
+				if (entry != null) {
+					entry.references++;
+				} else {
+					entry = new Entry();
+					IN_USE.put(folder, entry);
+				}
+			}
+			boolean locked = false;
+			try {
+				synchronized (entry) {
+					if (entry.lock == null) {
+						lock(entry, location, folder);
+					}
+				}
+				locked = true;
+			} finally {
+				if (!locked) {
+					unreference(folder, entry);
+				}
+			}
+			evict();
+			return folder.toFile();
+		} catch (IOException e) {
+			throw new BuildException(NLS.bind(Messages.extractionCacheError, fRoot, e.getMessage()), e);
+		}
+	}
+
+	/**
+	 * Gives back a folder returned by {@link #acquire(String)}.
+	 *
+	 * @param folder the extracted folder
+	 * @return <code>true</code> if the folder belongs to the cache,
+	 *         <code>false</code> otherwise
+	 */
+	public boolean release(File folder) {
+		Path path = folder.toPath().toAbsolutePath().normalize();
+		if (!fRoot.equals(path.getParent())) {
+			return false;
+		}
+		Entry entry;
+		synchronized (IN_USE) {
+			entry = IN_USE.get(path);
+		}
+		if (entry != null) {
+			unreference(path, entry);
+		}
+		return true;
+	}
+
+	/**
+	 * Drops a reference to the given entry, releasing its lock once it is no
+	 * longer used by this process
+	 */
+	private static void unreference(Path folder, Entry entry) {
+		synchronized (IN_USE) {
+			if (--entry.references > 0) {
+				return;
+			}
+			IN_USE.remove(folder);
+			// released before another task of this process can lock the
+			// folder again
+			synchronized (entry) {
+				if (entry.channel != null) {
+					try (FileChannel channel = entry.channel) {
+						entry.lock.release();
+					} catch (IOException e) {
+						// the lock is released when the channel is closed
+					}
+					entry.channel = null;
+					entry.lock = null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Takes a shared lock on the given folder, extracting the archive into it
+	 * first if it is not complete
+	 */
+	private static void lock(Entry entry, String location, Path folder) throws IOException {
+		Path lockFile = lockFile(folder);
+		Path marker = folder.resolve(MARKER_FILE);
+		while (true) {
+			FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			try {
+				FileLock shared = channel.lock(0, Long.MAX_VALUE, true);
+				if (!isRemoved(channel) && Files.exists(marker)) {
+					Files.setLastModifiedTime(marker, FileTime.fromMillis(System.currentTimeMillis()));
+					entry.channel = channel;
+					entry.lock = shared;
+					return;
+				}
+				// a shared lock cannot be upgraded, the folder is checked
+				// again once the exclusive lock is held
+				shared.release();
+				try (FileLock exclusive = channel.lock()) {
+					if (isRemoved(channel)) {
+						// left behind by a deletion that did not complete
+						channel.truncate(0);
+					} else if (!Files.exists(marker)) {
+						if (Files.exists(folder) && !Util.delete(folder.toFile())) {
+							throw new BuildException(NLS.bind(Messages.couldNotDelete, folder));
+						}
+						CommonUtilsTask.extract(location, folder.toFile());
+						Files.createFile(marker);
+					}
+				}
+			} catch (IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+			// the folder may be deleted before the shared lock is taken
+			// again, in which case the lock file is replaced
+			channel.close();
+		}
+	}
+
+	/**
+	 * Returns whether the lock file of the given channel was removed by a
+	 * deletion of its folder. Lock files are empty, a removed one is marked
+	 * by its content before it is deleted so that processes that opened it
+	 * before open the new one instead.
+	 */
+	private static boolean isRemoved(FileChannel channel) throws IOException {
+		return channel.size() > 0;
+	}
+
+	/**
+	 * Deletes the least recently used folders that are neither used by this
+	 * process nor locked by another one, keeping the maximum number of
+	 * entries.
+	 */
+	private void evict() throws IOException {
+		List<Path> folders = new ArrayList<>();
+		try (Stream<Path> children = Files.list(fRoot)) {
+			children.filter(p -> Files.exists(p.resolve(MARKER_FILE))).forEach(folders::add);
+		}
+		if (folders.size() <= fMaxEntries) {
+			return;
+		}
+		folders.sort(Comparator.comparing(ExtractionCache::lastUsed).reversed());
+		for (Path folder : folders.subList(fMaxEntries, folders.size())) {
+			// tasks of this process acquiring the folder wait for the deletion
+			Entry entry;
+			synchronized (IN_USE) {
+				if (IN_USE.containsKey(folder)) {
+					continue;
+				}
+				entry = new Entry();
+				IN_USE.put(folder, entry);
+			}
+			try {
+				synchronized (entry) {
+					delete(folder);
+				}
+			} finally {
+				unreference(folder, entry);
+			}
+		}
+	}
+
+	/**
+	 * Deletes the given folder and its lock file unless another process uses
+	 * it
+	 */
+	private static void delete(Path folder) throws IOException {
+		Path lockFile = lockFile(folder);
+		try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE); FileLock lock = channel.tryLock()) {
+			if (lock == null || isRemoved(channel)) {
+				return;
+			}
+			// delete the marker first so a partial delete is extracted again
+			Files.deleteIfExists(folder.resolve(MARKER_FILE));
+			if (!Util.delete(folder.toFile())) {
+				return;
+			}
+			channel.write(ByteBuffer.wrap(new byte[] { 1 }), 0);
+			try {
+				Files.delete(lockFile);
+			} catch (IOException e) {
+				// still open in another process on some platforms, keep it
+				channel.truncate(0);
+			}
+		}
+	}
+
+	private static FileTime lastUsed(Path folder) {
+		try {
+			return Files.getLastModifiedTime(folder.resolve(MARKER_FILE));
+		} catch (IOException e) {
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	private static Path lockFile(Path folder) {
+		return folder.resolveSibling(folder.getFileName() + LOCK_SUFFIX);
+	}
+
+	/**
+	 * Returns the SHA-256 hash of the content of the given file as a hex
+	 * string
+	 */
+	static String hash(Path file) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = Files.newInputStream(file)) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -83,6 +83,7 @@ public class Messages extends NLS {
 	public static String couldNotCreate;
 	public static String couldNotUnzip;
 	public static String couldNotUntar;
+	public static String extractionCacheError;
 	public static String reportLocationHasToBeAFile;
 
 	public static String ApiMigrationTask_missing_scan_location;
@@ -91,6 +92,7 @@ public class Messages extends NLS {
 	public static String ApiMigrationTask_scan_locatoin_same_as_report_location;
 
 	public static String ApiUseReportConversionTask_conversion_complete;
+	public static String ApiUseTask_invalid_thread_count;
 	public static String ApiUseTask_missing_baseline_argument;
 	public static String ApiUseTask_missing_report_location;
 	public static String ApiUseTask_search_engine_problem;
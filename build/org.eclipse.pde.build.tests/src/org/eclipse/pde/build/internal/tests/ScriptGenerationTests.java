@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which accompanies this distribution,
@@ -27,6 +27,7 @@ import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URL;
+import java.nio.file.Files;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -906,6 +907,239 @@ public class ScriptGenerationTests extends PDETestCase {
 		assertEquals("plugins/F", tasks[0].getRuntimeConfigurableWrapper().getAttributeMap().get("dir"));
 	}
 
+	@Test
+	public void testParallelLevels() throws Exception {
+		IFolder buildFolder = newTest("parallelLevels");
+		IFolder a = Utils.createFolder(buildFolder, "plugins/A");
+		IFolder b = Utils.createFolder(buildFolder, "plugins/B");
+		IFolder c = Utils.createFolder(buildFolder, "plugins/C");
+		IFolder x = Utils.createFolder(buildFolder, "plugins/X");
+		IFolder y = Utils.createFolder(buildFolder, "plugins/Y");
+
+		Utils.generateFeature(buildFolder, "feature", null, new String[] { "A", "B", "C", "X", "Y" });
+
+		Utils.generateBundle(a, "A");
+		Utils.generateBundle(x, "X");
+
+		Attributes attributes = new Attributes();
+		Attributes.Name requireAttribute = new Attributes.Name("Require-Bundle");
+		attributes.put(requireAttribute, "A");
+		Utils.generateBundleManifest(b, "B", "1.0.0", attributes);
+		Utils.generatePluginBuildProperties(b, null);
+
+		attributes.put(requireAttribute, "B");
+		Utils.generateBundleManifest(c, "C", "1.0.0", attributes);
+		Utils.generatePluginBuildProperties(c, null);
+
+		attributes.put(requireAttribute, "X");
+		Utils.generateBundleManifest(y, "Y", "1.0.0", attributes);
+		Utils.generatePluginBuildProperties(y, null);
+
+		Properties properties = BuildConfiguration.getScriptGenerationProperties(buildFolder, "feature", "feature");
+		properties.put("flattenDependencies", "true");
+		properties.put("parallelCompilation", "true");
+		properties.put("parallelScheduling", "levels");
+		generateScripts(buildFolder, properties);
+
+		IFile buildScript = buildFolder.getFile("compile.feature.xml");
+		Project antProject = assertValidAntScript(buildScript);
+		Target main = antProject.getTargets().get("main");
+		assertNotNull(main);
+		Object[] children = AntUtils.getChildrenByName(main, "parallel");
+		assertEquals(3, children.length);
+
+		// A heads the longest chain and is started first
+		Task[] tasks = AntUtils.getParallelTasks((Parallel) children[0]);
+		assertEquals(2, tasks.length);
+		assertEquals("plugins/A", tasks[0].getRuntimeConfigurableWrapper().getAttributeMap().get("dir"));
+		assertEquals("plugins/X", tasks[1].getRuntimeConfigurableWrapper().getAttributeMap().get("dir"));
+
+		tasks = AntUtils.getParallelTasks((Parallel) children[1]);
+		assertEquals(2, tasks.length);
+		assertEquals("plugins/B", tasks[0].getRuntimeConfigurableWrapper().getAttributeMap().get("dir"));
+		assertEquals("plugins/Y", tasks[1].getRuntimeConfigurableWrapper().getAttributeMap().get("dir"));
+
+		tasks = AntUtils.getParallelTasks((Parallel) children[2]);
+		assertEquals(1, tasks.length);
+		assertEquals("plugins/C", tasks[0].getRuntimeConfigurableWrapper().getAttributeMap().get("dir"));
+	}
+
+	@Test
+	public void testBuildCache() throws Exception {
+		IFolder buildFolder = newTest("buildCache");
+		IFolder a = Utils.createFolder(buildFolder, "plugins/A");
+		Utils.generateFeature(buildFolder, "feature", null, new String[] { "A" });
+		Utils.generateBundle(a, "A");
+
+		Properties properties = BuildConfiguration.getScriptGenerationProperties(buildFolder, "feature", "feature");
+		properties.put("buildCacheLocation", buildFolder.getFolder("cache").getLocation().toOSString());
+		generateScripts(buildFolder, properties);
+
+		// the entry is restored before its compile target is called and stored afterwards
+		assertLogContainsLines(a.getFile("build.xml"), new String[] { "<eclipse.buildCache action=\"restore\"",
+				"<antcall target=\"@dot\"", "<eclipse.buildCache action=\"store\"" });
+		// the key does not depend on the qualifier but on the compiler arguments file
+		for (String attribute : new String[] { "bundle=\"A\" property=\"@dot\"", "argumentFiles=\"javaCompiler...args\"",
+				"maxSize=\"${buildCacheMaxSize}\"" }) {
+			assertLogContainsLines(a.getFile("build.xml"), new String[] { attribute });
+		}
+	}
+
+	@Test
+	public void testBuildCacheTask() throws Exception {
+		IFolder buildFolder = newTest("buildCacheTask");
+		IFolder a = Utils.createFolder(buildFolder, "plugins/A");
+		Utils.writeBuffer(a.getFile("src/A.java"), new StringBuffer("class A {\n}\n"));
+		Utils.writeBuffer(buildFolder.getFile("libs/lib.jar"), new StringBuffer("lib"));
+
+		StringBuffer buffer = new StringBuffer();
+		buffer.append("<project name=\"A\" default=\"main\" basedir=\".\">                          \n");
+		buffer.append("   <target name=\"restore\">                                                 \n");
+		buffer.append("      <eclipse.buildCache action=\"restore\" location=\"${cache}\" bundle=\"A\" \n");
+		buffer.append("            property=\"@dot\" output=\"@dot\" sources=\"src\" options=\"${options}\">\n");
+		buffer.append("         <classpath path=\"${classpath}\" />                                  \n");
+		buffer.append("      </eclipse.buildCache>                                                     \n");
+		buffer.append("   </target>                                                                   \n");
+		buffer.append("   <target name=\"@dot\" depends=\"restore\" unless=\"@dot\">                   \n");
+		buffer.append("      <copy todir=\"@dot\"><fileset dir=\"src\" /></copy>                     \n");
+		buffer.append("      <echo file=\"compiled.txt\" append=\"true\" message=\"A\" />                \n");
+		buffer.append("   </target>                                                                   \n");
+		buffer.append("   <target name=\"main\" depends=\"@dot\">                                       \n");
+		buffer.append("      <eclipse.buildCache action=\"store\" location=\"${cache}\" bundle=\"A\"   \n");
+		buffer.append("            property=\"@dot\" output=\"@dot\" />                                \n");
+		buffer.append("   </target>                                                                   \n");
+		buffer.append("</project>                                                                     \n");
+		IFile buildXML = a.getFile("build.xml");
+		Utils.writeBuffer(buildXML, buffer);
+
+		String script = buildXML.getLocation().toOSString();
+		String antHome = buildFolder.getLocation().toOSString();
+		File cache = buildFolder.getFolder("cache").getLocation().toFile();
+		File compiled = a.getFile("compiled.txt").getLocation().toFile();
+		File restored = a.getFile("@dot/A.java").getLocation().toFile();
+		Properties properties = new Properties();
+		properties.put("cache", cache.getAbsolutePath());
+		properties.put("options", "-source 17");
+		properties.put("classpath", buildFolder.getFile("libs/lib.jar").getLocation().toOSString());
+
+		// a miss compiles the entry and stores its output
+		runAntScript(script, new String[] { "main" }, antHome, properties);
+		assertEquals("A", Files.readString(compiled.toPath()));
+		assertEquals(1, cache.listFiles(File::isDirectory).length);
+
+		// a hit restores the output without compiling
+		assertTrue(restored.delete());
+		runAntScript(script, new String[] { "main" }, antHome, properties);
+		assertEquals("A", Files.readString(compiled.toPath()));
+		assertTrue(restored.exists());
+
+		// the location of the classpath entries is not part of the key
+		Utils.writeBuffer(buildFolder.getFile("other/lib.jar"), new StringBuffer("lib"));
+		properties.put("classpath", buildFolder.getFile("other/lib.jar").getLocation().toOSString());
+		runAntScript(script, new String[] { "main" }, antHome, properties);
+		assertEquals("A", Files.readString(compiled.toPath()));
+
+		// a changed source, classpath entry or compiler option is a miss
+		Utils.writeBuffer(a.getFile("src/A.java"), new StringBuffer("class A {\n\tint i;\n}\n"));
+		runAntScript(script, new String[] { "main" }, antHome, properties);
+		assertEquals("AA", Files.readString(compiled.toPath()));
+		Utils.writeBuffer(buildFolder.getFile("other/lib.jar"), new StringBuffer("changed lib"));
+		runAntScript(script, new String[] { "main" }, antHome, properties);
+		assertEquals("AAA", Files.readString(compiled.toPath()));
+		properties.put("options", "-source 21");
+		runAntScript(script, new String[] { "main" }, antHome, properties);
+		assertEquals("AAAA", Files.readString(compiled.toPath()));
+		assertEquals(4, cache.listFiles(File::isDirectory).length);
+	}
+
+	@Test
+	public void testManifestCache() throws Exception {
+		IFolder buildFolder = newTest("manifestCache");
+		IFolder a = Utils.createFolder(buildFolder, "plugins/A");
+		Utils.generateFeature(buildFolder, "feature", null, new String[] { "A" });
+		Utils.generateBundle(a, "A");
+
+		Properties properties = BuildConfiguration.getScriptGenerationProperties(buildFolder, "feature", "feature");
+		properties.put("manifestCacheLocation", buildFolder.getFolder("cache").getLocation().toOSString());
+		generateScripts(buildFolder, properties);
+		File cache = buildFolder.getFile("cache/manifests.cache").getLocation().toFile();
+		assertTrue(cache.exists());
+		String script = Files.readString(a.getFile("build.xml").getLocation().toFile().toPath());
+
+		// the second generation reads the manifests from the cache
+		generateScripts(buildFolder, properties);
+		assertEquals(script, Files.readString(a.getFile("build.xml").getLocation().toFile().toPath()));
+
+		// a changed manifest is read again
+		Utils.generateBundleManifest(a, "A", "2.0.0", null);
+		a.getFile("META-INF/MANIFEST.MF").getLocation().toFile().setLastModified(cache.lastModified() + 2000);
+		generateScripts(buildFolder, properties);
+		assertLogContainsLine(a.getFile("build.xml"), "<property name=\"bundleVersion\" value=\"2.0.0\"/>");
+	}
+
+	@Test
+	public void testManifestCacheSharedByBuilds() throws Exception {
+		IFolder first = newTest("manifestCacheFirst");
+		IFolder a = Utils.createFolder(first, "plugins/A");
+		Utils.generateFeature(first, "feature", null, new String[] { "A" });
+		Utils.generateBundle(a, "A");
+		IFolder second = newTest("manifestCacheSecond");
+		IFolder b = Utils.createFolder(second, "plugins/B");
+		Utils.generateFeature(second, "feature", null, new String[] { "B" });
+		Utils.generateBundle(b, "B");
+		String cache = first.getFolder("cache").getLocation().toOSString();
+
+		Properties firstProperties = BuildConfiguration.getScriptGenerationProperties(first, "feature", "feature");
+		firstProperties.put("manifestCacheLocation", cache);
+		firstProperties.put("scriptGenerationThreadCount", "4");
+		generateScripts(first, firstProperties);
+		Properties secondProperties = BuildConfiguration.getScriptGenerationProperties(second, "feature", "feature");
+		secondProperties.put("manifestCacheLocation", cache);
+		generateScripts(second, secondProperties);
+
+		// the build of the other target kept the entry of A: a manifest with the
+		// same size and time stamp is taken from the cache
+		File manifest = a.getFile("META-INF/MANIFEST.MF").getLocation().toFile();
+		long modified = manifest.lastModified();
+		Utils.generateBundleManifest(a, "A", "1.0.1", null);
+		manifest.setLastModified(modified);
+		generateScripts(first, firstProperties);
+		assertLogContainsLine(a.getFile("build.xml"), "<property name=\"bundleVersion\" value=\"1.0.0\"/>");
+	}
+
+	@Test
+	public void testConcurrentScriptGeneration() throws Exception {
+		IFolder buildFolder = newTest("concurrentScriptGeneration");
+		String[] bundles = new String[] { "A", "B", "C", "X", "Y" };
+		Utils.generateFeature(buildFolder, "feature", null, bundles);
+
+		Attributes attributes = new Attributes();
+		Attributes.Name requireAttribute = new Attributes.Name("Require-Bundle");
+		for (int i = 0; i < bundles.length; i++) {
+			IFolder bundle = Utils.createFolder(buildFolder, "plugins/" + bundles[i]);
+			if (i == 0 || i == 3) {
+				Utils.generateBundle(bundle, bundles[i]);
+			} else {
+				attributes.put(requireAttribute, bundles[i - 1]);
+				Utils.generateBundleManifest(bundle, bundles[i], "1.0.0", attributes);
+				Utils.generatePluginBuildProperties(bundle, null);
+			}
+		}
+
+		Properties properties = BuildConfiguration.getScriptGenerationProperties(buildFolder, "feature", "feature");
+		generateScripts(buildFolder, properties);
+		Map<String, String> serial = new HashMap<>();
+		for (String bundle : bundles) {
+			serial.put(bundle, Files.readString(buildFolder.getFile("plugins/" + bundle + "/build.xml").getLocation().toFile().toPath()));
+		}
+
+		properties.put("scriptGenerationThreadCount", "4");
+		generateScripts(buildFolder, properties);
+		for (String bundle : bundles) {
+			assertEquals(bundle, serial.get(bundle), Files.readString(buildFolder.getFile("plugins/" + bundle + "/build.xml").getLocation().toFile().toPath()));
+		}
+	}
+
 	public static class TestQualifierDirector extends BuildDirector {
 		public TestQualifierDirector() {
 			super();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -82,6 +82,8 @@ public class BuildScriptGenerator extends AbstractScriptGenerator {
 	protected boolean workspaceBinaries = false;
 	protected int threadCount = -1;
 	protected int threadsPerProcessor = -1;
+	protected String parallelScheduling = null;
+	protected int scriptGenerationThreads = 1;
 	protected String[] eeSources = null;
 
 	protected String product;
@@ -254,6 +256,7 @@ public class BuildScriptGenerator extends AbstractScriptGenerator {
 			generator.setContextMetadata(contextMetadata);
 			generator.setContextArtifacts(contextArtifacts);
 			generator.setGenerateSourceReferences(sourceReferences);
+			generator.setScriptGenerationThreads(scriptGenerationThreads);
 		}
 
 		if (generator != null) {
@@ -458,6 +461,7 @@ public class BuildScriptGenerator extends AbstractScriptGenerator {
 		generator.setParallel(parallel);
 		generator.setThreadCount(threadCount);
 		generator.setThreadsPerProcessor(threadsPerProcessor);
+		generator.setParallelScheduling(parallelScheduling);
 		generator.generate();
 	}
 
@@ -661,6 +665,14 @@ public class BuildScriptGenerator extends AbstractScriptGenerator {
 		this.threadsPerProcessor = threadsPerProcessor;
 	}
 
+	public void setParallelScheduling(String parallelScheduling) {
+		this.parallelScheduling = parallelScheduling;
+	}
+
+	public void setScriptGenerationThreads(int threads) {
+		this.scriptGenerationThreads = threads;
+	}
+
 	public void setEESources(String[] eeSources) {
 		this.eeSources = eeSources;
 	}
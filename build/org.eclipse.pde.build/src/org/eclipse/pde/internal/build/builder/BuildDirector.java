@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,9 @@
 package org.eclipse.pde.internal.build.builder;
 
 import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -22,6 +25,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -29,6 +36,7 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.equinox.p2.publisher.eclipse.Feature;
 import org.eclipse.equinox.p2.publisher.eclipse.FeatureEntry;
 import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.ExportPackageDescription;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.internal.build.AbstractScriptGenerator;
 import org.eclipse.pde.internal.build.AssemblyInformation;
@@ -75,6 +83,8 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 	protected boolean generateJnlp = false;
 	protected boolean workspaceBinaries = false;
 	private boolean sourceReferences = false;
+	/** The number of threads generating the scripts of bundles, 1 generates them one at a time */
+	private int scriptGenerationThreads = 1;
 
 	public static boolean p2Gathering = false;
 
@@ -100,7 +110,7 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 
 	private final Map<String, String> extractedLocations = new HashMap<>();
 
-	public String getExtractedRoot(ClasspathElement element) {
+	public synchronized String getExtractedRoot(ClasspathElement element) {
 		if (element.getSubPath() == null)
 			return element.getPath();
 
@@ -520,6 +530,8 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 		if (binaryFeature == false || models.isEmpty())
 			return;
 
+		boolean concurrent = scriptGenerationThreads > 1;
+		List<ModelBuildScriptGenerator> generators = new ArrayList<>(models.size());
 		Set<BundleDescription> generatedScripts = new HashSet<>(models.size());
 		for (BundleDescription model : models) {
 			if (generatedScripts.contains(model))
@@ -532,7 +544,7 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 			@SuppressWarnings("rawtypes")
 			Set matchingEntries = (Set) ((Properties) model.getUserObject()).get(PLUGIN_ENTRY);
 			if (matchingEntries == null || matchingEntries.isEmpty())
-				return;
+				break;
 
 			@SuppressWarnings("rawtypes")
 			Iterator entryIter = matchingEntries.iterator();
@@ -543,7 +555,8 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 
 			ModelBuildScriptGenerator generator = new ModelBuildScriptGenerator();
 			generator.setBuildSiteFactory(siteFactory);
-			generator.setCompiledElements(getCompiledElements());
+			//A concurrent generator sees the compiled elements as they are at its turn in the serial order
+			generator.setCompiledElements(concurrent ? new HashSet<>(getCompiledElements()) : getCompiledElements());
 			generator.setIgnoreMissingPropertiesFile(isIgnoreMissingPropertiesFile());
 			generator.setModel(model); // setModel has to be called before configurePersistentProperties because it reads the model's properties
 			generator.setFeatureGenerator(this);
@@ -553,9 +566,145 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 			generator.setSignJars(signJars);
 			generator.setAssociatedEntry(correspondingEntry);
 			generator.setGenerateSourceReferences(sourceReferences);
-			generator.generate();
+			if (concurrent) {
+				getCompiledElements().addAll(generator.getCompiledElements());
+				generators.add(generator);
+			} else {
+				generator.generate();
+			}
+		}
+
+		if (generators.size() > 0)
+			generateConcurrently(generators);
+	}
+
+	/**
+	 * Runs the given generators on a pool of threads. Each generator only writes
+	 * the script and the properties of its own bundle, so the scripts are the same
+	 * as when generated one at a time. The exception is the names of the folders
+	 * nested jars are extracted to, see {@link #getExtractedRoot(ClasspathElement)},
+	 * which depend on the order they are requested in: the generators that may
+	 * request them run one after the other in the serial order.
+	 */
+	private void generateConcurrently(List<ModelBuildScriptGenerator> generators) throws CoreException {
+		//Initialize the lazily created shared state before starting the workers
+		getSite(false).getRegistry().getProfileManager();
+		getExecutionEnvironmentMappings();
+		MissingProperties.getInstance();
+
+		Map<BundleDescription, Boolean> nestedJars = new HashMap<>();
+		List<Future<?>> results = new ArrayList<>(generators.size());
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(scriptGenerationThreads, generators.size()), runnable -> {
+			Thread thread = new Thread(runnable, "PDE Build script generation"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			Future<?> previous = null;
+			for (ModelBuildScriptGenerator generator : generators) {
+				if (mayExtractNestedJars(generator, nestedJars)) {
+					//The executor runs tasks in submission order, so the previous task is already running or done when this one starts
+					Future<?> predecessor = previous;
+					previous = executor.submit(() -> {
+						if (predecessor != null)
+							awaitQuietly(predecessor);
+						generator.generate();
+						return null;
+					});
+					results.add(previous);
+				} else {
+					results.add(executor.submit(() -> {
+						generator.generate();
+						return null;
+					}));
+				}
+			}
+
+			//Report the failure of the first bundle in the serial order
+			for (Future<?> result : results) {
+				try {
+					result.get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof CoreException coreException)
+						throw coreException;
+					if (cause instanceof RuntimeException runtimeException)
+						throw runtimeException;
+					if (cause instanceof Error error)
+						throw error;
+					throw new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, cause.getMessage(), cause));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new CoreException(Status.CANCEL_STATUS);
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void awaitQuietly(Future<?> future) {
+		try {
+			future.get();
+		} catch (ExecutionException e) {
+			//reported by generateConcurrently
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 		}
+	}
 
+	/**
+	 * Returns whether the classpath of the generator's bundle may contain a jar
+	 * nested in a jarred bundle. This is the case if the bundle, one of its
+	 * prerequisites or one of their fragments is a jar with jars on its
+	 * Bundle-ClassPath, or if the bundle adds extra classpath entries.
+	 */
+	private boolean mayExtractNestedJars(ModelBuildScriptGenerator generator, Map<BundleDescription, Boolean> nestedJars) throws CoreException {
+		Properties properties = generator.getBuildProperties();
+		for (Object key : properties.keySet()) {
+			String name = (String) key;
+			if (name.equals(PROPERTY_JAR_EXTRA_CLASSPATH) || name.startsWith(PROPERTY_EXTRAPATH_PREFIX))
+				return true;
+		}
+
+		Set<BundleDescription> visited = new HashSet<>();
+		Deque<BundleDescription> toVisit = new ArrayDeque<>();
+		toVisit.add(generator.getModel());
+		while (!toVisit.isEmpty()) {
+			BundleDescription bundle = toVisit.removeFirst();
+			if (!visited.add(bundle))
+				continue;
+			if (nestedJars.computeIfAbsent(bundle, this::hasNestedJars).booleanValue())
+				return true;
+			for (BundleDescription required : bundle.getResolvedRequires())
+				toVisit.add(required);
+			for (ExportPackageDescription imported : bundle.getResolvedImports())
+				if (imported.getExporter() != null)
+					toVisit.add(imported.getExporter());
+			if (bundle.getHost() != null && bundle.getHost().getSupplier() instanceof BundleDescription host)
+				toVisit.add(host);
+			for (BundleDescription fragment : bundle.getFragments())
+				toVisit.add(fragment);
+		}
+		return false;
+	}
+
+	private Boolean hasNestedJars(BundleDescription bundle) {
+		String location = getLocation(bundle);
+		if (location == null || !location.toLowerCase().endsWith(".jar")) //$NON-NLS-1$
+			return Boolean.FALSE;
+		try {
+			String[] classpath = getSite(false).getRegistry().getExtraData().get(Long.valueOf(bundle.getBundleId()));
+			if (classpath != null) {
+				for (String entry : classpath) {
+					if (entry.toLowerCase().endsWith(".jar")) //$NON-NLS-1$
+						return Boolean.TRUE;
+				}
+			}
+		} catch (CoreException e) {
+			return Boolean.TRUE;
+		}
+		return Boolean.FALSE;
 	}
 
 	/**
@@ -672,6 +821,16 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 		signJars = value;
 	}
 
+	/**
+	 * Sets the number of threads generating the scripts of the bundles of a
+	 * feature. The generated scripts do not depend on it.
+	 * 
+	 * @param threads the number of threads, values below 2 generate the scripts one at a time
+	 */
+	public void setScriptGenerationThreads(int threads) {
+		scriptGenerationThreads = Math.max(1, threads);
+	}
+
 	public void setGenerateSourceReferences(boolean generateSourceRef) {
 		this.sourceReferences = generateSourceRef;
 	}
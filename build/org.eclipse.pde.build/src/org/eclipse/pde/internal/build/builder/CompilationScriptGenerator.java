@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which accompanies this distribution,
@@ -12,8 +12,11 @@
  ******************************************************************************/
 package org.eclipse.pde.internal.build.builder;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
@@ -26,8 +29,21 @@ import org.eclipse.pde.internal.build.Utils;
 
 public class CompilationScriptGenerator extends AbstractScriptGenerator {
 
+	/**
+	 * Parallel scheduling that starts a new parallel block whenever a bundle
+	 * requires a bundle of the current block, in the order of the sorted bundles
+	 */
+	public static final String SCHEDULING_BUCKETS = "buckets"; //$NON-NLS-1$
+	/**
+	 * Parallel scheduling that compiles each bundle in the parallel block
+	 * following the block of its last prerequisite, ordering each block by the
+	 * length of the longest chain of bundles depending on it
+	 */
+	public static final String SCHEDULING_LEVELS = "levels"; //$NON-NLS-1$
+
 	private String featureId = "all"; //$NON-NLS-1$
 	private boolean parallel = true;
+	private String parallelScheduling = SCHEDULING_BUCKETS;
 	private int threadCount = 0;
 	private int threadsPerProcessor = 3;
 
@@ -61,6 +77,11 @@ public class CompilationScriptGenerator extends AbstractScriptGenerator {
 		this.parallel = parallel;
 	}
 
+	public void setParallelScheduling(String scheduling) {
+		if (scheduling != null)
+			this.parallelScheduling = scheduling;
+	}
+
 	public void setThreadCount(int count) {
 		if (count != -1)
 			this.threadCount = count;
@@ -97,6 +118,11 @@ public class CompilationScriptGenerator extends AbstractScriptGenerator {
 		List<BundleDescription> sortedPlugins = Utils.extractPlugins(getSite(false).getRegistry().getSortedBundles(), plugins);
 		IPath basePath = IPath.fromOSString(workingDirectory);
 
+		if (parallel && SCHEDULING_LEVELS.equals(parallelScheduling)) {
+			generateLevels(sortedPlugins, basePath);
+			return;
+		}
+
 		Set<Long> bucket = null;
 		if (parallel) {
 			bucket = new HashSet<>();
@@ -117,14 +143,125 @@ public class CompilationScriptGenerator extends AbstractScriptGenerator {
 				bucket.add(Long.valueOf(bundle.getBundleId()));
 			}
 
-			IPath location = Utils.makeRelative(IPath.fromOSString(getLocation(bundle)), basePath);
-			script.printAntTask(DEFAULT_BUILD_SCRIPT_FILENAME, location.toString(), TARGET_BUILD_JARS, null, null, null);
+			printBuildJars(bundle, basePath);
 		}
 
 		if (parallel)
 			script.printEndParallel();
 	}
 
+	private void printBuildJars(BundleDescription bundle, IPath basePath) {
+		IPath location = Utils.makeRelative(IPath.fromOSString(getLocation(bundle)), basePath);
+		script.printAntTask(DEFAULT_BUILD_SCRIPT_FILENAME, location.toString(), TARGET_BUILD_JARS, null, null, null);
+	}
+
+	/*
+	 * Generates one parallel block per level of the dependency graph. The number
+	 * of blocks is the length of the longest chain of prerequisites, which is
+	 * never more than the number of buckets.
+	 */
+	private void generateLevels(List<BundleDescription> sortedPlugins, IPath basePath) {
+		List<BundleDescription> bundles = new ArrayList<>(sortedPlugins.size());
+		for (BundleDescription bundle : sortedPlugins) {
+			// Individual source bundles have empty build.jars targets, skip them
+			if (!Utils.isSourceBundle(bundle))
+				bundles.add(bundle);
+		}
+
+		List<List<BundleDescription>> levels = computeLevels(bundles);
+		script.printComment(bundles.size() + " bundles in " + levels.size() + " levels, " + countBuckets(bundles) + " with " + SCHEDULING_BUCKETS + " scheduling"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		for (List<BundleDescription> level : levels) {
+			script.printParallel(threadCount, threadsPerProcessor);
+			for (BundleDescription bundle : level)
+				printBuildJars(bundle, basePath);
+			script.printEndParallel();
+		}
+	}
+
+	/**
+	 * Groups the given bundles by their depth in the dependency graph. Only
+	 * prerequisites sorted before a bundle are considered, so cycles broken
+	 * by the sort order stay broken. Within a level, bundles heading the
+	 * longest chains of dependents come first so they are started first when
+	 * there are more bundles than threads.
+	 *
+	 * @param bundles the bundles to compile, sorted by dependencies
+	 * @return the bundles of each level
+	 */
+	static List<List<BundleDescription>> computeLevels(List<BundleDescription> bundles) {
+		Map<Long, Integer> indexes = new HashMap<>(bundles.size());
+		for (int i = 0; i < bundles.size(); i++)
+			indexes.put(Long.valueOf(bundles.get(i).getBundleId()), Integer.valueOf(i));
+
+		int[][] prerequisites = new int[bundles.size()][];
+		int[] depth = new int[bundles.size()];
+		int levelCount = 0;
+		for (int i = 0; i < bundles.size(); i++) {
+			prerequisites[i] = getPrerequisites(bundles.get(i), indexes, i);
+			for (int prerequisite : prerequisites[i])
+				depth[i] = Math.max(depth[i], depth[prerequisite] + 1);
+			levelCount = Math.max(levelCount, depth[i] + 1);
+		}
+
+		int[] chain = new int[bundles.size()];
+		for (int i = bundles.size() - 1; i >= 0; i--) {
+			chain[i] = Math.max(chain[i], 1);
+			for (int prerequisite : prerequisites[i])
+				chain[prerequisite] = Math.max(chain[prerequisite], chain[i] + 1);
+		}
+
+		List<List<Integer>> indexLevels = new ArrayList<>(levelCount);
+		for (int i = 0; i < levelCount; i++)
+			indexLevels.add(new ArrayList<>());
+		for (int i = 0; i < bundles.size(); i++)
+			indexLevels.get(depth[i]).add(Integer.valueOf(i));
+
+		List<List<BundleDescription>> levels = new ArrayList<>(levelCount);
+		for (List<Integer> indexLevel : indexLevels) {
+			// stable, so bundles with chains of equal length keep the sorted order
+			indexLevel.sort((i1, i2) -> Integer.compare(chain[i2.intValue()], chain[i1.intValue()]));
+			List<BundleDescription> level = new ArrayList<>(indexLevel.size());
+			for (Integer index : indexLevel)
+				level.add(bundles.get(index.intValue()));
+			levels.add(level);
+		}
+		return levels;
+	}
+
+	private static int[] getPrerequisites(BundleDescription bundle, Map<Long, Integer> indexes, int index) {
+		Set<Integer> result = new HashSet<>();
+		Properties properties = (Properties) bundle.getUserObject();
+		if (properties != null) {
+			String required = properties.getProperty(PROPERTY_REQUIRED_BUNDLE_IDS);
+			if (required != null) {
+				String[] ids = Utils.getArrayFromString(required, ":"); //$NON-NLS-1$
+				for (String id2 : ids) {
+					try {
+						Integer prerequisite = indexes.get(Long.valueOf(id2));
+						if (prerequisite != null && prerequisite.intValue() < index)
+							result.add(prerequisite);
+					} catch (NumberFormatException e) {
+						//ignore
+					}
+				}
+			}
+		}
+		return result.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private int countBuckets(List<BundleDescription> bundles) {
+		Set<Long> bucket = new HashSet<>();
+		int count = bundles.isEmpty() ? 0 : 1;
+		for (BundleDescription bundle : bundles) {
+			if (requiredInBucket(bundle, bucket)) {
+				count++;
+				bucket.clear();
+			}
+			bucket.add(Long.valueOf(bundle.getBundleId()));
+		}
+		return count;
+	}
+
 	private boolean requiredInBucket(BundleDescription bundle, Set<Long> bucket) {
 		Properties properties = (Properties) bundle.getUserObject();
 		if (properties != null) {
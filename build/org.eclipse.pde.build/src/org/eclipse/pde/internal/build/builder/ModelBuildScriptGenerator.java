@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which accompanies this distribution,
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -1222,6 +1223,7 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 		// Put the jars in a correct compile order
 		String jarOrder = (String) getBuildProperties().get(PROPERTY_JAR_ORDER);
 		IClasspathComputer classpath = new ClasspathComputer3_0(this);
+		Map<String, List<Object>> classpaths = new HashMap<>(availableJars.length);
 
 		if (jarOrder != null) {
 			String[] order = Utils.getArrayFromString(jarOrder);
@@ -1231,14 +1233,18 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 					continue;
 
 				compiledJarNames.add(jar);
-				generateCompilationTarget(classpath.getClasspath(pluginModel, jar), jar);
+				List<Object> jarClasspath = classpath.getClasspath(pluginModel, jar);
+				classpaths.put(element, jarClasspath);
+				generateCompilationTarget(jarClasspath, jar);
 				generateSRCTarget(jar);
 				jars.remove(element);
 			}
 		}
 		for (CompiledEntry jar : jars.values()) {
 			compiledJarNames.add(jar);
-			generateCompilationTarget(classpath.getClasspath(pluginModel, jar), jar);
+			List<Object> jarClasspath = classpath.getClasspath(pluginModel, jar);
+			classpaths.put(jar.getName(false), jarClasspath);
+			generateCompilationTarget(jarClasspath, jar);
 			generateSRCTarget(jar);
 		}
 		script.println();
@@ -1254,7 +1260,12 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 		for (CompiledEntry compiledJarName : compiledJarNames) {
 			String name = compiledJarName.getName(false);
 			script.printAvailableTask(name, replaceVariables(getJARLocation(name), true));
+			boolean cached = isBuildCacheEnabled(compiledJarName);
+			if (cached)
+				generateBuildCacheTask(compiledJarName, classpaths.get(name), true);
 			script.printAntCallTask(name, true, null);
+			if (cached)
+				generateBuildCacheTask(compiledJarName, null, false);
 		}
 		if (customBuildCallbacks != null) {
 			script.printSubantTask(Utils.getPropertyFormat(PROPERTY_CUSTOM_BUILD_CALLBACKS), PROPERTY_POST + TARGET_BUILD_JARS, customCallbacksBuildpath, customCallbacksFailOnError, customCallbacksInheritAll, params, null);
@@ -1280,6 +1291,59 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 		script.printTargetEnd();
 	}
 
+	/*
+	 * Entries compiled by custom callbacks or copied from the workspace have
+	 * inputs the build cache does not know about
+	 */
+	private boolean isBuildCacheEnabled(CompiledEntry entry) {
+		if (getImmutableAntProperty(PROPERTY_BUILD_CACHE) == null || customBuildCallbacks != null)
+			return false;
+		String name = entry.getName(false);
+		String outputKey = name.equals(EXPANDED_DOT) ? DOT : name;
+		return workspaceOutputFolders == null || !workspaceOutputFolders.containsKey(outputKey);
+	}
+
+	/*
+	 * Restores the entry from the build cache before its compile target is
+	 * called, or stores it afterwards
+	 */
+	private void generateBuildCacheTask(CompiledEntry entry, List<Object> classpath, boolean restore) {
+		String name = entry.getName(false);
+		Map<String, String> arguments = new LinkedHashMap<>();
+		arguments.put("action", restore ? "restore" : "store"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		arguments.put("location", Utils.getPropertyFormat(PROPERTY_BUILD_CACHE)); //$NON-NLS-1$
+		// the qualifier changes with each build, but not the compiled classes
+		arguments.put("bundle", model.getSymbolicName()); //$NON-NLS-1$
+		arguments.put("property", name); //$NON-NLS-1$
+		arguments.put("output", replaceVariables(getJARLocation(name), true)); //$NON-NLS-1$
+		if (!restore) {
+			arguments.put("problemMarker", Utils.getPropertyFormat(PROPERTY_COMPILE_PROBLEM_MARKER)); //$NON-NLS-1$
+			arguments.put("maxSize", Utils.getPropertyFormat(PROPERTY_BUILD_CACHE_MAX_SIZE)); //$NON-NLS-1$
+			script.printElement("eclipse.buildCache", arguments); //$NON-NLS-1$
+			return;
+		}
+
+		arguments.put("sources", String.join(",", entry.getSource())); //$NON-NLS-1$ //$NON-NLS-2$
+		StringBuilder options = new StringBuilder();
+		for (String property : new String[] {PROPERTY_BUNDLE_JAVAC_SOURCE, PROPERTY_BUNDLE_JAVAC_TARGET, PROPERTY_JAVAC_COMPILERARG, PROPERTY_JAVAC_DEBUG_INFO, PROPERTY_BUNDLE_BOOTCLASSPATH})
+			options.append(Utils.getPropertyFormat(property)).append(' ');
+		if (classpath != null) {
+			for (Object element : classpath) {
+				if (element instanceof ClasspathComputer3_0.ClasspathElement classpathElement && classpathElement.getAccessRules() != null)
+					options.append(classpathElement.getAccessRules()).append(' ');
+			}
+		}
+		arguments.put("options", options.toString().trim()); //$NON-NLS-1$
+		// the warning settings and the arguments file written by generateCompilerSettings
+		String argumentsFile = "javaCompiler." + (name.equals(EXPANDED_DOT) ? DOT : name).replaceAll("[\\\\/]", "_") + ".args"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		arguments.put("argumentFiles", warningProperties != null ? warningProperties + ',' + argumentsFile : argumentsFile); //$NON-NLS-1$
+		script.printStartTag("eclipse.buildCache", arguments); //$NON-NLS-1$
+		script.incrementIdent();
+		script.printPathStructure("classpath", null, classpath); //$NON-NLS-1$
+		script.decrementIdent();
+		script.printEndTag("eclipse.buildCache"); //$NON-NLS-1$
+	}
+
 	private void generateCheckCompilationTask(BundleDescription pluginModel) throws CoreException {
 		script.printTargetDeclaration(TARGET_CHECK_COMPILATION_RESULTS, null, PROPERTY_COMPILATION_ERROR, null, null);
 		script.printEchoTask(Utils.getPropertyFormat(PROPERTY_COMPILE_PROBLEM_MARKER), getNormalizedName(pluginModel) + "${line.separator}" + PROPERTY_COMPILATION_ERROR + "=" + Utils.getPropertyFormat(PROPERTY_COMPILATION_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
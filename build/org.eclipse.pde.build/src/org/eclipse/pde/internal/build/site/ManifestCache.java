@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.build.site;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarFile;
+
+/**
+ * The manifests of bundles read by previous builds, persisted in the folder
+ * given by the <code>manifestCacheLocation</code> property.
+ * <p>
+ * Manifests are keyed by the absolute location of the bundle. An entry is
+ * valid as long as the size and modification time of the bundle jar, or of
+ * the manifest of a bundle folder, did not change. Only the manifest as read
+ * from the bundle is cached: qualifiers and other changes made for the build
+ * are applied again on each build.
+ * </p>
+ * <p>
+ * The cache may be used concurrently. When saved, the manifests read by this
+ * build are merged with the entries saved by other builds in the meantime, so
+ * builds on different targets can share the folder. Entries of bundles that
+ * no longer exist are dropped.
+ * </p>
+ */
+class ManifestCache {
+	private static final String FILE_NAME = "manifests.cache"; //$NON-NLS-1$
+	private static final int FORMAT_VERSION = 1;
+	private static final int MAX_STRING_LENGTH = 16 * 1024 * 1024;
+
+	private record Entry(long size, long modified, Map<String, String> headers) {
+	}
+
+	private final Path file;
+	private final Map<String, Entry> previous;
+	private final Map<String, Entry> added = new ConcurrentHashMap<>();
+
+	private ManifestCache(Path file) {
+		this.file = file;
+		this.previous = read(file);
+	}
+
+	/**
+	 * Returns the cache stored in the given folder or <code>null</code> if no
+	 * folder is given
+	 */
+	static ManifestCache open(String location) {
+		if (location == null || location.length() == 0)
+			return null;
+		return new ManifestCache(Path.of(location, FILE_NAME));
+	}
+
+	/**
+	 * Returns a copy of the cached manifest of the given bundle or
+	 * <code>null</code> if it is not cached or outdated
+	 */
+	Dictionary<String, String> get(File bundleLocation) {
+		String key = bundleLocation.getAbsolutePath();
+		Entry entry = previous.get(key);
+		if (entry == null)
+			return null;
+		File stamp = getStampFile(bundleLocation);
+		if (stamp.length() != entry.size() || stamp.lastModified() != entry.modified())
+			return null;
+		return new Hashtable<>(entry.headers());
+	}
+
+	/**
+	 * Remembers the manifest just read from the given bundle
+	 */
+	void put(File bundleLocation, Dictionary<String, String> manifest) {
+		File stamp = getStampFile(bundleLocation);
+		Map<String, String> headers = new HashMap<>(manifest.size());
+		for (Enumeration<String> keys = manifest.keys(); keys.hasMoreElements();) {
+			String header = keys.nextElement();
+			headers.put(header, manifest.get(header));
+		}
+		added.put(bundleLocation.getAbsolutePath(), new Entry(stamp.length(), stamp.lastModified(), headers));
+	}
+
+	/**
+	 * Writes the manifests read since the cache was opened, together with the
+	 * entries currently saved for other bundles
+	 */
+	void save() {
+		if (added.isEmpty())
+			return;
+		Map<String, Entry> entries = new HashMap<>(read(file));
+		entries.keySet().removeIf(location -> !new File(location).exists());
+		entries.putAll(added);
+		try {
+			Files.createDirectories(file.getParent());
+			Path temp = Files.createTempFile(file.getParent(), FILE_NAME, null);
+			try {
+				try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+					output.writeInt(FORMAT_VERSION);
+					output.writeInt(entries.size());
+					for (Map.Entry<String, Entry> bundle : entries.entrySet()) {
+						Entry entry = bundle.getValue();
+						writeString(output, bundle.getKey());
+						output.writeLong(entry.size());
+						output.writeLong(entry.modified());
+						output.writeInt(entry.headers().size());
+						for (Map.Entry<String, String> header : entry.headers().entrySet()) {
+							writeString(output, header.getKey());
+							writeString(output, header.getValue());
+						}
+					}
+				}
+				try {
+					Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		} catch (IOException e) {
+			//Ignore, the manifests are read again by the next build
+		}
+	}
+
+	private static Map<String, Entry> read(Path file) {
+		if (!Files.isRegularFile(file))
+			return Map.of();
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (input.readInt() != FORMAT_VERSION)
+				return Map.of();
+			int count = input.readInt();
+			Map<String, Entry> result = new HashMap<>();
+			for (int i = 0; i < count; i++) {
+				String location = readString(input);
+				long size = input.readLong();
+				long modified = input.readLong();
+				int headerCount = input.readInt();
+				Map<String, String> headers = new HashMap<>();
+				for (int j = 0; j < headerCount; j++)
+					headers.put(readString(input), readString(input));
+				result.put(location, new Entry(size, modified, headers));
+			}
+			return result;
+		} catch (IOException e) {
+			//Ignore, the cache is incomplete or corrupt
+			return Map.of();
+		}
+	}
+
+	private static File getStampFile(File bundleLocation) {
+		if (bundleLocation.isFile())
+			return bundleLocation;
+		return new File(bundleLocation, JarFile.MANIFEST_NAME);
+	}
+
+	// writeUTF is limited to 64k, which long Export-Package headers exceed
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		int length = input.readInt();
+		if (length < 0 || length > MAX_STRING_LENGTH)
+			throw new IOException();
+		byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2004, 2023 IBM Corporation and others.
+ *  Copyright (c) 2004, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -33,6 +33,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.UnaryOperator;
 import java.util.jar.JarFile;
 import java.util.regex.Pattern;
@@ -89,6 +93,7 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 	private final Set<Dictionary<String, String>> convertedManifests;
 	private long lastSortingDate = 0L;
 	private String[] eeSources;
+	private ManifestCache manifestCache = null;
 
 	protected long getNextId() {
 		return ++id;
@@ -252,17 +257,24 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 	}
 
 	public boolean addBundle(File bundleLocation) {
-		Dictionary<String, String> manifest;
-		manifest = loadManifest(bundleLocation);
+		Dictionary<String, String> manifest = loadEnhancedManifest(bundleLocation);
 		if (manifest == null) {
 			return addFlexibleRoot(bundleLocation);
 		}
+		return addBundle(manifest, bundleLocation);
+	}
+
+	//Return the manifest with the qualifier information of the bundle, or null if it is not a bundle. Safe to call concurrently.
+	private Dictionary<String, String> loadEnhancedManifest(File bundleLocation) {
+		Dictionary<String, String> manifest = loadManifest(bundleLocation);
+		if (manifest == null)
+			return null;
 		try {
 			hasQualifier(bundleLocation, manifest);
 		} catch (BundleException e) {
 			//should not happen since we know the header
 		}
-		return addBundle(manifest, bundleLocation);
+		return manifest;
 	}
 
 	private boolean addFlexibleRoot(File bundleLocation) {
@@ -322,6 +334,20 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 
 	//Return a dictionary representing a manifest. The data may result from plugin.xml conversion  
 	private Dictionary<String, String> basicLoadManifest(File bundleLocation) {
+		ManifestCache cache = manifestCache;
+		if (cache == null)
+			return readManifest(bundleLocation);
+
+		Dictionary<String, String> manifest = cache.get(bundleLocation);
+		if (manifest == null) {
+			manifest = readManifest(bundleLocation);
+			if (manifest != null)
+				cache.put(bundleLocation, manifest);
+		}
+		return manifest;
+	}
+
+	private Dictionary<String, String> readManifest(File bundleLocation) {
 		try {
 			if ("jar".equalsIgnoreCase(IPath.fromOSString(bundleLocation.getName()).getFileExtension()) && bundleLocation.isFile()) { //$NON-NLS-1$
 				try (ZipFile jarFile = new ZipFile(bundleLocation, ZipFile.OPEN_READ)) {
@@ -380,9 +406,67 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 	}
 
 	public void addBundles(Collection<File> bundles) {
-		for (File bundle : bundles) {
-			addBundle(bundle);
+		//Read the manifests concurrently, but add the bundles in order so that they get the same ids
+		manifestCache = ManifestCache.open(AbstractScriptGenerator.getImmutableAntProperty(PROPERTY_MANIFEST_CACHE));
+		try {
+			List<File> locations = new ArrayList<>(bundles);
+			List<Dictionary<String, String>> manifests = loadEnhancedManifests(locations);
+			for (int i = 0; i < locations.size(); i++) {
+				if (manifests.get(i) == null)
+					addFlexibleRoot(locations.get(i));
+				else
+					addBundle(manifests.get(i), locations.get(i));
+			}
+			if (manifestCache != null)
+				manifestCache.save();
+		} finally {
+			manifestCache = null;
+		}
+	}
+
+	//Read the manifests with as many threads as generate the scripts, one at a time by default
+	private List<Dictionary<String, String>> loadEnhancedManifests(List<File> locations) {
+		int threads = 1;
+		try {
+			threads = Integer.parseInt(AbstractScriptGenerator.getImmutableAntProperty(PROPERTY_SCRIPT_GENERATION_THREADS, "1")); //$NON-NLS-1$
+		} catch (NumberFormatException e) {
+			//ignore
+		}
+		List<Dictionary<String, String>> manifests = new ArrayList<>(locations.size());
+		if (threads <= 1 || locations.size() < 2) {
+			for (File location : locations)
+				manifests.add(loadEnhancedManifest(location));
+			return manifests;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, locations.size()), runnable -> {
+			Thread thread = new Thread(runnable, "PDE Build manifest loading"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<Dictionary<String, String>>> results = new ArrayList<>(locations.size());
+			for (File location : locations)
+				results.add(executor.submit(() -> loadEnhancedManifest(location)));
+			for (int i = 0; i < results.size(); i++) {
+				try {
+					manifests.add(results.get(i).get());
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					if (cause instanceof RuntimeException runtimeException)
+						throw runtimeException;
+					if (cause instanceof Error error)
+						throw error;
+					throw new IllegalStateException(cause);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					manifests.add(loadEnhancedManifest(locations.get(i)));
+				}
+			}
+		} finally {
+			executor.shutdownNow();
 		}
+		return manifests;
 	}
 
 	@SuppressWarnings("deprecation")
@@ -0,0 +1,545 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.Task;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.pde.internal.build.IXMLConstants;
+import org.eclipse.pde.internal.build.Utils;
+
+/**
+ * Restores the output of a compiled entry from a local build cache, or stores
+ * it there once it has been compiled.
+ * <p>
+ * The cache is keyed by the SHA-256 hash of the inputs of the compilation: the
+ * bundle symbolic name, the files of the source folders, the build.properties,
+ * manifest and project settings of the bundle, the content of the classpath
+ * entries, the compiler options and the files they refer to, and the compiler
+ * selected by <code>build.compiler</code>. The bundle version is not part of
+ * the key, so that a new qualifier does not invalidate the cache. The key is
+ * computed before compiling so that nested jars extracted by the compile
+ * target do not change it.
+ * </p>
+ * <p>
+ * On a hit, <code>restore</code> copies the cached output and sets the
+ * property guarding the compile target. On a miss it records the key, and
+ * <code>store</code> adds the output to the cache after compiling, unless the
+ * compilation failed.
+ * </p>
+ * <p>
+ * Restoring an entry marks it as used. Before the first entry is stored in a
+ * build, the least recently used entries are removed until the cache is
+ * smaller than <code>maxSize</code>.
+ * </p>
+ */
+public class BuildCacheTask extends Task {
+	private static final String ANT_PREFIX = "${"; //$NON-NLS-1$
+	private static final String ACTION_RESTORE = "restore"; //$NON-NLS-1$
+	private static final String ACTION_STORE = "store"; //$NON-NLS-1$
+	private static final String KEY_SUFFIX = ".buildCacheKey"; //$NON-NLS-1$
+	private static final String OUTPUT = "output"; //$NON-NLS-1$
+	private static final String BATCH_COMPILER = "org.eclipse.jdt.internal.compiler.batch.Main"; //$NON-NLS-1$
+	private static final String PROPERTIES_ARG = "-properties"; //$NON-NLS-1$
+	private static final long DEFAULT_MAX_SIZE = 2048;
+	private static final long MB = 1024 * 1024;
+	private static final long DAY = 24 * 60 * 60 * 1000;
+
+	private static final AtomicInteger HITS = new AtomicInteger();
+	private static final AtomicInteger MISSES = new AtomicInteger();
+
+	/**
+	 * Digests of classpath entries shared by all bundles of a build, validated
+	 * by the names, sizes and modification times of the files of the entry
+	 */
+	private static final Map<String, Digest> DIGESTS = new ConcurrentHashMap<>();
+
+	/**
+	 * Identities of the compilers used in this build, by
+	 * <code>build.compiler</code>
+	 */
+	private static final Map<String, String> COMPILERS = new ConcurrentHashMap<>();
+
+	/**
+	 * Cache folders already trimmed in this build
+	 */
+	private static final Set<Path> TRIMMED = ConcurrentHashMap.newKeySet();
+
+	private record Digest(byte[] listing, byte[] value) {
+	}
+
+	private record Entry(Path path, long size, long used) {
+	}
+
+	private String action = ACTION_RESTORE;
+	private String location = null;
+	private String bundle = null;
+	private String output = null;
+	private String property = null;
+	private String sources = null;
+	private String options = null;
+	private String argumentFiles = null;
+	private String maxSize = null;
+	private String problemMarker = null;
+	private final List<org.apache.tools.ant.types.Path> classpath = new ArrayList<>();
+
+	@Override
+	public void execute() throws BuildException {
+		if (location == null || location.startsWith(ANT_PREFIX) || property == null || output == null)
+			return;
+
+		Path cache = Path.of(location);
+		try {
+			if (ACTION_STORE.equals(action))
+				store(cache);
+			else
+				restore(cache);
+		} catch (IOException e) {
+			// the cache is an optimization, never fail the build because of it
+			log(NLS.bind(TaskMessages.error_buildCache, location, e.getMessage()), Project.MSG_WARN);
+		}
+	}
+
+	private void restore(Path cache) throws IOException {
+		if (getProject().getProperty(property) != null)
+			return; // already built
+
+		String key = computeKey();
+		Path entry = cache.resolve(key).resolve(OUTPUT);
+		File target = getProject().resolveFile(output);
+		if (Files.exists(entry)) {
+			if (target.getParentFile() != null)
+				target.getParentFile().mkdirs();
+			try {
+				copy(entry, target.toPath());
+			} catch (IOException e) {
+				// evicted while copying, compile instead of using a partial output
+				if (target.exists())
+					delete(target.toPath());
+				throw e;
+			}
+			try {
+				Files.setLastModifiedTime(entry.getParent(), FileTime.fromMillis(System.currentTimeMillis()));
+			} catch (IOException e) {
+				// only affects the eviction order
+			}
+			getProject().setNewProperty(property, "true"); //$NON-NLS-1$
+			int hits = HITS.incrementAndGet();
+			log(NLS.bind(TaskMessages.info_buildCacheHit, new Object[] {bundle, property, Integer.toString(hits), Integer.toString(MISSES.get())}));
+		} else {
+			getProject().setNewProperty(property + KEY_SUFFIX, key);
+			int misses = MISSES.incrementAndGet();
+			log(NLS.bind(TaskMessages.info_buildCacheMiss, new Object[] {bundle, property, Integer.toString(HITS.get()), Integer.toString(misses)}));
+		}
+	}
+
+	private void store(Path cache) throws IOException {
+		String key = getProject().getProperty(property + KEY_SUFFIX);
+		if (key == null)
+			return; // restored or built before
+		if (problemMarker != null && !problemMarker.startsWith(ANT_PREFIX) && getProject().resolveFile(problemMarker).exists())
+			return;
+		File source = getProject().resolveFile(output);
+		if (!source.exists())
+			return;
+
+		Path entry = cache.resolve(key);
+		if (Files.exists(entry))
+			return;
+		Files.createDirectories(cache);
+		if (TRIMMED.add(cache.toAbsolutePath().normalize()))
+			trim(cache, getMaxSize());
+		Path temp = Files.createTempDirectory(cache, key + '.');
+		try {
+			copy(source.toPath(), temp.resolve(OUTPUT));
+			try {
+				Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, entry);
+			}
+		} catch (FileAlreadyExistsException e) {
+			// stored concurrently by another build
+		} finally {
+			if (Files.exists(temp))
+				delete(temp);
+		}
+	}
+
+	private String computeKey() throws IOException {
+		MessageDigest digest = newDigest();
+		update(digest, bundle);
+		update(digest, property);
+		update(digest, options);
+		update(digest, System.getProperty("java.version")); //$NON-NLS-1$
+		String compiler = getProject().getProperty(IXMLConstants.PROPERTY_BUILD_COMPILER);
+		update(digest, compiler);
+		update(digest, COMPILERS.computeIfAbsent(String.valueOf(compiler), this::getCompilerIdentity));
+
+		File basedir = getProject().getBaseDir();
+		if (sources != null) {
+			for (String folder : Utils.getArrayFromString(sources)) {
+				update(digest, folder);
+				digestTree(digest, new File(basedir, folder).toPath());
+			}
+		}
+		digestTree(digest, new File(basedir, "build.properties").toPath()); //$NON-NLS-1$
+		digestTree(digest, new File(basedir, "META-INF/MANIFEST.MF").toPath()); //$NON-NLS-1$
+		digestTree(digest, new File(basedir, ".settings").toPath()); //$NON-NLS-1$
+		for (String file : getArgumentFiles()) {
+			update(digest, file);
+			digestTree(digest, getProject().resolveFile(file).toPath());
+		}
+
+		// only the content of the classpath entries, in order, so that builds
+		// in other folders share the entries
+		for (org.apache.tools.ant.types.Path path : classpath) {
+			for (String element : path.list())
+				update(digest, HexFormat.of().formatHex(getDigest(new File(element).toPath())));
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Returns the identity of the compiler selected by the given
+	 * <code>build.compiler</code>: the running VM for the built-in javac, and
+	 * the location, size and modification time of the compiler adapter and of
+	 * the batch compiler otherwise
+	 */
+	private String getCompilerIdentity(String compiler) {
+		StringBuilder identity = new StringBuilder(System.getProperty("java.vendor")).append(' ').append(System.getProperty("java.home")); //$NON-NLS-1$ //$NON-NLS-2$
+		if (compiler.indexOf('.') < 0)
+			return identity.toString(); // javac of the running VM, "modern" or unset
+		for (String className : new String[] {compiler, BATCH_COMPILER})
+			identity.append(' ').append(getCodeSource(className));
+		return identity.toString();
+	}
+
+	private String getCodeSource(String className) {
+		try {
+			Class<?> type = Class.forName(className, false, getClass().getClassLoader());
+			CodeSource source = type.getProtectionDomain().getCodeSource();
+			if (source == null || source.getLocation() == null)
+				return className;
+			StringBuilder location = new StringBuilder(source.getLocation().toString());
+			File file = new File(source.getLocation().toURI());
+			if (file.exists())
+				location.append(' ').append(file.length()).append(' ').append(file.lastModified());
+			return location.toString();
+		} catch (ClassNotFoundException | LinkageError | SecurityException | URISyntaxException | IllegalArgumentException e) {
+			return className;
+		}
+	}
+
+	/**
+	 * Returns the files read by the compiler besides the sources and the
+	 * classpath: the given argument files and the files referenced by
+	 * <code>@file</code> and <code>-properties</code> compiler arguments
+	 */
+	private List<String> getArgumentFiles() {
+		List<String> files = new ArrayList<>();
+		if (argumentFiles != null)
+			files.addAll(Arrays.asList(Utils.getArrayFromString(argumentFiles)));
+		if (options == null)
+			return files;
+		String[] arguments = options.replace("'", "").replace("\"", "").trim().split("\\s+"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		for (int i = 0; i < arguments.length; i++) {
+			if (arguments[i].length() > 1 && arguments[i].charAt(0) == '@')
+				files.add(arguments[i].substring(1));
+			else if (PROPERTIES_ARG.equals(arguments[i]) && i + 1 < arguments.length)
+				files.add(arguments[++i]);
+		}
+		return files;
+	}
+
+	/**
+	 * Returns the digest of a classpath entry, reusing the digest computed for
+	 * a previous bundle if the names, sizes and modification times of its
+	 * files did not change
+	 */
+	private static byte[] getDigest(Path path) throws IOException {
+		if (!Files.exists(path))
+			return new byte[0];
+		List<Path> files = new ArrayList<>();
+		try (Stream<Path> walk = Files.walk(path)) {
+			walk.filter(Files::isRegularFile).forEach(files::add);
+		}
+		files.sort(null);
+		MessageDigest listing = newDigest();
+		for (Path file : files) {
+			update(listing, path.relativize(file).toString());
+			update(listing, Long.toString(Files.size(file)));
+			update(listing, Long.toString(Files.getLastModifiedTime(file).toMillis()));
+		}
+		byte[] listingValue = listing.digest();
+		String key = path.toAbsolutePath().normalize().toString();
+		Digest cached = DIGESTS.get(key);
+		if (cached != null && Arrays.equals(cached.listing(), listingValue))
+			return cached.value();
+		MessageDigest digest = newDigest();
+		digestTree(digest, path);
+		byte[] value = digest.digest();
+		DIGESTS.put(key, new Digest(listingValue, value));
+		return value;
+	}
+
+	/**
+	 * Removes the least recently used entries until the cache is smaller than
+	 * the given size, and temporary folders left behind by interrupted builds.
+	 * Entries are renamed before they are deleted so that a partially deleted
+	 * entry is never restored.
+	 */
+	private void trim(Path cache, long maxBytes) throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		long total = 0;
+		long now = System.currentTimeMillis();
+		try (Stream<Path> list = Files.list(cache)) {
+			for (Path path : (Iterable<Path>) list::iterator) {
+				if (!Files.isDirectory(path))
+					continue; // not an entry, the folder may be shared
+				try {
+					long modified = Files.getLastModifiedTime(path).toMillis();
+					if (path.getFileName().toString().indexOf('.') >= 0) {
+						// being stored or evicted, or left behind
+						if (now - modified > DAY)
+							deleteLeftover(path);
+						continue;
+					}
+					Entry entry = new Entry(path, getSize(path), modified);
+					entries.add(entry);
+					total += entry.size();
+				} catch (IOException e) {
+					// evicted concurrently by another build
+				}
+			}
+		}
+		entries.sort(Comparator.comparingLong(Entry::used));
+		int evicted = 0;
+		for (Entry entry : entries) {
+			if (total <= maxBytes)
+				break;
+			Path removed = cache.resolve(entry.path().getFileName() + ".evicted"); //$NON-NLS-1$
+			try {
+				Files.move(entry.path(), removed, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				continue; // evicted concurrently by another build
+			}
+			deleteLeftover(removed);
+			total -= entry.size();
+			evicted++;
+		}
+		if (evicted > 0)
+			log(NLS.bind(TaskMessages.info_buildCacheEvicted, Integer.toString(evicted), cache), Project.MSG_VERBOSE);
+	}
+
+	private static void deleteLeftover(Path root) {
+		try {
+			delete(root);
+		} catch (IOException e) {
+			// in use or deleted concurrently, removed by a later build
+		}
+	}
+
+	private static long getSize(Path root) throws IOException {
+		long size = 0;
+		try (Stream<Path> walk = Files.walk(root)) {
+			for (Path file : (Iterable<Path>) walk::iterator) {
+				if (Files.isRegularFile(file))
+					size += Files.size(file);
+			}
+		}
+		return size;
+	}
+
+	private long getMaxSize() {
+		long size = DEFAULT_MAX_SIZE;
+		if (maxSize != null && !maxSize.startsWith(ANT_PREFIX)) {
+			try {
+				size = Long.parseLong(maxSize.trim());
+			} catch (NumberFormatException e) {
+				// use the default
+			}
+		}
+		return size * MB;
+	}
+
+	/**
+	 * Adds the relative paths and the content of all files below the given
+	 * path to the digest, in a stable order
+	 */
+	private static void digestTree(MessageDigest digest, Path root) throws IOException {
+		if (!Files.exists(root)) {
+			update(digest, "-"); //$NON-NLS-1$
+			return;
+		}
+		List<Path> files = new ArrayList<>();
+		try (Stream<Path> walk = Files.walk(root)) {
+			walk.filter(Files::isRegularFile).forEach(files::add);
+		}
+		files.sort(null);
+		byte[] buffer = new byte[64 * 1024];
+		for (Path file : files) {
+			update(digest, root.relativize(file).toString().replace('\\', '/'));
+			try (InputStream in = Files.newInputStream(file)) {
+				int read;
+				while ((read = in.read(buffer)) != -1)
+					digest.update(buffer, 0, read);
+			}
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+		digest.update(bytes);
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest newDigest() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static void copy(Path source, Path target) throws IOException {
+		// restored files get new modification times, so that classpath
+		// digests are not reused for them
+		if (!Files.isDirectory(source)) {
+			Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+			return;
+		}
+		try (Stream<Path> walk = Files.walk(source)) {
+			for (Path file : (Iterable<Path>) walk::iterator) {
+				Path destination = target.resolve(source.relativize(file).toString());
+				if (Files.isDirectory(file))
+					Files.createDirectories(destination);
+				else
+					Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+	}
+
+	private static void delete(Path root) throws IOException {
+		List<Path> paths = new ArrayList<>();
+		try (Stream<Path> walk = Files.walk(root)) {
+			walk.forEach(paths::add);
+		}
+		for (int i = paths.size() - 1; i >= 0; i--)
+			Files.deleteIfExists(paths.get(i));
+	}
+
+	/**
+	 * Either <code>restore</code> (the default) or <code>store</code>
+	 */
+	public void setAction(String action) {
+		this.action = action;
+	}
+
+	/**
+	 * The cache root folder
+	 */
+	public void setLocation(String location) {
+		this.location = location;
+	}
+
+	public void setBundle(String bundle) {
+		this.bundle = bundle;
+	}
+
+	/**
+	 * The jar or folder produced by the compile target
+	 */
+	public void setOutput(String output) {
+		this.output = output;
+	}
+
+	/**
+	 * The property guarding the compile target
+	 */
+	public void setProperty(String property) {
+		this.property = property;
+	}
+
+	/**
+	 * The comma separated source folders, relative to the bundle
+	 */
+	public void setSources(String sources) {
+		this.sources = sources;
+	}
+
+	/**
+	 * The compiler options affecting the output
+	 */
+	public void setOptions(String options) {
+		this.options = options;
+	}
+
+	/**
+	 * The comma separated files passed to the compiler as arguments, relative
+	 * to the bundle
+	 */
+	public void setArgumentFiles(String argumentFiles) {
+		this.argumentFiles = argumentFiles;
+	}
+
+	/**
+	 * The size in MB the cache is trimmed to, 2048 by default
+	 */
+	public void setMaxSize(String maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * The file written when the compilation failed
+	 */
+	public void setProblemMarker(String problemMarker) {
+		this.problemMarker = problemMarker;
+	}
+
+	/**
+	 * The classpath the entry is compiled against
+	 */
+	public org.apache.tools.ant.types.Path createClasspath() {
+		org.apache.tools.ant.types.Path path = new org.apache.tools.ant.types.Path(getProject());
+		classpath.add(path);
+		return path;
+	}
+}
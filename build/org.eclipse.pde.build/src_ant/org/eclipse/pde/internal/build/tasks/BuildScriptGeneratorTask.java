@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import org.eclipse.pde.internal.build.BuildScriptGenerator;
 import org.eclipse.pde.internal.build.BundleHelper;
 import org.eclipse.pde.internal.build.IBuildPropertiesConstants;
 import org.eclipse.pde.internal.build.Utils;
+import org.eclipse.pde.internal.build.builder.CompilationScriptGenerator;
 import org.eclipse.pde.internal.build.site.BuildTimeSiteFactory;
 import org.eclipse.pde.internal.build.site.ProfileManager;
 import org.eclipse.pde.internal.build.site.QualifierReplacer;
@@ -142,6 +143,18 @@ public class BuildScriptGeneratorTask extends Task {
 		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_ANT_VERSION);
 		if (value != null)
 			properties.put(IBuildPropertiesConstants.PROPERTY_ANT_VERSION, value);
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_BUILD_CACHE);
+		if (value != null)
+			properties.put(IBuildPropertiesConstants.PROPERTY_BUILD_CACHE, value);
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_MANIFEST_CACHE);
+		if (value != null)
+			properties.put(IBuildPropertiesConstants.PROPERTY_MANIFEST_CACHE, value);
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_SCRIPT_GENERATION_THREADS);
+		if (value != null)
+			properties.put(IBuildPropertiesConstants.PROPERTY_SCRIPT_GENERATION_THREADS, value);
 	}
 
 	private void setEEProfileProperties(Properties antProperties) {
@@ -329,6 +342,28 @@ public class BuildScriptGeneratorTask extends Task {
 		}
 	}
 
+	/**
+	 * Set how parallel compilation is scheduled, either
+	 * {@link CompilationScriptGenerator#SCHEDULING_BUCKETS} (the default) or
+	 * {@link CompilationScriptGenerator#SCHEDULING_LEVELS}
+	 */
+	public void setParallelScheduling(String scheduling) {
+		if (CompilationScriptGenerator.SCHEDULING_BUCKETS.equals(scheduling) || CompilationScriptGenerator.SCHEDULING_LEVELS.equals(scheduling))
+			generator.setParallelScheduling(scheduling);
+	}
+
+	/**
+	 * Set the number of threads generating the scripts of bundles, they are
+	 * generated one at a time by default
+	 */
+	public void setScriptGenerationThreadCount(String count) {
+		try {
+			generator.setScriptGenerationThreads(Integer.parseInt(count));
+		} catch (NumberFormatException e) {
+			//ignore
+		}
+	}
+
 	public void setContextRepository(String contexts) {
 		String[] locations = Utils.getArrayFromString(contexts, ","); //$NON-NLS-1$
 		ArrayList<URI> uris = new ArrayList<>();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2010 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -43,6 +43,11 @@ public class TaskMessages extends NLS {
 	public static String error_licenseRootWithoutLicenseRef;
 	public static String error_conflictingProperties;
 
+	public static String error_buildCache;
+	public static String info_buildCacheHit;
+	public static String info_buildCacheMiss;
+	public static String info_buildCacheEvicted;
+
 	static {
 		// load message values from bundle file
 		NLS.initializeMessages(BUNDLE_NAME, TaskMessages.class);
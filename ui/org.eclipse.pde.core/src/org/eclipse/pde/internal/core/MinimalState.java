@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2024 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -204,7 +204,18 @@ public class MinimalState {
 		return addBundle(bundleLocation, bundleId, manifest);
 	}
 
-	private BundleDescription addBundle(File bundleLocation, long bundleId, Map<String, String> manifest)
+	/**
+	 * Adds a bundle with an already loaded manifest to the state. The manifest
+	 * may be modified to account for development mode.
+	 *
+	 * @param bundleLocation root location of the bundle
+	 * @param bundleId id of the bundle or <code>-1</code> to allocate a new one
+	 * @param manifest the bundle manifest as returned by
+	 *            {@link ManifestUtils#loadManifest(File)}
+	 * @return the description of the added bundle or <code>null</code>
+	 * @throws CoreException if the manifest is invalid
+	 */
+	protected BundleDescription addBundle(File bundleLocation, long bundleId, Map<String, String> manifest)
 			throws CoreException {
 		// update for development mode
 		TargetWeaver.weaveManifest(manifest, bundleLocation);
@@ -331,6 +342,7 @@ public class MinimalState {
 		}
 		state.fEEListChanged = true;
 		StateDelta delta = state.internalResolveState(true);
+		RequiredPluginsClasspathContainer.invalidateVisiblePackages(delta);
 		if (delta.getChanges().length == 0) {
 			return Status.OK_STATUS;
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,14 +14,26 @@
  *******************************************************************************/
 package org.eclipse.pde.internal.core;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import org.eclipse.core.filesystem.URIUtil;
@@ -30,12 +42,15 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.service.resolver.BaseDescription;
 import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.osgi.service.resolver.State;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.eclipse.pde.core.target.LoadTargetDefinitionJob;
+import org.eclipse.pde.internal.build.BundleHelper;
 import org.eclipse.pde.internal.core.plugin.ExternalFragmentModel;
 import org.eclipse.pde.internal.core.plugin.ExternalPluginModel;
 import org.eclipse.pde.internal.core.plugin.ExternalPluginModelBase;
@@ -48,6 +63,33 @@ public class PDEState extends MinimalState {
 	private final PDEAuxiliaryState fAuxiliaryState;
 	private final ArrayList<IPluginModelBase> fTargetModels = new ArrayList<>();
 
+	/**
+	 * Name of the file in the PDE state location caching target bundle manifests
+	 */
+	private static final String MANIFEST_CACHE_FILE = "target_manifests.dat"; //$NON-NLS-1$
+
+	/**
+	 * Maximum number of threads reading target bundle manifests
+	 */
+	private static final int MAX_MANIFEST_LOADERS = Math.min(Runtime.getRuntime().availableProcessors(), 8);
+
+	/**
+	 * Name of the file in a snapshot directory holding the fingerprint of the
+	 * target and the resolved target state
+	 */
+	private static final String SNAPSHOT_FILE = "state.dat"; //$NON-NLS-1$
+	private static final int SNAPSHOT_MAGIC = 0x50445353;
+	private static final int SNAPSHOT_VERSION = 1;
+
+	/**
+	 * Size and modification time of a target bundle when the snapshot was
+	 * taken
+	 */
+	private record BundleStamp(String uri, long size, long lastModified) {
+	}
+
+	private boolean fRestored = false;
+
 	/**
 	 * Creates a new PDE State containing bundles from the given URLs.
 	 *
@@ -57,17 +99,48 @@ public class PDEState extends MinimalState {
 	 * @param monitor progress monitor
 	 */
 	public PDEState(URI[] target, boolean addResolver, boolean removeDuplicates, IProgressMonitor monitor) {
+		this(target, addResolver, removeDuplicates, null, monitor);
+	}
+
+	/**
+	 * Creates a new PDE State containing bundles from the given URLs. If a
+	 * snapshot location is given and the state has a resolver, the resolved
+	 * state is restored from the snapshot stored there as long as none of the
+	 * target bundles changed. Otherwise the state is created and resolved, and
+	 * a new snapshot is stored.
+	 *
+	 * @param target urls of target bundles
+	 * @param addResolver whether to add a resolver to the state
+	 * @param removeDuplicates whether to remove duplicate conflicting bundles from the state
+	 * @param snapshotLocation directory to restore the resolved state from and
+	 *            to store it in, may be <code>null</code>
+	 * @param monitor progress monitor
+	 */
+	public PDEState(URI[] target, boolean addResolver, boolean removeDuplicates, File snapshotLocation,
+			IProgressMonitor monitor) {
 		long start = System.currentTimeMillis();
 		fAuxiliaryState = new PDEAuxiliaryState();
 
-		// We no longer try and restore from a cached state as it had no performance benefit
-		createNewTargetState(addResolver, target, monitor);
+		List<BundleStamp> fingerprint = null;
+		if (snapshotLocation != null && addResolver) {
+			fingerprint = getFingerprint(target);
+			fRestored = restoreSnapshot(snapshotLocation, removeDuplicates, fingerprint);
+		}
+		if (!fRestored) {
+			createNewTargetState(addResolver, target, monitor);
 
-		if (removeDuplicates) {
-			removeDuplicatesFromState(fState);
+			if (removeDuplicates) {
+				removeDuplicatesFromState(fState);
+			}
 		}
 
-		initializePlatformProperties();
+		boolean platformPropertiesChanged = initializePlatformProperties();
+		if (fingerprint != null && (!fRestored || platformPropertiesChanged)
+				&& (monitor == null || !monitor.isCanceled())) {
+			// resolve now, so the snapshot contains the wiring of the target
+			fState.resolve(false);
+			saveSnapshot(snapshotLocation, removeDuplicates, fingerprint);
+		}
 		createTargetModels(fState.getBundles());
 		clearOldCache();
 
@@ -79,31 +152,221 @@ public class PDEState extends MinimalState {
 	private void createNewTargetState(boolean resolve, URI[] uris, IProgressMonitor monitor) {
 		fState = stateObjectFactory.createState(resolve);
 		if (resolve) {
-			final String systemBSN = getSystemBundle();
-			Comparator<BaseDescription> policy = systemBundlesFirst(systemBSN)
-					.thenComparing(BaseDescription::getVersion, HIGHER_VERSION_FIRST)
-					.thenComparing(BaseDescription::getSupplier, HIGHER_LOCAL_VERSION_FIRST);
-			fState.getResolver().setSelectionPolicy(policy);
+			setSelectionPolicy();
 		}
 		SubMonitor subMonitor = SubMonitor.convert(monitor, PDECoreMessages.PDEState_CreatingTargetModelState,
 				uris.length);
+		long start = System.currentTimeMillis();
+		TargetManifestCache cache = TargetManifestCache.load(getManifestCacheFile());
+		// manifests are read concurrently, but bundles are added to the state
+		// one at a time and in target order so bundle ids stay stable
+		ExecutorService executor = Executors.newFixedThreadPool(
+				Math.max(1, Math.min(uris.length, MAX_MANIFEST_LOADERS)), r -> {
+					Thread thread = new Thread(r, "PDE Manifest Loader"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+		try {
+			List<File> files = new ArrayList<>(uris.length);
+			List<Future<Map<String, String>>> manifests = new ArrayList<>(uris.length);
+			for (URI uri : uris) {
+				File file = toFile(uri);
+				if (file != null) {
+					files.add(file);
+					manifests.add(executor.submit(() -> cache.getManifest(file)));
+				}
+			}
+			subMonitor.setWorkRemaining(files.size());
+			for (int i = 0; i < files.size(); i++) {
+				File file = files.get(i);
+				try {
+					subMonitor.subTask(file.getName());
+					addBundle(file, -1, getManifest(manifests.get(i)));
+				} catch (CoreException e) {
+					if (e.getStatus().getCode() != ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST) {
+						PDECore.log(e);
+					}
+				}
+				subMonitor.split(1);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		cache.save();
+		if (PDECore.DEBUG_MODEL) {
+			System.out.println("Time to load target manifests: " + (System.currentTimeMillis() - start) + " ms, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ cache.getHitCount() + " of " + uris.length + " from cache"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Waits for a manifest loaded by the manifest loaders
+	 */
+	private static Map<String, String> getManifest(Future<Map<String, String>> manifest) throws CoreException {
+		try {
+			return manifest.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof CoreException coreException) {
+				throw coreException;
+			}
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new CoreException(Status.error(e.getCause().getMessage(), e.getCause()));
+		}
+	}
+
+	private void setSelectionPolicy() {
+		final String systemBSN = getSystemBundle();
+		Comparator<BaseDescription> policy = systemBundlesFirst(systemBSN)
+				.thenComparing(BaseDescription::getVersion, HIGHER_VERSION_FIRST)
+				.thenComparing(BaseDescription::getSupplier, HIGHER_LOCAL_VERSION_FIRST);
+		fState.getResolver().setSelectionPolicy(policy);
+	}
+
+	/**
+	 * Returns the stamps of the given target bundles. Bundles in directories
+	 * are stamped by their manifest files, as changes to them do not show in
+	 * the directory's modification time.
+	 */
+	private static List<BundleStamp> getFingerprint(URI[] uris) {
+		List<BundleStamp> fingerprint = new ArrayList<>(uris.length);
 		for (URI uri : uris) {
 			File file = toFile(uri);
-			if (file == null) {
-				continue;
+			long size = -1;
+			long lastModified = 0;
+			if (file != null && file.isDirectory()) {
+				size = 0;
+				for (String manifest : new String[] { ICoreConstants.BUNDLE_FILENAME_DESCRIPTOR,
+						ICoreConstants.PLUGIN_FILENAME_DESCRIPTOR, ICoreConstants.FRAGMENT_FILENAME_DESCRIPTOR }) {
+					File manifestFile = new File(file, manifest);
+					if (manifestFile.isFile()) {
+						size += manifestFile.length();
+						lastModified = Math.max(lastModified, manifestFile.lastModified());
+					}
+				}
+			} else if (file != null) {
+				size = file.length();
+				lastModified = file.lastModified();
+			}
+			fingerprint.add(new BundleStamp(uri.toString(), size, lastModified));
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Restores the resolved state and the auxiliary data of its bundles from
+	 * the snapshot in the given directory
+	 *
+	 * @return whether the snapshot is up to date and was restored
+	 */
+	@SuppressWarnings("deprecation")
+	private boolean restoreSnapshot(File dir, boolean removeDuplicates, List<BundleStamp> fingerprint) {
+		File file = new File(dir, SNAPSHOT_FILE);
+		if (!file.isFile()) {
+			return false;
+		}
+		long start = System.currentTimeMillis();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION
+					|| in.readBoolean() != removeDuplicates || !getDevProperties().equals(in.readUTF())
+					|| in.readInt() != fingerprint.size()) {
+				return false;
+			}
+			for (BundleStamp stamp : fingerprint) {
+				if (!stamp.uri().equals(in.readUTF()) || stamp.size() != in.readLong()
+						|| stamp.lastModified() != in.readLong()) {
+					if (PDECore.DEBUG_MODEL) {
+						System.out.println("Target state snapshot is stale, " + stamp.uri() + " changed"); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+					return false;
+				}
+			}
+			String systemBundle = in.readUTF();
+			long id = in.readLong();
+			State state = stateObjectFactory.readState(in);
+			if (state == null || !fAuxiliaryState.readPluginInfoCache(dir)) {
+				fAuxiliaryState.clear();
+				return false;
 			}
+			fState = state;
+			fState.setResolver(BundleHelper.getPlatformAdmin().createResolver());
+			fSystemBundle = systemBundle;
+			fId = id;
+			setSelectionPolicy();
+		} catch (IOException e) {
+			PDECore.log(Status.warning("Failed to read target state snapshot " + file, e)); //$NON-NLS-1$
+			fAuxiliaryState.clear();
+			return false;
+		}
+		if (PDECore.DEBUG_MODEL) {
+			System.out.println("Target state restored from snapshot in " + (System.currentTimeMillis() - start) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return true;
+	}
+
+	/**
+	 * Stores the resolved state and the auxiliary data of its bundles in the
+	 * given directory. The snapshot file is written last and replaced
+	 * atomically, so an incomplete snapshot is never restored.
+	 */
+	@SuppressWarnings("deprecation")
+	private void saveSnapshot(File dir, boolean removeDuplicates, List<BundleStamp> fingerprint) {
+		Path file = dir.toPath().resolve(SNAPSHOT_FILE);
+		try {
+			Files.createDirectories(dir.toPath());
+			Files.deleteIfExists(file);
+			fAuxiliaryState.savePluginInfo(dir);
+			Path tmp = Files.createTempFile(dir.toPath(), SNAPSHOT_FILE, ".tmp"); //$NON-NLS-1$
 			try {
-				subMonitor.subTask(file.getName());
-				addBundle(file, -1);
-			} catch (CoreException e) {
-				if (e.getStatus().getCode() != ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST) {
-					PDECore.log(e);
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+					out.writeInt(SNAPSHOT_MAGIC);
+					out.writeInt(SNAPSHOT_VERSION);
+					out.writeBoolean(removeDuplicates);
+					out.writeUTF(getDevProperties());
+					out.writeInt(fingerprint.size());
+					for (BundleStamp stamp : fingerprint) {
+						out.writeUTF(stamp.uri());
+						out.writeLong(stamp.size());
+						out.writeLong(stamp.lastModified());
+					}
+					out.writeUTF(getSystemBundle());
+					out.writeLong(fId);
+					// the state has to be last, it may close the stream
+					stateObjectFactory.writeState(fState, out);
 				}
+				Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} finally {
+				Files.deleteIfExists(tmp);
 			}
-			subMonitor.split(1);
+		} catch (IOException e) {
+			PDECore.log(Status.warning("Failed to write target state snapshot " + file, e)); //$NON-NLS-1$
 		}
 	}
 
+	/**
+	 * Manifests are woven with the dev properties of the running platform, so
+	 * snapshots taken with other dev properties cannot be used
+	 */
+	private static String getDevProperties() {
+		return System.getProperty("osgi.dev", ""); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * @return whether the resolved state was restored from a snapshot instead
+	 *         of being created from the target bundles
+	 */
+	public boolean isRestoredFromSnapshot() {
+		return fRestored;
+	}
+
+	private static Path getManifestCacheFile() {
+		return PDECore.getDefault().getStateLocation().append(MANIFEST_CACHE_FILE).toFile().toPath();
+	}
+
 	private Comparator<BaseDescription> systemBundlesFirst(String systemBSN) {
 		Function<BaseDescription, Boolean> isSystemBundle = b -> systemBSN.equals(b.getSupplier().getSymbolicName());
 		return Comparator.comparing(isSystemBundle).reversed(); // false<true
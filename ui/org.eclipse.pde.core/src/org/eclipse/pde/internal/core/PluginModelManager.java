@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -31,6 +32,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -68,6 +74,23 @@ import org.osgi.resource.Resource;
 
 public class PluginModelManager implements IModelProviderListener {
 	private static final String fExternalPluginListFile = "SavedExternalPluginList.txt"; //$NON-NLS-1$
+	private static final String fTargetStateSnapshotDir = "target_state"; //$NON-NLS-1$
+
+	/**
+	 * System property to configure the number of threads computing classpaths
+	 * in the {@link UpdateClasspathsJob}. Classpaths are computed one after
+	 * another unless it is set to more than <code>1</code>, as the
+	 * contributed {@link org.eclipse.pde.core.IClasspathContributor}s are not
+	 * required to be thread safe.
+	 */
+	public static final String CLASSPATH_COMPUTATION_THREADS_PROPERTY = "pde.classpath.computationThreads"; //$NON-NLS-1$
+
+	/**
+	 * Maximum number of threads computing classpaths in the
+	 * {@link UpdateClasspathsJob}
+	 */
+	private static final int MAX_CLASSPATH_COMPUTATIONS = Math.max(1,
+			Integer.getInteger(CLASSPATH_COMPUTATION_THREADS_PROPERTY, 1).intValue());
 	private static PluginModelManager fModelManager;
 
 	/**
@@ -102,6 +125,7 @@ public class PluginModelManager implements IModelProviderListener {
 						fProjects.clear();
 						fContainers.clear();
 					}
+					computeClasspathEntries(containers, monitor);
 					JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, projects, containers, monitor);
 					synchronized (fProjects) {
 						more = !fProjects.isEmpty();
@@ -114,6 +138,80 @@ public class PluginModelManager implements IModelProviderListener {
 			return Status.OK_STATUS;
 		}
 
+		/**
+		 * Computes the entries of the given containers concurrently if more
+		 * than one thread is configured by
+		 * {@link PluginModelManager#CLASSPATH_COMPUTATION_THREADS_PROPERTY}.
+		 * The classpaths of the projects do not depend on each other, only on
+		 * the state, so they do not have to be computed one after another
+		 * while the containers are set. Failures are left for the container to
+		 * report when its entries are requested again.
+		 * <p>
+		 * Returns only once no computation is running anymore, also if the
+		 * monitor is canceled, so the containers are not modified after the job
+		 * has handed them over or given them up.
+		 * </p>
+		 */
+		private void computeClasspathEntries(IClasspathContainer[] containers, IProgressMonitor monitor) {
+			int threads = Math.min(containers.length, MAX_CLASSPATH_COMPUTATIONS);
+			if (threads <= 1) {
+				return;
+			}
+			ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+				Thread thread = new Thread(r, "PDE Classpath Computation"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			List<Future<?>> futures = new ArrayList<>(containers.length);
+			try {
+				for (IClasspathContainer container : containers) {
+					futures.add(executor.submit(container::getClasspathEntries));
+				}
+				for (Future<?> future : futures) {
+					if (monitor != null && monitor.isCanceled()) {
+						return;
+					}
+					try {
+						future.get();
+					} catch (ExecutionException e) {
+						if (PDECore.DEBUG_CLASSPATH) {
+							PDECore.log(e.getCause());
+						}
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				// computations that did not start yet are dropped, running ones
+				// are not interrupted as they write the entries when done
+				for (Future<?> future : futures) {
+					future.cancel(false);
+				}
+				executor.shutdown();
+				awaitTermination(executor);
+			}
+		}
+
+		/**
+		 * Waits for all tasks of the given executor to complete. An interrupt
+		 * does not stop the wait but is restored afterwards.
+		 */
+		private void awaitTermination(ExecutorService executor) {
+			boolean interrupted = false;
+			while (true) {
+				try {
+					if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+						break;
+					}
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
 		/**
 		 * Queues more projects/containers.
 		 */
@@ -150,6 +248,24 @@ public class PluginModelManager implements IModelProviderListener {
 			super(id);
 		}
 
+		/**
+		 * Whether this entry is part of a published {@link Snapshot}, in which
+		 * case it must no longer be modified. Only accessed by writers holding
+		 * fEntriesSynchronizer.
+		 */
+		boolean fPublished = false;
+
+		/**
+		 * Constructs an unpublished copy of the given entry
+		 *
+		 * @param entry the entry to copy
+		 */
+		LocalModelEntry(LocalModelEntry entry) {
+			super(entry.getId());
+			fWorkspaceEntries.addAll(entry.fWorkspaceEntries);
+			fExternalEntries.addAll(entry.fExternalEntries);
+		}
+
 		/**
 		 * Adds a model to the entry.
 		 * An entry keeps two lists: one for workspace models
@@ -182,6 +298,24 @@ public class PluginModelManager implements IModelProviderListener {
 		}
 	}
 
+	/**
+	 * The last published view of the master table, the PDE state and the
+	 * target models. Readers use it without locking while writers prepare the
+	 * next one.
+	 * <p>
+	 * Only the table is immutable. The PDE state is not copied on publication:
+	 * a target reload publishes a new state, but workspace model changes update
+	 * the published state in place, see {@link #getState()}.
+	 * </p>
+	 *
+	 * @param entries unmodifiable master table keyed by plug-in ID, its entries
+	 *            are never modified after publication
+	 * @param state the live PDE state
+	 * @param externalModels the target models
+	 */
+	private record Snapshot(Map<String, LocalModelEntry> entries, PDEState state, IPluginModelBase[] externalModels) {
+	}
+
 	private final ExternalModelManager fExternalManager; // keeps track of changes in target models
 	private final WorkspacePluginModelManager fWorkspaceManager; // keeps track of changes in the workspace
 	private PDEState fState; // keeps the combined view of the target and workspace
@@ -191,9 +325,14 @@ public class PluginModelManager implements IModelProviderListener {
 	 **/
 	private Map<String, LocalModelEntry> fEntries; // a master table keyed by plugin ID and the value is a ModelEntry
 	/**
-	 * used to synchronize all public methods which (indirectly) use fEntries
+	 * used to synchronize all writers of fEntries and fState
 	 **/
 	private final Object fEntriesSynchronizer = new Object();
+	/**
+	 * the last published view of fEntries and fState, <code>null</code> until
+	 * the table is initialized
+	 **/
+	private volatile Snapshot fSnapshot;
 
 	private ArrayList<IPluginModelListener> fListeners; // a list of listeners interested in changes to the plug-in models
 	private ArrayList<IStateDeltaListener> fStateListeners; // a list of listeners interested in changes to the PDE/resolver State
@@ -284,6 +423,10 @@ public class PluginModelManager implements IModelProviderListener {
 			}
 		}
 
+		// make the changed entries visible to readers, the classpath update
+		// below looks up models by the changed bundles
+		publishSnapshot();
+
 		if (fState != null) {
 			// if the target location has not changed, incrementally re-resolve the state after processing all the add/remove/modify changes
 			// Otherwise, the state is in a good resolved state
@@ -297,6 +440,7 @@ public class PluginModelManager implements IModelProviderListener {
 			}
 			// trigger a classpath update for all workspace plug-ins affected by the
 			// processed batch of changes, run asynch for manifest changes
+			RequiredPluginsClasspathContainer.invalidateVisiblePackages(stateDelta);
 			updateAffectedEntries(stateDelta);
 			fireStateDelta(stateDelta);
 
@@ -471,9 +615,7 @@ public class PluginModelManager implements IModelProviderListener {
 	 * 		<code>false</code> otherwise.
 	 */
 	public boolean isEmpty() {
-		synchronized (fEntriesSynchronizer) {
-			return getEntryTable().isEmpty();
-		}
+		return getSnapshot().entries().isEmpty();
 	}
 
 	/**
@@ -484,9 +626,7 @@ public class PluginModelManager implements IModelProviderListener {
 	 * 		<code>false</code> otherwise.
 	 */
 	public boolean isInitialized() {
-		synchronized (fEntriesSynchronizer) {
-			return fEntries != null;
-		}
+		return fSnapshot != null;
 	}
 
 	/**
@@ -503,7 +643,8 @@ public class PluginModelManager implements IModelProviderListener {
 	}
 
 	/**
-	 * Clears all existing models and recreates them
+	 * Clears all existing models and recreates them. Readers keep seeing the
+	 * previous models until the new ones are complete.
 	 */
 	public void targetReloaded(IProgressMonitor monitor) {
 		synchronized (fEntriesSynchronizer) {
@@ -513,17 +654,62 @@ public class PluginModelManager implements IModelProviderListener {
 	}
 
 	/**
-	 * Allow access to the table only through this getter.
-	 * It always calls initialize to make sure the table is initialized.
-	 * If more than one thread tries to read the table at the same time,
-	 * and the table is not initialized yet, thread2 would wait.
-	 * This way there are no partial reads.
+	 * Allow writers access to the table only through this getter. It always
+	 * calls initialize to make sure the table is initialized. Has to be called
+	 * synchronized with fEntriesSynchronizer.
 	 */
 	private Map<String, LocalModelEntry> getEntryTable() {
 		initializeTable(null);
 		return fEntries;
 	}
 
+	/**
+	 * Allow readers access to the table only through this getter. Readers
+	 * never wait for writers, except for the initialization of the table: if
+	 * more than one thread tries to read the table before it is initialized,
+	 * the others wait for the first. This way there are no partial reads.
+	 */
+	private Snapshot getSnapshot() {
+		Snapshot snapshot = fSnapshot;
+		if (snapshot == null) {
+			synchronized (fEntriesSynchronizer) {
+				initializeTable(null);
+				snapshot = fSnapshot;
+			}
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Publishes the current table to readers. Entries of the published table
+	 * are copied before they are modified again. Has to be called synchronized
+	 * with fEntriesSynchronizer.
+	 */
+	private void publishSnapshot() {
+		for (LocalModelEntry entry : fEntries.values()) {
+			entry.fPublished = true;
+		}
+		fSnapshot = new Snapshot(Collections.unmodifiableMap(new TreeMap<>(fEntries)), fState,
+				fExternalManager.getAllModels());
+	}
+
+	/**
+	 * Returns the entry with the given ID from the table, so that it can be
+	 * modified. Has to be called synchronized with fEntriesSynchronizer.
+	 *
+	 * @param entries the table
+	 * @param id the plug-in ID
+	 * @return the modifiable entry or <code>null</code> if there is none
+	 */
+	private LocalModelEntry getModifiableEntry(Map<String, LocalModelEntry> entries, String id) {
+		LocalModelEntry entry = entries.get(id);
+		if (entry != null && entry.fPublished) {
+			entry = new LocalModelEntry(entry);
+			entries.put(id, entry);
+		}
+		return entry;
+	}
+
 	/** Has to be called synchronized with fEntriesSynchronizer **/
 	private void initializeTable(IProgressMonitor monitor) {
 		if (fEntries != null) {
@@ -557,7 +743,9 @@ public class PluginModelManager implements IModelProviderListener {
 			//set empty fState, fExternalManager, fEntries- scheduling target platform resolve
 			fState = new PDEState(new URI[0], true, true, subMon);
 			fExternalManager.setModels(new IPluginModelBase[0]);
+			RequiredPluginsClasspathContainer.invalidateVisiblePackages(null);
 			fEntries = entries;
+			publishSnapshot();
 			LoadTargetDefinitionJob.load(unresolvedRepoBasedtarget);
 			return;
 		}
@@ -575,7 +763,9 @@ public class PluginModelManager implements IModelProviderListener {
 			fCancelled = true;
 		}
 
-		fState = new PDEState(externalUris, true, true, subMon.split(15));
+		// an unchanged target is restored from the snapshot of the resolved target state
+		File snapshotLocation = new File(PDECore.getDefault().getStateLocation().toOSString(), fTargetStateSnapshotDir);
+		fState = new PDEState(externalUris, true, true, snapshotLocation, subMon.split(15));
 		fExternalManager.setModels(fState.getTargetModels());
 		addToTable(entries, fExternalManager.getAllModels());
 
@@ -608,8 +798,10 @@ public class PluginModelManager implements IModelProviderListener {
 		subMon.split(5);
 
 		fEntries = entries;
+		publishSnapshot();
 		// flush the extension registry cache since workspace data (BundleDescription id's) have changed.
 		PDECore.getDefault().getExtensionsRegistry().targetReloaded();
+		RequiredPluginsClasspathContainer.invalidateVisiblePackages(null);
 		if (oldState != null) {
 			// Need to update classpath entries
 			updateAffectedEntries(null);
@@ -692,7 +884,7 @@ public class PluginModelManager implements IModelProviderListener {
 			if (id == null) {
 				continue;
 			}
-			LocalModelEntry entry = entries.get(id);
+			LocalModelEntry entry = getModifiableEntry(entries, id);
 			// create a new entry for the given ID if none already exists
 			if (entry == null) {
 				entry = new LocalModelEntry(id);
@@ -839,7 +1031,7 @@ public class PluginModelManager implements IModelProviderListener {
 	 * @param model  the model being added
 	 */
 	private void handleAdd(String id, IPluginModelBase model, PluginModelDelta delta) {
-		LocalModelEntry entry = getEntryTable().get(id);
+		LocalModelEntry entry = getModifiableEntry(getEntryTable(), id);
 
 		// add model to the corresponding ModelEntry.  Create a new entry if necessary
 		if (entry == null) {
@@ -874,7 +1066,7 @@ public class PluginModelManager implements IModelProviderListener {
 	 * @param model  the model to be removed
 	 */
 	private void handleRemove(String id, IPluginModelBase model, PluginModelDelta delta) {
-		LocalModelEntry entry = getEntryTable().get(id);
+		LocalModelEntry entry = getModifiableEntry(getEntryTable(), id);
 		if (entry != null) {
 			// remove model from the entry
 			entry.removeModel(model);
@@ -968,7 +1160,7 @@ public class PluginModelManager implements IModelProviderListener {
 				// description from the state
 				fState.removeBundleDescription(model.getBundleDescription());
 			}
-			delta.addEntry(findEntry(oldID), PluginModelDelta.CHANGED);
+			delta.addEntry(getEntryTable().get(oldID), PluginModelDelta.CHANGED);
 		} else {
 			// if the symbolic name of the bundle has completely changed,
 			// remove the model from the old entry, and add the model to the new entry
@@ -985,12 +1177,11 @@ public class PluginModelManager implements IModelProviderListener {
 	 * @return a model entry containing all workspace and target plug-ins by the given ID
 	 */
 	public ModelEntry findEntry(String id) {
-		synchronized (fEntriesSynchronizer) {
-			if ("system.bundle".equals(id)) { //$NON-NLS-1$
-				id = getSystemBundleId();
-			}
-			return id == null ? null : (ModelEntry) getEntryTable().get(id);
+		Snapshot snapshot = getSnapshot();
+		if ("system.bundle".equals(id)) { //$NON-NLS-1$
+			id = snapshot.state().getSystemBundle();
 		}
+		return id == null ? null : (ModelEntry) snapshot.entries().get(id);
 	}
 
 	/**
@@ -1028,10 +1219,8 @@ public class PluginModelManager implements IModelProviderListener {
 	 * 			is not a plug-in project
 	 */
 	public IPluginModelBase findModel(IProject project) {
-		synchronized (fEntriesSynchronizer) {
-			initializeTable(null);
-			return fWorkspaceManager.getModel(project);
-		}
+		getSnapshot();
+		return fWorkspaceManager.getModel(project);
 	}
 
 	/**
@@ -1085,21 +1274,19 @@ public class PluginModelManager implements IModelProviderListener {
 	 * (possibly) fragments that are checked on the Target Platform preference page.
 	 */
 	public IPluginModelBase[] getActiveModels(boolean includeFragments) {
-		synchronized (fEntriesSynchronizer) {
-			int size = getEntryTable().size();
-			ArrayList<IPluginModelBase> result = new ArrayList<>(size);
-			Iterator<LocalModelEntry> iter = getEntryTable().values().iterator();
-			while (iter.hasNext()) {
-				ModelEntry entry = iter.next();
-				IPluginModelBase[] models = entry.getActiveModels();
-				for (IPluginModelBase model : models) {
-					if (model instanceof IPluginModel || includeFragments) {
-						result.add(model);
-					}
+		Map<String, LocalModelEntry> entries = getSnapshot().entries();
+		ArrayList<IPluginModelBase> result = new ArrayList<>(entries.size());
+		Iterator<LocalModelEntry> iter = entries.values().iterator();
+		while (iter.hasNext()) {
+			ModelEntry entry = iter.next();
+			IPluginModelBase[] models = entry.getActiveModels();
+			for (IPluginModelBase model : models) {
+				if (model instanceof IPluginModel || includeFragments) {
+					result.add(model);
 				}
 			}
-			return result.toArray(new IPluginModelBase[result.size()]);
 		}
+		return result.toArray(new IPluginModelBase[result.size()]);
 	}
 
 	/**
@@ -1139,22 +1326,20 @@ public class PluginModelManager implements IModelProviderListener {
 	 * checked on the Target Platform preference page.
 	 */
 	public IPluginModelBase[] getAllModels(boolean includeFragments) {
-		synchronized (fEntriesSynchronizer) {
-			int size = getEntryTable().size();
-			ArrayList<IPluginModelBase> result = new ArrayList<>(size);
-			Iterator<LocalModelEntry> iter = getEntryTable().values().iterator();
-			while (iter.hasNext()) {
-				ModelEntry entry = iter.next();
-				IPluginModelBase[] models = entry.hasWorkspaceModels() ? entry.getWorkspaceModels()
-						: entry.getExternalModels();
-				for (IPluginModelBase model : models) {
-					if (model instanceof IPluginModel || includeFragments) {
-						result.add(model);
-					}
+		Map<String, LocalModelEntry> entries = getSnapshot().entries();
+		ArrayList<IPluginModelBase> result = new ArrayList<>(entries.size());
+		Iterator<LocalModelEntry> iter = entries.values().iterator();
+		while (iter.hasNext()) {
+			ModelEntry entry = iter.next();
+			IPluginModelBase[] models = entry.hasWorkspaceModels() ? entry.getWorkspaceModels()
+					: entry.getExternalModels();
+			for (IPluginModelBase model : models) {
+				if (model instanceof IPluginModel || includeFragments) {
+					result.add(model);
 				}
 			}
-			return result.toArray(new IPluginModelBase[result.size()]);
 		}
+		return result.toArray(new IPluginModelBase[result.size()]);
 	}
 
 	/**
@@ -1163,10 +1348,7 @@ public class PluginModelManager implements IModelProviderListener {
 	 * @return  all plug-ins in the target platform
 	 */
 	public IPluginModelBase[] getExternalModels() {
-		synchronized (fEntriesSynchronizer) {
-			initializeTable(null);
-			return fExternalManager.getAllModels();
-		}
+		return getSnapshot().externalModels();
 	}
 
 	/**
@@ -1175,10 +1357,8 @@ public class PluginModelManager implements IModelProviderListener {
 	 * @return all plug-in models in the workspace
 	 */
 	public IPluginModelBase[] getWorkspaceModels() {
-		synchronized (fEntriesSynchronizer) {
-			initializeTable(null);
-			return fWorkspaceManager.getPluginModels();
-		}
+		getSnapshot();
+		return fWorkspaceManager.getPluginModels();
 	}
 
 	/**
@@ -1187,21 +1367,25 @@ public class PluginModelManager implements IModelProviderListener {
 	 * @return  the model manager that keeps track of plug-ins in the target platform
 	 */
 	public ExternalModelManager getExternalModelManager() {
-		synchronized (fEntriesSynchronizer) {
-			initializeTable(null);
-			return fExternalManager;
-		}
+		getSnapshot();
+		return fExternalManager;
 	}
 
 	/**
 	 * Returns the state containing bundle descriptions for workspace plug-ins and target plug-ins
 	 * that form the current PDE state
+	 * <p>
+	 * The returned state is live and is not guarded by the model manager.
+	 * Workspace model changes add, update, remove and resolve its bundle
+	 * descriptions in place. Each operation of the underlying resolver state
+	 * is synchronized, so single queries are safe. A caller that runs several
+	 * queries and needs them to agree, for example iterating the bundles and
+	 * then looking up their wires, has to work on a copy created with
+	 * {@link org.eclipse.osgi.service.resolver.StateObjectFactory#createState(org.eclipse.osgi.service.resolver.State)}.
+	 * </p>
 	 */
 	public PDEState getState() {
-		synchronized (fEntriesSynchronizer) {
-			initializeTable(null);
-			return fState;
-		}
+		return getSnapshot().state();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2023 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import org.eclipse.core.resources.IFile;
@@ -45,11 +46,13 @@ import org.eclipse.jdt.core.IClasspathContainer;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.osgi.service.resolver.BaseDescription;
+import org.eclipse.osgi.service.resolver.BundleDelta;
 import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.osgi.service.resolver.BundleSpecification;
 import org.eclipse.osgi.service.resolver.ExportPackageDescription;
 import org.eclipse.osgi.service.resolver.HostSpecification;
 import org.eclipse.osgi.service.resolver.ImportPackageSpecification;
+import org.eclipse.osgi.service.resolver.StateDelta;
 import org.eclipse.osgi.service.resolver.StateHelper;
 import org.eclipse.pde.core.IClasspathContributor;
 import org.eclipse.pde.core.build.IBuild;
@@ -93,6 +96,36 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 	 */
 	private static List<IClasspathContributor> fClasspathContributors;
 
+	/**
+	 * Cached rules for the packages visible to a bundle, grouped by exporter.
+	 * They are computed once per bundle until its wiring changes and reused
+	 * whenever the classpath of the bundle's project or of its fragments is
+	 * computed again. Entries are only published through
+	 * {@link Map#computeIfAbsent(Object, java.util.function.Function)}, so an
+	 * invalidation waits for a computation of the same bundle and removes its
+	 * result instead of being overtaken by it.
+	 * <p>
+	 * The keys belong to the current PDE state. When the target is reloaded
+	 * all bundle descriptions are replaced, so the cache is cleared instead of
+	 * keeping the previous state reachable.
+	 * </p>
+	 *
+	 * @see #invalidateVisiblePackages(StateDelta)
+	 */
+	private static final Map<BundleDescription, Map<BundleDescription, List<Rule>>> fVisiblePackages = new ConcurrentHashMap<>();
+
+	/**
+	 * Cached rules of exported packages whose access does not depend on the
+	 * importing bundle, i.e. packages without x-friends. They are shared by
+	 * all bundles importing or requiring the exporter, so the rules of a
+	 * prerequisite are only computed once for all projects depending on it.
+	 * A rule only depends on its export, whose bundle description is replaced
+	 * when the exporter changes, so entries never become stale; they are
+	 * dropped with the visible packages to not keep previous states
+	 * reachable.
+	 */
+	private static final Map<ExportPackageDescription, Rule> fExportRules = new ConcurrentHashMap<>();
+
 	private final IProject project;
 
 	/**
@@ -314,20 +347,61 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 	}
 
 	private Map<BundleDescription, List<Rule>> retrieveVisiblePackagesFromState(BundleDescription desc) {
-		Map<BundleDescription, List<Rule>> visiblePackages = new HashMap<>();
-		StateHelper helper = BundleHelper.getPlatformAdmin().getStateHelper();
-		addVisiblePackagesFromState(helper, desc, visiblePackages);
+		Map<BundleDescription, List<Rule>> visiblePackages = new HashMap<>(getVisiblePackages(desc));
 		if (desc.getHost() != null) {
-			addVisiblePackagesFromState(helper, (BundleDescription) desc.getHost().getSupplier(), visiblePackages);
+			getVisiblePackages((BundleDescription) desc.getHost().getSupplier())
+					.forEach((exporter, rules) -> visiblePackages.merge(exporter, rules, (list, hostRules) -> {
+						List<Rule> merged = new ArrayList<>(list);
+						hostRules.stream().filter(rule -> !merged.contains(rule)).forEach(merged::add);
+						return merged;
+					}));
 		}
 		return visiblePackages;
 	}
 
-	private void addVisiblePackagesFromState(StateHelper helper, BundleDescription desc,
-			Map<BundleDescription, List<Rule>> visiblePackages) {
+	/**
+	 * Returns the rules for the packages visible to the given bundle, grouped
+	 * by exporter
+	 *
+	 * @param desc the bundle, may be <code>null</code>
+	 * @return unmodifiable map of exporters to rules
+	 */
+	private static Map<BundleDescription, List<Rule>> getVisiblePackages(BundleDescription desc) {
 		if (desc == null) {
+			return Map.of();
+		}
+		return fVisiblePackages.computeIfAbsent(desc, d -> {
+			Map<BundleDescription, List<Rule>> computed = new HashMap<>();
+			addVisiblePackagesFromState(BundleHelper.getPlatformAdmin().getStateHelper(), d, computed);
+			computed.replaceAll((exporter, rules) -> List.copyOf(rules));
+			return Map.copyOf(computed);
+		});
+	}
+
+	/**
+	 * Drops the cached visible packages of the bundles whose wiring changed.
+	 * Bundles depending on changed bundles are re-resolved and therefore part
+	 * of the delta as well.
+	 *
+	 * @param delta the delta of a resolution, <code>null</code> to drop all
+	 *            cached visible packages
+	 */
+	static void invalidateVisiblePackages(StateDelta delta) {
+		if (delta == null) {
+			fVisiblePackages.clear();
+			fExportRules.clear();
 			return;
 		}
+		Set<BundleDescription> changed = new HashSet<>();
+		for (BundleDelta bundleDelta : delta.getChanges()) {
+			fVisiblePackages.remove(bundleDelta.getBundle());
+			changed.add(bundleDelta.getBundle());
+		}
+		fExportRules.keySet().removeIf(export -> changed.contains(export.getExporter()));
+	}
+
+	private static void addVisiblePackagesFromState(StateHelper helper, BundleDescription desc,
+			Map<BundleDescription, List<Rule>> visiblePackages) {
 		ExportPackageDescription[] exports = helper.getVisiblePackages(desc);
 		for (ExportPackageDescription export : exports) {
 			BundleDescription exporter = export.getExporter();
@@ -335,14 +409,16 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 				continue;
 			}
 			List<Rule> list = visiblePackages.computeIfAbsent(exporter, e -> new ArrayList<>());
-			Rule rule = getRule(helper, desc, export);
+			Rule rule = export.getDirective(ICoreConstants.FRIENDS_DIRECTIVE) == null
+					? fExportRules.computeIfAbsent(export, e -> getRule(helper, desc, e))
+					: getRule(helper, desc, export);
 			if (!list.contains(rule)) {
 				list.add(rule);
 			}
 		}
 	}
 
-	private Rule getRule(StateHelper helper, BundleDescription desc, ExportPackageDescription export) {
+	private static Rule getRule(StateHelper helper, BundleDescription desc, ExportPackageDescription export) {
 		boolean discouraged = helper.getAccessCode(desc, export) == StateHelper.ACCESS_DISCOURAGED;
 		String name = export.getName();
 		IPath path = name.equals(".") ? IPath.fromOSString("*") : IPath.fromOSString(name.replace('.', '/') + "/*"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
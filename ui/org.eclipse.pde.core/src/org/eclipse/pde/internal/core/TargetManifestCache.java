@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.pde.internal.core.util.ManifestUtils;
+
+/**
+ * Persistent cache of the manifests of target bundle archives, so archives
+ * that did not change since the last target state was created do not have to
+ * be opened again. Entries are keyed by the path of the archive and only
+ * reused while its size and last modification time are unchanged. Bundles in
+ * directories are always read, as changes to their manifest do not show in the
+ * directory's modification time.
+ * <p>
+ * The cache file is shared by all target states created in the workspace, for
+ * example for the active target and for targets shown in wizards. Saving
+ * therefore merges the entries of this cache with those saved by others since
+ * it was loaded. Entries are evicted when they were not used for
+ * {@value #MAX_AGE_DAYS} days, or least recently used first once there are more
+ * than {@value #MAX_ENTRIES}.
+ * </p>
+ * <p>
+ * Instances are thread safe.
+ * </p>
+ */
+public class TargetManifestCache {
+
+	private static final int MAGIC = 0x50444d43;
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * Number of days after which unused entries are evicted
+	 */
+	static final int MAX_AGE_DAYS = 30;
+
+	/**
+	 * Maximum number of entries kept when saving
+	 */
+	static final int MAX_ENTRIES = 50000;
+
+	private static final long DAY = 24L * 60 * 60 * 1000;
+
+	/**
+	 * A cached manifest, or the message of the status explaining why the
+	 * archive is not a bundle, and when it was last used
+	 */
+	private record Entry(long size, long lastModified, Map<String, String> manifest, String notABundleMessage, long lastUsed) {
+		Entry used(long time) {
+			return new Entry(size, lastModified, manifest, notABundleMessage, time);
+		}
+	}
+
+	private final Path fFile;
+	private final Map<String, Entry> fEntries;
+	private final Map<String, Entry> fUsed = new ConcurrentHashMap<>();
+	private final AtomicInteger fHits = new AtomicInteger();
+	private volatile boolean fChanged = false;
+
+	private TargetManifestCache(Path file, Map<String, Entry> entries) {
+		fFile = file;
+		fEntries = entries;
+	}
+
+	/**
+	 * Loads the cache stored in the given file. A missing or unreadable file
+	 * results in an empty cache.
+	 *
+	 * @param file the file the cache is stored in
+	 * @return the cache
+	 */
+	public static TargetManifestCache load(Path file) {
+		return new TargetManifestCache(file, read(file));
+	}
+
+	private static Map<String, Entry> read(Path file) {
+		Map<String, Entry> entries = new HashMap<>();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() == MAGIC && in.readInt() == FORMAT_VERSION) {
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					String path = in.readUTF();
+					long size = in.readLong();
+					long lastModified = in.readLong();
+					long lastUsed = in.readLong();
+					if (in.readBoolean()) {
+						int headers = in.readInt();
+						// header names are case insensitive, as in the manifests read from the archives
+						Map<String, String> manifest = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+						for (int j = 0; j < headers; j++) {
+							manifest.put(in.readUTF(), readString(in));
+						}
+						entries.put(path, new Entry(size, lastModified, Collections.unmodifiableMap(manifest), null, lastUsed));
+					} else {
+						entries.put(path, new Entry(size, lastModified, null, in.readUTF(), lastUsed));
+					}
+				}
+			}
+		} catch (NoSuchFileException e) {
+			// no cache yet
+		} catch (IOException e) {
+			PDECore.log(Status.warning("Failed to read target manifest cache " + file, e)); //$NON-NLS-1$
+			entries.clear();
+		}
+		return entries;
+	}
+
+	/**
+	 * Returns the manifest of the bundle at the given location, see
+	 * {@link ManifestUtils#loadManifest(File)}. The returned map may be
+	 * modified by the caller, its keys are case insensitive.
+	 *
+	 * @param bundleLocation root location of the bundle, an archive or a
+	 *            directory
+	 * @return map of bundle manifest properties
+	 * @throws CoreException if the location is not a bundle or its manifest
+	 *             could not be read
+	 */
+	public Map<String, String> getManifest(File bundleLocation) throws CoreException {
+		if (!bundleLocation.isFile()) {
+			return ManifestUtils.loadManifest(bundleLocation);
+		}
+		String path = bundleLocation.getAbsolutePath();
+		long size = bundleLocation.length();
+		long lastModified = bundleLocation.lastModified();
+		long now = System.currentTimeMillis();
+		Entry entry = fEntries.get(path);
+		if (entry != null && entry.size() == size && entry.lastModified() == lastModified) {
+			fHits.incrementAndGet();
+			if (entry.lastUsed() < now - DAY) {
+				// saved with a new last use, so it is not evicted
+				fChanged = true;
+			}
+		} else {
+			try {
+				entry = new Entry(size, lastModified, Collections.unmodifiableMap(ManifestUtils.loadManifest(bundleLocation)), null, now);
+			} catch (CoreException e) {
+				if (e.getStatus().getCode() != ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST) {
+					// may be a transient problem, try again next time
+					throw e;
+				}
+				entry = new Entry(size, lastModified, null, e.getStatus().getMessage(), now);
+			}
+			fChanged = true;
+		}
+		fUsed.put(path, entry.used(now));
+		if (entry.manifest() == null) {
+			throw new CoreException(new Status(IStatus.ERROR, PDECore.PLUGIN_ID,
+					ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST, entry.notABundleMessage(), null));
+		}
+		Map<String, String> manifest = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+		manifest.putAll(entry.manifest());
+		return manifest;
+	}
+
+	/**
+	 * @return the number of manifests served from the cache
+	 */
+	public int getHitCount() {
+		return fHits.get();
+	}
+
+	/**
+	 * Stores the entries used since the cache was loaded, merged with the
+	 * entries currently stored by other users of the cache file. Entries that
+	 * were not used recently are evicted. Does nothing if no entries changed.
+	 */
+	public void save() {
+		if (!fChanged) {
+			return;
+		}
+		// serializes the merges of caches sharing a file in this process
+		synchronized (TargetManifestCache.class) {
+			saveMerged();
+		}
+	}
+
+	private void saveMerged() {
+		Map<String, Entry> merged = read(fFile);
+		fUsed.forEach((path, entry) -> merged.merge(path, entry, (stored, used) -> stored.lastUsed() > used.lastUsed() ? stored : used));
+		long oldest = System.currentTimeMillis() - MAX_AGE_DAYS * DAY;
+		merged.values().removeIf(entry -> entry.lastUsed() < oldest);
+		List<Map.Entry<String, Entry>> entries = new ArrayList<>(merged.entrySet());
+		if (entries.size() > MAX_ENTRIES) {
+			entries.sort(Comparator.comparingLong((Map.Entry<String, Entry> e) -> e.getValue().lastUsed()).reversed());
+			entries = entries.subList(0, MAX_ENTRIES);
+		}
+		try {
+			Files.createDirectories(fFile.getParent());
+			Path tmp = Files.createTempFile(fFile.getParent(), fFile.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+			try {
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+					out.writeInt(MAGIC);
+					out.writeInt(FORMAT_VERSION);
+					out.writeInt(entries.size());
+					for (Map.Entry<String, Entry> stored : entries) {
+						Entry entry = stored.getValue();
+						out.writeUTF(stored.getKey());
+						out.writeLong(entry.size());
+						out.writeLong(entry.lastModified());
+						out.writeLong(entry.lastUsed());
+						out.writeBoolean(entry.manifest() != null);
+						if (entry.manifest() != null) {
+							out.writeInt(entry.manifest().size());
+							for (Map.Entry<String, String> header : entry.manifest().entrySet()) {
+								out.writeUTF(header.getKey());
+								writeString(out, header.getValue());
+							}
+						} else {
+							out.writeUTF(entry.notABundleMessage());
+						}
+					}
+				}
+				Files.move(tmp, fFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				fChanged = false;
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+		} catch (IOException e) {
+			PDECore.log(Status.warning("Failed to write target manifest cache " + fFile, e)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Header values are not bound by the 64k limit of modified UTF-8 strings,
+	 * so they are written as length prefixed UTF-8 bytes.
+	 */
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
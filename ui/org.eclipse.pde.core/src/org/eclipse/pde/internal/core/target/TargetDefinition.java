@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,11 +27,21 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -43,6 +53,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
@@ -118,7 +129,8 @@ public class TargetDefinition implements ITargetDefinition {
 	public static final int MODE_FEATURE = 1;
 
 	// cache of features found for a given location, maps a string path location to a array of IFeatureModels (IFeatureModel[])
-	private static Map<String, TargetFeature[]> fFeaturesInLocation = new HashMap<>();
+	// locations of a target are resolved concurrently, so the cache is concurrent
+	private static Map<String, TargetFeature[]> fFeaturesInLocation = new ConcurrentHashMap<>();
 
 	// internal cache for features.  A target managed by features will contain a set of features as well as a set of plug-ins that don't belong to a feature
 	private TargetFeature[] fFeatures;
@@ -126,6 +138,47 @@ public class TargetDefinition implements ITargetDefinition {
 
 	private int fSequenceNumber = -1;
 
+	/**
+	 * System property to configure how many target locations are resolved at
+	 * the same time, <code>1</code> resolves them one after another. Unless it
+	 * is set, only the directory, installation and feature locations are
+	 * resolved at the same time, all other locations are resolved one after
+	 * another as their implementations may not be thread safe.
+	 */
+	public static final String RESOLVE_PARALLELISM_PROPERTY = "pde.target.resolveParallelism"; //$NON-NLS-1$
+
+	/**
+	 * Configured number of target locations resolved at the same time or
+	 * <code>null</code>
+	 */
+	private static final Integer CONFIGURED_RESOLVE_PARALLELISM = Integer.getInteger(RESOLVE_PARALLELISM_PROPERTY);
+
+	/**
+	 * Maximum number of target locations resolved at the same time
+	 */
+	private static final int RESOLVE_PARALLELISM = Math.max(1, CONFIGURED_RESOLVE_PARALLELISM != null
+			? CONFIGURED_RESOLVE_PARALLELISM.intValue()
+			: Math.min(Runtime.getRuntime().availableProcessors(), 4));
+
+	/**
+	 * Types of locations known to be safe to resolve at the same time as
+	 * other locations
+	 */
+	private static final Set<Class<?>> CONCURRENT_LOCATION_TYPES = Set.of(DirectoryBundleContainer.class,
+			ProfileBundleContainer.class, FeatureBundleContainer.class);
+
+	/**
+	 * Part of the resolution of this target that does not depend on the other
+	 * parts
+	 *
+	 * @param work amount of work reported when the task is done
+	 * @param concurrent whether the task may run at the same time as other
+	 *            tasks
+	 * @param job resolves the locations and returns their non-OK statuses
+	 */
+	private record ResolveTask(int work, boolean concurrent, Function<IProgressMonitor, List<IStatus>> job) {
+	}
+
 	/**
 	 * Constructs a target definition based on the given handle.
 	 */
@@ -373,47 +426,39 @@ public class TargetDefinition implements ITargetDefinition {
 		SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.TargetDefinition_1, targetLocations.length * 100);
 		try {
 			MultiStatus status = new MultiStatus(PDECore.PLUGIN_ID, 0, Messages.TargetDefinition_2, null);
-			Map<P2TargetUtils, List<ITargetLocation>> synchronizers = new HashMap<>();
+			// keep the order of the locations so statuses are reported in a stable order
+			Map<P2TargetUtils, List<ITargetLocation>> synchronizers = new LinkedHashMap<>();
 			// clear all previous maps
 			P2TargetUtils.fgTargetArtifactRepo.clear();
 			P2TargetUtils.fgArtifactKeyRepoFile.clear();
+			// usual target definition locations are independent of each other,
+			// each one stores its own bundles so their order does not depend
+			// on the order in which they are resolved
+			List<ResolveTask> tasks = new ArrayList<>();
 			for (ITargetLocation location : targetLocations) {
-				subMonitor.checkCanceled();
-				subMonitor.subTask(Messages.TargetDefinition_4);
 				P2TargetUtils synchronizer = location.getAdapter(P2TargetUtils.class);
 				if (synchronizer == null) {
-					// a usual target definition location
-					IStatus s = location.resolve(this, subMonitor.split(100));
-					if (!s.isOK()) {
-						status.add(s);
-					}
+					tasks.add(new ResolveTask(100, isConcurrent(location), m -> resolveLocations(List.of(location), m)));
 				} else {
 					// has to be performed later on in a separate batch
 					synchronizers.computeIfAbsent(synchronizer, nil -> new ArrayList<>()).add(location);
 				}
 			}
+			List<ITargetLocation> delayedLocations = synchronizers.values().stream().flatMap(Collection::stream)
+					.toList();
+			int synchronizerWork = synchronizers.isEmpty() ? 0 : synchronizers.size() * 100 + delayedLocations.size();
+			subMonitor.setWorkRemaining(tasks.stream().mapToInt(ResolveTask::work).sum() + synchronizerWork);
+			subMonitor.subTask(Messages.TargetDefinition_4);
+			for (List<IStatus> statuses : runResolveTasks(tasks, subMonitor)) {
+				statuses.forEach(status::add);
+			}
 			if (!synchronizers.isEmpty()) {
-				List<ITargetLocation> delayedLocations = synchronizers.values().stream().flatMap(Collection::stream)
-						.toList();
-				subMonitor.setWorkRemaining(synchronizers.size() * 100 + delayedLocations.size());
-				for (Entry<P2TargetUtils, List<ITargetLocation>> entry : synchronizers.entrySet()) {
-					subMonitor.checkCanceled();
-					try {
-						entry.getKey().synchronize(this, subMonitor.split(100));
-						entry.getValue().stream().map(loc -> loc.getStatus()).filter(Objects::nonNull)
-								.filter(s -> !s.isOK()).forEach(status::add);
-					} catch (CoreException e) {
-						PDECore.log(e.getStatus());
-						status.add(e.getStatus());
-					}
-				}
-				for (ITargetLocation location : delayedLocations) {
-					subMonitor.checkCanceled();
-					IStatus s = location.resolve(this, subMonitor.split(1));
-					if (!s.isOK()) {
-						status.add(s);
-					}
-				}
+				// the synchronizers share the p2 bundle pool and read the
+				// other locations of the target (e.g. for additional
+				// provisioning IUs), so they run one after another once all
+				// other locations are resolved
+				synchronize(synchronizers, delayedLocations, subMonitor.split(synchronizerWork))
+						.forEach(status::add);
 			}
 			if (status.isOK()) {
 				return fResolutionStatus = Status.OK_STATUS;
@@ -428,6 +473,144 @@ public class TargetDefinition implements ITargetDefinition {
 		}
 	}
 
+	/**
+	 * Returns whether the given location may be resolved at the same time as
+	 * other locations. Contributed locations have always been resolved one
+	 * after another, so they are only resolved at the same time if that is
+	 * configured explicitly.
+	 */
+	private static boolean isConcurrent(ITargetLocation location) {
+		return CONFIGURED_RESOLVE_PARALLELISM != null || CONCURRENT_LOCATION_TYPES.contains(location.getClass());
+	}
+
+	/**
+	 * Runs the given tasks, the concurrent ones with up to
+	 * {@link #RESOLVE_PARALLELISM} threads and the others one after another
+	 * in the calling thread. Progress is reported as tasks complete and
+	 * cancellation of the monitor is forwarded to all running tasks.
+	 *
+	 * @return the results of the tasks, in the order of the tasks
+	 * @throws OperationCanceledException if the monitor was canceled
+	 */
+	private static List<List<IStatus>> runResolveTasks(List<ResolveTask> tasks, SubMonitor subMonitor) {
+		List<List<IStatus>> results = new ArrayList<>(tasks.size());
+		int concurrent = (int) tasks.stream().filter(ResolveTask::concurrent).count();
+		int threads = Math.min(concurrent, RESOLVE_PARALLELISM);
+		if (threads <= 1) {
+			for (ResolveTask task : tasks) {
+				subMonitor.checkCanceled();
+				results.add(task.job().apply(subMonitor.split(task.work())));
+			}
+			return results;
+		}
+		IProgressMonitor taskMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return super.isCanceled() || subMonitor.isCanceled();
+			}
+		};
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "Target Location Resolver"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			List<Future<List<IStatus>>> futures = new ArrayList<>(tasks.size());
+			for (ResolveTask task : tasks) {
+				futures.add(task.concurrent() ? executor.submit(() -> task.job().apply(taskMonitor)) : null);
+			}
+			for (int i = 0; i < tasks.size(); i++) {
+				ResolveTask task = tasks.get(i);
+				Future<List<IStatus>> future = futures.get(i);
+				if (future == null) {
+					// runs while the concurrent tasks are resolved
+					subMonitor.checkCanceled();
+					results.add(task.job().apply(subMonitor.split(task.work())));
+				} else {
+					results.add(waitFor(future, subMonitor));
+					subMonitor.split(task.work());
+				}
+			}
+			return results;
+		} finally {
+			// stops the remaining tasks if resolution was canceled or failed
+			taskMonitor.setCanceled(true);
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Waits for a resolve task, checking the monitor for cancellation
+	 */
+	private static List<IStatus> waitFor(Future<List<IStatus>> future, IProgressMonitor monitor) {
+		while (true) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				return future.get(100, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// check for cancellation again
+			} catch (CancellationException e) {
+				throw new OperationCanceledException();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				if (e.getCause() instanceof Error error) {
+					throw error;
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+
+	/**
+	 * Resolves the given locations one after another
+	 *
+	 * @return the non-OK statuses of the locations
+	 */
+	private List<IStatus> resolveLocations(List<ITargetLocation> locations, IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, locations.size());
+		List<IStatus> statuses = new ArrayList<>();
+		for (ITargetLocation location : locations) {
+			subMonitor.checkCanceled();
+			IStatus s = location.resolve(this, subMonitor.split(1));
+			if (!s.isOK()) {
+				statuses.add(s);
+			}
+		}
+		return statuses;
+	}
+
+	/**
+	 * Runs the given p2 synchronizers one after another and then resolves their
+	 * locations
+	 *
+	 * @return the non-OK statuses of the synchronizers and locations
+	 */
+	private List<IStatus> synchronize(Map<P2TargetUtils, List<ITargetLocation>> synchronizers,
+			List<ITargetLocation> delayedLocations, IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, synchronizers.size() * 100 + delayedLocations.size());
+		List<IStatus> statuses = new ArrayList<>();
+		for (Entry<P2TargetUtils, List<ITargetLocation>> entry : synchronizers.entrySet()) {
+			subMonitor.checkCanceled();
+			try {
+				entry.getKey().synchronize(this, subMonitor.split(100));
+				entry.getValue().stream().map(loc -> loc.getStatus()).filter(Objects::nonNull)
+						.filter(s -> !s.isOK()).forEach(statuses::add);
+			} catch (CoreException e) {
+				PDECore.log(e.getStatus());
+				statuses.add(e.getStatus());
+			}
+		}
+		statuses.addAll(resolveLocations(delayedLocations, subMonitor.split(delayedLocations.size())));
+		return statuses;
+	}
+
 	@Override
 	public boolean isResolved() {
 		ITargetLocation[] containers = getTargetLocations();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 EclipseSource Corporation and others.
+ * Copyright (c) 2009, 2026 EclipseSource Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import org.eclipse.debug.core.ILaunchConfigurationListener;
 import org.eclipse.pde.internal.core.PDEPreferencesManager;
 import org.eclipse.pde.internal.launching.launcher.LaunchConfigurationListener;
 import org.eclipse.pde.internal.launching.launcher.LaunchListener;
+import org.eclipse.pde.internal.launching.launcher.LaunchPreparationCache;
 import org.eclipse.pde.internal.launching.launcher.LauncherUtils;
 import org.eclipse.pde.internal.launching.launcher.OSGiFrameworkManager;
 import org.osgi.framework.Bundle;
@@ -59,6 +60,8 @@ public class PDELaunchingPlugin extends Plugin implements IPDEConstants {
 
 	private PDEPreferencesManager fPreferenceManager;
 
+	private LaunchPreparationCache fLaunchPreparationCache;
+
 	public PDELaunchingPlugin() {
 		fInstance = this;
 	}
@@ -135,6 +138,8 @@ public class PDELaunchingPlugin extends Plugin implements IPDEConstants {
 	public void stop(BundleContext context) throws Exception {
 		if (fLaunchListener != null)
 			fLaunchListener.shutdown();
+		if (fLaunchPreparationCache != null)
+			fLaunchPreparationCache.dispose();
 		if (fDebugPluginUtil != null) {
 			fDebugPluginUtil.removeListener();
 		}
@@ -154,6 +159,12 @@ public class PDELaunchingPlugin extends Plugin implements IPDEConstants {
 		return fOSGiFrameworkManager;
 	}
 
+	public synchronized LaunchPreparationCache getLaunchPreparationCache() {
+		if (fLaunchPreparationCache == null)
+			fLaunchPreparationCache = new LaunchPreparationCache();
+		return fLaunchPreparationCache;
+	}
+
 	/**
 	 * Utility class that creates and controls a the PDE launch configuration
 	 * listener. This is done in a separate class to avoid loading the debug
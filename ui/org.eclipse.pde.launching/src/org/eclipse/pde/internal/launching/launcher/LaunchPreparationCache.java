@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.launching.launcher;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.osgi.service.resolver.StateDelta;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.internal.core.ICoreConstants;
+import org.eclipse.pde.internal.core.IFeatureModelDelta;
+import org.eclipse.pde.internal.core.IFeatureModelListener;
+import org.eclipse.pde.internal.core.IPluginModelListener;
+import org.eclipse.pde.internal.core.IStateDeltaListener;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PluginModelDelta;
+import org.eclipse.pde.internal.core.ifeature.IFeature;
+import org.eclipse.pde.internal.launching.PDELaunchingPlugin;
+
+/**
+ * Remembers what was computed to prepare the launch of a launch configuration,
+ * so that relaunching an unchanged configuration does not compute the bundles
+ * to launch, validate them or write the configuration area again.
+ * <p>
+ * A {@link Preparation} is valid as long as the attributes of the launch
+ * configuration are the same and no plug-in model, feature model or resolved
+ * state changed. Changes to workspace files that affect the launch but not the
+ * models, such as build.properties, .classpath and product files, invalidate all
+ * preparations as well. The files written to the configuration area are only
+ * reused as long as they have not been modified or deleted since.
+ * </p>
+ *
+ * @see PDELaunchingPlugin#getLaunchPreparationCache()
+ */
+public class LaunchPreparationCache implements IPluginModelListener, IStateDeltaListener, IFeatureModelListener, IResourceChangeListener {
+
+	private static final int MAX_ENTRIES = 8;
+	private static final Set<String> WATCHED_FILES = Set.of(ICoreConstants.BUILD_FILENAME_DESCRIPTOR, ".classpath", //$NON-NLS-1$
+			ICoreConstants.MANIFEST_FILENAME, ICoreConstants.PLUGIN_FILENAME_DESCRIPTOR, ICoreConstants.FRAGMENT_FILENAME_DESCRIPTOR);
+	private static final String PRODUCT_EXTENSION = "product"; //$NON-NLS-1$
+	private static final String CONFIG_INI = "config.ini"; //$NON-NLS-1$
+	private static final String DEV_PROPERTIES = "dev.properties"; //$NON-NLS-1$
+	private static final String BUNDLES_INFO = "org.eclipse.equinox.simpleconfigurator/bundles.info"; //$NON-NLS-1$
+
+	private record Fingerprint(Map<String, Object> attributes, long generation) {
+	}
+
+	private record Stamp(long length, long modified) {
+		static Stamp of(File file) {
+			return new Stamp(file.length(), file.lastModified());
+		}
+	}
+
+	/**
+	 * What was computed to launch a launch configuration. Getters return
+	 * <code>null</code> if the value has not been computed yet.
+	 */
+	public static final class Preparation {
+		private final Fingerprint fFingerprint;
+		private Map<IPluginModelBase, String> fModels;
+		private Map<IFeature, Boolean> fFeatures;
+		private final Set<String> fValidatedModes = new HashSet<>(2);
+		private Properties fConfigIni;
+		private String fDevEntries;
+		private final Map<File, Stamp> fConfigFiles = new HashMap<>(4);
+
+		Preparation(Fingerprint fingerprint) {
+			fFingerprint = fingerprint;
+		}
+
+		/**
+		 * @return a copy of the bundles to launch with their start levels
+		 */
+		public synchronized Map<IPluginModelBase, String> getModels() {
+			return fModels == null ? null : new LinkedHashMap<>(fModels);
+		}
+
+		/**
+		 * @return a copy of the features to install in the generated profile,
+		 *         <code>null</code> if no profile is generated
+		 */
+		public synchronized Map<IFeature, Boolean> getFeatures() {
+			return fFeatures == null ? null : new LinkedHashMap<>(fFeatures);
+		}
+
+		public synchronized void setModels(Map<IPluginModelBase, String> models, Map<IFeature, Boolean> features) {
+			fModels = new LinkedHashMap<>(models);
+			fFeatures = features == null ? null : new LinkedHashMap<>(features);
+		}
+
+		/**
+		 * @return whether the bundles were validated without errors for the
+		 *         given launch mode
+		 */
+		public synchronized boolean isValidated(String mode) {
+			return fValidatedModes.contains(mode);
+		}
+
+		public synchronized void setValidated(String mode) {
+			fValidatedModes.add(mode);
+		}
+
+		/**
+		 * Returns the properties written to config.ini if the files written to
+		 * the given configuration area are unchanged
+		 *
+		 * @param configDir the configuration area
+		 * @return a copy of the config.ini properties or <code>null</code>
+		 */
+		public synchronized Properties getConfigIni(File configDir) {
+			if (fConfigIni == null || !fConfigFiles.containsKey(new File(configDir, CONFIG_INI)))
+				return null;
+			for (Map.Entry<File, Stamp> file : fConfigFiles.entrySet()) {
+				if (!file.getKey().isFile() || !Stamp.of(file.getKey()).equals(file.getValue()))
+					return null;
+			}
+			Properties properties = new Properties();
+			properties.putAll(fConfigIni);
+			return properties;
+		}
+
+		/**
+		 * @return the URL of the dev.properties file written with the
+		 *         config.ini returned by {@link #getConfigIni(File)}
+		 */
+		public synchronized String getDevEntries() {
+			return fDevEntries;
+		}
+
+		/**
+		 * Remembers the files just written to the given configuration area
+		 *
+		 * @param configIni the properties written to config.ini
+		 * @param devEntries the URL of the dev.properties file
+		 * @param configDir the configuration area
+		 */
+		public synchronized void setConfigFiles(Properties configIni, String devEntries, File configDir) {
+			fConfigIni = new Properties();
+			fConfigIni.putAll(configIni);
+			fDevEntries = devEntries;
+			fConfigFiles.clear();
+			for (String name : new String[] {CONFIG_INI, DEV_PROPERTIES, BUNDLES_INFO}) {
+				File file = new File(configDir, name);
+				if (file.isFile())
+					fConfigFiles.put(file, Stamp.of(file));
+			}
+		}
+	}
+
+	private final AtomicLong fGeneration = new AtomicLong();
+
+	private final Map<String, Preparation> fPreparations = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Preparation> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	public LaunchPreparationCache() {
+		PDECore.getDefault().getModelManager().addPluginModelListener(this);
+		PDECore.getDefault().getModelManager().addStateDeltaListener(this);
+		PDECore.getDefault().getFeatureModelManager().addFeatureModelListener(this);
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+	}
+
+	public void dispose() {
+		PDECore.getDefault().getModelManager().removePluginModelListener(this);
+		PDECore.getDefault().getModelManager().removeStateDeltaListener(this);
+		PDECore.getDefault().getFeatureModelManager().removeFeatureModelListener(this);
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
+		invalidate();
+	}
+
+	/**
+	 * Returns the preparation of the given launch configuration in its current
+	 * state, which is empty if the configuration or the models changed since it
+	 * was last launched
+	 *
+	 * @param configuration the launch configuration
+	 * @return the preparation, never <code>null</code>
+	 * @throws CoreException if the attributes of the configuration cannot be read
+	 */
+	public Preparation getPreparation(ILaunchConfiguration configuration) throws CoreException {
+		Fingerprint fingerprint = new Fingerprint(configuration.getAttributes(), fGeneration.get());
+		synchronized (fPreparations) {
+			Preparation preparation = fPreparations.get(configuration.getName());
+			if (preparation == null || !preparation.fFingerprint.equals(fingerprint)) {
+				preparation = new Preparation(fingerprint);
+				fPreparations.put(configuration.getName(), preparation);
+			}
+			return preparation;
+		}
+	}
+
+	/**
+	 * Discards all preparations
+	 */
+	public void invalidate() {
+		fGeneration.incrementAndGet();
+		synchronized (fPreparations) {
+			fPreparations.clear();
+		}
+	}
+
+	@Override
+	public void modelsChanged(PluginModelDelta delta) {
+		invalidate();
+	}
+
+	@Override
+	public void modelsChanged(IFeatureModelDelta delta) {
+		invalidate();
+	}
+
+	@Override
+	public void stateResolved(StateDelta delta) {
+		invalidate();
+	}
+
+	@Override
+	public void stateChanged(State newState) {
+		invalidate();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta = event.getDelta();
+		if (delta == null)
+			return;
+		boolean[] affected = new boolean[1];
+		try {
+			delta.accept(child -> {
+				if (affected[0])
+					return false;
+				IResource resource = child.getResource();
+				if (resource.getType() == IResource.FILE && (WATCHED_FILES.contains(resource.getName()) || PRODUCT_EXTENSION.equals(((IFile) resource).getFileExtension())))
+					affected[0] = true;
+				return !affected[0];
+			});
+		} catch (CoreException e) {
+			affected[0] = true;
+		}
+		if (affected[0])
+			invalidate();
+	}
+}
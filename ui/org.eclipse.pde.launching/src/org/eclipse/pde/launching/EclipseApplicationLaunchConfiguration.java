@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2021 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -41,11 +41,13 @@ import org.eclipse.pde.internal.core.TargetPlatformHelper;
 import org.eclipse.pde.internal.core.ifeature.IFeature;
 import org.eclipse.pde.internal.core.util.CoreUtility;
 import org.eclipse.pde.internal.launching.IPDEConstants;
+import org.eclipse.pde.internal.launching.PDELaunchingPlugin;
 import org.eclipse.pde.internal.launching.launcher.BundleLauncherHelper;
 import org.eclipse.pde.internal.launching.launcher.EclipsePluginValidationOperation;
 import org.eclipse.pde.internal.launching.launcher.LaunchArgumentsHelper;
 import org.eclipse.pde.internal.launching.launcher.LaunchConfigurationHelper;
 import org.eclipse.pde.internal.launching.launcher.LaunchPluginValidator;
+import org.eclipse.pde.internal.launching.launcher.LaunchPreparationCache;
 import org.eclipse.pde.internal.launching.launcher.LauncherUtils;
 import org.eclipse.pde.internal.launching.launcher.RequirementHelper;
 
@@ -90,6 +92,9 @@ public class EclipseApplicationLaunchConfiguration extends AbstractPDELaunchConf
 
 	private Map<IFeature, Boolean> fFeatures;
 
+	// what was computed by previous launches of the unchanged configuration
+	private LaunchPreparationCache.Preparation fPreparation;
+
 	@Override
 	public String[] getProgramArguments(ILaunchConfiguration configuration) throws CoreException {
 		ArrayList<String> programArgs = new ArrayList<>();
@@ -119,8 +124,18 @@ public class EclipseApplicationLaunchConfiguration extends AbstractPDELaunchConf
 			programArgs.add(fWorkspaceLocation);
 		}
 
-		String productID = LaunchConfigurationHelper.getProductID(configuration);
-		Properties prop = LaunchConfigurationHelper.createConfigIniFile(configuration, productID, fAllBundles, fFeatures, fModels, getConfigDir(configuration));
+		File configDir = getConfigDir(configuration);
+		Properties prop = fPreparation.getConfigIni(configDir);
+		String devEntries = fPreparation.getDevEntries();
+		if (prop == null) {
+			String productID = LaunchConfigurationHelper.getProductID(configuration);
+			prop = LaunchConfigurationHelper.createConfigIniFile(configuration, productID, fAllBundles, fFeatures, fModels, configDir);
+			devEntries = ClasspathHelper.getDevEntriesProperties(configDir.toString() + "/dev.properties", fAllBundles); //$NON-NLS-1$
+			// a generated profile or a config.ini template may change without changing the configuration
+			if (fFeatures == null && configuration.getAttribute(IPDELauncherConstants.CONFIG_GENERATE_DEFAULT, true)) {
+				fPreparation.setConfigFiles(prop, devEntries, configDir);
+			}
+		}
 		boolean showSplash = prop.containsKey("osgi.splashPath") || prop.containsKey("splashLocation"); //$NON-NLS-1$ //$NON-NLS-2$
 		TargetPlatformHelper.checkPluginPropertiesConsistency(fAllBundles, getConfigDir(configuration));
 		programArgs.add("-configuration"); //$NON-NLS-1$
@@ -128,7 +143,7 @@ public class EclipseApplicationLaunchConfiguration extends AbstractPDELaunchConf
 
 		// add the output folder names
 		programArgs.add("-dev"); //$NON-NLS-1$
-		programArgs.add(ClasspathHelper.getDevEntriesProperties(getConfigDir(configuration).toString() + "/dev.properties", fAllBundles)); //$NON-NLS-1$
+		programArgs.add(devEntries);
 
 		String[] args = super.getProgramArguments(configuration);
 		Collections.addAll(programArgs, args);
@@ -213,7 +228,15 @@ public class EclipseApplicationLaunchConfiguration extends AbstractPDELaunchConf
 		} else {
 			fFeatures = null;
 		}
-		fModels = BundleLauncherHelper.getMergedBundleMap(configuration, false, fFeatures);
+		fPreparation = PDELaunchingPlugin.getDefault().getLaunchPreparationCache().getPreparation(configuration);
+		Map<IPluginModelBase, String> models = fPreparation.getModels();
+		if (models != null) {
+			fModels = models;
+			fFeatures = fPreparation.getFeatures();
+		} else {
+			fModels = BundleLauncherHelper.getMergedBundleMap(configuration, false, fFeatures);
+			fPreparation.setModels(fModels, fFeatures);
+		}
 		fAllBundles = fModels.keySet().stream().collect(Collectors.groupingBy(m -> m.getPluginBase().getId()));
 
 		validateConfigIni(configuration);
@@ -238,8 +261,14 @@ public class EclipseApplicationLaunchConfiguration extends AbstractPDELaunchConf
 
 	@Override
 	protected void validatePluginDependencies(ILaunchConfiguration configuration, IProgressMonitor monitor) throws CoreException {
+		if (fPreparation.isValidated(launchMode)) {
+			return;
+		}
 		EclipsePluginValidationOperation op = new EclipsePluginValidationOperation(configuration, fModels.keySet(), launchMode);
 		LaunchPluginValidator.runValidationOperation(op, monitor);
+		if (!op.hasErrors()) {
+			fPreparation.setValidated(launchMode);
+		}
 	}
 
 	@Override
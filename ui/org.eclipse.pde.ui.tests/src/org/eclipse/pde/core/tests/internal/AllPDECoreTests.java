@@ -9,6 +9,8 @@ import org.junit.runners.Suite.SuiteClasses;
 	DependencyManagerTest.class, //
 	WorkspaceModelManagerTest.class, //
 	WorkspaceProductModelManagerTest.class, //
+	TargetManifestCacheTest.class, //
+	PDEStateSnapshotTest.class, //
 })
 public class AllPDECoreTests {
 }
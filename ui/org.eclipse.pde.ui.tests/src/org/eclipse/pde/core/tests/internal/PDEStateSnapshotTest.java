@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.ExportPackageDescription;
+import org.eclipse.pde.internal.core.PDEState;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PDEStateSnapshotTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testUnchangedTargetIsRestored() throws Exception {
+		File snapshot = new File(folder.getRoot(), "snapshot");
+		URI[] target = createTarget();
+
+		PDEState state = new PDEState(target, true, true, snapshot, null);
+		assertFalse(state.isRestoredFromSnapshot());
+		assertResolved(state);
+
+		state = new PDEState(target, true, true, snapshot, null);
+		assertTrue(state.isRestoredFromSnapshot());
+		assertResolved(state);
+		assertEquals(2, state.getTargetModels().length);
+		BundleDescription a = state.getState().getBundle("org.example.a", null);
+		assertEquals("Bundle A", state.getPluginName(a.getBundleId()));
+	}
+
+	@Test
+	public void testChangedTargetIsResolvedAgain() throws Exception {
+		File snapshot = new File(folder.getRoot(), "snapshot");
+		URI[] target = createTarget();
+		new PDEState(target, true, true, snapshot, null);
+
+		File b = new File(target[1]);
+		assertTrue(b.setLastModified(b.lastModified() + 2000));
+		PDEState state = new PDEState(target, true, true, snapshot, null);
+		assertFalse(state.isRestoredFromSnapshot());
+		assertResolved(state);
+
+		state = new PDEState(new URI[] { target[0] }, true, true, snapshot, null);
+		assertFalse(state.isRestoredFromSnapshot());
+		assertEquals(1, state.getTargetModels().length);
+	}
+
+	private void assertResolved(PDEState state) {
+		BundleDescription a = state.getState().getBundle("org.example.a", null);
+		BundleDescription b = state.getState().getBundle("org.example.b", null);
+		assertNotNull(a);
+		assertNotNull(b);
+		assertTrue(a.isResolved());
+		assertTrue(b.isResolved());
+		ExportPackageDescription[] imports = b.getResolvedImports();
+		assertEquals(1, imports.length);
+		assertEquals(a, imports[0].getExporter());
+	}
+
+	private URI[] createTarget() throws IOException {
+		File a = createJar("a.jar", "org.example.a", "Bundle A", "Export-Package", "org.example.a");
+		File b = createJar("b.jar", "org.example.b", "Bundle B", "Import-Package", "org.example.a");
+		return new URI[] { a.toURI(), b.toURI() };
+	}
+
+	private File createJar(String name, String symbolicName, String bundleName, String header, String value)
+			throws IOException {
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		attributes.putValue("Bundle-ManifestVersion", "2");
+		attributes.putValue("Bundle-SymbolicName", symbolicName);
+		attributes.putValue("Bundle-Name", bundleName);
+		attributes.putValue("Bundle-Version", "1.0.0");
+		attributes.putValue(header, value);
+		File jar = new File(folder.getRoot(), name);
+		try (OutputStream out = Files.newOutputStream(jar.toPath()); JarOutputStream jarOut = new JarOutputStream(out, manifest)) {
+			// manifest only
+		}
+		return jar;
+	}
+}
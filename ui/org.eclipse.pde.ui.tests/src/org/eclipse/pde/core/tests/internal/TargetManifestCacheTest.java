@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.internal.core.TargetManifestCache;
+import org.eclipse.pde.internal.core.util.ManifestUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TargetManifestCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testManifestIsCached() throws Exception {
+		Path cacheFile = folder.getRoot().toPath().resolve("manifests.dat");
+		File bundle = createJar("a.jar", "org.example.a", "1.0.0");
+
+		TargetManifestCache cache = TargetManifestCache.load(cacheFile);
+		assertEquals("org.example.a", cache.getManifest(bundle).get("Bundle-SymbolicName"));
+		assertEquals(0, cache.getHitCount());
+		cache.save();
+
+		cache = TargetManifestCache.load(cacheFile);
+		Map<String, String> manifest = cache.getManifest(bundle);
+		assertEquals(1, cache.getHitCount());
+		assertEquals("org.example.a", manifest.get("Bundle-SymbolicName"));
+		assertEquals("1.0.0", manifest.get("Bundle-Version"));
+		// callers may modify the returned manifest
+		manifest.put("Bundle-Version", "2.0.0");
+		assertEquals("1.0.0", cache.getManifest(bundle).get("Bundle-Version"));
+	}
+
+	@Test
+	public void testChangedArchiveIsReloaded() throws Exception {
+		Path cacheFile = folder.getRoot().toPath().resolve("manifests.dat");
+		File bundle = createJar("a.jar", "org.example.a", "1.0.0");
+
+		TargetManifestCache cache = TargetManifestCache.load(cacheFile);
+		cache.getManifest(bundle);
+		cache.save();
+
+		long lastModified = bundle.lastModified();
+		createJar("a.jar", "org.example.a", "1.0.1");
+		bundle.setLastModified(lastModified + 2000);
+
+		cache = TargetManifestCache.load(cacheFile);
+		assertEquals("1.0.1", cache.getManifest(bundle).get("Bundle-Version"));
+		assertEquals(0, cache.getHitCount());
+	}
+
+	@Test
+	public void testHeaderNamesAreCaseInsensitive() throws Exception {
+		Path cacheFile = folder.getRoot().toPath().resolve("manifests.dat");
+		Manifest jarManifest = new Manifest();
+		jarManifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		jarManifest.getMainAttributes().putValue("Bundle-Symbolicname", "org.example.a");
+		jarManifest.getMainAttributes().putValue("bundle-version", "1.0.0");
+		File bundle = createJar("a.jar", jarManifest);
+
+		TargetManifestCache cache = TargetManifestCache.load(cacheFile);
+		Map<String, String> manifest = cache.getManifest(bundle);
+		assertEquals("org.example.a", manifest.get("Bundle-SymbolicName"));
+		assertEquals("1.0.0", manifest.get("Bundle-Version"));
+		cache.save();
+
+		cache = TargetManifestCache.load(cacheFile);
+		manifest = cache.getManifest(bundle);
+		assertEquals(1, cache.getHitCount());
+		assertEquals("org.example.a", manifest.get("Bundle-SymbolicName"));
+		assertEquals("1.0.0", manifest.get("Bundle-Version"));
+	}
+
+	@Test
+	public void testNotABundleIsCached() throws Exception {
+		Path cacheFile = folder.getRoot().toPath().resolve("manifests.dat");
+		File jar = createJar("plain.jar", null, null);
+
+		TargetManifestCache cache = TargetManifestCache.load(cacheFile);
+		CoreException e = assertThrows(CoreException.class, () -> cache.getManifest(jar));
+		assertEquals(ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST, e.getStatus().getCode());
+		cache.save();
+
+		TargetManifestCache reloaded = TargetManifestCache.load(cacheFile);
+		e = assertThrows(CoreException.class, () -> reloaded.getManifest(jar));
+		assertEquals(ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST, e.getStatus().getCode());
+		assertEquals(1, reloaded.getHitCount());
+	}
+
+	@Test
+	public void testCachesSharingAFileKeepEachOthersEntries() throws Exception {
+		Path cacheFile = folder.getRoot().toPath().resolve("manifests.dat");
+		File a = createJar("a.jar", "org.example.a", "1.0.0");
+		File b = createJar("b.jar", "org.example.b", "1.0.0");
+
+		// two target states created from the same cache file, each reading
+		// other bundles
+		TargetManifestCache first = TargetManifestCache.load(cacheFile);
+		TargetManifestCache second = TargetManifestCache.load(cacheFile);
+		first.getManifest(a);
+		second.getManifest(b);
+		first.save();
+		second.save();
+
+		TargetManifestCache reloaded = TargetManifestCache.load(cacheFile);
+		reloaded.getManifest(a);
+		reloaded.getManifest(b);
+		assertEquals(2, reloaded.getHitCount());
+		reloaded.save();
+
+		// saving a cache that only used one bundle keeps the other
+		TargetManifestCache onlyA = TargetManifestCache.load(cacheFile);
+		onlyA.getManifest(a);
+		onlyA.getManifest(createJar("c.jar", "org.example.c", "1.0.0"));
+		onlyA.save();
+		reloaded = TargetManifestCache.load(cacheFile);
+		reloaded.getManifest(b);
+		assertEquals(1, reloaded.getHitCount());
+	}
+
+	private File createJar(String name, String symbolicName, String version) throws IOException {
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		if (symbolicName != null) {
+			attributes.putValue("Bundle-ManifestVersion", "2");
+			attributes.putValue("Bundle-SymbolicName", symbolicName);
+			attributes.putValue("Bundle-Version", version);
+		}
+		return createJar(name, manifest);
+	}
+
+	private File createJar(String name, Manifest manifest) throws IOException {
+		File jar = new File(folder.getRoot(), name);
+		try (OutputStream out = Files.newOutputStream(jar.toPath()); JarOutputStream jarOut = new JarOutputStream(out, manifest)) {
+			// manifest only
+		}
+		return jar;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020, 2023 Red Hat Inc. and others.
+ * Copyright (c) 2020, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,12 +17,15 @@ package org.eclipse.pde.core.tests.internal.classpath;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.function.Predicate;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -30,6 +33,7 @@ import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IAccessRule;
 import org.eclipse.jdt.core.IClasspathContainer;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
@@ -147,6 +151,30 @@ public class ClasspathResolutionTest {
 		}
 	}
 
+	@Test
+	public void testVisiblePackagesFollowManifestChanges() throws Exception {
+		loadTargetPlatform(jakartaAnnotationProviderBSN);
+		IProject project = ProjectUtils.importTestProject("tests/projects/demoMissedExternalPackage");
+		project.build(IncrementalProjectBuilder.FULL_BUILD, new NullProgressMonitor());
+
+		List<String> imported = getAccessiblePatterns(project, jakartaAnnotationProviderBSN);
+		assertThat(imported).containsExactly("jakarta/annotation/*");
+		// computed again from the cached visible packages
+		assertThat(getAccessiblePatterns(project, jakartaAnnotationProviderBSN)).isEqualTo(imported);
+
+		// requiring the bundle makes all of its packages visible
+		IFile manifest = project.getFile("META-INF/MANIFEST.MF");
+		String content = new String(manifest.getContents(true).readAllBytes(), StandardCharsets.UTF_8);
+		content = content.replace("Import-Package: jakarta.annotation",
+				"Require-Bundle: " + jakartaAnnotationProviderBSN);
+		manifest.setContents(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), true, false,
+				null);
+		project.build(IncrementalProjectBuilder.FULL_BUILD, new NullProgressMonitor());
+
+		List<String> required = getAccessiblePatterns(project, jakartaAnnotationProviderBSN);
+		assertThat(required).contains("jakarta/annotation/*").hasSizeGreaterThan(imported.size());
+	}
+
 	// --- utilitiy methods ---
 
 	private List<String> getRequiredPluginContainerEntries(IProject project) throws CoreException {
@@ -157,6 +185,15 @@ public class ClasspathResolutionTest {
 				.map(IPath::lastSegment).toList();
 	}
 
+	private List<String> getAccessiblePatterns(IProject project, String bundleName) {
+		IPluginModelBase model = PDECore.getDefault().getModelManager().findModel(project);
+		IClasspathContainer container = new RequiredPluginsClasspathContainer(model, project);
+		IClasspathEntry entry = Arrays.stream(container.getClasspathEntries())
+				.filter(e -> e.getPath().lastSegment().contains(bundleName)).findFirst().orElseThrow();
+		return Arrays.stream(entry.getAccessRules()).filter(rule -> rule.getKind() == IAccessRule.K_ACCESSIBLE)
+				.map(rule -> rule.getPattern().toString()).toList();
+	}
+
 	private void loadTargetPlatform(String bundleName) throws Exception {
 		Set<String> bundleNames = Set.of(bundleName, "org.eclipse.osgi");
 		Predicate<Bundle> bundleFilter = b -> bundleNames.contains(b.getSymbolicName());
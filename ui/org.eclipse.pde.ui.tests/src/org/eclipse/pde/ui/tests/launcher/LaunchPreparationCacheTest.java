@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.launcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Properties;
+
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchConfigurationType;
+import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.pde.internal.launching.launcher.LaunchPreparationCache;
+import org.eclipse.pde.internal.launching.launcher.LaunchPreparationCache.Preparation;
+import org.eclipse.pde.launching.IPDELauncherConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the preparation of a launch is reused only while the launch
+ * configuration, the models and the written configuration files are unchanged
+ */
+public class LaunchPreparationCacheTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private LaunchPreparationCache cache;
+	private ILaunchConfigurationWorkingCopy configuration;
+
+	@Before
+	public void setUp() throws Exception {
+		cache = new LaunchPreparationCache();
+		ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+		ILaunchConfigurationType type = launchManager
+				.getLaunchConfigurationType(IPDELauncherConstants.ECLIPSE_APPLICATION_LAUNCH_CONFIGURATION_TYPE);
+		configuration = type.newInstance(null, "preparation-cache-test");
+		configuration.setAttribute(IPDELauncherConstants.APPLICATION, "org.eclipse.ui.ide.workbench");
+	}
+
+	@After
+	public void tearDown() {
+		cache.dispose();
+	}
+
+	@Test
+	public void testReusedForUnchangedConfiguration() throws Exception {
+		Preparation preparation = cache.getPreparation(configuration);
+		preparation.setValidated(ILaunchManager.RUN_MODE);
+
+		assertSame(preparation, cache.getPreparation(configuration));
+		assertTrue(cache.getPreparation(configuration).isValidated(ILaunchManager.RUN_MODE));
+		assertFalse(cache.getPreparation(configuration).isValidated(ILaunchManager.DEBUG_MODE));
+	}
+
+	@Test
+	public void testDiscardedWhenConfigurationChanges() throws Exception {
+		Preparation preparation = cache.getPreparation(configuration);
+		preparation.setValidated(ILaunchManager.RUN_MODE);
+
+		configuration.setAttribute(IPDELauncherConstants.APPLICATION, "org.eclipse.pde.junit.runtime.coretestapplication");
+		Preparation changed = cache.getPreparation(configuration);
+		assertNotSame(preparation, changed);
+		assertFalse(changed.isValidated(ILaunchManager.RUN_MODE));
+		assertNull(changed.getModels());
+	}
+
+	@Test
+	public void testDiscardedWhenInvalidated() throws Exception {
+		Preparation preparation = cache.getPreparation(configuration);
+		cache.invalidate();
+		assertNotSame(preparation, cache.getPreparation(configuration));
+	}
+
+	@Test
+	public void testConfigIniReusedUntilModified() throws Exception {
+		File configDir = folder.newFolder("config");
+		File configIni = new File(configDir, "config.ini");
+		Files.writeString(configIni.toPath(), "osgi.bundles.defaultStartLevel=4\n");
+		Properties properties = new Properties();
+		properties.setProperty("osgi.bundles.defaultStartLevel", "4");
+
+		Preparation preparation = cache.getPreparation(configuration);
+		assertNull(preparation.getConfigIni(configDir));
+		preparation.setConfigFiles(properties, "file:dev.properties", configDir);
+
+		Properties cached = preparation.getConfigIni(configDir);
+		assertNotNull(cached);
+		assertEquals(properties, cached);
+		assertEquals("file:dev.properties", preparation.getDevEntries());
+
+		Files.writeString(configIni.toPath(), "osgi.bundles.defaultStartLevel=5\nosgi.install.area=file:/tmp\n");
+		assertNull(preparation.getConfigIni(configDir));
+	}
+
+	@Test
+	public void testConfigIniNotReusedWhenDeleted() throws Exception {
+		File configDir = folder.newFolder("config");
+		File configIni = new File(configDir, "config.ini");
+		Files.writeString(configIni.toPath(), "osgi.bundles.defaultStartLevel=4\n");
+
+		Preparation preparation = cache.getPreparation(configuration);
+		preparation.setConfigFiles(new Properties(), "file:dev.properties", configDir);
+		assertNotNull(preparation.getConfigIni(configDir));
+
+		Files.delete(configIni.toPath());
+		assertNull(preparation.getConfigIni(configDir));
+	}
+}
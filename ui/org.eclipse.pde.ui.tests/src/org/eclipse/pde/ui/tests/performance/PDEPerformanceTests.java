@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.pde.ui.tests.performance;
 
+import org.eclipse.pde.ui.tests.performance.parts.ModelManagerContentionPerfTest;
 import org.eclipse.pde.ui.tests.performance.parts.OpenManifestEditorPerfTest;
 import org.eclipse.pde.ui.tests.performance.parts.PDEModelManagerPerfTest;
 import org.eclipse.pde.ui.tests.performance.parts.SchemaLoaderPerfTest;
@@ -25,7 +26,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
 	PDEModelManagerPerfTest.class, SchemaLoaderPerfTest.class, SchemaTraversePerfTest.class,
-	OpenManifestEditorPerfTest.class, TargetPlatformPerfTest.class
+	OpenManifestEditorPerfTest.class, TargetPlatformPerfTest.class, ModelManagerContentionPerfTest.class
 })
 public class PDEPerformanceTests {
 
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.performance.parts;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.core.target.ITargetDefinition;
+import org.eclipse.pde.core.target.ITargetLocation;
+import org.eclipse.pde.core.target.ITargetPlatformService;
+import org.eclipse.pde.core.target.LoadTargetDefinitionJob;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PluginModelManager;
+import org.eclipse.pde.ui.tests.PDETestCase;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Measures how long lookups in the {@link PluginModelManager} take while the
+ * target platform is reloaded in the background. Readers should not have to
+ * wait for the reload to complete.
+ */
+public class ModelManagerContentionPerfTest extends PerformanceTestCase {
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		PDETestCase.delete(PDECore.getDefault().getStateLocation().toFile());
+	}
+
+	public void testLookupsDuringTargetReload() throws Exception {
+		tagAsSummary("Model lookups during target reload", Dimension.ELAPSED_PROCESS);
+		Path testBundles = TargetPlatformPerfTest.extractTargetPerfTestPlugins();
+		ITargetPlatformService tps = PDECore.getDefault().acquireService(ITargetPlatformService.class);
+		ITargetDefinition target = tps.newTarget();
+		target.setTargetLocations(new ITargetLocation[] { tps.newDirectoryLocation(testBundles.toString()) });
+		tps.saveTargetDefinition(target);
+		target.resolve(new NullProgressMonitor());
+		LoadTargetDefinitionJob.load(target);
+
+		PluginModelManager manager = PDECore.getDefault().getModelManager();
+		IPluginModelBase[] models = manager.getActiveModels();
+		assertTrue("Target should contain models", models.length > 0);
+
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread reloader = new Thread(() -> {
+			try {
+				while (!done.get()) {
+					manager.targetReloaded(new NullProgressMonitor());
+				}
+			} catch (Throwable e) {
+				failure.set(e);
+			}
+		}, "Target Reloader");
+		reloader.start();
+		try {
+			// Warm-up Iterations
+			for (int i = 0; i < 3; i++) {
+				lookup(manager, models);
+			}
+			// Test Iterations
+			for (int i = 0; i < 50; i++) {
+				startMeasuring();
+				lookup(manager, models);
+				stopMeasuring();
+			}
+		} finally {
+			done.set(true);
+			reloader.join();
+		}
+		assertNull("Target reload failed", failure.get());
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	private void lookup(PluginModelManager manager, IPluginModelBase[] models) {
+		for (IPluginModelBase model : models) {
+			assertNotNull("Missing entry", manager.findEntry(model.getPluginBase().getId()));
+		}
+		assertTrue("Missing models", manager.getActiveModels().length > 0);
+		assertNotNull("Missing state", manager.getState());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		PDETestCase.delete(new File(PDECore.getDefault().getStateLocation().toOSString()));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2023 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,9 @@ import static org.junit.Assert.assertTrue;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.equinox.frameworkadmin.BundleInfo;
@@ -66,6 +69,31 @@ public class TargetDefinitionResolutionTests extends AbstractTargetTest {
 		}
 	}
 
+	/**
+	 * Tests that locations resolved at the same time report their bundles and
+	 * statuses in the order of the locations
+	 */
+	@Test
+	public void testLocationOrderIsKept() throws Exception {
+		ITargetDefinition definition = getNewTarget();
+		ITargetLocation abcde = getTargetService().newDirectoryLocation(extractAbcdePlugins().toString());
+		ITargetLocation multiVersion = getTargetService().newDirectoryLocation(extractMultiVersionPlugins().toString());
+		ITargetLocation missing1 = getTargetService().newDirectoryLocation("***SHOULD NOT EXIST 1***");
+		ITargetLocation missing2 = getTargetService().newDirectoryLocation("***SHOULD NOT EXIST 2***");
+		definition.setTargetLocations(new ITargetLocation[] { missing1, multiVersion, abcde, missing2 });
+
+		IStatus status = definition.resolve(null);
+		IStatus[] children = status.getChildren();
+		assertEquals("Wrong number of children", 2, children.length);
+		assertEquals("Wrong status order", missing1.getStatus(), children[0]);
+		assertEquals("Wrong status order", missing2.getStatus(), children[1]);
+
+		List<TargetBundle> expected = new ArrayList<>();
+		expected.addAll(Arrays.asList(multiVersion.getBundles()));
+		expected.addAll(Arrays.asList(abcde.getBundles()));
+		assertEquals("Wrong bundle order", expected, Arrays.asList(definition.getAllBundles()));
+	}
+
 	/**
 	 * Tests that if we find a bundle with a bad or missing manifest when
 	 * resolving we create the correct status.